@@ -0,0 +1,33 @@
+plugins {
+    id("org.spongepowered.configurate.build.component")
+    id("me.champeau.jmh") version "0.6.5"
+}
+
+description = "JMH benchmarks for Configurate's loaders, node tree, and object mapper"
+
+dependencies {
+    jmh(projects.core)
+    jmh(projects.format.binary)
+    jmh(projects.format.gson)
+    jmh(projects.format.hocon)
+    jmh(projects.format.jackson)
+    jmh(projects.format.xml)
+    jmh(projects.format.yaml)
+}
+
+jmh {
+    // Allow selecting a subset of benchmarks with -PjmhIncludes=<regex>
+    val jmhIncludes: String? by project
+    jmhIncludes?.let { includes.add(it) }
+    resultFormat.set("JSON")
+}
+
+tasks.withType<AbstractPublishToMaven>().configureEach {
+    onlyIf { false } // don't publish
+}
+
+tasks.withType<Javadoc>().configureEach {
+    (options as? StandardJavadocDocletOptions)?.apply {
+        addBooleanOption("Xdoclint:-missing", true)
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmarks;
+
+/**
+ * Approximate serialized sizes of generated benchmark documents.
+ */
+public enum DocumentSize {
+    SMALL(1024),
+    MEDIUM(1024 * 1024),
+    LARGE(50 * 1024 * 1024);
+
+    private final int targetBytes;
+
+    DocumentSize(final int targetBytes) {
+        this.targetBytes = targetBytes;
+    }
+
+    /**
+     * Get the approximate size of a serialized document, in bytes.
+     *
+     * @return the target size
+     */
+    public int targetBytes() {
+        return this.targetBytes;
+    }
+
+    /**
+     * Get the number of entries that should be generated to approach the
+     * target size.
+     *
+     * @return the number of entries
+     */
+    public int entries() {
+        return Math.max(1, this.targetBytes / Documents.ESTIMATED_ENTRY_SIZE);
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmarks;
+
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.NodePath;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generator for configuration documents shaped like a typical service
+ * configuration: a handful of top-level settings followed by a large map of
+ * similar entries, each holding scalars of every common type, a list, and a
+ * nested map.
+ */
+public final class Documents {
+
+    /**
+     * Rough number of bytes each generated entry occupies once serialized.
+     *
+     * <p>This varies between formats, but is close enough to get documents of
+     * the right order of magnitude.</p>
+     */
+    static final int ESTIMATED_ENTRY_SIZE = 256;
+
+    private static final String[] TAGS = {"primary", "secondary", "canary", "eu-west", "us-east", "ap-south", "batch", "interactive"};
+    private static final long SEED = 0x5eed;
+
+    private Documents() {
+    }
+
+    /**
+     * Populate a node with a generated document.
+     *
+     * <p>Generation is deterministic, so two nodes populated with the same
+     * number of entries will be equal.</p>
+     *
+     * @param root the node to populate
+     * @param entries the number of entries to generate
+     * @throws SerializationException if the node rejects any value
+     */
+    public static void populate(final ConfigurationNode root, final int entries) throws SerializationException {
+        final Random random = new Random(SEED);
+        root.node("version").raw(3);
+        root.node("name").raw("benchmark-service");
+        root.node("debug").raw(false);
+
+        final ConfigurationNode servers = root.node("servers");
+        for (int i = 0; i < entries; ++i) {
+            final ConfigurationNode server = servers.node(entryKey(i));
+            server.node("host").raw("host-" + i + ".internal.example.com");
+            server.node("port").raw(1024 + random.nextInt(60000));
+            server.node("weight").raw(random.nextDouble());
+            server.node("enabled").raw(random.nextBoolean());
+            server.node("tags").setList(String.class, Arrays.asList(
+                TAGS[random.nextInt(TAGS.length)],
+                TAGS[random.nextInt(TAGS.length)],
+                TAGS[random.nextInt(TAGS.length)]
+            ));
+            final ConfigurationNode limits = server.node("limits");
+            limits.node("requests-per-second").raw(random.nextInt(10_000));
+            limits.node("burst").raw(random.nextInt(500));
+            limits.node("timeout-millis").raw(random.nextLong() & 0xffffL);
+        }
+    }
+
+    /**
+     * Get the key of the entry at index {@code idx} in the servers map.
+     *
+     * @param idx the index of the entry
+     * @return the entry's key
+     */
+    public static String entryKey(final int idx) {
+        return "server-" + idx;
+    }
+
+    /**
+     * Create paths to leaf values of entries distributed through a document.
+     *
+     * @param entries number of entries in the document
+     * @param count number of paths to create
+     * @return the paths, each referring to an existing node
+     */
+    public static NodePath[] leafPaths(final int entries, final int count) {
+        final Random random = new Random(SEED);
+        final String[] leaves = {"host", "port", "weight", "enabled"};
+        final NodePath[] paths = new NodePath[count];
+        for (int i = 0; i < count; ++i) {
+            final int idx = random.nextInt(entries);
+            if (random.nextBoolean()) {
+                paths[i] = NodePath.path("servers", entryKey(idx), leaves[random.nextInt(leaves.length)]);
+            } else {
+                paths[i] = NodePath.path("servers", entryKey(idx), "limits", "burst");
+            }
+        }
+        return paths;
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmarks;
+
+import org.spongepowered.configurate.binary.BinaryConfigurationLoader;
+import org.spongepowered.configurate.gson.GsonConfigurationLoader;
+import org.spongepowered.configurate.hocon.HoconConfigurationLoader;
+import org.spongepowered.configurate.jackson.JacksonConfigurationLoader;
+import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
+import org.spongepowered.configurate.xml.XmlConfigurationLoader;
+import org.spongepowered.configurate.yaml.NodeStyle;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+
+/**
+ * Each of the loaders provided in the {@code format} modules.
+ */
+public enum Format {
+    BINARY("bin") {
+        @Override
+        public AbstractConfigurationLoader.Builder<?, ?> builder() {
+            return BinaryConfigurationLoader.builder();
+        }
+    },
+    GSON("json") {
+        @Override
+        public AbstractConfigurationLoader.Builder<?, ?> builder() {
+            return GsonConfigurationLoader.builder();
+        }
+    },
+    HOCON("conf") {
+        @Override
+        public AbstractConfigurationLoader.Builder<?, ?> builder() {
+            return HoconConfigurationLoader.builder();
+        }
+    },
+    JACKSON("json") {
+        @Override
+        public AbstractConfigurationLoader.Builder<?, ?> builder() {
+            return JacksonConfigurationLoader.builder();
+        }
+    },
+    XML("xml") {
+        @Override
+        public AbstractConfigurationLoader.Builder<?, ?> builder() {
+            return XmlConfigurationLoader.builder();
+        }
+    },
+    YAML("yml") {
+        @Override
+        public AbstractConfigurationLoader.Builder<?, ?> builder() {
+            return YamlConfigurationLoader.builder().nodeStyle(NodeStyle.BLOCK);
+        }
+    };
+
+    private final String extension;
+
+    Format(final String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Get the file extension typically used for this format.
+     *
+     * @return the extension, without a leading {@code .}
+     */
+    public String extension() {
+        return this.extension;
+    }
+
+    /**
+     * Create a new loader builder for this format.
+     *
+     * @return a new builder
+     */
+    public abstract AbstractConfigurationLoader.Builder<?, ?> builder();
+
+}
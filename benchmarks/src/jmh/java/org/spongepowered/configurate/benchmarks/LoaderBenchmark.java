@@ -0,0 +1,151 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure {@link AbstractConfigurationLoader#load()} and
+ * {@link AbstractConfigurationLoader#save(ConfigurationNode)} for every
+ * provided format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4G")
+public class LoaderBenchmark {
+
+    @Param({"BINARY", "GSON", "HOCON", "JACKSON", "XML", "YAML"})
+    private Format format;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private DocumentSize size;
+
+    private Path directory;
+    private AbstractConfigurationLoader<?> fileLoader;
+    private AbstractConfigurationLoader<?> discardingLoader;
+    private ConfigurationNode document;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("configurate-bench");
+        final Path file = this.directory.resolve("document." + this.format.extension());
+        this.fileLoader = this.format.builder().path(file).build();
+        final AbstractConfigurationLoader.Builder<?, ?> discarding = this.format.builder();
+        if (this.format == Format.BINARY) {
+            discarding.byteSink(DiscardingOutputStream::new);
+        } else {
+            discarding.sink(() -> new BufferedWriter(new DiscardingWriter()));
+        }
+        this.discardingLoader = discarding.build();
+
+        final ConfigurationNode source = this.fileLoader.createNode();
+        Documents.populate(source, this.size.entries());
+        this.fileLoader.save(source);
+        // Use the loaded form, so any format-specific representation is what gets saved
+        this.document = this.fileLoader.load();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.directory.resolve("document." + this.format.extension()));
+        Files.deleteIfExists(this.directory);
+    }
+
+    @Benchmark
+    public ConfigurationNode load() throws ConfigurateException {
+        return this.fileLoader.load();
+    }
+
+    @Benchmark
+    public void save() throws ConfigurateException {
+        this.fileLoader.save(this.document);
+    }
+
+    /**
+     * Save without touching the file system, to isolate emitter cost.
+     *
+     * @throws ConfigurateException if the document cannot be written
+     */
+    @Benchmark
+    public void saveDiscarding() throws ConfigurateException {
+        this.discardingLoader.save(this.document);
+    }
+
+    /**
+     * An output stream that drops all output.
+     */
+    static final class DiscardingOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int b) {
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+        }
+
+    }
+
+    /**
+     * A writer that drops all output.
+     */
+    static final class DiscardingWriter extends Writer {
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) {
+        }
+
+        @Override
+        public void write(final String str, final int off, final int len) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
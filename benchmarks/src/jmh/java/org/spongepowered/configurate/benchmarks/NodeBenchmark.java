@@ -0,0 +1,188 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmarks;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationVisitor;
+import org.spongepowered.configurate.NodeAccessor;
+import org.spongepowered.configurate.NodePath;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure operations on an in-memory node tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4G")
+public class NodeBenchmark {
+
+    private static final int PATH_COUNT = 1024;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private DocumentSize size;
+
+    private BasicConfigurationNode root;
+    private BasicConfigurationNode defaults;
+    private NodePath[] existingPaths;
+    private NodePath[] missingPaths;
+    private NodeAccessor[] existingAccessors;
+    private NodeAccessor[] missingAccessors;
+    private int pathIdx;
+
+    @Setup
+    public void setUp() throws SerializationException {
+        this.root = BasicConfigurationNode.root();
+        Documents.populate(this.root, this.size.entries());
+
+        this.defaults = BasicConfigurationNode.root();
+        Documents.populate(this.defaults, this.size.entries() * 2);
+
+        this.existingPaths = Documents.leafPaths(this.size.entries(), PATH_COUNT);
+        this.missingPaths = new NodePath[PATH_COUNT];
+        for (int i = 0; i < PATH_COUNT; ++i) {
+            this.missingPaths[i] = NodePath.path("servers", Documents.entryKey(this.size.entries() + i), "limits", "burst");
+        }
+        this.existingAccessors = new NodeAccessor[PATH_COUNT];
+        this.missingAccessors = new NodeAccessor[PATH_COUNT];
+        for (int i = 0; i < PATH_COUNT; ++i) {
+            this.existingAccessors[i] = this.existingPaths[i].compile();
+            this.missingAccessors[i] = this.missingPaths[i].compile();
+        }
+    }
+
+    @Benchmark
+    public ConfigurationNode lookupExisting() {
+        final NodePath path = this.existingPaths[this.pathIdx++ & (PATH_COUNT - 1)];
+        return this.root.node(path.get(0), path.get(1), path.get(2));
+    }
+
+    @Benchmark
+    public ConfigurationNode lookupMissing() {
+        final NodePath path = this.missingPaths[this.pathIdx++ & (PATH_COUNT - 1)];
+        return this.root.node(path.get(0), path.get(1), path.get(2), path.get(3));
+    }
+
+    @Benchmark
+    public @Nullable ConfigurationNode accessorExisting() {
+        return this.existingAccessors[this.pathIdx++ & (PATH_COUNT - 1)].find(this.root);
+    }
+
+    @Benchmark
+    public @Nullable ConfigurationNode accessorMissing() {
+        return this.missingAccessors[this.pathIdx++ & (PATH_COUNT - 1)].find(this.root);
+    }
+
+    @Benchmark
+    public int visit() {
+        return this.root.visit(CountingVisitor.INSTANCE);
+    }
+
+    @Benchmark
+    public ConfigurationNode copy() {
+        return this.root.copy();
+    }
+
+    /**
+     * State holding a fresh target for each merge, since merging mutates it.
+     */
+    @State(Scope.Thread)
+    public static class MergeTarget {
+
+        BasicConfigurationNode target;
+
+        @Setup(Level.Invocation)
+        public void setUp(final NodeBenchmark bench) {
+            // Invocation-level setup is only acceptable here because a merge
+            // of even the smallest document takes far longer than the setup overhead
+            this.target = bench.root.copy();
+        }
+
+    }
+
+    @Benchmark
+    public ConfigurationNode mergeFrom(final MergeTarget merge) {
+        return merge.target.mergeFrom(this.defaults);
+    }
+
+    /**
+     * Count every node in a tree.
+     */
+    static final class CountingVisitor implements ConfigurationVisitor.Safe<int[], Integer> {
+
+        static final CountingVisitor INSTANCE = new CountingVisitor();
+
+        @Override
+        public int[] newState() {
+            return new int[1];
+        }
+
+        @Override
+        public void beginVisit(final ConfigurationNode node, final int[] state) {
+        }
+
+        @Override
+        public void enterNode(final ConfigurationNode node, final int[] state) {
+            state[0]++;
+        }
+
+        @Override
+        public void enterMappingNode(final ConfigurationNode node, final int[] state) {
+        }
+
+        @Override
+        public void enterListNode(final ConfigurationNode node, final int[] state) {
+        }
+
+        @Override
+        public void enterScalarNode(final ConfigurationNode node, final int[] state) {
+        }
+
+        @Override
+        public void exitMappingNode(final ConfigurationNode node, final int[] state) {
+        }
+
+        @Override
+        public void exitListNode(final ConfigurationNode node, final int[] state) {
+        }
+
+        @Override
+        public Integer endVisit(final int[] state) {
+            return state[0];
+        }
+
+    }
+
+}
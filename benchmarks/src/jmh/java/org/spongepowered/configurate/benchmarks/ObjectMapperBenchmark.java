@@ -0,0 +1,105 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.ObjectMapper;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure {@link ObjectMapper#load(ConfigurationNode)} and
+ * {@link ObjectMapper#save(Object, ConfigurationNode)} for a document
+ * generated by {@link Documents}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4G")
+public class ObjectMapperBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private DocumentSize size;
+
+    private ObjectMapper<ServiceConfig> mapper;
+    private ConfigurationNode document;
+    private ServiceConfig value;
+
+    @Setup
+    public void setUp() throws SerializationException {
+        this.mapper = ObjectMapper.factory().get(ServiceConfig.class);
+        this.document = BasicConfigurationNode.root();
+        Documents.populate(this.document, this.size.entries());
+        this.value = this.mapper.load(this.document);
+    }
+
+    @Benchmark
+    public ServiceConfig load() throws SerializationException {
+        return this.mapper.load(this.document);
+    }
+
+    @Benchmark
+    public ConfigurationNode save() throws SerializationException {
+        final ConfigurationNode target = BasicConfigurationNode.root();
+        this.mapper.save(this.value, target);
+        return target;
+    }
+
+    @ConfigSerializable
+    static class ServiceConfig {
+        int version;
+        String name;
+        boolean debug;
+        Map<String, Server> servers;
+    }
+
+    @ConfigSerializable
+    static class Server {
+        String host;
+        int port;
+        double weight;
+        boolean enabled;
+        List<String> tags;
+        Limits limits;
+    }
+
+    @ConfigSerializable
+    static class Limits {
+        int requestsPerSecond;
+        int burst;
+        long timeoutMillis;
+    }
+
+}
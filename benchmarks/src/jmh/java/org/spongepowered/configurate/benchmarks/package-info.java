@@ -0,0 +1,24 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * JMH benchmarks for Configurate. Non-API.
+ *
+ * <p>These benchmarks exercise loaders, node tree operations, and the object
+ * mapper against generated documents of a few representative sizes. Run them
+ * with {@code ./gradlew :benchmarks:jmh}.</p>
+ */
+package org.spongepowered.configurate.benchmarks;
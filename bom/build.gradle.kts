@@ -20,6 +20,7 @@ dependencies {
         api(projects.extra.extraDfu3)
         api(projects.extra.extraDfu4)
         api(projects.tool)
+        api(projects.format.binary)
         api(projects.format.gson)
         api(projects.format.hocon)
         api(projects.format.jackson)
@@ -37,7 +37,7 @@ tasks.aggregateJavadoc.configure {
     applyCommonAttributes()
     title = "Configurate $version (all modules)"
 
-    val excludedProjects = listOf("examples").map {
+    val excludedProjects = listOf("examples", "benchmarks").map {
         project(":$it").projectDir.toPath().toAbsolutePath()
     }
     exclude {
@@ -34,7 +34,7 @@ sourceSets {
     main {
         multirelease {
             alternateVersions(
-                // 9, // VarHandles // TODO: temporarily disabled, cannot write final fields
+                9, // MethodHandle field access
                 10, // immutable collections
                 16 // FieldDiscoverer for records
             )
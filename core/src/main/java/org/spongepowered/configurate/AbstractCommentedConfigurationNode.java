@@ -46,17 +46,21 @@ abstract class AbstractCommentedConfigurationNode<N extends CommentedConfigurati
 
     @Override
     public N comment(final @Nullable String comment) {
+        this.prepareModification();
         if (!Objects.equals(COMMENT_UPDATER.getAndSet(this, comment), comment)) {
             attachIfNecessary();
         }
+        this.completeModification();
         return self();
     }
 
     @Override
     public N commentIfAbsent(final String comment) {
+        this.prepareModification();
         if (COMMENT_UPDATER.compareAndSet(this, null, comment)) {
             attachIfNecessary();
         }
+        this.completeModification();
         return self();
     }
 
@@ -107,4 +111,10 @@ abstract class AbstractCommentedConfigurationNode<N extends CommentedConfigurati
         return result;
     }
 
+    @Override
+    int childHash(final Object key, final int valueHash) {
+        // new nodes have no comment
+        return 31 * super.childHash(key, valueHash);
+    }
+
 }
@@ -21,21 +21,26 @@ import static io.leangen.geantyref.GenericTypeReflector.isMissingTypeParameters;
 import static java.util.Objects.requireNonNull;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.serialize.Scalars;
 import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.serialize.TypeSerializer;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.Type;
 import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Simple implementation of {@link ConfigurationNode}.
@@ -43,6 +48,13 @@ import java.util.concurrent.ConcurrentHashMap;
 abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>>
         implements ScopedConfigurationNode<N> {
 
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<AbstractConfigurationNode, Map> HINTS_UPDATER =
+        AtomicReferenceFieldUpdater.newUpdater(AbstractConfigurationNode.class, Map.class, "hints");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<AbstractConfigurationNode> MODIFICATIONS_UPDATER =
+        AtomicLongFieldUpdater.newUpdater(AbstractConfigurationNode.class, "modifications");
+
     /**
      * The options determining the behaviour of this node.
      */
@@ -73,8 +85,23 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
 
     /**
      * Storage for representation hints.
+     *
+     * <p>The map held here is never modified. Any change replaces it with
+     * a new map, so nodes without hints all share the empty map, and copies
+     * share the hints of their original until either side changes.</p>
+     */
+    volatile Map<RepresentationHint<?>, Object> hints = Collections.emptyMap();
+
+    /**
+     * Count of modifications made to this node or its descendants.
+     */
+    private volatile long modifications;
+
+    /**
+     * The hash of this node's value, cached until the next modification of
+     * this node or one of its descendants.
      */
-    final Map<RepresentationHint<?>, Object> hints;
+    private volatile @Nullable ValueHash valueHash;
 
     protected AbstractConfigurationNode(final @Nullable Object key, final @Nullable A parent, final ConfigurationOptions options) {
         requireNonNull(options, "options");
@@ -86,7 +113,6 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
         this.options = options;
         this.parent = parent;
         this.value = NullConfigValue.instance();
-        this.hints = new ConcurrentHashMap<>();
 
         // if the parent is null, this node is a root node, and is therefore "attached"
         if (parent == null) {
@@ -100,7 +126,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
         this.key = copyOf.key;
         this.parent = parent;
         this.value = copyOf.value.copy(implSelf());
-        this.hints = new ConcurrentHashMap<>(copyOf.hints);
+        this.hints = copyOf.hints;
     }
 
     /**
@@ -187,9 +213,21 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
             return self();
         }
 
-        this.hints.clear();
-        this.hints.putAll(that.ownHints());
-        if (that.isList()) {
+        this.prepareModification();
+        this.hints = that instanceof AbstractConfigurationNode<?, ?>
+            ? ((AbstractConfigurationNode<?, ?>) that).hints
+            : immutableHints(that.ownHints());
+        final @Nullable ConfigValue<?, ?> thatValue = that instanceof AbstractConfigurationNode<?, ?>
+            ? ((AbstractConfigurationNode<?, ?>) that).value
+            : null;
+        final @Nullable ListConfigValue<N, A> packedList = thatValue instanceof ListConfigValue<?, ?>
+            ? ListConfigValue.copyPacked((ListConfigValue<?, ?>) thatValue, implSelf())
+            : null;
+        if (packedList != null) {
+            // packed lists can share their elements
+            attachIfNecessary();
+            this.value = packedList;
+        } else if (that.isList()) {
             // handle list
             attachIfNecessary();
             final ListConfigValue<N, A> newList = new ListConfigValue<>(implSelf());
@@ -218,9 +256,17 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
             this.value = newMap;
         } else {
             // handle scalar/null
-            this.raw(that.raw());
+            if (thatValue instanceof PrimitiveConfigValue<?, ?>) {
+                // primitives are immutable, so share without unboxing
+                @SuppressWarnings("unchecked")
+                final PrimitiveConfigValue<N, A> primitive = (PrimitiveConfigValue<N, A>) thatValue;
+                insertPrimitiveValue(primitive);
+            } else {
+                this.raw(that.raw());
+            }
         }
 
+        this.completeModification();
         return self();
     }
 
@@ -237,6 +283,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
         }
 
         attachIfNecessary();
+        this.prepareModification();
 
         synchronized (this) {
             final ConfigValue<N, A> oldValue;
@@ -264,6 +311,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
             value.set(newValue);
             this.value = value;
         }
+        this.completeModification();
     }
 
     @Override
@@ -273,7 +321,8 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
             return this.from(other);
         }
 
-        this.hints.putAll(other.ownHints());
+        this.prepareModification();
+        this.mergeHints(other.ownHints());
         if (other.isMap()) {
             final ConfigValue<N, A> oldValue;
             ConfigValue<N, A> newValue;
@@ -285,6 +334,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
                     if (oldValue instanceof NullConfigValue) {
                         newValue = new MapConfigValue<>(implSelf());
                     } else {
+                        this.completeModification(); // hints may have been merged
                         return self();
                     }
                 }
@@ -318,6 +368,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
             // otherwise, replace the value of this node, only if currently null
             insertNewValue(other.rawScalar(), true);
         }
+        this.completeModification();
         return self();
     }
 
@@ -343,21 +394,238 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
         return self();
     }
 
+    @Override
+    public final N rawInt(final int value) {
+        insertPrimitiveValue(PrimitiveConfigValue.ofInt(value));
+        return self();
+    }
+
+    @Override
+    public final N rawLong(final long value) {
+        insertPrimitiveValue(PrimitiveConfigValue.ofLong(value));
+        return self();
+    }
+
+    @Override
+    public final N rawFloat(final float value) {
+        insertPrimitiveValue(PrimitiveConfigValue.ofFloat(value));
+        return self();
+    }
+
+    @Override
+    public final N rawDouble(final double value) {
+        insertPrimitiveValue(PrimitiveConfigValue.ofDouble(value));
+        return self();
+    }
+
+    @Override
+    public final N rawBoolean(final boolean value) {
+        insertPrimitiveValue(PrimitiveConfigValue.ofBoolean(value));
+        return self();
+    }
+
+    @Override
+    public final N rawPackedList(final Object array) {
+        final @Nullable Class<?> elementType = ListConfigValue.packedElementType(array);
+        final int length = elementType == null ? 0 : Array.getLength(array);
+        if (length == 0) {
+            return ScopedConfigurationNode.super.rawPackedList(array);
+        } else if (!options().acceptsType(elementType)) {
+            throw new IllegalArgumentException("Configuration does not accept objects of type " + elementType);
+        }
+
+        final Object packed = Array.newInstance(array.getClass().getComponentType(), length);
+        System.arraycopy(array, 0, packed, 0, length);
+
+        attachIfNecessary();
+        this.prepareModification();
+        final ConfigValue<N, A> oldValue;
+        synchronized (this) {
+            oldValue = this.value;
+            this.value = ListConfigValue.packed(implSelf(), packed);
+        }
+        oldValue.clear();
+        this.completeModification();
+        return self();
+    }
+
+    @Override
+    public final <T> @Nullable T packedList(final Class<T> arrayType) {
+        final ConfigValue<N, A> value = this.value;
+        return value instanceof ListConfigValue<?, ?> ? ((ListConfigValue<?, ?>) value).packedCopy(arrayType) : null;
+    }
+
+    @Override
+    public final @Nullable Object packedList() {
+        final ConfigValue<N, A> value = this.value;
+        return value instanceof ListConfigValue<?, ?> ? ((ListConfigValue<?, ?>) value).packedCopy() : null;
+    }
+
+    /**
+     * Replace the value of this node with an unboxed primitive value.
+     *
+     * <p>Values of a type not accepted by this node's options are handled
+     * exactly as a boxed value passed to {@link #raw(Object)} would be.</p>
+     *
+     * @param newValue the new value
+     */
+    private void insertPrimitiveValue(final PrimitiveConfigValue<N, A> newValue) {
+        if (!options().acceptsType(newValue.type())) {
+            insertNewValue(newValue.get(), false);
+            return;
+        }
+
+        attachIfNecessary();
+        this.prepareModification();
+
+        synchronized (this) {
+            this.value = newValue;
+        }
+        this.completeModification();
+    }
+
     @Override
     public final @Nullable Object rawScalar() {
         final ConfigValue<N, A> value = this.value;
-        if (value instanceof ScalarConfigValue<?, ?>) {
+        if (value instanceof ScalarConfigValue<?, ?> || value instanceof PrimitiveConfigValue<?, ?>) {
             return value.get();
         } else {
             return null;
         }
     }
 
+    @Override
+    public int getInt(final int def) {
+        return this.readInt(def, true);
+    }
+
+    /**
+     * Read this node's value as an int, without boxing a primitive value
+     * that holds one exactly.
+     *
+     * <p>Shared with {@link NodeAccessorImpl}, which reads nodes without
+     * ever copying a default into them.</p>
+     *
+     * @param def the value to return if there is no int value
+     * @param copyDefaults whether to set {@code def} on this node when
+     *     there is no value, if the node's options copy defaults
+     * @return the value
+     */
+    final int readInt(final int def, final boolean copyDefaults) {
+        final ConfigValue<N, A> value = this.value;
+        if (value instanceof PrimitiveConfigValue.OfInt<?, ?>) {
+            return ((PrimitiveConfigValue.OfInt<?, ?>) value).value;
+        } else if (value instanceof PrimitiveConfigValue.OfLong<?, ?>) {
+            final long longValue = ((PrimitiveConfigValue.OfLong<?, ?>) value).value;
+            if ((int) longValue == longValue) {
+                return (int) longValue;
+            }
+        }
+        if (copyDefaults) {
+            return ScopedConfigurationNode.super.getInt(def);
+        }
+        final @Nullable Integer ret = Scalars.INTEGER.tryDeserialize(this.rawScalar());
+        return ret == null ? def : ret;
+    }
+
+    @Override
+    public long getLong(final long def) {
+        return this.readLong(def, true);
+    }
+
+    /**
+     * Read this node's value as a long.
+     *
+     * @param def the value to return if there is no long value
+     * @param copyDefaults whether defaults may be copied to this node
+     * @return the value
+     * @see #readInt(int, boolean)
+     */
+    final long readLong(final long def, final boolean copyDefaults) {
+        final ConfigValue<N, A> value = this.value;
+        if (value instanceof PrimitiveConfigValue.OfLong<?, ?>) {
+            return ((PrimitiveConfigValue.OfLong<?, ?>) value).value;
+        } else if (value instanceof PrimitiveConfigValue.OfInt<?, ?>) {
+            return ((PrimitiveConfigValue.OfInt<?, ?>) value).value;
+        }
+        if (copyDefaults) {
+            return ScopedConfigurationNode.super.getLong(def);
+        }
+        final @Nullable Long ret = Scalars.LONG.tryDeserialize(this.rawScalar());
+        return ret == null ? def : ret;
+    }
+
+    @Override
+    public float getFloat(final float def) {
+        final ConfigValue<N, A> value = this.value;
+        if (value instanceof PrimitiveConfigValue.OfFloat<?, ?>) {
+            return ((PrimitiveConfigValue.OfFloat<?, ?>) value).value;
+        }
+        return ScopedConfigurationNode.super.getFloat(def);
+    }
+
+    @Override
+    public double getDouble(final double def) {
+        return this.readDouble(def, true);
+    }
+
+    /**
+     * Read this node's value as a double.
+     *
+     * @param def the value to return if there is no double value
+     * @param copyDefaults whether defaults may be copied to this node
+     * @return the value
+     * @see #readInt(int, boolean)
+     */
+    final double readDouble(final double def, final boolean copyDefaults) {
+        final ConfigValue<N, A> value = this.value;
+        if (value instanceof PrimitiveConfigValue.OfDouble<?, ?>) {
+            return ((PrimitiveConfigValue.OfDouble<?, ?>) value).value;
+        } else if (value instanceof PrimitiveConfigValue.OfFloat<?, ?>) {
+            return ((PrimitiveConfigValue.OfFloat<?, ?>) value).value;
+        } else if (value instanceof PrimitiveConfigValue.OfInt<?, ?>) {
+            return ((PrimitiveConfigValue.OfInt<?, ?>) value).value;
+        } else if (value instanceof PrimitiveConfigValue.OfLong<?, ?>) {
+            return ((PrimitiveConfigValue.OfLong<?, ?>) value).value;
+        }
+        if (copyDefaults) {
+            return ScopedConfigurationNode.super.getDouble(def);
+        }
+        final @Nullable Double ret = Scalars.DOUBLE.tryDeserialize(this.rawScalar());
+        return ret == null ? def : ret;
+    }
+
+    @Override
+    public boolean getBoolean(final boolean def) {
+        return this.readBoolean(def, true);
+    }
+
+    /**
+     * Read this node's value as a boolean.
+     *
+     * @param def the value to return if there is no boolean value
+     * @param copyDefaults whether defaults may be copied to this node
+     * @return the value
+     * @see #readInt(int, boolean)
+     */
+    final boolean readBoolean(final boolean def, final boolean copyDefaults) {
+        final ConfigValue<N, A> value = this.value;
+        if (value instanceof PrimitiveConfigValue.OfBoolean<?, ?>) {
+            return ((PrimitiveConfigValue.OfBoolean<?, ?>) value).value;
+        }
+        if (copyDefaults) {
+            return ScopedConfigurationNode.super.getBoolean(def);
+        }
+        final @Nullable Boolean ret = Scalars.BOOLEAN.tryDeserialize(this.rawScalar());
+        return ret == null ? def : ret;
+    }
+
     @Override
     public final N node(final Object... path) {
         A pointer = implSelf();
-        for (Object el : path) {
-            pointer = pointer.child(requireNonNull(el, () -> "element in path " + Arrays.toString(path)), false);
+        for (int i = 0; i < path.length; ++i) {
+            final Object el = requireNonNull(path[i], () -> "element in path " + Arrays.toString(path));
+            pointer = i < path.length - 1 ? pointer.pathChild(el) : pointer.child(el, false);
         }
         return pointer.self();
     }
@@ -365,34 +633,40 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
     @Override
     public final N node(final Iterable<?> path) {
         A pointer = implSelf();
-        for (final Object el : path) {
-            pointer = pointer.child(requireNonNull(el, () -> "element in path " + path), false);
+        final Iterator<?> it = path.iterator();
+        while (it.hasNext()) {
+            final Object el = requireNonNull(it.next(), () -> "element in path " + path);
+            pointer = it.hasNext() ? pointer.pathChild(el) : pointer.child(el, false);
         }
         return pointer.self();
     }
 
     @Override
     public final boolean hasChild(final Object... path) {
-        A pointer = implSelf();
+        @Nullable Object pointer = this;
         for (final Object el : path) {
-            final @Nullable A child = pointer.value.child(requireNonNull(el, () -> "element in path " + Arrays.toString(path)));
-            if (child == null) {
+            if (!(pointer instanceof AbstractConfigurationNode<?, ?>)) {
+                return false; // packed elements have no children
+            }
+            pointer = ((AbstractConfigurationNode<?, ?>) pointer).peekChild(requireNonNull(el, () -> "element in path " + Arrays.toString(path)));
+            if (pointer == null) {
                 return false;
             }
-            pointer = child;
         }
         return true;
     }
 
     @Override
     public final boolean hasChild(final Iterable<?> path) {
-        A pointer = implSelf();
+        @Nullable Object pointer = this;
         for (final Object el : path) {
-            final @Nullable A child = pointer.value.child(requireNonNull(el, () -> "element in path " + path));
-            if (child == null) {
+            if (!(pointer instanceof AbstractConfigurationNode<?, ?>)) {
+                return false; // packed elements have no children
+            }
+            pointer = ((AbstractConfigurationNode<?, ?>) pointer).peekChild(requireNonNull(el, () -> "element in path " + path));
+            if (pointer == null) {
                 return false;
             }
-            pointer = child;
         }
         return true;
     }
@@ -402,6 +676,11 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
         return !this.attached;
     }
 
+    @Override
+    public final long modificationCount() {
+        return this.modifications;
+    }
+
     @Override
     public boolean isNull() {
         return this.value instanceof NullConfigValue;
@@ -434,6 +713,83 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
         return this.value.isEmpty();
     }
 
+    /**
+     * Gets an existing child node, without creating a virtual node if
+     * it is absent.
+     *
+     * <p>No child node is created for a packed list element, which is
+     * instead returned as a virtual node.</p>
+     *
+     * @param key the key
+     * @param index the key parsed as a list index, or {@code -1} if it is not
+     *     a valid index
+     * @return the child node, if present
+     */
+    final @Nullable A existingChild(final Object key, final int index) {
+        final ConfigValue<N, A> value = this.value;
+        if (value instanceof ListConfigValue<?, ?>) {
+            return index < 0 ? null : ((ListConfigValue<N, A>) value).existingChild(index);
+        }
+        return value.child(key);
+    }
+
+    /**
+     * Reads an existing child without modifying this node.
+     *
+     * <p>Shared copies are read through their source, so any node returned
+     * must only be read. A packed list element with no child node is
+     * returned as the packed array holding it.</p>
+     *
+     * @param key the key
+     * @param index the key parsed as a list index, or {@code -1} if it is not
+     *     a valid index
+     * @return the child node, the packed array holding the element at
+     *     {@code index}, or {@code null} if absent
+     */
+    final @Nullable Object peekChild(final Object key, final int index) {
+        final ConfigValue<N, A> value = this.value;
+        if (value instanceof ListConfigValue<?, ?>) {
+            return index < 0 ? null : ((ListConfigValue<N, A>) value).peek(index);
+        } else if (value instanceof MapConfigValue<?, ?>) {
+            return ((MapConfigValue<N, A>) value).peek(key);
+        }
+        return null;
+    }
+
+    /**
+     * Reads an existing child without modifying this node.
+     *
+     * @param key the key
+     * @return the child node, the packed array holding the element at
+     *     {@code key}, or {@code null} if absent
+     * @see #peekChild(Object, int)
+     */
+    final @Nullable Object peekChild(final Object key) {
+        return this.peekChild(key, this.value instanceof ListConfigValue<?, ?> ? ListConfigValue.index(key) : -1);
+    }
+
+    /**
+     * Gets a child node to continue a path through.
+     *
+     * <p>No child node is created for a packed list element, which is
+     * returned as a virtual node instead. Packed elements are scalars, so
+     * anything further along the path is virtual anyway.</p>
+     *
+     * @param key the key
+     * @return the child node
+     */
+    final A pathChild(final Object key) {
+        final ConfigValue<N, A> value = this.value;
+        if (value instanceof ListConfigValue<?, ?>) {
+            final int index = ListConfigValue.index(key);
+            final @Nullable A existing = index < 0 ? null : ((ListConfigValue<N, A>) value).existingChild(index);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return this.child(key, false);
+    }
+
     /**
      * Gets a child node, relative to this.
      *
@@ -449,6 +805,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
             if (attach) {
                 // attach ourselves first
                 attachIfNecessary();
+                this.prepareModification();
                 // insert the child node into the value
                 final @Nullable A existingChild = this.value.putChildIfAbsent(key, child = createNode(key));
                 if (existingChild != null) {
@@ -456,6 +813,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
                 } else {
                     attachChild(child);
                 }
+                this.completeModification();
             } else {
                 // just create a new virtual (detached) node
                 child = createNode(key);
@@ -467,7 +825,10 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
 
     @Override
     public final boolean removeChild(final Object key) {
-        return detachIfNonNull(this.value.putChild(key, null)) != null;
+        this.prepareModification();
+        final boolean removed = detachIfNonNull(this.value.putChild(key, null)) != null;
+        this.completeModification();
+        return removed;
     }
 
     private static <N extends ScopedConfigurationNode<N>, T extends AbstractConfigurationNode<N, T>>
@@ -524,6 +885,64 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
 
     protected abstract A copy(@Nullable A parent);
 
+    /**
+     * Prepare for this node to be modified.
+     *
+     * <p>Copies share the children of their original until either side
+     * changes. Any copies still sharing this node, or one of its ancestors,
+     * are first given their own nodes along the path from the root to this
+     * node, so they are not affected by the change.</p>
+     *
+     * <p>Once the change has been made, {@link #completeModification()} must
+     * be called.</p>
+     */
+    final void prepareModification() {
+        boolean shared = false;
+        for (@Nullable AbstractConfigurationNode<?, ?> node = this; node != null; node = node.parent) {
+            shared |= node.value.hasSharedCopies();
+        }
+        if (shared) {
+            this.unsharePath();
+        }
+    }
+
+    /**
+     * Record that this node has been modified.
+     *
+     * <p>The modification count of this node and every ancestor is
+     * incremented. This only happens after the change has been made, so a
+     * hash computed while it was being made is cached under the previous
+     * count, and then discarded.</p>
+     */
+    final void completeModification() {
+        for (@Nullable AbstractConfigurationNode<?, ?> node = this; node != null; node = node.parent) {
+            MODIFICATIONS_UPDATER.incrementAndGet(node);
+        }
+    }
+
+    private void unsharePath() {
+        final Deque<AbstractConfigurationNode<?, ?>> path = new ArrayDeque<>();
+        for (@Nullable AbstractConfigurationNode<?, ?> node = this; node != null; node = node.parent) {
+            path.push(node);
+        }
+        // from the root down, since unsharing a node leaves copies sharing each of its children
+        for (final AbstractConfigurationNode<?, ?> node : path) {
+            node.value.unshareCopies();
+        }
+    }
+
+    /**
+     * Get whether this node's value is known to equal that of another node
+     * without comparing them, because one is a copy that still shares the
+     * children of the other, or both are copies of the same node.
+     *
+     * @param other the other node
+     * @return whether the two nodes share their value
+     */
+    final boolean sharesValueWith(final AbstractConfigurationNode<?, ?> other) {
+        return this.value.sharesContent(other.value);
+    }
+
     /**
      * The same as {@link #parent()} - but ensuring that 'parent' is attached via
      * {@link #attachChildIfAbsent(AbstractConfigurationNode)}.
@@ -573,6 +992,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
         }
 
         // update the value
+        this.prepareModification();
         final ConfigValue<N, A> oldValue;
         ConfigValue<N, A> newValue;
         synchronized (this) {
@@ -621,15 +1041,18 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
             oldValue.clear();
         }
         child.attached = true;
+        this.completeModification();
         return child;
     }
 
     protected final void clear() {
+        this.prepareModification();
         synchronized (this) {
             final ConfigValue<N, A> oldValue = this.value;
             this.value = NullConfigValue.instance();
             oldValue.clear();
         }
+        this.completeModification();
     }
 
     @Override
@@ -668,12 +1091,12 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
                     if (value instanceof MapConfigValue) {
                         visitor.enterMappingNode(current.self(), state);
                         toVisit.addFirst(new VisitorNodeEnd(current, true));
-                        toVisit.addAll(0, ((MapConfigValue<N, A>) value).values.values());
+                        toVisit.addAll(0, ((MapConfigValue<N, A>) value).children().values());
                     } else if (value instanceof ListConfigValue) {
                         visitor.enterListNode(current.self(), state);
                         toVisit.addFirst(new VisitorNodeEnd(current, false));
-                        toVisit.addAll(0, ((ListConfigValue<N, A>) value).values);
-                    } else if (value instanceof ScalarConfigValue) {
+                        toVisit.addAll(0, ((ListConfigValue<N, A>) value).visitableChildren());
+                    } else if (value instanceof ScalarConfigValue || value instanceof PrimitiveConfigValue) {
                         visitor.enterScalarNode(current.self(), state);
                     } else if (!(value instanceof NullConfigValue)) { // temporary workaround, no null values should appear in attached nodes
                         throw new IllegalStateException("Unknown value type " + value.getClass() + " at " + current.path());
@@ -690,17 +1113,57 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
         return visitor.endVisit(state);
     }
 
+    @SuppressWarnings("unchecked")
+    private static Map<RepresentationHint<?>, Object> immutableHints(final Map<RepresentationHint<?>, ?> hints) {
+        return hints.isEmpty() ? Collections.emptyMap() : UnmodifiableCollections.copyOf((Map<RepresentationHint<?>, Object>) hints);
+    }
+
     @Override
     public final <V> N hint(final RepresentationHint<V> hint, final @Nullable V value) {
-        if (value == null) {
-            this.hints.remove(hint);
-        } else {
-            this.hints.put(hint, value);
-        }
+        this.prepareModification();
+        Map<RepresentationHint<?>, Object> oldHints;
+        Map<RepresentationHint<?>, Object> newHints;
+        do {
+            oldHints = this.hints;
+            if (value == null) {
+                if (!oldHints.containsKey(hint)) {
+                    return self();
+                }
+                final Map<RepresentationHint<?>, Object> updated = new LinkedHashMap<>(oldHints);
+                updated.remove(hint);
+                newHints = updated.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(updated);
+            } else if (oldHints.isEmpty()) {
+                newHints = Collections.singletonMap(hint, value);
+            } else {
+                final Map<RepresentationHint<?>, Object> updated = new LinkedHashMap<>(oldHints);
+                updated.put(hint, value);
+                newHints = Collections.unmodifiableMap(updated);
+            }
+        } while (!HINTS_UPDATER.compareAndSet(this, oldHints, newHints));
 
+        this.completeModification();
         return self();
     }
 
+    private void mergeHints(final Map<RepresentationHint<?>, ?> other) {
+        if (other.isEmpty()) {
+            return;
+        }
+
+        Map<RepresentationHint<?>, Object> oldHints;
+        Map<RepresentationHint<?>, Object> newHints;
+        do {
+            oldHints = this.hints;
+            if (oldHints.isEmpty()) {
+                newHints = immutableHints(other);
+            } else {
+                final Map<RepresentationHint<?>, Object> updated = new LinkedHashMap<>(oldHints);
+                updated.putAll(other);
+                newHints = Collections.unmodifiableMap(updated);
+            }
+        } while (!HINTS_UPDATER.compareAndSet(this, oldHints, newHints));
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public final <V> @Nullable V hint(final RepresentationHint<V> hint) {
@@ -724,7 +1187,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
 
     @Override
     public final Map<RepresentationHint<?>, ?> ownHints() {
-        return UnmodifiableCollections.copyOf(this.hints);
+        return this.hints;
     }
 
     @Override
@@ -738,12 +1201,72 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
         }
 
         final AbstractConfigurationNode<?, ?> that = (AbstractConfigurationNode<?, ?>) o;
-        return Objects.equals(this.key, that.key) && Objects.equals(this.value, that.value);
+        if (!Objects.equals(this.key, that.key)) {
+            return false;
+        }
+        if (this.sharesValueWith(that)) {
+            return true;
+        }
+        // cheap rejection of differing subtrees, when both hash their descendants the same way
+        if (this.getClass() == that.getClass() && this.valueHash() != that.valueHash()) {
+            return false;
+        }
+        return Objects.equals(this.value, that.value);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(this.key) ^ Objects.hashCode(this.value);
+        return Objects.hashCode(this.key) ^ this.valueHash();
+    }
+
+    /**
+     * Get the hash code a new child of this node would have, holding a value
+     * with the given hash.
+     *
+     * <p>This lets packed list elements hash the same as child nodes without
+     * creating them, so it must match {@link #hashCode()} for a new node.</p>
+     *
+     * @param key the child's key
+     * @param valueHash the hash of the child's value
+     * @return the child's hash code
+     */
+    int childHash(final Object key, final int valueHash) {
+        return Objects.hashCode(key) ^ valueHash;
+    }
+
+    /**
+     * Get the hash of this node's value.
+     *
+     * <p>A node's value hash includes the hash of every descendant, so it is
+     * cached and only recomputed after a modification. Since modifications
+     * are counted up to the root, only the changed path is rehashed, reusing
+     * the cached hashes of unchanged siblings.</p>
+     *
+     * <p>The key is left out, as list elements are renumbered without
+     * being modified.</p>
+     *
+     * @return the value hash
+     */
+    final int valueHash() {
+        final long modifications = this.modifications;
+        final @Nullable ValueHash cached = this.valueHash;
+        if (cached != null && cached.modifications == modifications) {
+            return cached.hash;
+        }
+
+        final int hash = Objects.hashCode(this.value);
+        this.valueHash = new ValueHash(hash, modifications);
+        return hash;
+    }
+
+    private static final class ValueHash {
+        final int hash;
+        final long modifications;
+
+        ValueHash(final int hash, final long modifications) {
+            this.hash = hash;
+            this.modifications = modifications;
+        }
     }
 
     @Override
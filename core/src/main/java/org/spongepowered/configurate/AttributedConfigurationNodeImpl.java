@@ -30,6 +30,8 @@ import java.util.Map;
 class AttributedConfigurationNodeImpl extends AbstractCommentedConfigurationNode<AttributedConfigurationNode, AttributedConfigurationNodeImpl>
         implements AttributedConfigurationNode {
 
+    private static final String DEFAULT_TAG_NAME = "element";
+
     private String tagName;
     private final Map<String, String> attributes = new LinkedHashMap<>();
 
@@ -56,7 +58,9 @@ class AttributedConfigurationNodeImpl extends AbstractCommentedConfigurationNode
             throw new IllegalArgumentException("Tag name cannot be null/empty");
         }
 
+        this.prepareModification();
         this.tagName = tagName;
+        this.completeModification();
         return this;
     }
 
@@ -66,13 +70,17 @@ class AttributedConfigurationNodeImpl extends AbstractCommentedConfigurationNode
             throw new IllegalArgumentException("Attribute name cannot be null/empty");
         }
         attachIfNecessary();
+        this.prepareModification();
         this.attributes.put(name, value);
+        this.completeModification();
         return this;
     }
 
     @Override
     public AttributedConfigurationNodeImpl removeAttribute(final String name) {
+        this.prepareModification();
         this.attributes.remove(name);
+        this.completeModification();
         return this;
     }
 
@@ -83,11 +91,13 @@ class AttributedConfigurationNodeImpl extends AbstractCommentedConfigurationNode
                 throw new IllegalArgumentException("Attribute name cannot be null/empty");
             }
         }
+        this.prepareModification();
         this.attributes.clear();
         if (!attributes.isEmpty()) {
             attachIfNecessary();
             this.attributes.putAll(attributes);
         }
+        this.completeModification();
         return this;
     }
 
@@ -115,7 +125,7 @@ class AttributedConfigurationNodeImpl extends AbstractCommentedConfigurationNode
 
     @Override
     protected AttributedConfigurationNodeImpl createNode(final Object path) {
-        return new AttributedConfigurationNodeImpl("element", path, this, options());
+        return new AttributedConfigurationNodeImpl(DEFAULT_TAG_NAME, path, this, options());
     }
 
     @Override
@@ -184,6 +194,12 @@ class AttributedConfigurationNodeImpl extends AbstractCommentedConfigurationNode
         return result;
     }
 
+    @Override
+    int childHash(final Object key, final int valueHash) {
+        // new nodes have the default tag name and no attributes
+        return 31 * (31 * super.childHash(key, valueHash) + DEFAULT_TAG_NAME.hashCode());
+    }
+
     @Override
     public String toString() {
         return "AttributedConfigurationNodeImpl{"
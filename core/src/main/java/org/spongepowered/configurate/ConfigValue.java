@@ -90,4 +90,38 @@ interface ConfigValue<N extends ScopedConfigurationNode<N>, A extends AbstractCo
      */
     void clear();
 
+    /**
+     * Get whether any copies of this value still share its child nodes.
+     *
+     * @return whether there are copies to unshare
+     */
+    default boolean hasSharedCopies() {
+        return false;
+    }
+
+    /**
+     * Give every copy that still shares this value's child nodes its own
+     * children, so this value may be modified without affecting them.
+     */
+    default void unshareCopies() {
+    }
+
+    /**
+     * If this value is a copy still sharing the child nodes of its source,
+     * give it its own children.
+     */
+    default void unshare() {
+    }
+
+    /**
+     * Get whether this value is known to hold the same content as another
+     * without comparing them, because both still share the same children.
+     *
+     * @param other the other value
+     * @return whether the content is shared
+     */
+    default boolean sharesContent(final ConfigValue<?, ?> other) {
+        return this == other;
+    }
+
 }
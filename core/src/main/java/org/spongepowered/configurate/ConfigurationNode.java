@@ -28,7 +28,9 @@ import org.spongepowered.configurate.serialize.Scalars;
 import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.serialize.TypeSerializer;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -65,6 +67,14 @@ public interface ConfigurationNode {
      */
     int NUMBER_DEF = 0;
 
+    /**
+     * The modification count of a node that does not track modifications.
+     *
+     * @see #modificationCount()
+     * @since 4.2.0
+     */
+    long UNKNOWN_MODIFICATION_COUNT = -1;
+
     /**
      * Gets the "key" of this node.
      *
@@ -195,6 +205,26 @@ public interface ConfigurationNode {
      */
     boolean virtual();
 
+    /**
+     * Get a count of modifications made to this node and its descendants.
+     *
+     * <p>The count changes whenever a value, comment or other data is
+     * changed anywhere in the subtree rooted at this node, including when
+     * children are added or removed. Comparing counts shows whether a
+     * subtree was modified between two points in time without walking it.
+     * Counts of different nodes are not comparable.</p>
+     *
+     * <p>Nodes that do not track modifications return
+     * {@link #UNKNOWN_MODIFICATION_COUNT}, and must be assumed to have been
+     * modified at any time.</p>
+     *
+     * @return the modification count, or {@link #UNKNOWN_MODIFICATION_COUNT}
+     * @since 4.2.0
+     */
+    default long modificationCount() {
+        return UNKNOWN_MODIFICATION_COUNT;
+    }
+
     /**
      * Gets the options that currently apply to this node.
      *
@@ -1094,6 +1124,135 @@ public interface ConfigurationNode {
      */
     ConfigurationNode raw(@Nullable Object value);
 
+    /**
+     * Set the raw value of this node to an {@code int}.
+     *
+     * <p>Implementations may store the value unboxed, making this cheaper
+     * than {@link #raw(Object)} for loaders and other bulk writers. Reading
+     * the value back with {@link #getInt(int)} can avoid boxing entirely.</p>
+     *
+     * @param value the value to set on this node
+     * @return this node
+     * @since 4.2.0
+     */
+    default ConfigurationNode rawInt(int value) {
+        return raw(value);
+    }
+
+    /**
+     * Set the raw value of this node to a {@code long}.
+     *
+     * @param value the value to set on this node
+     * @return this node
+     * @see #rawInt(int)
+     * @since 4.2.0
+     */
+    default ConfigurationNode rawLong(long value) {
+        return raw(value);
+    }
+
+    /**
+     * Set the raw value of this node to a {@code float}.
+     *
+     * @param value the value to set on this node
+     * @return this node
+     * @see #rawInt(int)
+     * @since 4.2.0
+     */
+    default ConfigurationNode rawFloat(float value) {
+        return raw(value);
+    }
+
+    /**
+     * Set the raw value of this node to a {@code double}.
+     *
+     * @param value the value to set on this node
+     * @return this node
+     * @see #rawInt(int)
+     * @since 4.2.0
+     */
+    default ConfigurationNode rawDouble(double value) {
+        return raw(value);
+    }
+
+    /**
+     * Set the raw value of this node to a {@code boolean}.
+     *
+     * @param value the value to set on this node
+     * @return this node
+     * @see #rawInt(int)
+     * @since 4.2.0
+     */
+    default ConfigurationNode rawBoolean(boolean value) {
+        return raw(value);
+    }
+
+    /**
+     * Set the raw value of this node to a list of the elements of a
+     * primitive array.
+     *
+     * <p>Implementations may store supported element types packed into a
+     * single array rather than as individual child nodes, only creating child
+     * nodes for elements once they are requested. The provided array is
+     * copied, and will not be modified.</p>
+     *
+     * @param array the primitive array, such as an {@code int[]}
+     * @return this node
+     * @throws IllegalArgumentException if {@code array} is not a primitive
+     *     array, or its elements are not accepted by these options
+     * @see #packedList(Class)
+     * @since 4.2.0
+     */
+    default ConfigurationNode rawPackedList(Object array) {
+        requireNonNull(array, "array");
+        if (!array.getClass().isArray() || !array.getClass().getComponentType().isPrimitive()) {
+            throw new IllegalArgumentException("Expected a primitive array, but got " + array.getClass());
+        }
+        final int length = Array.getLength(array);
+        final List<Object> elements = new ArrayList<>(length);
+        for (int i = 0; i < length; ++i) {
+            elements.add(Array.get(array, i));
+        }
+        return raw(elements);
+    }
+
+    /**
+     * Get the elements of this list node as a primitive array, if they are
+     * held packed as the component type of {@code arrayType}.
+     *
+     * <p>This allows reading packed values without creating any child
+     * nodes. A {@code null} return only indicates that no packed
+     * representation is available, and the node's children should be read
+     * individually instead. This is also the case when any element's node
+     * has a comment or hints, which the array cannot hold.</p>
+     *
+     * @param arrayType the type of primitive array
+     * @param <A> the array type
+     * @return a newly allocated array with this node's elements, or null
+     * @see #rawPackedList(Object)
+     * @since 4.2.0
+     */
+    default <A> @Nullable A packedList(Class<A> arrayType) {
+        return null;
+    }
+
+    /**
+     * Get the elements of this list node as a primitive array of whichever
+     * type they are held packed as.
+     *
+     * <p>This is useful when writing a node out, to read a packed list
+     * without first having to know its element type. The same restrictions
+     * as for {@link #packedList(Class)} apply.</p>
+     *
+     * @return a newly allocated primitive array with this node's elements,
+     *     or null
+     * @see #packedList(Class)
+     * @since 4.2.0
+     */
+    default @Nullable Object packedList() {
+        return null;
+    }
+
     /**
      * Get the raw value of this node if the node is a scalar.
      *
@@ -1171,6 +1330,34 @@ public interface ConfigurationNode {
      */
     ConfigurationNode copy();
 
+    /**
+     * Create an immutable snapshot of this node and its children.
+     *
+     * <p>Frozen nodes store their children in flat arrays, share a single
+     * empty hint map, and need no synchronization for reads. This makes them
+     * considerably smaller and faster to read than mutable nodes, which suits
+     * configurations that are loaded once and read many times.</p>
+     *
+     * <p>Any attempt to modify the returned node or one of its children will
+     * throw an {@link UnsupportedOperationException}. Navigating to a path
+     * that does not exist returns a virtual frozen node, as with any other
+     * node. The returned node will not
+     * {@link ConfigurationOptions#shouldCopyDefaults() copy defaults}, since
+     * it has nowhere to copy them to.</p>
+     *
+     * <p>Only the structure, values, and representation hints of this node
+     * are captured. Metadata specific to a certain node type, such as
+     * comments, is not retained. To get a mutable node back, use
+     * {@link #from(ConfigurationNode)} on a new node.</p>
+     *
+     * @return an immutable snapshot of this node, or this node if it is
+     *     already frozen
+     * @since 4.2.0
+     */
+    default ConfigurationNode freeze() {
+        return FrozenConfigurationNode.freeze(this);
+    }
+
     /**
      * Visit this node hierarchy as described in {@link ConfigurationVisitor}.
      *
@@ -31,6 +31,7 @@ import org.spongepowered.configurate.util.UnmodifiableCollections;
 import java.lang.reflect.Type;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 
 /**
@@ -53,7 +54,7 @@ public abstract class ConfigurationOptions {
         // avoid initialization cycles
 
         static final ConfigurationOptions DEFAULTS = new AutoValue_ConfigurationOptions(MapFactories.insertionOrdered(), null,
-                TypeSerializerCollection.defaults(), null, true, true);
+                TypeSerializerCollection.defaults(), null, true, true, 0, null);
 
     }
 
@@ -95,7 +96,7 @@ public abstract class ConfigurationOptions {
             return this;
         }
         return new AutoValue_ConfigurationOptions(mapFactory, header(), serializers(), nativeTypes(),
-                shouldCopyDefaults(), implicitInitialization());
+                shouldCopyDefaults(), implicitInitialization(), parallelThreshold(), parallelPool());
     }
 
     /**
@@ -120,7 +121,7 @@ public abstract class ConfigurationOptions {
             return this;
         }
         return new AutoValue_ConfigurationOptions(mapFactory(), header, serializers(), nativeTypes(),
-                shouldCopyDefaults(), implicitInitialization());
+                shouldCopyDefaults(), implicitInitialization(), parallelThreshold(), parallelPool());
     }
 
     /**
@@ -145,7 +146,7 @@ public abstract class ConfigurationOptions {
             return this;
         }
         return new AutoValue_ConfigurationOptions(mapFactory(), header(), serializers, nativeTypes(),
-                shouldCopyDefaults(), implicitInitialization());
+                shouldCopyDefaults(), implicitInitialization(), parallelThreshold(), parallelPool());
     }
 
     /**
@@ -188,7 +189,8 @@ public abstract class ConfigurationOptions {
             return this;
         }
         return new AutoValue_ConfigurationOptions(mapFactory(), header(), serializers(),
-                nativeTypes == null ? null : UnmodifiableCollections.copyOf(nativeTypes), shouldCopyDefaults(), implicitInitialization());
+                nativeTypes == null ? null : UnmodifiableCollections.copyOf(nativeTypes), shouldCopyDefaults(), implicitInitialization(),
+                parallelThreshold(), parallelPool());
     }
 
     /**
@@ -255,7 +257,7 @@ public abstract class ConfigurationOptions {
         }
 
         return new AutoValue_ConfigurationOptions(mapFactory(), header(), serializers(), nativeTypes(),
-                shouldCopyDefaults, implicitInitialization());
+                shouldCopyDefaults, implicitInitialization(), parallelThreshold(), parallelPool());
     }
 
     /**
@@ -287,7 +289,71 @@ public abstract class ConfigurationOptions {
         }
 
         return new AutoValue_ConfigurationOptions(mapFactory(), header(), serializers(), nativeTypes(),
-                shouldCopyDefaults(), implicitInitialization);
+                shouldCopyDefaults(), implicitInitialization, parallelThreshold(), parallelPool());
+    }
+
+    /**
+     * Get the minimum number of elements a list or map must contain before
+     * its elements are deserialized in parallel.
+     *
+     * <p>Parallel deserialization is disabled by default, represented by a
+     * threshold of {@code 0}. When enabled, elements of large collections
+     * are deserialized on {@link #parallelPool()}, while the resulting
+     * collection keeps the order of the source node.</p>
+     *
+     * <p>Type serializers used for collection elements must be safe to call
+     * from several threads at once when this option is enabled.</p>
+     *
+     * @return the parallel threshold, or {@code 0} if disabled
+     * @since 4.2.0
+     */
+    public abstract int parallelThreshold();
+
+    /**
+     * Get the pool used for parallel deserialization.
+     *
+     * @return the pool, or {@code null} to use the
+     *     {@link ForkJoinPool#commonPool() common pool}
+     * @see #parallelThreshold() for more details
+     * @since 4.2.0
+     */
+    public abstract @Nullable ForkJoinPool parallelPool();
+
+    /**
+     * Create a new {@link ConfigurationOptions} instance that deserializes
+     * collections of at least {@code threshold} elements in parallel on
+     * the common pool.
+     *
+     * @param threshold minimum collection size, or {@code 0} to disable
+     * @return a new options object
+     * @see #parallelThreshold() for more details
+     * @since 4.2.0
+     */
+    public ConfigurationOptions parallelDeserialization(final int threshold) {
+        return this.parallelDeserialization(threshold, null);
+    }
+
+    /**
+     * Create a new {@link ConfigurationOptions} instance that deserializes
+     * collections of at least {@code threshold} elements in parallel on
+     * the provided pool.
+     *
+     * @param threshold minimum collection size, or {@code 0} to disable
+     * @param pool the pool to execute on, or {@code null} for the common pool
+     * @return a new options object
+     * @see #parallelThreshold() for more details
+     * @since 4.2.0
+     */
+    public ConfigurationOptions parallelDeserialization(final int threshold, final @Nullable ForkJoinPool pool) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Parallel threshold must not be negative, but was " + threshold);
+        }
+        if (this.parallelThreshold() == threshold && this.parallelPool() == pool) {
+            return this;
+        }
+
+        return new AutoValue_ConfigurationOptions(mapFactory(), header(), serializers(), nativeTypes(),
+                shouldCopyDefaults(), implicitInitialization(), threshold, pool);
     }
 
 }
@@ -0,0 +1,692 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate;
+
+import static io.leangen.geantyref.GenericTypeReflector.erase;
+import static io.leangen.geantyref.GenericTypeReflector.isMissingTypeParameters;
+import static java.util.Objects.requireNonNull;
+
+import io.leangen.geantyref.TypeToken;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.serialize.Scalars;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.serialize.TypeSerializer;
+import org.spongepowered.configurate.util.UnmodifiableCollections;
+
+import java.lang.reflect.Type;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable, compact {@link ConfigurationNode}.
+ *
+ * <p>Children are held in flat arrays that are fully populated before the
+ * root node's constructor returns, so a frozen tree is safely published
+ * through its final fields and can be read from any thread without
+ * locking. Maps with more than {@link #LINEAR_SCAN_MAX} entries carry an
+ * open-addressed index for constant-time key lookups.</p>
+ */
+final class FrozenConfigurationNode implements ConfigurationNode {
+
+    /**
+     * The largest map that will be searched linearly rather than by index.
+     */
+    static final int LINEAR_SCAN_MAX = 8;
+
+    private static final FrozenConfigurationNode[] NO_CHILDREN = new FrozenConfigurationNode[0];
+
+    private final @Nullable Object key;
+    private final @Nullable FrozenConfigurationNode parent;
+    private final ConfigurationOptions options;
+    private final boolean attached;
+
+    /**
+     * The scalar value of this node, if any.
+     */
+    private final @Nullable Object value;
+
+    /**
+     * Child nodes, or {@code null} if this node is neither a list nor a map.
+     */
+    private final FrozenConfigurationNode @Nullable [] children;
+
+    /**
+     * Keys of map children, aligned with {@link #children}, or {@code null}
+     * if this node is not a map.
+     */
+    private final Object @Nullable [] keys;
+
+    /**
+     * Open-addressed index into {@link #keys}, storing {@code index + 1} so
+     * that {@code 0} marks an empty slot. Only present for larger maps.
+     */
+    private final int @Nullable [] index;
+
+    private final Map<RepresentationHint<?>, ?> hints;
+
+    /**
+     * Create a frozen snapshot of a node.
+     *
+     * @param source the node to freeze
+     * @return a frozen node, or {@code source} if it is already frozen
+     */
+    static ConfigurationNode freeze(final ConfigurationNode source) {
+        requireNonNull(source, "source");
+        if (source instanceof FrozenConfigurationNode) {
+            return source;
+        }
+        // defaults can never be written back to a frozen node
+        return new FrozenConfigurationNode(source.key(), null, source, source.options().shouldCopyDefaults(false));
+    }
+
+    private FrozenConfigurationNode(final @Nullable Object key, final @Nullable FrozenConfigurationNode parent,
+            final ConfigurationNode source, final ConfigurationOptions options) {
+        this.key = key;
+        this.parent = parent;
+        this.options = options;
+        this.attached = true;
+        final Map<RepresentationHint<?>, ?> hints = source.ownHints();
+        this.hints = hints.isEmpty() ? Collections.emptyMap() : hints;
+
+        if (source.isMap()) {
+            final Map<Object, ? extends ConfigurationNode> sourceChildren = source.childrenMap();
+            final Object[] keys = new Object[sourceChildren.size()];
+            final FrozenConfigurationNode[] children = new FrozenConfigurationNode[keys.length];
+            int i = 0;
+            for (final Map.Entry<Object, ? extends ConfigurationNode> entry : sourceChildren.entrySet()) {
+                keys[i] = entry.getKey();
+                children[i++] = new FrozenConfigurationNode(entry.getKey(), this, entry.getValue(), options);
+            }
+            this.value = null;
+            this.keys = keys;
+            this.children = children;
+            this.index = keys.length > LINEAR_SCAN_MAX ? buildIndex(keys) : null;
+        } else if (source.isList()) {
+            final List<? extends ConfigurationNode> sourceChildren = source.childrenList();
+            final FrozenConfigurationNode[] children = sourceChildren.isEmpty() ? NO_CHILDREN
+                : new FrozenConfigurationNode[sourceChildren.size()];
+            for (int i = 0; i < children.length; ++i) {
+                children[i] = new FrozenConfigurationNode(i, this, sourceChildren.get(i), options);
+            }
+            this.value = null;
+            this.keys = null;
+            this.children = children;
+            this.index = null;
+        } else {
+            this.value = source.rawScalar();
+            this.keys = null;
+            this.children = null;
+            this.index = null;
+        }
+    }
+
+    /**
+     * Create a virtual node, representing a position that is not present in
+     * the frozen tree.
+     *
+     * @param key the key of the virtual node
+     * @param parent the node's parent
+     */
+    private FrozenConfigurationNode(final Object key, final FrozenConfigurationNode parent) {
+        this.key = key;
+        this.parent = parent;
+        this.options = parent.options;
+        this.attached = false;
+        this.value = null;
+        this.children = null;
+        this.keys = null;
+        this.index = null;
+        this.hints = Collections.emptyMap();
+    }
+
+    private static int spread(final Object key) {
+        final int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int[] buildIndex(final Object[] keys) {
+        final int[] index = new int[Integer.highestOneBit(keys.length * 2 - 1) << 1];
+        final int mask = index.length - 1;
+        for (int i = 0; i < keys.length; ++i) {
+            int slot = spread(keys[i]) & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = i + 1;
+        }
+        return index;
+    }
+
+    /**
+     * Find an existing child of this node.
+     *
+     * @param key the child's key
+     * @return the child, or {@code null} if none is present
+     */
+    @Nullable FrozenConfigurationNode existingChild(final Object key) {
+        final FrozenConfigurationNode @Nullable [] children = this.children;
+        if (children == null) {
+            return null;
+        }
+
+        final Object @Nullable [] keys = this.keys;
+        if (keys == null) { // list
+            final @Nullable Integer idx = key instanceof Integer ? (Integer) key : Scalars.INTEGER.tryDeserialize(key);
+            if (idx == null || idx < 0 || idx >= children.length) {
+                return null;
+            }
+            return children[idx];
+        }
+
+        final int @Nullable [] index = this.index;
+        if (index == null) {
+            for (int i = 0; i < keys.length; ++i) {
+                if (keys[i].equals(key)) {
+                    return children[i];
+                }
+            }
+        } else {
+            final int mask = index.length - 1;
+            int slot = spread(key) & mask;
+            int entry;
+            while ((entry = index[slot]) != 0) {
+                if (keys[entry - 1].equals(key)) {
+                    return children[entry - 1];
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+        return null;
+    }
+
+    private FrozenConfigurationNode child(final Object key) {
+        final @Nullable FrozenConfigurationNode existing = this.existingChild(key);
+        return existing == null ? new FrozenConfigurationNode(key, this) : existing;
+    }
+
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("Frozen configuration nodes cannot be modified");
+    }
+
+    @Override
+    public @Nullable Object key() {
+        return this.key;
+    }
+
+    @Override
+    public NodePath path() {
+        if (this.parent == null) {
+            return NodePath.path();
+        }
+
+        final Deque<Object> elements = new ArrayDeque<>();
+        FrozenConfigurationNode pointer = this;
+        do {
+            elements.addFirst(requireNonNull(pointer.key));
+            pointer = requireNonNull(pointer.parent);
+        } while (pointer.parent != null);
+        return NodePath.of(elements);
+    }
+
+    @Override
+    public @Nullable ConfigurationNode parent() {
+        return this.parent;
+    }
+
+    @Override
+    public ConfigurationNode node(final Object... path) {
+        FrozenConfigurationNode pointer = this;
+        for (final Object el : path) {
+            pointer = pointer.child(requireNonNull(el, () -> "element in path " + Arrays.toString(path)));
+        }
+        return pointer;
+    }
+
+    @Override
+    public ConfigurationNode node(final Iterable<?> path) {
+        FrozenConfigurationNode pointer = this;
+        for (final Object el : path) {
+            pointer = pointer.child(requireNonNull(el, () -> "element in path " + path));
+        }
+        return pointer;
+    }
+
+    @Override
+    public boolean hasChild(final Object... path) {
+        @Nullable FrozenConfigurationNode pointer = this;
+        for (final Object el : path) {
+            pointer = pointer.existingChild(requireNonNull(el, () -> "element in path " + Arrays.toString(path)));
+            if (pointer == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean hasChild(final Iterable<?> path) {
+        @Nullable FrozenConfigurationNode pointer = this;
+        for (final Object el : path) {
+            pointer = pointer.existingChild(requireNonNull(el, () -> "element in path " + path));
+            if (pointer == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean virtual() {
+        return !this.attached;
+    }
+
+    @Override
+    public long modificationCount() {
+        return 0; // never modified
+    }
+
+    @Override
+    public ConfigurationOptions options() {
+        return this.options;
+    }
+
+    @Override
+    public boolean isNull() {
+        return this.children == null && this.value == null;
+    }
+
+    @Override
+    public boolean isList() {
+        return this.children != null && this.keys == null;
+    }
+
+    @Override
+    public boolean isMap() {
+        return this.keys != null;
+    }
+
+    @Override
+    public boolean empty() {
+        final FrozenConfigurationNode @Nullable [] children = this.children;
+        if (children != null) {
+            return children.length == 0;
+        }
+        final @Nullable Object value = this.value;
+        return value == null
+            || (value instanceof String && ((String) value).isEmpty())
+            || (value instanceof Collection<?> && ((Collection<?>) value).isEmpty());
+    }
+
+    @Override
+    public List<? extends ConfigurationNode> childrenList() {
+        final FrozenConfigurationNode @Nullable [] children = this.children;
+        if (children == null || this.keys != null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(children));
+    }
+
+    @Override
+    public Map<Object, ? extends ConfigurationNode> childrenMap() {
+        return this.keys == null ? Collections.emptyMap() : new ChildrenMap();
+    }
+
+    @Override
+    public @Nullable Object get(final Type type) throws SerializationException {
+        requireNonNull(type, "type");
+        if (isMissingTypeParameters(type)) {
+            throw new SerializationException(this, type, "Raw types are not supported");
+        }
+
+        final @Nullable TypeSerializer<?> serial = this.options.serializers().get(type);
+        if (this.isNull()) {
+            if (serial != null && this.options.implicitInitialization()) {
+                return serial.emptyValue(type, this.options);
+            }
+            return null;
+        }
+
+        if (serial == null) {
+            final @Nullable Object value = this.raw();
+            return erase(type).isInstance(value) ? value : null;
+        }
+        try {
+            return serial.deserialize(type, this);
+        } catch (final SerializationException ex) {
+            ex.initPath(this::path);
+            ex.initType(type);
+            throw ex;
+        }
+    }
+
+    @Override
+    public ConfigurationNode set(final @Nullable Object value) {
+        throw immutable();
+    }
+
+    @Override
+    public <V> ConfigurationNode set(final TypeToken<V> type, final @Nullable V value) {
+        throw immutable();
+    }
+
+    @Override
+    public <V> ConfigurationNode set(final Class<V> type, final @Nullable V value) {
+        throw immutable();
+    }
+
+    @Override
+    public ConfigurationNode set(final Type type, final @Nullable Object value) {
+        throw immutable();
+    }
+
+    @Override
+    public @Nullable Object raw() {
+        final FrozenConfigurationNode @Nullable [] children = this.children;
+        if (children == null) {
+            return this.value;
+        }
+
+        final Object @Nullable [] keys = this.keys;
+        if (keys == null) {
+            final List<@Nullable Object> ret = new ArrayList<>(children.length);
+            for (final FrozenConfigurationNode child : children) {
+                ret.add(child.raw());
+            }
+            return ret;
+        } else {
+            final Map<Object, @Nullable Object> ret = new LinkedHashMap<>();
+            for (int i = 0; i < keys.length; ++i) {
+                ret.put(keys[i], children[i].raw());
+            }
+            return ret;
+        }
+    }
+
+    @Override
+    public ConfigurationNode raw(final @Nullable Object value) {
+        throw immutable();
+    }
+
+    @Override
+    public @Nullable Object rawScalar() {
+        return this.value;
+    }
+
+    @Override
+    public ConfigurationNode from(final ConfigurationNode other) {
+        throw immutable();
+    }
+
+    @Override
+    public ConfigurationNode mergeFrom(final ConfigurationNode other) {
+        throw immutable();
+    }
+
+    @Override
+    public boolean removeChild(final Object key) {
+        throw immutable();
+    }
+
+    @Override
+    public ConfigurationNode appendListNode() {
+        throw immutable();
+    }
+
+    /**
+     * Frozen nodes cannot be modified, so they are their own copy.
+     *
+     * @return this node
+     */
+    @Override
+    public ConfigurationNode copy() {
+        return this;
+    }
+
+    @Override
+    public ConfigurationNode freeze() {
+        return this;
+    }
+
+    @Override
+    public <S, T, E extends Exception> T visit(final ConfigurationVisitor<S, T, E> visitor, final S state) throws E {
+        return this.visitInternal(visitor, state);
+    }
+
+    @Override
+    public <S, T> T visit(final ConfigurationVisitor.Safe<S, T> visitor, final S state) {
+        try {
+            return this.visitInternal(visitor, state);
+        } catch (final VisitorSafeNoopException ex) {
+            // this exception should never be thrown, has a private constructor
+            throw new AssertionError("Exception was thrown on a Safe visitor", ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S, T, E extends Exception> T visitInternal(final ConfigurationVisitor<S, T, E> visitor, final S state) throws E {
+        visitor.beginVisit(this, state);
+        if (!this.isNull()) {
+            final Deque<Object> toVisit = new ArrayDeque<>();
+            toVisit.push(this);
+
+            @Nullable Object active;
+            while ((active = toVisit.poll()) != null) {
+                if (active instanceof VisitorNodeEnd) {
+                    final VisitorNodeEnd end = (VisitorNodeEnd) active;
+                    if (end.isMap()) {
+                        visitor.exitMappingNode(end.end(), state);
+                    } else {
+                        visitor.exitListNode(end.end(), state);
+                    }
+                    continue;
+                }
+
+                final FrozenConfigurationNode current = (FrozenConfigurationNode) active;
+                try {
+                    visitor.enterNode(current, state);
+                    final FrozenConfigurationNode @Nullable [] children = current.children;
+                    if (children != null) {
+                        final boolean map = current.keys != null;
+                        if (map) {
+                            visitor.enterMappingNode(current, state);
+                        } else {
+                            visitor.enterListNode(current, state);
+                        }
+                        toVisit.push(new VisitorNodeEnd(current, map));
+                        for (int i = children.length - 1; i >= 0; --i) {
+                            toVisit.push(children[i]);
+                        }
+                    } else if (current.value != null) {
+                        visitor.enterScalarNode(current, state);
+                    }
+                } catch (final Exception ex) {
+                    // Assign an appropriate path to ConfigurateExceptions
+                    if (ex instanceof ConfigurateException) {
+                        ((ConfigurateException) ex).initPath(current::path);
+                    }
+                    throw (E) ex;
+                }
+            }
+        }
+        return visitor.endVisit(state);
+    }
+
+    @Override
+    public <V> ConfigurationNode hint(final RepresentationHint<V> hint, final @Nullable V value) {
+        throw immutable();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> @Nullable V hint(final RepresentationHint<V> hint) {
+        final @Nullable Object value = this.hints.get(hint);
+        if (value != null) {
+            return (V) value;
+        }
+        final @Nullable FrozenConfigurationNode parent = this.parent;
+        if (parent != null && hint.inheritable()) {
+            return parent.hint(hint);
+        } else {
+            return hint.defaultValue();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> @Nullable V ownHint(final RepresentationHint<V> hint) {
+        return (V) this.hints.get(hint);
+    }
+
+    @Override
+    public Map<RepresentationHint<?>, ?> ownHints() {
+        return this.hints;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof FrozenConfigurationNode)) {
+            return false;
+        }
+
+        final FrozenConfigurationNode that = (FrozenConfigurationNode) o;
+        if (!Objects.equals(this.key, that.key) || !Objects.equals(this.value, that.value)) {
+            return false;
+        }
+
+        final FrozenConfigurationNode @Nullable [] children = this.children;
+        final FrozenConfigurationNode @Nullable [] thatChildren = that.children;
+        if (children == null || thatChildren == null) {
+            return children == thatChildren;
+        } else if (children.length != thatChildren.length || (this.keys == null) != (that.keys == null)) {
+            return false;
+        }
+
+        final Object @Nullable [] keys = this.keys;
+        if (keys == null) {
+            return Arrays.equals(children, thatChildren);
+        }
+        // maps are equal regardless of iteration order
+        for (int i = 0; i < keys.length; ++i) {
+            if (!children[i].equals(that.existingChild(keys[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        final int keyHash = Objects.hashCode(this.key);
+        final FrozenConfigurationNode @Nullable [] children = this.children;
+        if (children == null) {
+            return keyHash ^ (7 + Objects.hashCode(this.value));
+        } else if (this.keys == null) {
+            return keyHash ^ Arrays.hashCode(children);
+        } else {
+            int mapHash = 0;
+            for (final FrozenConfigurationNode child : children) {
+                mapHash += child.hashCode();
+            }
+            return keyHash ^ mapHash;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FrozenConfigurationNode{key=" + this.key + ", value=" + (this.children == null ? this.value : this.raw()) + '}';
+    }
+
+    /**
+     * A read-only view of map children, backed by the flat arrays of
+     * this node.
+     */
+    final class ChildrenMap extends AbstractMap<Object, FrozenConfigurationNode> {
+
+        private @Nullable Set<Entry<Object, FrozenConfigurationNode>> entries;
+
+        @Override
+        public int size() {
+            return requireNonNull(FrozenConfigurationNode.this.children).length;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return key != null && FrozenConfigurationNode.this.existingChild(key) != null;
+        }
+
+        @Override
+        public @Nullable FrozenConfigurationNode get(final Object key) {
+            return key == null ? null : FrozenConfigurationNode.this.existingChild(key);
+        }
+
+        @Override
+        public Set<Entry<Object, FrozenConfigurationNode>> entrySet() {
+            @Nullable Set<Entry<Object, FrozenConfigurationNode>> entries = this.entries;
+            if (entries == null) {
+                entries = this.entries = new AbstractSet<Entry<Object, FrozenConfigurationNode>>() {
+                    @Override
+                    public Iterator<Entry<Object, FrozenConfigurationNode>> iterator() {
+                        final Object[] keys = requireNonNull(FrozenConfigurationNode.this.keys);
+                        final FrozenConfigurationNode[] children = requireNonNull(FrozenConfigurationNode.this.children);
+                        return new Iterator<Entry<Object, FrozenConfigurationNode>>() {
+                            private int idx;
+
+                            @Override
+                            public boolean hasNext() {
+                                return this.idx < keys.length;
+                            }
+
+                            @Override
+                            public Entry<Object, FrozenConfigurationNode> next() {
+                                if (this.idx >= keys.length) {
+                                    throw new NoSuchElementException();
+                                }
+                                final int idx = this.idx++;
+                                return UnmodifiableCollections.immutableMapEntry(keys[idx], children[idx]);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return ChildrenMap.this.size();
+                    }
+                };
+            }
+            return entries;
+        }
+
+    }
+
+}
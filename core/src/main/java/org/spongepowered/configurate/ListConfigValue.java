@@ -16,13 +16,19 @@
  */
 package org.spongepowered.configurate;
 
+import static java.util.Objects.requireNonNull;
+
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.configurate.serialize.Scalars;
+import org.spongepowered.configurate.util.Types;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -59,9 +65,84 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, A extends Abst
         return key instanceof Integer || key == UNALLOCATED_IDX;
     }
 
+    /**
+     * Get the boxed element type of a primitive array that can be held packed.
+     *
+     * @param array the potential array
+     * @return the boxed element type, or null if the array cannot be packed
+     */
+    static @Nullable Class<?> packedElementType(final Object array) {
+        if (array instanceof int[]) {
+            return Integer.class;
+        } else if (array instanceof long[]) {
+            return Long.class;
+        } else if (array instanceof double[]) {
+            return Double.class;
+        } else if (array instanceof float[]) {
+            return Float.class;
+        } else if (array instanceof boolean[]) {
+            return Boolean.class;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Create a list value holding the elements of {@code array} packed.
+     *
+     * <p>The array is not copied, and must not be modified afterwards.</p>
+     *
+     * @param holder the node holding the list
+     * @param array a non-empty array, of a type accepted by
+     *              {@link #packedElementType(Object)}
+     * @param <N> the node type
+     * @param <A> the implementation node type
+     * @return a new packed list value
+     */
+    static <N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> ListConfigValue<N, A> packed(
+            final A holder, final Object array) {
+        final ListConfigValue<N, A> ret = new ListConfigValue<>(holder);
+        ret.packed = array;
+        return ret;
+    }
+
     private final A holder;
     volatile List<A> values = new ArrayList<>();
 
+    /**
+     * Elements held unboxed in a primitive array, instead of as child nodes.
+     *
+     * <p>While a list is packed, {@link #values} is empty. Child nodes are
+     * only created for elements when requested, and are then tracked in
+     * {@link #materialized} at their element's index, taking precedence over
+     * the packed value. The packed array itself is never modified, so it may
+     * be shared between copies.</p>
+     *
+     * <p>Any structural change to the list unpacks it into ordinary child
+     * nodes. Both fields are guarded by this value's monitor.</p>
+     */
+    private volatile @Nullable Object packed;
+    private @Nullable AbstractConfigurationNode<?, ?> @Nullable [] materialized;
+
+    /**
+     * The value this is a copy of, while it still shares that
+     * value's children.
+     *
+     * <p>While set, this list is otherwise empty, and its state must not be
+     * read directly.</p>
+     */
+    private volatile @Nullable ListConfigValue<N, A> source;
+    private @Nullable SharedCopies copies; // guarded by this
+
+    /**
+     * Elements of the source that have already been looked up, copied
+     * one at a time so a lookup doesn't have to copy every element.
+     *
+     * <p>These take the place of the source's elements at their index until
+     * this value is unshared. Guarded by this.</p>
+     */
+    private @Nullable AbstractConfigurationNode<?, ?> @Nullable [] copiedChildren;
+
     ListConfigValue(final A holder) {
         this.holder = holder;
     }
@@ -76,8 +157,50 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, A extends Abst
         }
     }
 
+    /**
+     * Get the value holding this list's elements, without unsharing it.
+     *
+     * @return the source of a shared copy, or this value
+     */
+    private ListConfigValue<N, A> content() {
+        final @Nullable ListConfigValue<N, A> source = this.source;
+        return source == null ? this : source;
+    }
+
     @Override
     public Object get() {
+        final ListConfigValue<N, A> content = this.content();
+        if (content != this) {
+            if (!this.hasCopiedChildren()) {
+                return content.get();
+            }
+            final List<Object> elements = this.peekElements();
+            final List<@Nullable Object> ret = new ArrayList<>(elements.size());
+            for (int i = 0; i < elements.size(); ++i) {
+                final Object element = elements.get(i);
+                ret.add(element instanceof AbstractConfigurationNode<?, ?>
+                    ? ((AbstractConfigurationNode<?, ?>) element).raw()
+                    : Array.get(element, i));
+            }
+            return ret;
+        }
+
+        if (this.packed != null) {
+            synchronized (this) {
+                final @Nullable Object packed = this.packed;
+                if (packed != null) {
+                    final @Nullable AbstractConfigurationNode<?, ?> @Nullable [] materialized = this.materialized;
+                    final int length = Array.getLength(packed);
+                    final List<@Nullable Object> ret = new ArrayList<>(length);
+                    for (int i = 0; i < length; ++i) {
+                        final @Nullable AbstractConfigurationNode<?, ?> child = materialized == null ? null : materialized[i];
+                        ret.add(child == null ? Array.get(packed, i) : child.raw());
+                    }
+                    return ret;
+                }
+            }
+        }
+
         final List<A> values = this.values;
         synchronized (values) {
             final List<Object> ret = new ArrayList<>(values.size());
@@ -89,7 +212,7 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, A extends Abst
     }
 
     public List<N> unwrapped() {
-        final List<A> orig = this.values;
+        final List<A> orig = this.values();
         synchronized (orig) {
             final List<N> ret = new ArrayList<>(orig.size());
             for (A element : orig) {
@@ -106,6 +229,20 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, A extends Abst
             value = Collections.singleton(value);
         }
         final Collection<@Nullable ?> valueAsList = (Collection<@Nullable ?>) value;
+        final @Nullable Object packed = this.tryPack(valueAsList);
+        if (packed != null) {
+            final List<A> oldMaterialized;
+            synchronized (this) {
+                this.source = null;
+                this.copiedChildren = null;
+                oldMaterialized = this.discardPacked();
+                this.packed = packed;
+            }
+            detachNodes(oldMaterialized);
+            detachNodes(VALUES_HANDLE.getAndSet(this, new ArrayList<>()));
+            return;
+        }
+
         final List<A> newValue = new ArrayList<>(valueAsList.size());
 
         int count = 0;
@@ -120,9 +257,53 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, A extends Abst
             child.raw(o);
             ++count;
         }
+        final List<A> oldMaterialized;
+        synchronized (this) {
+            this.source = null;
+            this.copiedChildren = null;
+            oldMaterialized = this.discardPacked();
+        }
+        detachNodes(oldMaterialized);
         detachNodes(VALUES_HANDLE.getAndSet(this, newValue));
     }
 
+    /**
+     * Attempt to pack a collection into a primitive array.
+     *
+     * <p>Only non-empty collections where every element has the same boxed
+     * primitive type can be packed, so that unpacking produces exactly the
+     * values that were provided.</p>
+     *
+     * @param values the values to pack
+     * @return a packed array, or null if the values cannot be packed
+     */
+    private @Nullable Object tryPack(final Collection<@Nullable ?> values) {
+        final Iterator<@Nullable ?> it = values.iterator();
+        if (!it.hasNext()) {
+            return null;
+        }
+        final @Nullable Object first = it.next();
+        if (first == null) {
+            return null;
+        }
+        final Class<?> type = first.getClass();
+        if (!(type == Integer.class || type == Long.class || type == Double.class || type == Float.class || type == Boolean.class)
+            || !this.holder.options().acceptsType(type)) {
+            return null;
+        }
+
+        final int length = values.size();
+        final Object ret = Array.newInstance((Class<?>) Types.unbox(type), length);
+        int idx = 0;
+        for (final @Nullable Object element : values) {
+            if (element == null || element.getClass() != type || idx >= length) {
+                return null;
+            }
+            Array.set(ret, idx++, element);
+        }
+        return idx == length ? ret : null;
+    }
+
     @Override
     public @Nullable A putChild(final Object key, final @Nullable A value) {
         return putChildInternal(key, value, false);
@@ -134,12 +315,13 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, A extends Abst
     }
 
     private @Nullable A putChildInternal(final Object index, final @Nullable A value, final boolean onlyIfAbsent) {
+        this.unshare();
         if (index == UNALLOCATED_IDX) {
             if (value != null) { // can't remove an unallocated node
                 List<A> values;
                 do {
                     // Allocate an index for the newly added node
-                    values = this.values;
+                    values = this.values();
                     values.add(value);
                     value.key = values.lastIndexOf(value);
                 } while (!VALUES_HANDLE.compareAndSet(this, values, values));
@@ -150,11 +332,28 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, A extends Abst
         }
     }
 
+    @SuppressWarnings("unchecked")
     private @Nullable A putChildInternal(final int index, final @Nullable A value, final boolean onlyIfAbsent) {
+        if (value != null && this.packed != null) {
+            // replacing an existing element doesn't require unpacking
+            synchronized (this) {
+                final @Nullable Object packed = this.packed;
+                if (packed != null && index >= 0 && index < Array.getLength(packed)) {
+                    if (onlyIfAbsent) {
+                        return this.materialize(packed, index);
+                    }
+                    final @Nullable AbstractConfigurationNode<?, ?>[] materialized = this.materialized(packed);
+                    final @Nullable A ret = (A) materialized[index];
+                    materialized[index] = value;
+                    return ret;
+                }
+            }
+        }
+
         @Nullable A ret = null;
         List<A> values;
         do {
-            values = this.values;
+            values = this.values();
             synchronized (values) {
                 if (value == null) {
                     // only remove actually existing values
@@ -163,7 +362,7 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, A extends Abst
                         ret = values.remove(index);
                         // update indexes for subsequent elements
                         for (int i = index; i < values.size(); ++i) {
-                            values.get(i).key = index;
+                            values.get(i).key = i;
                         }
                     }
                 } else {
@@ -183,11 +382,53 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, A extends Abst
         return ret;
     }
 
+    /**
+     * Get the list index a key refers to.
+     *
+     * @param key the key
+     * @return the index, or {@code -1} if the key is not a valid index
+     */
+    static int index(final @Nullable Object key) {
+        if (key instanceof Integer) {
+            final int index = (Integer) key;
+            return index < 0 ? -1 : index;
+        } else if (key == UNALLOCATED_IDX) {
+            // appending, which would otherwise fail coercion by throwing
+            return -1;
+        }
+        final @Nullable Integer value = Scalars.INTEGER.tryDeserialize(key);
+        return value == null || value < 0 ? -1 : value;
+    }
+
     @Override
     public @Nullable A child(final @Nullable Object key) {
-        final @Nullable Integer value = Scalars.INTEGER.tryDeserialize(key);
-        if (value == null || value < 0) {
-            return null;
+        final int index = index(key);
+        return index < 0 ? null : this.child(index);
+    }
+
+    /**
+     * Get the child at an index, if present.
+     *
+     * @param value a non-negative index
+     * @return the child, if present
+     */
+    @Nullable A child(final int value) {
+        if (this.source != null) {
+            synchronized (this) {
+                final @Nullable ListConfigValue<N, A> source = this.source;
+                if (source != null) {
+                    return this.copiedChild(source, value);
+                }
+            }
+        }
+
+        if (this.packed != null) {
+            synchronized (this) {
+                final @Nullable Object packed = this.packed;
+                if (packed != null) {
+                    return value < Array.getLength(packed) ? this.materialize(packed, value) : null;
+                }
+            }
         }
 
         final List<A> values = this.values;
@@ -199,34 +440,567 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, A extends Abst
         }
     }
 
+    /**
+     * Get the child at an index, if present, without creating a child node
+     * for a packed element.
+     *
+     * <p>A packed element with no child node is returned as a virtual node,
+     * which replaces the element in this list if it is modified.</p>
+     *
+     * @param index a non-negative index
+     * @return the child, if present
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable A existingChild(final int index) {
+        if (this.source != null) {
+            synchronized (this) {
+                final @Nullable ListConfigValue<N, A> source = this.source;
+                if (source != null) {
+                    final @Nullable AbstractConfigurationNode<?, ?> @Nullable [] copied = this.copiedChildren;
+                    final @Nullable Object element = copied != null && index < copied.length && copied[index] != null
+                        ? copied[index]
+                        : source.peek(index);
+                    if (element == null || element instanceof AbstractConfigurationNode<?, ?>) {
+                        return element == null ? null : this.copiedChild(source, index);
+                    }
+                    return this.createElement(element, index, false);
+                }
+            }
+        }
+
+        if (this.packed != null) {
+            synchronized (this) {
+                final @Nullable Object packed = this.packed;
+                if (packed != null) {
+                    if (index >= Array.getLength(packed)) {
+                        return null;
+                    }
+                    final @Nullable AbstractConfigurationNode<?, ?> @Nullable [] materialized = this.materialized;
+                    final @Nullable A child = materialized == null ? null : (A) materialized[index];
+                    return child == null ? this.createElement(packed, index, false) : child;
+                }
+            }
+        }
+
+        final List<A> values = this.values;
+        synchronized (values) {
+            return index < values.size() ? values.get(index) : null;
+        }
+    }
+
+    /**
+     * Read the child at an index without modifying this list in any way.
+     *
+     * <p>A shared copy is read through its source, and no node is created
+     * for a packed element. Any node returned may belong to the source of a
+     * shared copy, so must only be read.</p>
+     *
+     * @param index a non-negative index
+     * @return the child node, the packed array holding the element at
+     *     {@code index} if it has no child node, or null if absent
+     */
+    @Nullable Object peek(final int index) {
+        final ListConfigValue<N, A> content = this.content();
+        if (content != this) {
+            synchronized (this) {
+                final @Nullable AbstractConfigurationNode<?, ?> @Nullable [] copied = this.copiedChildren;
+                if (this.source != null && copied != null && index < copied.length && copied[index] != null) {
+                    return copied[index];
+                }
+            }
+        }
+        if (content.packed != null) {
+            synchronized (content) {
+                final @Nullable Object packed = content.packed;
+                if (packed != null) {
+                    if (index >= Array.getLength(packed)) {
+                        return null;
+                    }
+                    final @Nullable AbstractConfigurationNode<?, ?> @Nullable [] materialized = content.materialized;
+                    final @Nullable AbstractConfigurationNode<?, ?> child = materialized == null ? null : materialized[index];
+                    return child == null ? packed : child;
+                }
+            }
+        }
+
+        final List<A> values = content.values;
+        synchronized (values) {
+            return index < values.size() ? values.get(index) : null;
+        }
+    }
+
     @Override
     public Iterable<A> iterateChildren() {
-        final List<A> values = this.values;
+        final List<A> values = this.values();
         synchronized (values) {
             return UnmodifiableCollections.copyOf(values);
         }
     }
 
+    /**
+     * Get the child nodes to visit, without unpacking a packed list.
+     *
+     * <p>Packed elements that have no child node yet are visited through
+     * short-lived virtual nodes. These replace their element in this list
+     * if they are modified, just like any other virtual node would.</p>
+     *
+     * @return the nodes to visit
+     */
+    @SuppressWarnings("unchecked")
+    List<A> visitableChildren() {
+        this.unshare();
+        if (this.packed != null) {
+            synchronized (this) {
+                final @Nullable Object packed = this.packed;
+                if (packed != null) {
+                    final @Nullable AbstractConfigurationNode<?, ?> @Nullable [] materialized = this.materialized;
+                    final int length = Array.getLength(packed);
+                    final List<A> ret = new ArrayList<>(length);
+                    for (int i = 0; i < length; ++i) {
+                        final @Nullable A child = materialized == null ? null : (A) materialized[i];
+                        ret.add(child == null ? this.createElement(packed, i, false) : child);
+                    }
+                    return ret;
+                }
+            }
+        }
+        return this.values;
+    }
+
+    /**
+     * Get a copy of the elements of this list as a primitive array, if this
+     * list is packed with elements of the array's component type.
+     *
+     * <p>Elements whose nodes carry a comment or hints are not held by the
+     * array alone, so no copy is made for such lists.</p>
+     *
+     * @param arrayType the primitive array type
+     * @param <T> the array type
+     * @return a copy of the elements, or null if not packed as that type
+     */
+    <T> @Nullable T packedCopy(final Class<T> arrayType) {
+        final @Nullable Object ret = this.copyPackedArray(arrayType);
+        return ret == null ? null : arrayType.cast(ret);
+    }
+
+    /**
+     * Get a copy of the elements of this list as a primitive array of
+     * whichever type it is packed as.
+     *
+     * @return a copy of the elements, or null if not packed
+     * @see #packedCopy(Class)
+     */
+    @Nullable Object packedCopy() {
+        return this.copyPackedArray(null);
+    }
+
+    private @Nullable Object copyPackedArray(final @Nullable Class<?> arrayType) {
+        final ListConfigValue<N, A> content = this.content();
+        if (content != this) {
+            final @Nullable Object ret = content.copyPackedArray(arrayType);
+            if (ret == null) {
+                return null;
+            }
+            synchronized (this) {
+                // apply any changes made through copied elements
+                return this.source == null || applyChildren(ret, this.copiedChildren) ? ret : null;
+            }
+        }
+
+        if (this.packed == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            final @Nullable Object packed = this.packed;
+            if (packed == null || arrayType != null && packed.getClass() != arrayType) {
+                return null;
+            }
+
+            final int length = Array.getLength(packed);
+            final Object ret = Array.newInstance(packed.getClass().getComponentType(), length);
+            System.arraycopy(packed, 0, ret, 0, length);
+            // apply any changes made through child nodes
+            return applyChildren(ret, this.materialized) ? ret : null;
+        }
+    }
+
+    /**
+     * Write the values of child nodes into a copy of a packed array.
+     *
+     * @param array the array to update
+     * @param children child nodes by index, taking precedence over the array
+     * @return whether every child could be written into the array
+     */
+    private static boolean applyChildren(final Object array, final @Nullable AbstractConfigurationNode<?, ?> @Nullable [] children) {
+        if (children == null) {
+            return true;
+        }
+        final Type elementType = Types.box(array.getClass().getComponentType());
+        for (int i = 0; i < children.length; ++i) {
+            final @Nullable AbstractConfigurationNode<?, ?> child = children[i];
+            if (child != null) {
+                final @Nullable Object childValue = child.rawScalar();
+                if (childValue == null || childValue.getClass() != elementType || hasMetadata(child)) {
+                    return false;
+                }
+                Array.set(array, i, childValue);
+            }
+        }
+        return true;
+    }
+
+    // a comment or hints on an element can't be held by a primitive array
+    private static boolean hasMetadata(final AbstractConfigurationNode<?, ?> child) {
+        return !child.ownHints().isEmpty()
+            || child instanceof CommentedConfigurationNodeIntermediary<?> && ((CommentedConfigurationNodeIntermediary<?>) child).comment() != null;
+    }
+
+    /**
+     * Copy a packed list to a new holder, which may be of a different type.
+     *
+     * @param source the list to copy
+     * @param holder the new holder
+     * @param <N> the node type
+     * @param <A> the implementation node type
+     * @return a packed copy, or null if the source list is not packed
+     */
+    @SuppressWarnings("unchecked")
+    static <N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> @Nullable ListConfigValue<N, A> copyPacked(
+            final ListConfigValue<?, ?> source, final A holder) {
+        // children of the source are only ever read, so their type doesn't matter
+        return ((ListConfigValue<N, A>) source).copyPacked(holder, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable ListConfigValue<N, A> copyPacked(final A holder, final boolean sameType) {
+        final ListConfigValue<N, A> content = this.content();
+        if (content != this) {
+            final @Nullable ListConfigValue<N, A> copy = content.copyPacked(holder, sameType);
+            if (copy != null) {
+                synchronized (this) {
+                    if (this.source != null) {
+                        copyChildren(this.copiedChildren, copy, holder, sameType);
+                    }
+                }
+            }
+            return copy;
+        }
+
+        if (this.packed == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            final @Nullable Object packed = this.packed;
+            if (packed == null || !holder.options().acceptsType(requireNonNull(packedElementType(packed)))) {
+                return null;
+            }
+
+            final ListConfigValue<N, A> copy = packed(holder, packed);
+            copyChildren(this.materialized, copy, holder, sameType);
+            return copy;
+        }
+    }
+
+    /**
+     * Copy child nodes into the created elements of a packed copy.
+     *
+     * @param children child nodes by index, if any
+     * @param copy the packed copy
+     * @param holder the holder of the copy
+     * @param sameType whether the children are of the holder's type
+     */
+    @SuppressWarnings("unchecked")
+    private static <N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> void copyChildren(
+            final @Nullable AbstractConfigurationNode<?, ?> @Nullable [] children, final ListConfigValue<N, A> copy,
+            final A holder, final boolean sameType) {
+        if (children == null) {
+            return;
+        }
+        synchronized (copy) {
+            final @Nullable AbstractConfigurationNode<?, ?>[] copyMaterialized = copy.materialized(requireNonNull(copy.packed));
+            for (int i = 0; i < children.length; ++i) {
+                final @Nullable AbstractConfigurationNode<?, ?> child = children[i];
+                if (child != null) {
+                    if (sameType) {
+                        copyMaterialized[i] = ((A) child).copy(holder);
+                    } else {
+                        final A childCopy = holder.createNode(i);
+                        childCopy.attached = true;
+                        childCopy.from(child);
+                        copyMaterialized[i] = childCopy;
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public ListConfigValue<N, A> copy(final A holder) {
+        if (this.hasCopiedChildren()) {
+            // elements already looked up may have been changed since
+            this.unshare();
+        }
+        final ListConfigValue<N, A> source = this.content();
         final ListConfigValue<N, A> copy = new ListConfigValue<>(holder);
-        final List<A> copyValues;
+        copy.source = source;
+        synchronized (source) {
+            @Nullable SharedCopies copies = source.copies;
+            if (copies == null) {
+                copies = source.copies = new SharedCopies();
+            }
+            copies.add(copy);
+        }
+        return copy;
+    }
 
-        final List<A> values = this.values;
-        synchronized (values) {
-            copyValues = new ArrayList<>(values.size());
-            for (A obj : values) {
-                copyValues.add(obj.copy(holder)); // recursively copy
+    @Override
+    public boolean sharesContent(final ConfigValue<?, ?> other) {
+        if (!(other instanceof ListConfigValue<?, ?>)) {
+            return false;
+        }
+        final ListConfigValue<?, ?> that = (ListConfigValue<?, ?>) other;
+        // elements already looked up may have been changed since
+        return this.content() == that.content() && !this.hasCopiedChildren() && !that.hasCopiedChildren();
+    }
+
+    @Override
+    public boolean hasSharedCopies() {
+        return this.copies != null;
+    }
+
+    @Override
+    public void unshareCopies() {
+        // copies stay tracked until all are unshared, so other writers wait for them too
+        while (true) {
+            final List<ConfigValue<?, ?>> pending;
+            synchronized (this) {
+                final @Nullable SharedCopies copies = this.copies;
+                if (copies == null) {
+                    return;
+                }
+                pending = copies.pending(this);
+                if (pending.isEmpty()) {
+                    this.copies = null;
+                    return;
+                }
+            }
+            for (final ConfigValue<?, ?> copy : pending) {
+                copy.unshare();
             }
         }
+    }
 
-        copy.values = copyValues;
-        return copy;
+    @Override
+    @SuppressWarnings("unchecked")
+    public void unshare() {
+        if (this.source == null) {
+            return;
+        }
+
+        synchronized (this) {
+            final @Nullable ListConfigValue<N, A> source = this.source;
+            if (source == null) {
+                return;
+            }
+
+            final @Nullable AbstractConfigurationNode<?, ?> @Nullable [] copied = this.copiedChildren;
+            final @Nullable ListConfigValue<N, A> packedCopy = source.copyPacked(this.holder, true);
+            if (packedCopy != null) {
+                if (copied != null) {
+                    // elements already copied are kept as they are
+                    final @Nullable AbstractConfigurationNode<?, ?>[] materialized = packedCopy.materialized(requireNonNull(packedCopy.packed));
+                    for (int i = 0; i < copied.length; ++i) {
+                        if (copied[i] != null) {
+                            materialized[i] = copied[i];
+                        }
+                    }
+                }
+                this.packed = packedCopy.packed;
+                this.materialized = packedCopy.materialized;
+            } else {
+                final List<A> values = source.values;
+                final List<A> copyValues;
+                synchronized (values) {
+                    copyValues = new ArrayList<>(values.size());
+                    for (int i = 0; i < values.size(); ++i) {
+                        final @Nullable A child = copied == null ? null : (A) copied[i];
+                        // children of the copy share the source's grandchildren in turn
+                        copyValues.add(child == null ? values.get(i).copy(this.holder) : child);
+                    }
+                }
+                VALUES_HANDLE.set(this, copyValues);
+            }
+            this.copiedChildren = null;
+            this.source = null;
+        }
     }
 
     @Override
     public boolean isEmpty() {
-        return this.values.isEmpty();
+        return this.content().size() == 0;
+    }
+
+    private int size() {
+        final @Nullable Object packed = this.packed;
+        if (packed != null) {
+            return Array.getLength(packed);
+        }
+        return this.values.size();
+    }
+
+    private boolean hasCopiedChildren() {
+        synchronized (this) {
+            return this.source != null && this.copiedChildren != null;
+        }
+    }
+
+    /**
+     * Get a copy of one element of the source of this shared copy, without
+     * copying any other elements.
+     *
+     * <p>Must be called while holding this value's monitor.</p>
+     *
+     * @param source the source of this copy
+     * @param index a non-negative index
+     * @return the copied child, if present
+     */
+    @SuppressWarnings("unchecked")
+    private @Nullable A copiedChild(final ListConfigValue<N, A> source, final int index) {
+        @Nullable AbstractConfigurationNode<?, ?> @Nullable [] copied = this.copiedChildren;
+        if (copied != null && index < copied.length && copied[index] != null) {
+            return (A) copied[index];
+        }
+
+        final @Nullable Object element = source.peek(index);
+        if (element == null) {
+            return null;
+        }
+        if (copied == null) {
+            copied = this.copiedChildren = new AbstractConfigurationNode<?, ?>[source.size()];
+        }
+        // a copied node shares the original's children in turn
+        final A child = element instanceof AbstractConfigurationNode<?, ?>
+            ? ((A) element).copy(this.holder)
+            : this.createElement(element, index, true);
+        copied[index] = child;
+        return child;
+    }
+
+    /**
+     * Get the values held by this list, unpacking it first if necessary.
+     *
+     * @return the child nodes
+     */
+    private List<A> values() {
+        this.unshare();
+        if (this.packed != null) {
+            synchronized (this) {
+                final @Nullable Object packed = this.packed;
+                if (packed != null) {
+                    final int length = Array.getLength(packed);
+                    final List<A> values = new ArrayList<>(length);
+                    for (int i = 0; i < length; ++i) {
+                        values.add(this.materialize(packed, i));
+                    }
+                    this.packed = null;
+                    this.materialized = null;
+                    VALUES_HANDLE.set(this, values);
+                }
+            }
+        }
+        return this.values;
+    }
+
+    private @Nullable AbstractConfigurationNode<?, ?>[] materialized(final Object packed) {
+        @Nullable AbstractConfigurationNode<?, ?> @Nullable [] materialized = this.materialized;
+        if (materialized == null) {
+            materialized = this.materialized = new AbstractConfigurationNode<?, ?>[Array.getLength(packed)];
+        }
+        return materialized;
+    }
+
+    /**
+     * Get the child node for a packed element, creating it if necessary.
+     *
+     * <p>Must be called while holding this value's monitor.</p>
+     *
+     * @param packed the packed array
+     * @param index the element index
+     * @return the child node
+     */
+    @SuppressWarnings("unchecked")
+    private A materialize(final Object packed, final int index) {
+        final @Nullable AbstractConfigurationNode<?, ?>[] materialized = this.materialized(packed);
+        @Nullable A child = (A) materialized[index];
+        if (child == null) {
+            child = this.createElement(packed, index, true);
+            materialized[index] = child;
+        }
+        return child;
+    }
+
+    private A createElement(final Object packed, final int index, final boolean attached) {
+        final A child = this.holder.createNode(index);
+        child.attached = attached;
+        child.value = packedElement(packed, index);
+        return child;
+    }
+
+    /**
+     * Create a node for a packed element that is not part of this list,
+     * for comparison with existing child nodes.
+     *
+     * @param index the element index
+     * @param value the element value
+     * @return a new virtual node
+     */
+    @SuppressWarnings("unchecked")
+    private A detachedElement(final int index, final PrimitiveConfigValue<?, ?> value) {
+        final A child = this.holder.createNode(index);
+        child.value = (PrimitiveConfigValue<N, A>) value;
+        return child;
+    }
+
+    private static <N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> PrimitiveConfigValue<N, A> packedElement(
+            final Object packed, final int index) {
+        if (packed instanceof int[]) {
+            return PrimitiveConfigValue.ofInt(((int[]) packed)[index]);
+        } else if (packed instanceof long[]) {
+            return PrimitiveConfigValue.ofLong(((long[]) packed)[index]);
+        } else if (packed instanceof double[]) {
+            return PrimitiveConfigValue.ofDouble(((double[]) packed)[index]);
+        } else if (packed instanceof float[]) {
+            return PrimitiveConfigValue.ofFloat(((float[]) packed)[index]);
+        } else {
+            return PrimitiveConfigValue.ofBoolean(((boolean[]) packed)[index]);
+        }
+    }
+
+    /**
+     * Stop holding elements packed, if this list is currently packed.
+     *
+     * <p>Must be called while holding this value's monitor.</p>
+     *
+     * @return any child nodes that had been created for packed elements
+     */
+    @SuppressWarnings("unchecked")
+    private List<A> discardPacked() {
+        final @Nullable AbstractConfigurationNode<?, ?> @Nullable [] materialized = this.materialized;
+        this.packed = null;
+        this.materialized = null;
+        if (materialized == null) {
+            return Collections.emptyList();
+        }
+
+        final List<A> ret = new ArrayList<>();
+        for (final @Nullable AbstractConfigurationNode<?, ?> child : materialized) {
+            if (child != null) {
+                ret.add((A) child);
+            }
+        }
+        return ret;
     }
 
     private void detachNodes(final List<? extends AbstractConfigurationNode<?, ?>> children) {
@@ -243,6 +1017,13 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, A extends Abst
     @Override
     @SuppressWarnings("unchecked")
     public void clear() {
+        final List<A> oldMaterialized;
+        synchronized (this) {
+            this.source = null;
+            this.copiedChildren = null;
+            oldMaterialized = this.discardPacked();
+        }
+        detachNodes(oldMaterialized);
         final List<A> oldValues = VALUES_HANDLE.getAndSet(this, new ArrayList<>());
         detachNodes(oldValues);
     }
@@ -255,17 +1036,177 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, A extends Abst
         if (!(other instanceof ListConfigValue<?, ?>)) {
             return false;
         }
-        final ListConfigValue<?, ?> that = (ListConfigValue<?, ?>) other;
-        return Objects.equals(this.values, that.values);
+        final ListConfigValue<?, ?> thisContent = this.content();
+        final ListConfigValue<?, ?> that = ((ListConfigValue<?, ?>) other).content();
+        if (thisContent.packed != null || that.packed != null
+            || this.hasCopiedChildren() || ((ListConfigValue<?, ?>) other).hasCopiedChildren()) {
+            return this.elementsEqual((ListConfigValue<?, ?>) other);
+        }
+        return Objects.equals(thisContent.values, that.values);
+    }
+
+    /**
+     * Compare the elements of two lists, where either may be packed.
+     *
+     * <p>Existing child nodes are compared as nodes, so any comments or
+     * other metadata they hold are taken into account. Packed elements with
+     * no child node are compared by value, unless the other list has a child
+     * node at their index.</p>
+     *
+     * @param that the other list
+     * @return whether the lists' elements are equal
+     */
+    private boolean elementsEqual(final ListConfigValue<?, ?> that) {
+        final List<Object> thisElements = this.peekElements();
+        final List<Object> thatElements = that.peekElements();
+        if (thisElements.size() != thatElements.size()) {
+            return false;
+        }
+
+        for (int i = 0, size = thisElements.size(); i < size; ++i) {
+            final Object thisElement = thisElements.get(i);
+            final Object thatElement = thatElements.get(i);
+            final boolean thisPacked = !(thisElement instanceof AbstractConfigurationNode<?, ?>);
+            final boolean thatPacked = !(thatElement instanceof AbstractConfigurationNode<?, ?>);
+            if (thisPacked && thatPacked) {
+                if (!packedElementsEqual(thisElement, thatElement, i)) {
+                    return false;
+                }
+            } else if (thisPacked) {
+                if (!this.detachedElement(i, packedElement(thisElement, i)).equals(thatElement)) {
+                    return false;
+                }
+            } else if (thatPacked) {
+                if (!thisElement.equals(that.detachedElement(i, packedElement(thatElement, i)))) {
+                    return false;
+                }
+            } else if (!thisElement.equals(thatElement)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the elements of this list without modifying it in any way.
+     *
+     * <p>Each element is its child node, or for a packed element with no
+     * child node, the packed array holding it. A shared copy is read through
+     * its source, so any nodes returned must only be read.</p>
+     *
+     * @return the elements of this list
+     */
+    List<Object> peekElements() {
+        final ListConfigValue<N, A> content = this.content();
+        if (content != this) {
+            final List<Object> ret = content.peekElements();
+            synchronized (this) {
+                final @Nullable AbstractConfigurationNode<?, ?> @Nullable [] copied = this.copiedChildren;
+                if (this.source != null && copied != null) {
+                    for (int i = 0; i < copied.length && i < ret.size(); ++i) {
+                        if (copied[i] != null) {
+                            ret.set(i, copied[i]);
+                        }
+                    }
+                }
+            }
+            return ret;
+        }
+
+        if (content.packed != null) {
+            synchronized (content) {
+                final @Nullable Object packed = content.packed;
+                if (packed != null) {
+                    final @Nullable AbstractConfigurationNode<?, ?> @Nullable [] materialized = content.materialized;
+                    final int length = Array.getLength(packed);
+                    final List<Object> ret = new ArrayList<>(length);
+                    for (int i = 0; i < length; ++i) {
+                        final @Nullable AbstractConfigurationNode<?, ?> child = materialized == null ? null : materialized[i];
+                        ret.add(child == null ? packed : child);
+                    }
+                    return ret;
+                }
+            }
+        }
+
+        final List<A> values = content.values;
+        synchronized (values) {
+            return new ArrayList<>(values);
+        }
+    }
+
+    /**
+     * Get whether the elements at the same index of two packed arrays are
+     * equal, as their boxed values would be.
+     *
+     * @param first a packed array
+     * @param second another packed array
+     * @param index an index present in both arrays
+     * @return whether the elements are equal
+     */
+    static boolean packedElementsEqual(final Object first, final Object second, final int index) {
+        if (first.getClass() != second.getClass()) {
+            return false; // boxed values of different types are never equal
+        } else if (first instanceof int[]) {
+            return ((int[]) first)[index] == ((int[]) second)[index];
+        } else if (first instanceof long[]) {
+            return ((long[]) first)[index] == ((long[]) second)[index];
+        } else if (first instanceof double[]) {
+            return Double.compare(((double[]) first)[index], ((double[]) second)[index]) == 0;
+        } else if (first instanceof float[]) {
+            return Float.compare(((float[]) first)[index], ((float[]) second)[index]) == 0;
+        } else {
+            return ((boolean[]) first)[index] == ((boolean[]) second)[index];
+        }
     }
 
     @Override
     public int hashCode() {
+        final ListConfigValue<N, A> content = this.content();
+        if (content != this) {
+            if (!this.hasCopiedChildren()) {
+                return content.hashCode();
+            }
+            // consistent with the hash of an unshared list
+            final List<Object> elements = this.peekElements();
+            int hash = 1;
+            for (int i = 0; i < elements.size(); ++i) {
+                final Object element = elements.get(i);
+                hash = 31 * hash + (element instanceof AbstractConfigurationNode<?, ?>
+                    ? element.hashCode()
+                    : this.holder.childHash(i, packedElement(element, i).hashCode()));
+            }
+            return hash;
+        }
+
+        if (this.packed != null) {
+            synchronized (this) {
+                final @Nullable Object packed = this.packed;
+                if (packed != null) {
+                    // consistent with the hash of an unpacked list of child nodes
+                    final @Nullable AbstractConfigurationNode<?, ?> @Nullable [] materialized = this.materialized;
+                    int hash = 1;
+                    for (int i = 0, length = Array.getLength(packed); i < length; ++i) {
+                        final @Nullable AbstractConfigurationNode<?, ?> child = materialized == null ? null : materialized[i];
+                        hash = 31 * hash + (child == null ? this.holder.childHash(i, packedElement(packed, i).hashCode()) : child.hashCode());
+                    }
+                    return hash;
+                }
+            }
+        }
         return this.values.hashCode();
     }
 
     @Override
     public String toString() {
+        final ListConfigValue<N, A> content = this.content();
+        if (content != this) {
+            return this.hasCopiedChildren() ? "ListConfigValue{values=" + this.get() + '}' : content.toString();
+        }
+
+        if (this.packed != null) {
+            return "ListConfigValue{packed=" + this.get() + '}';
+        }
         return "ListConfigValue{values=" + this.values.toString() + '}';
     }
 
@@ -16,10 +16,14 @@
  */
 package org.spongepowered.configurate;
 
+import static java.util.Objects.requireNonNull;
+
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentMap;
@@ -32,11 +36,35 @@ final class MapConfigValue<N extends ScopedConfigurationNode<N>, A extends Abstr
     private final A holder;
     volatile Map<Object, A> values;
 
+    /**
+     * The value this is a copy of, while it still shares that
+     * value's children.
+     *
+     * <p>While set, {@link #values} is empty and must not be read directly.</p>
+     */
+    private volatile @Nullable MapConfigValue<N, A> source;
+
+    /**
+     * Children of the source that have already been looked up, copied
+     * one at a time so a lookup doesn't have to copy every child.
+     *
+     * <p>These take the place of the source's children at their keys until
+     * this value is unshared. Guarded by this.</p>
+     */
+    private @Nullable Map<Object, A> copiedChildren;
+    private @Nullable SharedCopies copies; // guarded by this
+
     MapConfigValue(final A holder) {
         this.holder = holder;
         this.values = newMap();
     }
 
+    private MapConfigValue(final A holder, final MapConfigValue<N, A> source) {
+        this.holder = holder;
+        this.values = Collections.emptyMap();
+        this.source = source;
+    }
+
     private Map<Object, A> newMap() {
         final Map<Object, A> ret = this.holder.options().mapFactory().create();
         if (!(ret instanceof ConcurrentMap)) {
@@ -46,18 +74,103 @@ final class MapConfigValue<N extends ScopedConfigurationNode<N>, A extends Abstr
         }
     }
 
+    /**
+     * Get the value holding this map's children, without unsharing it.
+     *
+     * @return the source of a shared copy, or this value
+     */
+    private MapConfigValue<N, A> content() {
+        final @Nullable MapConfigValue<N, A> source = this.source;
+        return source == null ? this : source;
+    }
+
+    /**
+     * Get this map's own children, unsharing them first if necessary.
+     *
+     * @return the child nodes
+     */
+    Map<Object, A> values() {
+        this.unshare();
+        return this.values;
+    }
+
+    /**
+     * Get the children of this map as they currently are, without
+     * unsharing it.
+     *
+     * <p>The nodes returned may belong to the source of a shared copy, so
+     * must only be read.</p>
+     *
+     * @return the children, which must not be modified
+     */
+    private Map<Object, A> currentValues() {
+        final @Nullable MapConfigValue<N, A> source = this.source;
+        if (source == null) {
+            return this.values;
+        }
+
+        synchronized (this) {
+            final @Nullable Map<Object, A> copied = this.copiedChildren;
+            if (this.source == null) {
+                return this.values;
+            } else if (copied == null) {
+                return source.values;
+            }
+
+            final Map<Object, A> ret = new LinkedHashMap<>();
+            final Map<Object, A> sourceValues = source.values;
+            synchronized (sourceValues) { // the lock of a synchronized map, harmless otherwise
+                for (Map.Entry<Object, A> ent : sourceValues.entrySet()) {
+                    final @Nullable A child = copied.get(ent.getKey());
+                    ret.put(ent.getKey(), child == null ? ent.getValue() : child);
+                }
+            }
+            return ret;
+        }
+    }
+
     @Override
     public Object get() {
         final Map<Object, Object> value = new LinkedHashMap<>();
-        for (Map.Entry<Object, A> ent : this.values.entrySet()) {
-            value.put(ent.getKey(), ent.getValue().raw()); // unwrap key from the backing node
+        final Map<Object, A> values = this.currentValues();
+        synchronized (values) { // the lock of a synchronized map, harmless otherwise
+            for (Map.Entry<Object, A> ent : values.entrySet()) {
+                value.put(ent.getKey(), ent.getValue().raw()); // unwrap key from the backing node
+            }
         }
         return value;
     }
 
+    /**
+     * Get the child nodes of this map, without unsharing it.
+     *
+     * <p>A shared copy hands out copies of its source's children, made as
+     * {@link #child(Object)} would.</p>
+     *
+     * @return the child nodes
+     */
+    Map<Object, A> children() {
+        if (this.source != null) {
+            synchronized (this) {
+                final @Nullable MapConfigValue<N, A> source = this.source;
+                if (source != null) {
+                    final Map<Object, A> ret = new LinkedHashMap<>();
+                    final Map<Object, A> sourceValues = source.values;
+                    synchronized (sourceValues) { // the lock of a synchronized map, harmless otherwise
+                        for (final Object key : sourceValues.keySet()) {
+                            ret.put(key, requireNonNull(this.copiedChild(source, key)));
+                        }
+                    }
+                    return ret;
+                }
+            }
+        }
+        return this.values;
+    }
+
     public Map<Object, N> unwrapped() {
         final Map<Object, N> unwrapped = new LinkedHashMap<>();
-        this.values.forEach((k, v) -> unwrapped.put(k, v.self()));
+        this.children().forEach((k, v) -> unwrapped.put(k, v.self()));
         return Collections.unmodifiableMap(unwrapped);
     }
 
@@ -77,6 +190,8 @@ final class MapConfigValue<N extends ScopedConfigurationNode<N>, A extends Abstr
             synchronized (this) {
                 final Map<Object, A> oldMap = this.values;
                 this.values = newValue;
+                this.source = null;
+                this.copiedChildren = null;
                 detachChildren(oldMap);
             }
         } else {
@@ -87,43 +202,189 @@ final class MapConfigValue<N extends ScopedConfigurationNode<N>, A extends Abstr
     @Override
     public @Nullable A putChild(final Object key, final @Nullable A value) {
         if (value == null) {
-            return this.values.remove(key);
+            return this.values().remove(key);
         } else {
-            return this.values.put(key, value);
+            return this.values().put(key, value);
         }
     }
 
     @Override
     public @Nullable A putChildIfAbsent(final Object key, final @Nullable A value) {
         if (value == null) {
-            return this.values.remove(key);
+            return this.values().remove(key);
         } else {
-            return this.values.putIfAbsent(key, value);
+            return this.values().putIfAbsent(key, value);
         }
     }
 
     @Override
     public @Nullable A child(final @Nullable Object key) {
+        if (this.source != null) {
+            synchronized (this) {
+                final @Nullable MapConfigValue<N, A> source = this.source;
+                if (source != null) {
+                    return this.copiedChild(source, key);
+                }
+            }
+        }
         return this.values.get(key);
     }
 
+    /**
+     * Get a copy of one child of the source of this shared copy, without
+     * copying any other children.
+     *
+     * <p>Must be called while holding this value's monitor.</p>
+     *
+     * @param source the source of this copy
+     * @param key the key
+     * @return the copied child, if present
+     */
+    private @Nullable A copiedChild(final MapConfigValue<N, A> source, final @Nullable Object key) {
+        @Nullable Map<Object, A> copied = this.copiedChildren;
+        @Nullable A child = copied == null ? null : copied.get(key);
+        if (child == null) {
+            final @Nullable A original = source.values.get(key);
+            if (original == null) {
+                return null;
+            }
+            if (copied == null) {
+                copied = this.copiedChildren = new HashMap<>();
+            }
+            // the copy shares the original's children in turn
+            child = original.copy(this.holder);
+            copied.put(key, child);
+        }
+        return child;
+    }
+
+    /**
+     * Read a child without unsharing this map.
+     *
+     * <p>The node returned may belong to the source of a shared copy, so
+     * must only be read.</p>
+     *
+     * @param key the key
+     * @return the child node, if present
+     */
+    @Nullable A peek(final Object key) {
+        if (this.source != null) {
+            synchronized (this) {
+                final @Nullable MapConfigValue<N, A> source = this.source;
+                if (source != null) {
+                    final @Nullable Map<Object, A> copied = this.copiedChildren;
+                    final @Nullable A child = copied == null ? null : copied.get(key);
+                    return child == null ? source.values.get(key) : child;
+                }
+            }
+        }
+        return this.values.get(key);
+    }
+
+    /**
+     * Get the children of this map without unsharing it.
+     *
+     * <p>The nodes returned may belong to the source of a shared copy, so
+     * must only be read.</p>
+     *
+     * @return a snapshot of the children
+     */
+    Map<Object, A> peekChildren() {
+        final Map<Object, A> values = this.currentValues();
+        synchronized (values) { // the lock of a synchronized map, harmless otherwise
+            return new LinkedHashMap<>(values);
+        }
+    }
+
     @Override
     public Iterable<A> iterateChildren() {
-        return this.values.values();
+        return this.children().values();
     }
 
     @Override
     public MapConfigValue<N, A> copy(final A holder) {
-        final MapConfigValue<N, A> copy = new MapConfigValue<>(holder);
-        for (Map.Entry<Object, A> ent : this.values.entrySet()) {
-            copy.values.put(ent.getKey(), ent.getValue().copy(holder)); // recursively copy
+        if (this.copiedChildren != null) {
+            // children already looked up may have been changed since
+            this.unshare();
+        }
+        final MapConfigValue<N, A> source = this.content();
+        final MapConfigValue<N, A> copy = new MapConfigValue<>(holder, source);
+        synchronized (source) {
+            @Nullable SharedCopies copies = source.copies;
+            if (copies == null) {
+                copies = source.copies = new SharedCopies();
+            }
+            copies.add(copy);
         }
         return copy;
     }
 
+    @Override
+    public boolean sharesContent(final ConfigValue<?, ?> other) {
+        if (!(other instanceof MapConfigValue<?, ?>)) {
+            return false;
+        }
+        final MapConfigValue<?, ?> that = (MapConfigValue<?, ?>) other;
+        // children already looked up may have been changed since
+        return this.content() == that.content() && this.copiedChildren == null && that.copiedChildren == null;
+    }
+
+    @Override
+    public boolean hasSharedCopies() {
+        return this.copies != null;
+    }
+
+    @Override
+    public void unshareCopies() {
+        // copies stay tracked until all are unshared, so other writers wait for them too
+        while (true) {
+            final List<ConfigValue<?, ?>> pending;
+            synchronized (this) {
+                final @Nullable SharedCopies copies = this.copies;
+                if (copies == null) {
+                    return;
+                }
+                pending = copies.pending(this);
+                if (pending.isEmpty()) {
+                    this.copies = null;
+                    return;
+                }
+            }
+            for (final ConfigValue<?, ?> copy : pending) {
+                copy.unshare();
+            }
+        }
+    }
+
+    @Override
+    public void unshare() {
+        if (this.source == null) {
+            return;
+        }
+
+        synchronized (this) {
+            final @Nullable MapConfigValue<N, A> source = this.source;
+            if (source != null) {
+                final Map<Object, A> values = newMap();
+                final @Nullable Map<Object, A> copied = this.copiedChildren;
+                final Map<Object, A> sourceValues = source.values;
+                synchronized (sourceValues) { // the lock of a synchronized map, harmless otherwise
+                    for (Map.Entry<Object, A> ent : sourceValues.entrySet()) {
+                        final @Nullable A child = copied == null ? null : copied.get(ent.getKey());
+                        // children of the copy share the source's grandchildren in turn
+                        values.put(ent.getKey(), child == null ? ent.getValue().copy(this.holder) : child);
+                    }
+                }
+                this.values = values;
+                this.copiedChildren = null;
+                this.source = null;
+            }
+        }
+    }
+
     @Override
     public boolean isEmpty() {
-        return this.values.isEmpty();
+        return this.content().values.isEmpty();
     }
 
     private void detachChildren(final Map<Object, ? extends AbstractConfigurationNode<?, ?>> map) {
@@ -140,6 +401,8 @@ final class MapConfigValue<N extends ScopedConfigurationNode<N>, A extends Abstr
         synchronized (this) {
             final Map<Object, A> oldMap = this.values;
             this.values = newMap();
+            this.source = null;
+            this.copiedChildren = null;
             detachChildren(oldMap);
         }
     }
@@ -153,17 +416,17 @@ final class MapConfigValue<N extends ScopedConfigurationNode<N>, A extends Abstr
             return false;
         }
         final MapConfigValue<?, ?> that = (MapConfigValue<?, ?>) other;
-        return Objects.equals(this.values, that.values);
+        return Objects.equals(this.currentValues(), that.currentValues());
     }
 
     @Override
     public int hashCode() {
-        return this.values.hashCode();
+        return this.currentValues().hashCode();
     }
 
     @Override
     public String toString() {
-        return "MapConfigValue{values=" + this.values + '}';
+        return "MapConfigValue{values=" + this.currentValues() + '}';
     }
 
 }
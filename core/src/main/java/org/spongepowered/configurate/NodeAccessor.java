@@ -0,0 +1,169 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+/**
+ * A precompiled, reusable lookup of a {@link NodePath}.
+ *
+ * <p>Accessors only ever read: a missing segment ends the lookup immediately,
+ * without creating virtual nodes for the remaining path, and defaults passed
+ * to the typed reads are never stored in the configuration.</p>
+ *
+ * <p>Accessors are immutable and may be shared between threads.</p>
+ *
+ * @see NodePath#compile()
+ * @since 4.2.0
+ */
+public interface NodeAccessor {
+
+    /**
+     * Get the path this accessor resolves.
+     *
+     * @return the path
+     * @since 4.2.0
+     */
+    NodePath path();
+
+    /**
+     * Find the node at this accessor's path, relative to {@code root}.
+     *
+     * <p>The node returned may be modified like any other node of
+     * {@code root}'s tree, so along the path, a copy stops sharing its
+     * children with the node it was copied from. The other reads of an
+     * accessor leave the tree entirely untouched.</p>
+     *
+     * @param root the node to resolve from
+     * @return the node, or {@code null} if any segment of the path is absent
+     * @since 4.2.0
+     */
+    @Nullable ConfigurationNode find(ConfigurationNode root);
+
+    /**
+     * Get whether a node is present at this accessor's path.
+     *
+     * @param root the node to resolve from
+     * @return whether a node exists at the path
+     * @since 4.2.0
+     */
+    default boolean exists(final ConfigurationNode root) {
+        return find(root) != null;
+    }
+
+    /**
+     * Get the raw value of the node at this accessor's path.
+     *
+     * @param root the node to resolve from
+     * @return the raw value, or {@code null} if absent
+     * @see ConfigurationNode#raw()
+     * @since 4.2.0
+     */
+    default @Nullable Object raw(final ConfigurationNode root) {
+        final @Nullable ConfigurationNode node = find(root);
+        return node == null ? null : node.raw();
+    }
+
+    /**
+     * Get the value at this accessor's path, deserialized as {@code type}.
+     *
+     * @param root the node to resolve from
+     * @param type the value type
+     * @param <V> the value type
+     * @return the value, or {@code null} if absent
+     * @throws SerializationException if the value could not be deserialized
+     * @see ConfigurationNode#get(Class)
+     * @since 4.2.0
+     */
+    default <V> @Nullable V get(final ConfigurationNode root, final Class<V> type) throws SerializationException {
+        final @Nullable ConfigurationNode node = find(root);
+        return node == null ? null : node.get(type);
+    }
+
+    /**
+     * Get the value at this accessor's path as a string.
+     *
+     * @param root the node to resolve from
+     * @return the string value, or {@code null} if absent
+     * @see ConfigurationNode#getString()
+     * @since 4.2.0
+     */
+    default @Nullable String getString(final ConfigurationNode root) { // @cs-: NoGetSetPrefix (not a bean method)
+        final @Nullable ConfigurationNode node = find(root);
+        return node == null ? null : node.getString();
+    }
+
+    /**
+     * Get the value at this accessor's path as a string.
+     *
+     * @param root the node to resolve from
+     * @param def the value to return if absent
+     * @return the string value, or {@code def} if absent
+     * @see ConfigurationNode#getString()
+     * @since 4.2.0
+     */
+    default String getString(final ConfigurationNode root, final String def) { // @cs-: NoGetSetPrefix (not a bean method)
+        final @Nullable String value = getString(root);
+        return value == null ? def : value;
+    }
+
+    /**
+     * Get the value at this accessor's path as an int.
+     *
+     * @param root the node to resolve from
+     * @param def the value to return if absent or not an int
+     * @return the int value, or {@code def}
+     * @see ConfigurationNode#getInt()
+     * @since 4.2.0
+     */
+    int getInt(ConfigurationNode root, int def); // @cs-: NoGetSetPrefix (not a bean method)
+
+    /**
+     * Get the value at this accessor's path as a long.
+     *
+     * @param root the node to resolve from
+     * @param def the value to return if absent or not a long
+     * @return the long value, or {@code def}
+     * @see ConfigurationNode#getLong()
+     * @since 4.2.0
+     */
+    long getLong(ConfigurationNode root, long def); // @cs-: NoGetSetPrefix (not a bean method)
+
+    /**
+     * Get the value at this accessor's path as a double.
+     *
+     * @param root the node to resolve from
+     * @param def the value to return if absent or not a double
+     * @return the double value, or {@code def}
+     * @see ConfigurationNode#getDouble()
+     * @since 4.2.0
+     */
+    double getDouble(ConfigurationNode root, double def); // @cs-: NoGetSetPrefix (not a bean method)
+
+    /**
+     * Get the value at this accessor's path as a boolean.
+     *
+     * @param root the node to resolve from
+     * @param def the value to return if absent or not a boolean
+     * @return the boolean value, or {@code def}
+     * @see ConfigurationNode#getBoolean()
+     * @since 4.2.0
+     */
+    boolean getBoolean(ConfigurationNode root, boolean def); // @cs-: NoGetSetPrefix (not a bean method)
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.serialize.Scalars;
+
+import java.lang.reflect.Array;
+
+final class NodeAccessorImpl implements NodeAccessor {
+
+    private final NodePath path;
+    private final Object[] keys;
+    // list indices parsed up front, or -1 where the key can only name a map child
+    private final int[] indices;
+
+    NodeAccessorImpl(final NodePath path) {
+        this.path = path;
+        this.keys = path.array();
+        this.indices = new int[this.keys.length];
+        for (int i = 0; i < this.keys.length; ++i) {
+            final @Nullable Integer index = Scalars.INTEGER.tryDeserialize(this.keys[i]);
+            this.indices[i] = index == null || index < 0 ? -1 : index;
+        }
+    }
+
+    @Override
+    public NodePath path() {
+        return this.path;
+    }
+
+    @Override
+    public @Nullable ConfigurationNode find(final ConfigurationNode root) {
+        if (root instanceof AbstractConfigurationNode<?, ?>) {
+            return this.find((AbstractConfigurationNode<?, ?>) root);
+        }
+
+        ConfigurationNode pointer = root;
+        for (final Object key : this.keys) {
+            if (!pointer.hasChild(key)) {
+                return null;
+            }
+            pointer = pointer.node(key);
+        }
+        return pointer;
+    }
+
+    private @Nullable AbstractConfigurationNode<?, ?> find(final AbstractConfigurationNode<?, ?> root) {
+        @Nullable AbstractConfigurationNode<?, ?> pointer = root;
+        for (int i = 0; i < this.keys.length; ++i) {
+            pointer = pointer.existingChild(this.keys[i], this.indices[i]);
+            if (pointer == null) {
+                return null;
+            }
+        }
+        return pointer;
+    }
+
+    /**
+     * Read the value at this accessor's path without modifying the tree.
+     *
+     * @param root the node to resolve from
+     * @return the node at the path, the packed array holding a list element
+     *     with no node at the last index of the path, or null if absent
+     */
+    private @Nullable Object peek(final ConfigurationNode root) {
+        if (!(root instanceof AbstractConfigurationNode<?, ?>)) {
+            return this.find(root);
+        }
+
+        @Nullable Object pointer = root;
+        for (int i = 0; i < this.keys.length; ++i) {
+            if (!(pointer instanceof AbstractConfigurationNode<?, ?>)) {
+                return null; // packed elements have no children
+            }
+            pointer = ((AbstractConfigurationNode<?, ?>) pointer).peekChild(this.keys[i], this.indices[i]);
+            if (pointer == null) {
+                return null;
+            }
+        }
+        return pointer;
+    }
+
+    private int lastIndex() {
+        return this.indices[this.indices.length - 1];
+    }
+
+    /**
+     * Get the raw scalar value of a result of {@link #peek(ConfigurationNode)}.
+     *
+     * @param found a non-null peek result
+     * @return the scalar value, if any
+     */
+    private @Nullable Object rawScalar(final Object found) {
+        if (found instanceof ConfigurationNode) {
+            return ((ConfigurationNode) found).rawScalar();
+        }
+        return Array.get(found, this.lastIndex());
+    }
+
+    @Override
+    public boolean exists(final ConfigurationNode root) {
+        return this.peek(root) != null;
+    }
+
+    @Override
+    public @Nullable Object raw(final ConfigurationNode root) {
+        final @Nullable Object found = this.peek(root);
+        if (found == null) {
+            return null;
+        } else if (found instanceof ConfigurationNode) {
+            return ((ConfigurationNode) found).raw();
+        }
+        return Array.get(found, this.lastIndex());
+    }
+
+    @Override
+    public @Nullable String getString(final ConfigurationNode root) { // @cs-: NoGetSetPrefix (not a bean method)
+        final @Nullable Object found = this.peek(root);
+        return found == null ? null : Scalars.STRING.tryDeserialize(this.rawScalar(found));
+    }
+
+    @Override
+    public int getInt(final ConfigurationNode root, final int def) {
+        final @Nullable Object found = this.peek(root);
+        if (found == null) {
+            return def;
+        } else if (found instanceof int[]) {
+            return ((int[]) found)[this.lastIndex()];
+        } else if (found instanceof long[]) {
+            final long value = ((long[]) found)[this.lastIndex()];
+            if ((int) value == value) {
+                return (int) value;
+            }
+        } else if (found instanceof AbstractConfigurationNode<?, ?>) {
+            return ((AbstractConfigurationNode<?, ?>) found).readInt(def, false);
+        }
+        final @Nullable Integer value = Scalars.INTEGER.tryDeserialize(this.rawScalar(found));
+        return value == null ? def : value;
+    }
+
+    @Override
+    public long getLong(final ConfigurationNode root, final long def) {
+        final @Nullable Object found = this.peek(root);
+        if (found == null) {
+            return def;
+        } else if (found instanceof long[]) {
+            return ((long[]) found)[this.lastIndex()];
+        } else if (found instanceof int[]) {
+            return ((int[]) found)[this.lastIndex()];
+        } else if (found instanceof AbstractConfigurationNode<?, ?>) {
+            return ((AbstractConfigurationNode<?, ?>) found).readLong(def, false);
+        }
+        final @Nullable Long value = Scalars.LONG.tryDeserialize(this.rawScalar(found));
+        return value == null ? def : value;
+    }
+
+    @Override
+    public double getDouble(final ConfigurationNode root, final double def) {
+        final @Nullable Object found = this.peek(root);
+        if (found == null) {
+            return def;
+        } else if (found instanceof double[]) {
+            return ((double[]) found)[this.lastIndex()];
+        } else if (found instanceof float[]) {
+            return ((float[]) found)[this.lastIndex()];
+        } else if (found instanceof int[]) {
+            return ((int[]) found)[this.lastIndex()];
+        } else if (found instanceof long[]) {
+            return ((long[]) found)[this.lastIndex()];
+        } else if (found instanceof AbstractConfigurationNode<?, ?>) {
+            return ((AbstractConfigurationNode<?, ?>) found).readDouble(def, false);
+        }
+        final @Nullable Double value = Scalars.DOUBLE.tryDeserialize(this.rawScalar(found));
+        return value == null ? def : value;
+    }
+
+    @Override
+    public boolean getBoolean(final ConfigurationNode root, final boolean def) {
+        final @Nullable Object found = this.peek(root);
+        if (found == null) {
+            return def;
+        } else if (found instanceof boolean[]) {
+            return ((boolean[]) found)[this.lastIndex()];
+        } else if (found instanceof AbstractConfigurationNode<?, ?>) {
+            return ((AbstractConfigurationNode<?, ?>) found).readBoolean(def, false);
+        }
+        final @Nullable Boolean value = Scalars.BOOLEAN.tryDeserialize(this.rawScalar(found));
+        return value == null ? def : value;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof NodeAccessorImpl)) {
+            return false;
+        }
+        return this.path.equals(((NodeAccessorImpl) other).path);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 + this.path.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "NodeAccessor{path=" + this.path + '}';
+    }
+
+}
@@ -0,0 +1,340 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate;
+
+import com.google.auto.value.AutoValue;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.util.UnmodifiableCollections;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The structural differences between two node trees.
+ *
+ * <p>Both trees are walked together, and each difference is recorded once,
+ * at the shallowest path where it occurs: a mapping child or list element
+ * only present in one tree is a single addition or removal, no matter
+ * how many nodes it contains. Subtrees that are the same node, or copies
+ * still sharing their children, are skipped without being compared.</p>
+ *
+ * <p>Neither tree is modified: copies are read without being given their
+ * own children, and packed lists are compared without being unpacked.</p>
+ *
+ * <p>Only values are compared. Comments and other metadata attached to a
+ * node do not cause a difference.</p>
+ *
+ * <p>This class is immutable.</p>
+ *
+ * @since 4.2.0
+ */
+public final class NodeDiff {
+
+    private static final NodeDiff EMPTY = new NodeDiff(Collections.emptyList());
+
+    private final List<Change> changes;
+
+    /**
+     * Compute the differences between two node trees.
+     *
+     * <p>Paths of the resulting changes are relative to the
+     * compared nodes.</p>
+     *
+     * @param previous the tree to compare from
+     * @param current the tree to compare to
+     * @return the differences
+     * @since 4.2.0
+     */
+    public static NodeDiff between(final ConfigurationNode previous, final ConfigurationNode current) {
+        final List<Change> changes = new ArrayList<>();
+        compare(NodePath.path(), previous, current, changes);
+        return changes.isEmpty() ? EMPTY : new NodeDiff(UnmodifiableCollections.copyOf(changes));
+    }
+
+    private NodeDiff(final List<Change> changes) {
+        this.changes = changes;
+    }
+
+    private static void compare(final NodePath path, final ConfigurationNode previous, final ConfigurationNode current,
+            final List<Change> changes) {
+        if (previous == current || sharesValue(previous, current)) {
+            return;
+        }
+
+        if (previous.isMap() && current.isMap()) {
+            final Map<Object, ? extends ConfigurationNode> previousChildren = childrenMap(previous);
+            final Map<Object, ? extends ConfigurationNode> currentChildren = childrenMap(current);
+            for (final Map.Entry<Object, ? extends ConfigurationNode> entry : previousChildren.entrySet()) {
+                final @Nullable ConfigurationNode currentChild = currentChildren.get(entry.getKey());
+                if (currentChild == null) {
+                    changes.add(Change.of(Change.Type.REMOVED, path.withAppendedChild(entry.getKey()), entry.getValue().raw(), null));
+                } else {
+                    compare(path.withAppendedChild(entry.getKey()), entry.getValue(), currentChild, changes);
+                }
+            }
+            for (final Map.Entry<Object, ? extends ConfigurationNode> entry : currentChildren.entrySet()) {
+                if (!previousChildren.containsKey(entry.getKey())) {
+                    changes.add(Change.of(Change.Type.ADDED, path.withAppendedChild(entry.getKey()), null, entry.getValue().raw()));
+                }
+            }
+        } else if (previous.isList() && current.isList()) {
+            final List<?> previousChildren = elements(previous);
+            final List<?> currentChildren = elements(current);
+            final int common = Math.min(previousChildren.size(), currentChildren.size());
+            for (int i = 0; i < common; ++i) {
+                compareElements(path.withAppendedChild(i), i, previousChildren.get(i), currentChildren.get(i), changes);
+            }
+            for (int i = common; i < previousChildren.size(); ++i) {
+                changes.add(Change.of(Change.Type.REMOVED, path.withAppendedChild(i), elementValue(previousChildren.get(i), i), null));
+            }
+            for (int i = common; i < currentChildren.size(); ++i) {
+                changes.add(Change.of(Change.Type.ADDED, path.withAppendedChild(i), null, elementValue(currentChildren.get(i), i)));
+            }
+        } else {
+            compareValues(path, value(previous), value(current), changes);
+        }
+    }
+
+    private static void compareElements(final NodePath path, final int index, final Object previous, final Object current,
+            final List<Change> changes) {
+        if (previous instanceof ConfigurationNode && current instanceof ConfigurationNode) {
+            compare(path, (ConfigurationNode) previous, (ConfigurationNode) current, changes);
+        } else if (!(previous instanceof ConfigurationNode) && !(current instanceof ConfigurationNode)) {
+            // both packed, so only read boxed values once they differ
+            if (!ListConfigValue.packedElementsEqual(previous, current, index)) {
+                changes.add(Change.of(Change.Type.CHANGED, path, Array.get(previous, index), Array.get(current, index)));
+            }
+        } else {
+            final @Nullable Object previousValue = previous instanceof ConfigurationNode
+                ? value((ConfigurationNode) previous) : Array.get(previous, index);
+            final @Nullable Object currentValue = current instanceof ConfigurationNode
+                ? value((ConfigurationNode) current) : Array.get(current, index);
+            compareValues(path, previousValue, currentValue, changes);
+        }
+    }
+
+    private static void compareValues(final NodePath path, final @Nullable Object previousValue, final @Nullable Object currentValue,
+            final List<Change> changes) {
+        if (previousValue == null && currentValue == null) {
+            return;
+        } else if (previousValue == null) {
+            changes.add(Change.of(Change.Type.ADDED, path, null, currentValue));
+        } else if (currentValue == null) {
+            changes.add(Change.of(Change.Type.REMOVED, path, previousValue, null));
+        } else if (!Objects.equals(previousValue, currentValue)) {
+            changes.add(Change.of(Change.Type.CHANGED, path, previousValue, currentValue));
+        }
+    }
+
+    /**
+     * Get the children of a map node, without unsharing a copy.
+     *
+     * @param node the map node
+     * @return its children, which must only be read
+     */
+    private static Map<Object, ? extends ConfigurationNode> childrenMap(final ConfigurationNode node) {
+        if (node instanceof AbstractConfigurationNode<?, ?>) {
+            final ConfigValue<?, ?> value = ((AbstractConfigurationNode<?, ?>) node).value;
+            if (value instanceof MapConfigValue<?, ?>) {
+                return ((MapConfigValue<?, ?>) value).peekChildren();
+            }
+        }
+        return node.childrenMap();
+    }
+
+    /**
+     * Get the elements of a list node, without unsharing a copy or
+     * unpacking a packed list.
+     *
+     * @param node the list node
+     * @return each element as its node, or as the packed array holding it
+     * @see ListConfigValue#peekElements()
+     */
+    private static List<?> elements(final ConfigurationNode node) {
+        if (node instanceof AbstractConfigurationNode<?, ?>) {
+            final ConfigValue<?, ?> value = ((AbstractConfigurationNode<?, ?>) node).value;
+            if (value instanceof ListConfigValue<?, ?>) {
+                return ((ListConfigValue<?, ?>) value).peekElements();
+            }
+        }
+        return node.childrenList();
+    }
+
+    private static @Nullable Object elementValue(final Object element, final int index) {
+        return element instanceof ConfigurationNode ? ((ConfigurationNode) element).raw() : Array.get(element, index);
+    }
+
+    /**
+     * Get the raw value of a node, if it has one.
+     *
+     * @param node the node
+     * @return the value, or {@code null} if the node has no value
+     */
+    private static @Nullable Object value(final ConfigurationNode node) {
+        return hasValue(node) ? node.raw() : null;
+    }
+
+    private static boolean sharesValue(final ConfigurationNode previous, final ConfigurationNode current) {
+        return previous instanceof AbstractConfigurationNode<?, ?>
+            && current instanceof AbstractConfigurationNode<?, ?>
+            && ((AbstractConfigurationNode<?, ?>) previous).sharesValueWith((AbstractConfigurationNode<?, ?>) current);
+    }
+
+    private static boolean hasValue(final ConfigurationNode node) {
+        return node.isMap() || node.isList() || node.rawScalar() != null;
+    }
+
+    /**
+     * Get every change between the two trees.
+     *
+     * <p>Changes are ordered as the previous tree's children, followed by any
+     * children only present in the current tree.</p>
+     *
+     * @return an unmodifiable list of changes
+     * @since 4.2.0
+     */
+    public List<Change> changes() {
+        return this.changes;
+    }
+
+    /**
+     * Get whether the two trees are structurally equal.
+     *
+     * @return whether there are no changes
+     * @since 4.2.0
+     */
+    public boolean isEmpty() {
+        return this.changes.isEmpty();
+    }
+
+    /**
+     * Get whether the value at a path may be different between the
+     * two trees.
+     *
+     * <p>This is the case when any change is at the path itself, at one of
+     * its ancestors, or anywhere underneath it.</p>
+     *
+     * @param path the path to check, relative to the compared nodes
+     * @return whether the value at {@code path} is affected
+     * @since 4.2.0
+     */
+    public boolean affects(final NodePath path) {
+        for (final Change change : this.changes) {
+            if (isPrefix(change.path(), path) || isPrefix(path, change.path())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPrefix(final NodePath prefix, final NodePath path) {
+        if (prefix.size() > path.size()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.size(); ++i) {
+            if (!Objects.equals(prefix.get(i), path.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "NodeDiff{changes=" + this.changes + '}';
+    }
+
+    /**
+     * A single difference between two node trees.
+     *
+     * @since 4.2.0
+     */
+    @AutoValue
+    public abstract static class Change {
+
+        static Change of(final Type type, final NodePath path, final @Nullable Object previousValue, final @Nullable Object currentValue) {
+            return new AutoValue_NodeDiff_Change(type, path, previousValue, currentValue);
+        }
+
+        Change() {
+        }
+
+        /**
+         * The kind of change.
+         *
+         * @return the change type
+         * @since 4.2.0
+         */
+        public abstract Type type();
+
+        /**
+         * The path of the changed node, relative to the compared nodes.
+         *
+         * @return the path
+         * @since 4.2.0
+         */
+        public abstract NodePath path();
+
+        /**
+         * The raw value in the previous tree.
+         *
+         * @return the previous value, or {@code null} if it was added
+         * @since 4.2.0
+         */
+        public abstract @Nullable Object previousValue();
+
+        /**
+         * The raw value in the current tree.
+         *
+         * @return the current value, or {@code null} if it was removed
+         * @since 4.2.0
+         */
+        public abstract @Nullable Object currentValue();
+
+        /**
+         * Types of change.
+         *
+         * @since 4.2.0
+         */
+        public enum Type {
+            /**
+             * A value only present in the current tree.
+             *
+             * @since 4.2.0
+             */
+            ADDED,
+            /**
+             * A value only present in the previous tree.
+             *
+             * @since 4.2.0
+             */
+            REMOVED,
+            /**
+             * A value present in both trees, that is not equal between them.
+             *
+             * @since 4.2.0
+             */
+            CHANGED
+        }
+
+    }
+
+}
@@ -145,6 +145,19 @@ public interface NodePath extends Iterable<Object> {
     @Override
     Iterator<Object> iterator();
 
+    /**
+     * Compile this path into an accessor that can repeatedly look it up.
+     *
+     * <p>Unlike {@link ConfigurationNode#node(Iterable)}, the accessor does
+     * not create virtual nodes for absent segments.</p>
+     *
+     * @return an accessor for this path
+     * @since 4.2.0
+     */
+    default NodeAccessor compile() {
+        return new NodeAccessorImpl(this);
+    }
+
     /**
      * Create a new node path with the same data as this path.
      *
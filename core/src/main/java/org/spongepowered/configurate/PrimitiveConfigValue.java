@@ -0,0 +1,256 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collections;
+
+/**
+ * An immutable {@link ConfigValue} holding a single unboxed primitive.
+ *
+ * <p>Primitive values are not bound to a holder node, so they can be shared
+ * freely between nodes and copies. Changing the value of a node holding a
+ * primitive value replaces the value instance entirely.</p>
+ *
+ * <p>Primitive values are considered equal to {@link ScalarConfigValue}s
+ * holding the equivalent boxed value.</p>
+ */
+abstract class PrimitiveConfigValue<N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> implements ConfigValue<N, A> {
+
+    @SuppressWarnings("rawtypes")
+    private static final OfBoolean TRUE = new OfBoolean(true);
+    @SuppressWarnings("rawtypes")
+    private static final OfBoolean FALSE = new OfBoolean(false);
+
+    static <N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> PrimitiveConfigValue<N, A> ofInt(final int value) {
+        return new OfInt<>(value);
+    }
+
+    static <N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> PrimitiveConfigValue<N, A> ofLong(final long value) {
+        return new OfLong<>(value);
+    }
+
+    static <N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> PrimitiveConfigValue<N, A> ofFloat(final float value) {
+        return new OfFloat<>(value);
+    }
+
+    static <N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> PrimitiveConfigValue<N, A> ofDouble(final double value) {
+        return new OfDouble<>(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> PrimitiveConfigValue<N, A> ofBoolean(
+            final boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    PrimitiveConfigValue() {
+    }
+
+    /**
+     * Get the boxed type of the value held.
+     *
+     * @return the boxed type
+     */
+    abstract Class<?> type();
+
+    @Override
+    public abstract Object get();
+
+    @Override
+    public void set(final @Nullable Object value) {
+        throw new UnsupportedOperationException("Primitive values are immutable, and must be replaced rather than set");
+    }
+
+    @Override
+    public @Nullable A putChild(final Object key, final @Nullable A value) {
+        return null;
+    }
+
+    @Override
+    public @Nullable A putChildIfAbsent(final Object key, final @Nullable A value) {
+        return null;
+    }
+
+    @Override
+    public @Nullable A child(final @Nullable Object key) {
+        return null;
+    }
+
+    @Override
+    public Iterable<A> iterateChildren() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public PrimitiveConfigValue<N, A> copy(final A holder) {
+        return this;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        // immutable, the holder will replace this value
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PrimitiveConfigValue<?, ?> || other instanceof ScalarConfigValue<?, ?>)) {
+            return false;
+        }
+        return this.get().equals(((ConfigValue<?, ?>) other).get());
+    }
+
+    @Override
+    public int hashCode() {
+        return 7 + this.get().hashCode(); // consistent with ScalarConfigValue
+    }
+
+    @Override
+    public String toString() {
+        return "PrimitiveConfigValue{value=" + this.get() + '}';
+    }
+
+    static final class OfInt<N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> extends PrimitiveConfigValue<N, A> {
+        final int value;
+
+        OfInt(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        Class<?> type() {
+            return Integer.class;
+        }
+
+        @Override
+        public Object get() {
+            return this.value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7 + Integer.hashCode(this.value);
+        }
+
+    }
+
+    static final class OfLong<N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> extends PrimitiveConfigValue<N, A> {
+        final long value;
+
+        OfLong(final long value) {
+            this.value = value;
+        }
+
+        @Override
+        Class<?> type() {
+            return Long.class;
+        }
+
+        @Override
+        public Object get() {
+            return this.value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7 + Long.hashCode(this.value);
+        }
+
+    }
+
+    static final class OfFloat<N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> extends PrimitiveConfigValue<N, A> {
+        final float value;
+
+        OfFloat(final float value) {
+            this.value = value;
+        }
+
+        @Override
+        Class<?> type() {
+            return Float.class;
+        }
+
+        @Override
+        public Object get() {
+            return this.value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7 + Float.hashCode(this.value);
+        }
+
+    }
+
+    static final class OfDouble<N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> extends PrimitiveConfigValue<N, A> {
+        final double value;
+
+        OfDouble(final double value) {
+            this.value = value;
+        }
+
+        @Override
+        Class<?> type() {
+            return Double.class;
+        }
+
+        @Override
+        public Object get() {
+            return this.value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7 + Double.hashCode(this.value);
+        }
+
+    }
+
+    static final class OfBoolean<N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> extends PrimitiveConfigValue<N, A> {
+        final boolean value;
+
+        OfBoolean(final boolean value) {
+            this.value = value;
+        }
+
+        @Override
+        Class<?> type() {
+            return Boolean.class;
+        }
+
+        @Override
+        public Object get() {
+            return this.value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7 + Boolean.hashCode(this.value);
+        }
+
+    }
+
+}
@@ -91,6 +91,9 @@ final class ScalarConfigValue<N extends ScopedConfigurationNode<N>, A extends Ab
         if (this == other) {
             return true;
         }
+        if (other instanceof PrimitiveConfigValue<?, ?>) {
+            return Objects.equals(this.value, ((PrimitiveConfigValue<?, ?>) other).get());
+        }
         if (!(other instanceof ScalarConfigValue<?, ?>)) {
             return false;
         }
@@ -150,6 +150,37 @@ public interface ScopedConfigurationNode<N extends ScopedConfigurationNode<N>> e
     @Override
     N raw(@Nullable Object value);
 
+    @Override
+    default N rawInt(int value) {
+        return raw(value);
+    }
+
+    @Override
+    default N rawLong(long value) {
+        return raw(value);
+    }
+
+    @Override
+    default N rawFloat(float value) {
+        return raw(value);
+    }
+
+    @Override
+    default N rawDouble(double value) {
+        return raw(value);
+    }
+
+    @Override
+    default N rawBoolean(boolean value) {
+        return raw(value);
+    }
+
+    @Override
+    default N rawPackedList(Object array) {
+        ConfigurationNode.super.rawPackedList(array);
+        return self();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,82 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The copies of a list or map value that still share its child nodes.
+ *
+ * <p>Copying a list or map value is constant-time: the copy reads through to
+ * its source until either one is modified. Before the source, or any node
+ * beneath it, changes, each copy is given its own children, which are in
+ * turn copies sharing the source's children. Only the path from the root to
+ * a modified node ever has to be copied.</p>
+ *
+ * <p>Copies are only weakly referenced, so discarded copies are
+ * never unshared.</p>
+ */
+final class SharedCopies {
+
+    private static final int MIN_PURGE_SIZE = 8;
+
+    private final List<WeakReference<ConfigValue<?, ?>>> copies = new ArrayList<>(2);
+    private int purgeAt = MIN_PURGE_SIZE;
+
+    /**
+     * Track a new copy.
+     *
+     * <p>Must be called while holding the source value's monitor.</p>
+     *
+     * @param copy the copy
+     */
+    void add(final ConfigValue<?, ?> copy) {
+        if (this.copies.size() >= this.purgeAt) {
+            // a source copied repeatedly but never modified would otherwise grow forever
+            this.copies.removeIf(ref -> ref.get() == null);
+            this.purgeAt = Math.max(MIN_PURGE_SIZE, this.copies.size() * 2);
+        }
+        this.copies.add(new WeakReference<>(copy));
+    }
+
+    /**
+     * Get the copies that are still reachable and still share the
+     * source's children, forgetting any others.
+     *
+     * <p>Must be called while holding the source value's monitor.</p>
+     *
+     * @param source the value copied
+     * @return the copies that have yet to be unshared
+     */
+    List<ConfigValue<?, ?>> pending(final ConfigValue<?, ?> source) {
+        final List<ConfigValue<?, ?>> ret = new ArrayList<>(this.copies.size());
+        this.copies.removeIf(ref -> {
+            final @Nullable ConfigValue<?, ?> copy = ref.get();
+            if (copy == null || !copy.sharesContent(source)) {
+                return true;
+            }
+            ret.add(copy);
+            return false;
+        });
+        return ret;
+    }
+
+}
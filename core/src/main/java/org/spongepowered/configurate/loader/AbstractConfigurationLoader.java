@@ -33,15 +33,21 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PushbackInputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.lang.ref.WeakReference;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -79,6 +85,11 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
      */
     protected static final String SYSTEM_LINE_SEPARATOR = System.lineSeparator();
 
+    /**
+     * How many bytes to inspect for a header before reading a byte source.
+     */
+    private static final int HEADER_READAHEAD = 4096;
+
     /**
      * The reader source for this loader.
      *
@@ -86,6 +97,16 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
      */
     protected final @Nullable Callable<BufferedReader> source;
 
+    /**
+     * The byte source for this loader, if the source provides raw bytes.
+     *
+     * <p>Loaders that {@link #readsBytes() read bytes} read from this
+     * instead of {@link #source}.</p>
+     *
+     * @since 4.2.0
+     */
+    protected final @Nullable ByteSource byteSource;
+
     /**
      * The writer sink for this loader.
      *
@@ -93,6 +114,16 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
      */
     protected final @Nullable Callable<BufferedWriter> sink;
 
+    /**
+     * The byte sink for this loader, if the sink accepts raw bytes.
+     *
+     * <p>Loaders that {@link #writesBytes() write bytes} write to this
+     * instead of {@link #sink}.</p>
+     *
+     * @since 4.2.0
+     */
+    protected final @Nullable Callable<OutputStream> byteSink;
+
     /**
      * The comment handlers defined for this loader.
      */
@@ -108,6 +139,37 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
      */
     private final ConfigurationOptions defaultOptions;
 
+    /**
+     * Whether saving a node unmodified since the last load or save
+     * is skipped.
+     */
+    private final boolean skipUnmodifiedSaves;
+
+    /**
+     * The file read and written by this loader, if known.
+     */
+    private final @Nullable Path path;
+
+    /**
+     * The cache of parsed files, if enabled.
+     */
+    private final @Nullable ParseCache parseCache;
+
+    /**
+     * The subtrees to load, or {@code null} to load everything.
+     *
+     * <p>Loaders that {@link #filtersPaths() filter paths} themselves skip
+     * values outside the filter while parsing.</p>
+     *
+     * @since 4.2.0
+     */
+    protected final @Nullable PathFilter pathFilter;
+
+    /**
+     * The node most recently loaded or saved, with its state at that time.
+     */
+    private volatile @Nullable SyncState synced;
+
     /**
      * Create a loader instance from a builder.
      *
@@ -118,10 +180,17 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
      */
     protected AbstractConfigurationLoader(final Builder<?, ?> builder, final CommentHandler[] commentHandlers) {
         this.source = builder.source();
+        this.byteSource = builder.byteSource();
         this.sink = builder.sink();
+        this.byteSink = builder.byteSink();
         this.headerMode = builder.headerMode();
         this.commentHandlers = UnmodifiableCollections.toList(commentHandlers);
         this.defaultOptions = builder.defaultOptions();
+        this.skipUnmodifiedSaves = builder.skipUnmodifiedSaves();
+        this.path = builder.path;
+        this.parseCache = builder.parseCache();
+        final @Nullable PathFilter pathFilter = builder.pathFilter();
+        this.pathFilter = pathFilter == null || pathFilter.includesAll() ? null : pathFilter;
     }
 
     /**
@@ -144,15 +213,48 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
         if (this.source == null) {
             throw new ParsingException(UNKNOWN_POS, UNKNOWN_POS, "", "No source present to read from!", null);
         }
-        try (BufferedReader reader = this.source.call()) {
-            if (this.headerMode == HeaderMode.PRESERVE || this.headerMode == HeaderMode.NONE) {
-                final @Nullable String comment = CommentHandlers.extractComment(reader, this.commentHandlers);
-                if (comment != null && comment.length() > 0) {
-                    options = options.header(comment);
+        try {
+            final @Nullable Path path = this.path;
+            final @Nullable ParseCache cache = this.parseCache;
+            final @Nullable PathFilter filter = this.pathFilter;
+            final @Nullable ByteSource byteSource = this.byteSource;
+            final ParseCache.@Nullable Stamp stamp = path == null || cache == null || byteSource == null ? null : cache.stamp(path, byteSource);
+            if (stamp != null) {
+                final @Nullable N cached = cache.read(path, stamp, header -> createNode(this.cachedOptions(options, header)));
+                if (cached != null) {
+                    if (filter != null) {
+                        filter.apply(cached);
+                    } else {
+                        this.markSynced(cached, cached.modificationCount());
+                    }
+                    return cached;
                 }
             }
-            final N node = createNode(options);
-            loadInternal(node, reader);
+
+            // the entry is stamped with the bytes that are parsed, in case the file changed since
+            final ParseCache.@Nullable Recorder recorder = stamp == null || filter != null ? null : cache.recorder(path, byteSource);
+            final N node;
+            if (byteSource != null && this.readsBytes()) {
+                node = this.loadBytes(recorder == null ? byteSource : recorder, options);
+            } else {
+                try (BufferedReader reader = recorder == null
+                    ? this.source.call()
+                    : new BufferedReader(new InputStreamReader(recorder.open(), StandardCharsets.UTF_8))) {
+                    node = this.loadChars(reader, options);
+                }
+            }
+            if (filter != null) {
+                // a partial tree is neither cached nor considered in sync with the file
+                if (!this.filtersPaths()) {
+                    filter.apply(node);
+                }
+                return node;
+            }
+            final ParseCache.@Nullable Stamp parsed = recorder == null ? null : recorder.stamp();
+            if (parsed != null) {
+                cache.write(path, parsed, node);
+            }
+            this.markSynced(node, node.modificationCount());
             return node;
         } catch (final ParsingException ex) {
             throw ex;
@@ -166,6 +268,47 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
         }
     }
 
+    private ConfigurationOptions cachedOptions(final ConfigurationOptions options, final @Nullable String header) {
+        if (header != null && (this.headerMode == HeaderMode.PRESERVE || this.headerMode == HeaderMode.NONE)) {
+            return options.header(header);
+        }
+        return options;
+    }
+
+    private N loadChars(final BufferedReader reader, ConfigurationOptions options) throws IOException {
+        if (this.headerMode == HeaderMode.PRESERVE || this.headerMode == HeaderMode.NONE) {
+            final @Nullable String comment = CommentHandlers.extractComment(reader, this.commentHandlers);
+            if (comment != null && comment.length() > 0) {
+                options = options.header(comment);
+            }
+        }
+        final N node = createNode(options);
+        loadInternal(node, reader);
+        return node;
+    }
+
+    private N loadBytes(final ByteSource source, final ConfigurationOptions options) throws IOException {
+        try (PushbackInputStream input = new PushbackInputStream(source.open(), HEADER_READAHEAD)) {
+            if (!this.commentHandlers.isEmpty() && (this.headerMode == HeaderMode.PRESERVE || this.headerMode == HeaderMode.NONE)) {
+                final byte[] prefix = new byte[HEADER_READAHEAD];
+                int length = 0;
+                for (int read; length < prefix.length && (read = input.read(prefix, length, prefix.length - length)) != -1;) {
+                    length += read;
+                }
+                input.unread(prefix, 0, length);
+
+                // comment handlers work on characters, so any file with a header is read as such
+                final BufferedReader prefixReader = new BufferedReader(new StringReader(new String(prefix, 0, length, StandardCharsets.UTF_8)));
+                if (CommentHandlers.extractComment(prefixReader, this.commentHandlers) != null) {
+                    return this.loadChars(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), options);
+                }
+            }
+            final N node = createNode(options);
+            loadInternal(node, input);
+            return node;
+        }
+    }
+
     /**
      * Using a created node, attempt to read a configuration file.
      *
@@ -179,12 +322,83 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
     @ForOverride
     protected abstract void loadInternal(N node, BufferedReader reader) throws ParsingException;
 
+    /**
+     * Get whether this loader applies its {@link #pathFilter} while parsing.
+     *
+     * <p>When this returns {@code false}, a filter is applied to the node
+     * after it has been fully loaded.</p>
+     *
+     * @return whether paths are filtered while parsing
+     * @since 4.2.0
+     */
+    @ForOverride
+    protected boolean filtersPaths() {
+        return false;
+    }
+
+    /**
+     * Get whether this loader can read a configuration directly from
+     * raw bytes.
+     *
+     * <p>When this returns {@code true}, and a {@link #byteSource} is
+     * available, configurations without a header are read using
+     * {@link #loadInternal(ScopedConfigurationNode, InputStream)}. Files
+     * starting with a header are still read as characters.</p>
+     *
+     * @return whether bytes can be read
+     * @since 4.2.0
+     */
+    @ForOverride
+    protected boolean readsBytes() {
+        return false;
+    }
+
+    /**
+     * Using a created node, attempt to read a configuration file
+     * from raw bytes.
+     *
+     * <p>This is only called for loaders that {@link #readsBytes() read
+     * bytes}. The input does not start with a header.</p>
+     *
+     * <p>By default, the input is decoded as UTF-8 and read with
+     * {@link #loadInternal(ScopedConfigurationNode, BufferedReader)}.</p>
+     *
+     * @param node node to load into
+     * @param input stream to load from
+     * @throws ParsingException if an error occurs at any stage of loading
+     * @since 4.2.0
+     */
+    @ForOverride
+    protected void loadInternal(final N node, final InputStream input) throws ParsingException {
+        this.loadInternal(node, new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+    }
+
     @Override
     public void save(final ConfigurationNode node) throws ConfigurateException {
         if (this.sink == null) {
             throw new ConfigurateException(node, "No sink present to write to!");
         }
+        if (this.pathFilter != null) {
+            // whatever was loaded holds only part of the file, which saving would replace
+            throw new ConfigurateException(node, "Loaders with a path filter can only load");
+        }
+        if (this.isSynced(node)) {
+            return;
+        }
         this.checkCanWrite(node);
+        // read before writing, so changes made while writing are saved next time
+        final long modifications = node.modificationCount();
+        if (this.byteSink != null && this.writesBytes()) {
+            try (OutputStream output = this.byteSink.call()) {
+                saveInternal(node, output);
+            } catch (final ConfigurateException ex) {
+                throw ex;
+            } catch (final Exception ex) {
+                throw new ConfigurateException(node, ex);
+            }
+            this.markSynced(node, modifications);
+            return;
+        }
         try (Writer writer = this.sink.call()) {
             writeHeaderInternal(writer);
             if (this.headerMode != HeaderMode.NONE) {
@@ -204,6 +418,50 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
         } catch (final Exception ex) {
             throw new ConfigurateException(node, ex);
         }
+        this.markSynced(node, modifications);
+    }
+
+    /**
+     * Record a node as matching the file.
+     *
+     * @param node the node loaded or saved
+     * @param modifications the modification count of the node at the time
+     *     it was read from or written to the file
+     */
+    private void markSynced(final ConfigurationNode node, final long modifications) {
+        if (!this.skipUnmodifiedSaves) {
+            return;
+        }
+        if (modifications == ConfigurationNode.UNKNOWN_MODIFICATION_COUNT) {
+            this.synced = null;
+            return;
+        }
+        @Nullable FileTime modified = null;
+        if (this.path != null) {
+            try {
+                modified = Files.getLastModifiedTime(this.path);
+            } catch (final IOException ex) {
+                this.synced = null;
+                return;
+            }
+        }
+        this.synced = new SyncState(node, modifications, modified);
+    }
+
+    private boolean isSynced(final ConfigurationNode node) {
+        final @Nullable SyncState state = this.synced;
+        if (state == null || state.node.get() != node || state.modifications != node.modificationCount()) {
+            return false;
+        }
+        if (this.path != null) {
+            // the file may have been changed or removed by something else
+            try {
+                return Files.getLastModifiedTime(this.path).equals(state.modified);
+            } catch (final IOException ex) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -241,6 +499,50 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
     @ForOverride
     protected abstract void saveInternal(ConfigurationNode node, Writer writer) throws ConfigurateException;
 
+    /**
+     * Get whether this loader can write a configuration directly as
+     * raw bytes.
+     *
+     * <p>When this returns {@code true}, and a {@link #byteSink} is
+     * available, configurations are written using
+     * {@link #saveInternal(ConfigurationNode, OutputStream)}, and no
+     * header is written.</p>
+     *
+     * @return whether bytes can be written
+     * @since 4.2.0
+     */
+    @ForOverride
+    protected boolean writesBytes() {
+        return false;
+    }
+
+    /**
+     * Perform a save of the node to the provided output stream.
+     *
+     * <p>This is only called for loaders that {@link #writesBytes() write
+     * bytes}.</p>
+     *
+     * <p>By default, the node is written with
+     * {@link #saveInternal(ConfigurationNode, Writer)} and encoded as
+     * UTF-8.</p>
+     *
+     * @param node node to save
+     * @param output stream to output to
+     * @throws ConfigurateException if any of the node's data is unsavable
+     * @since 4.2.0
+     */
+    @ForOverride
+    protected void saveInternal(final ConfigurationNode node, final OutputStream output) throws ConfigurateException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        this.saveInternal(node, writer);
+        try {
+            // the stream is closed by the caller, so only flush what's buffered
+            writer.flush();
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
     @Override
     public ConfigurationOptions defaultOptions() {
         return this.defaultOptions;
@@ -256,6 +558,23 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
         return this.sink != null;
     }
 
+    /**
+     * A node known to match the loader's destination.
+     */
+    static final class SyncState {
+
+        final WeakReference<ConfigurationNode> node;
+        final long modifications;
+        final @Nullable FileTime modified;
+
+        SyncState(final ConfigurationNode node, final long modifications, final @Nullable FileTime modified) {
+            this.node = new WeakReference<>(node);
+            this.modifications = modifications;
+            this.modified = modified;
+        }
+
+    }
+
     /**
      * An abstract builder implementation for {@link AbstractConfigurationLoader}s.
      *
@@ -265,8 +584,16 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
     public abstract static class Builder<T extends Builder<T, L>, L extends AbstractConfigurationLoader<?>> {
         protected HeaderMode headerMode = HeaderMode.PRESERVE;
         protected @Nullable Callable<BufferedReader> source;
+        protected @Nullable ByteSource byteSource;
         protected @Nullable Callable<BufferedWriter> sink;
+        protected @Nullable Callable<OutputStream> byteSink;
         protected ConfigurationOptions defaultOptions = ConfigurationOptions.defaults();
+        protected boolean skipUnmodifiedSaves;
+        protected SyncMode syncMode = SyncMode.NONE;
+        protected boolean memoryMapped;
+        protected @Nullable ParseCache parseCache;
+        protected @Nullable PathFilter pathFilter;
+        @Nullable Path path;
 
         /**
          * Create a new builder.
@@ -303,10 +630,13 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
          * Sets the sink and source of the resultant loader to the given path.
          *
          * <p>The {@link #source() source} is defined using
-         * {@link Files#newBufferedReader(Path)} with UTF-8 encoding.</p>
+         * {@link Files#newBufferedReader(Path)} with UTF-8 encoding. The
+         * {@link #byteSource() byte source} reads the file directly, or
+         * {@link #memoryMapped(boolean) maps it into memory}.</p>
          *
-         * <p>The {@link #sink() sink} is defined using {@link AtomicFiles} with UTF-8
-         * encoding.</p>
+         * <p>The {@link #sink() sink} and {@link #byteSink() byte sink} are
+         * defined using {@link AtomicFiles} with UTF-8 encoding, and the
+         * {@link #syncMode(SyncMode) sync mode} of this builder.</p>
          *
          * @param path the path of the configuration file
          * @return this builder (for chaining)
@@ -315,7 +645,10 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
         public T path(final Path path) {
             final Path absPath = requireNonNull(path, "path").toAbsolutePath();
             this.source = () -> Files.newBufferedReader(absPath, StandardCharsets.UTF_8);
-            this.sink = AtomicFiles.atomicWriterFactory(absPath, StandardCharsets.UTF_8);
+            this.byteSource = this.memoryMapped ? ByteSource.mapped(absPath) : ByteSource.path(absPath);
+            this.sink = AtomicFiles.atomicWriterFactory(absPath, StandardCharsets.UTF_8, this.syncMode);
+            this.byteSink = AtomicFiles.atomicOutputStreamFactory(absPath, this.syncMode);
+            this.path = absPath;
             return self();
         }
 
@@ -329,6 +662,8 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
         public T url(final URL url) {
             requireNonNull(url, "url");
             this.source = () -> new BufferedReader(new InputStreamReader(url.openConnection().getInputStream(), StandardCharsets.UTF_8));
+            this.byteSource = ByteSource.stream(() -> url.openConnection().getInputStream());
+            this.path = null;
             return self();
         }
 
@@ -343,6 +678,8 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
          */
         public T source(final @Nullable Callable<BufferedReader> source) {
             this.source = source;
+            this.byteSource = null;
+            this.path = null;
             return self();
         }
 
@@ -356,6 +693,69 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
             return this.source;
         }
 
+        /**
+         * Sets the source of the resultant loader to raw bytes.
+         *
+         * <p>Loaders able to parse bytes read them directly, skipping any
+         * character decoding of their own. For other loaders, the
+         * {@link #source() source} is set to read the bytes as
+         * UTF-8 text.</p>
+         *
+         * @param source the byte source
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public T byteSource(final @Nullable ByteSource source) {
+            this.source = source == null ? null : () -> new BufferedReader(new InputStreamReader(source.open(), StandardCharsets.UTF_8));
+            this.byteSource = source;
+            this.path = null;
+            return self();
+        }
+
+        /**
+         * Gets the byte source to be used by the resultant loader.
+         *
+         * @return the byte source, if the source provides raw bytes
+         * @since 4.2.0
+         */
+        public @Nullable ByteSource byteSource() {
+            return this.byteSource;
+        }
+
+        /**
+         * Sets whether files set using {@link #path(Path)} are read by mapping
+         * them into memory.
+         *
+         * <p>This applies whether {@link #path(Path)} is called before or
+         * after this method. See {@link ByteSource#mapped(Path)} for
+         * the limitations of mapped files.</p>
+         *
+         * <p>This is disabled by default.</p>
+         *
+         * @param memoryMapped whether to map files into memory
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public T memoryMapped(final boolean memoryMapped) {
+            this.memoryMapped = memoryMapped;
+            final @Nullable Path path = this.path;
+            if (path != null) {
+                this.byteSource = memoryMapped ? ByteSource.mapped(path) : ByteSource.path(path);
+            }
+            return self();
+        }
+
+        /**
+         * Gets whether files set using {@link #path(Path)} are read by mapping
+         * them into memory.
+         *
+         * @return whether to map files into memory
+         * @since 4.2.0
+         */
+        public boolean memoryMapped() {
+            return this.memoryMapped;
+        }
+
         /**
          * Sets the sink of the resultant loader.
          *
@@ -367,6 +767,8 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
          */
         public T sink(final @Nullable Callable<BufferedWriter> sink) {
             this.sink = sink;
+            this.byteSink = null;
+            this.path = null;
             return self();
         }
 
@@ -380,6 +782,34 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
             return this.sink;
         }
 
+        /**
+         * Sets the sink of the resultant loader to accept raw bytes.
+         *
+         * <p>Loaders able to write bytes write them directly. For other
+         * loaders, the {@link #sink() sink} is set to write UTF-8 text to
+         * the stream.</p>
+         *
+         * @param sink the byte sink
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public T byteSink(final @Nullable Callable<OutputStream> sink) {
+            this.sink = sink == null ? null : () -> new BufferedWriter(new OutputStreamWriter(sink.call(), StandardCharsets.UTF_8));
+            this.byteSink = sink;
+            this.path = null;
+            return self();
+        }
+
+        /**
+         * Gets the byte sink to be used by the resultant loader.
+         *
+         * @return the byte sink, if the sink accepts raw bytes
+         * @since 4.2.0
+         */
+        public @Nullable Callable<OutputStream> byteSink() {
+            return this.byteSink;
+        }
+
         /**
          * Sets the header mode of the resultant loader.
          *
@@ -402,6 +832,136 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
             return this.headerMode;
         }
 
+        /**
+         * Sets whether the resultant loader skips saving a node that has not
+         * been modified since it was last loaded or saved by the loader.
+         *
+         * <p>This avoids rewriting unchanged files, for example when every
+         * configuration is saved on shutdown. Nodes are compared by identity
+         * and {@link ConfigurationNode#modificationCount()}, so nodes that do
+         * not track modifications are always saved. For loaders
+         * created with {@link #path(Path)}, the file is also written if its
+         * modification time changed, so external edits or deletions are
+         * not lost. With other sinks, this loader must be the only writer
+         * to its destination.</p>
+         *
+         * <p>This is disabled by default.</p>
+         *
+         * @param skipUnmodifiedSaves whether to skip unmodified saves
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public T skipUnmodifiedSaves(final boolean skipUnmodifiedSaves) {
+            this.skipUnmodifiedSaves = skipUnmodifiedSaves;
+            return self();
+        }
+
+        /**
+         * Gets whether the resultant loader skips saving unmodified nodes.
+         *
+         * @return whether to skip unmodified saves
+         * @since 4.2.0
+         */
+        public boolean skipUnmodifiedSaves() {
+            return this.skipUnmodifiedSaves;
+        }
+
+        /**
+         * Sets how durably the resultant loader commits saved files
+         * to storage.
+         *
+         * <p>This applies to sinks created by {@link #path(Path)}, whether it
+         * is called before or after this method.</p>
+         *
+         * <p>By default, flushing is left to the operating system.</p>
+         *
+         * @param syncMode the sync mode
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public T syncMode(final SyncMode syncMode) {
+            this.syncMode = requireNonNull(syncMode, "syncMode");
+            final @Nullable Path path = this.path;
+            if (path != null) {
+                this.sink = AtomicFiles.atomicWriterFactory(path, StandardCharsets.UTF_8, syncMode);
+                this.byteSink = AtomicFiles.atomicOutputStreamFactory(path, syncMode);
+            }
+            return self();
+        }
+
+        /**
+         * Gets how durably the resultant loader commits saved files.
+         *
+         * @return the sync mode
+         * @since 4.2.0
+         */
+        public SyncMode syncMode() {
+            return this.syncMode;
+        }
+
+        /**
+         * Sets a cache of parsed files to be used by the resultant loader.
+         *
+         * <p>When loading a file set by {@link #path(Path)}, a cached node is
+         * used in place of parsing the file if the file is unchanged since
+         * the node was cached. Otherwise, the file is parsed and the result
+         * is cached. Nodes are not cached when saved, since a node may not be
+         * exactly what parsing its saved form would produce.</p>
+         *
+         * <p>This is disabled by default.</p>
+         *
+         * @param parseCache the cache to use, or {@code null} to disable
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public T parseCache(final @Nullable ParseCache parseCache) {
+            this.parseCache = parseCache;
+            return self();
+        }
+
+        /**
+         * Gets the cache of parsed files to be used by the resultant loader.
+         *
+         * @return the parse cache, if enabled
+         * @since 4.2.0
+         */
+        public @Nullable ParseCache parseCache() {
+            return this.parseCache;
+        }
+
+        /**
+         * Sets the subtrees the resultant loader should load.
+         *
+         * <p>Values outside the filter are left out of loaded nodes. This
+         * avoids building the parts of a large file that are not needed.</p>
+         *
+         * <p>A node loaded with a filter holds only part of its file, so
+         * loaders with a filter refuse to save, rather than replace the file
+         * with that part. Filtered loads are not stored in a
+         * {@link #parseCache(ParseCache) parse cache}, though they are read
+         * from one.</p>
+         *
+         * <p>By default, everything is loaded.</p>
+         *
+         * @param pathFilter the filter, or {@code null} to load everything
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public T pathFilter(final @Nullable PathFilter pathFilter) {
+            this.pathFilter = pathFilter;
+            return self();
+        }
+
+        /**
+         * Gets the subtrees to be loaded by the resultant loader.
+         *
+         * @return the filter, if any
+         * @since 4.2.0
+         */
+        public @Nullable PathFilter pathFilter() {
+            return this.pathFilter;
+        }
+
         /**
          * Sets the default configuration options to be used by the
          * resultant loader.
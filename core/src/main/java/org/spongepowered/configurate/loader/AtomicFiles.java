@@ -18,30 +18,42 @@ package org.spongepowered.configurate.loader;
 
 import static java.util.Objects.requireNonNull;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
-import java.io.FilterWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * A utility for creating "atomic" file writers.
+ * A utility for creating "atomic" file writers and output streams.
  *
- * <p>An atomic writer copies any existing file at the given path to a temporary
- * location, then writes to the same temporary location, before moving the file
- * back to the desired output path once the write is fully complete.</p>
+ * <p>An atomic writer writes to a temporary file next to the given path,
+ * before moving the file to the desired output path once the write is
+ * fully complete. The permissions of any existing file are carried over,
+ * but its content is never read.</p>
  *
  * @since 4.0.0
  */
 public final class AtomicFiles {
 
     private static final int MAX_TRIES = 2;
+    private static final int BUFFER_SIZE = 8192;
 
     private AtomicFiles() {}
 
@@ -54,8 +66,23 @@ public final class AtomicFiles {
      * @since 4.0.0
      */
     public static Callable<BufferedWriter> atomicWriterFactory(final Path path, final Charset charset) {
+        return atomicWriterFactory(path, charset, SyncMode.NONE);
+    }
+
+    /**
+     * Creates and returns an "atomic" writer factory for the given path.
+     *
+     * @param path path the complete file should be written to
+     * @param charset the charset to be used by the writer
+     * @param syncMode how durably to commit each written file
+     * @return a new writer factory
+     * @since 4.2.0
+     */
+    public static Callable<BufferedWriter> atomicWriterFactory(final Path path, final Charset charset, final SyncMode syncMode) {
         requireNonNull(path, "path");
-        return () -> atomicBufferedWriter(path, charset);
+        requireNonNull(charset, "charset");
+        requireNonNull(syncMode, "syncMode");
+        return () -> atomicBufferedWriter(path, charset, syncMode);
     }
 
     /**
@@ -67,7 +94,59 @@ public final class AtomicFiles {
      * @throws IOException for any underlying filesystem errors
      * @since 4.0.0
      */
-    public static BufferedWriter atomicBufferedWriter(Path path, final Charset charset) throws IOException {
+    public static BufferedWriter atomicBufferedWriter(final Path path, final Charset charset) throws IOException {
+        return atomicBufferedWriter(path, charset, SyncMode.NONE);
+    }
+
+    /**
+     * Creates and returns an "atomic" writer for the given path.
+     *
+     * <p>Encoded output is written straight to the temporary file's channel,
+     * and the file is moved into place when the writer is closed.</p>
+     *
+     * @param path the path
+     * @param charset the charset to be used by the writer
+     * @param syncMode how durably to commit the written file
+     * @return a new writer
+     * @throws IOException for any underlying filesystem errors
+     * @since 4.2.0
+     */
+    public static BufferedWriter atomicBufferedWriter(final Path path, final Charset charset, final SyncMode syncMode) throws IOException {
+        return new BufferedWriter(new AtomicFileWriter(open(path, syncMode), charset.newEncoder()), BUFFER_SIZE);
+    }
+
+    /**
+     * Creates and returns an "atomic" output stream factory for the
+     * given path.
+     *
+     * @param path path the complete file should be written to
+     * @param syncMode how durably to commit each written file
+     * @return a new output stream factory
+     * @since 4.2.0
+     */
+    public static Callable<OutputStream> atomicOutputStreamFactory(final Path path, final SyncMode syncMode) {
+        requireNonNull(path, "path");
+        requireNonNull(syncMode, "syncMode");
+        return () -> atomicOutputStream(path, syncMode);
+    }
+
+    /**
+     * Creates and returns an "atomic" output stream for the given path.
+     *
+     * <p>Bytes are written straight to the temporary file's channel, and
+     * the file is moved into place when the stream is closed.</p>
+     *
+     * @param path the path
+     * @param syncMode how durably to commit the written file
+     * @return a new output stream
+     * @throws IOException for any underlying filesystem errors
+     * @since 4.2.0
+     */
+    public static OutputStream atomicOutputStream(final Path path, final SyncMode syncMode) throws IOException {
+        return new BufferedOutputStream(open(path, syncMode), BUFFER_SIZE);
+    }
+
+    private static AtomicFileOutputStream open(Path path, final SyncMode syncMode) throws IOException {
         // absolute
         path = path.toAbsolutePath();
 
@@ -80,14 +159,17 @@ public final class AtomicFiles {
             // ignore
         }
 
+        createDirectoriesIfNecessary(path.getParent());
         final Path writePath = temporaryPath(path.getParent(), path.getFileName().toString());
-        if (Files.exists(path)) {
-            Files.copy(path, writePath, StandardCopyOption.COPY_ATTRIBUTES, StandardCopyOption.REPLACE_EXISTING);
+        final FileChannel channel = FileChannel.open(writePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            copyPermissions(path, writePath);
+        } catch (final IOException | RuntimeException ex) {
+            channel.close();
+            Files.deleteIfExists(writePath);
+            throw ex;
         }
-
-        createDirectoriesIfNecessary(writePath.getParent());
-        final BufferedWriter output = Files.newBufferedWriter(writePath, charset);
-        return new BufferedWriter(new AtomicFileWriter(writePath, path, output));
+        return new AtomicFileOutputStream(channel, writePath, path, syncMode);
     }
 
     // symlink-aware directory creation
@@ -103,40 +185,214 @@ public final class AtomicFiles {
         return parent.resolve(fileName);
     }
 
-    private static class AtomicFileWriter extends FilterWriter {
+    private static void copyPermissions(final Path source, final Path target) throws IOException {
+        final @Nullable PosixFileAttributeView sourceView = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        if (sourceView == null || !Files.exists(source)) {
+            return;
+        }
+        Files.setPosixFilePermissions(target, sourceView.readAttributes().permissions());
+    }
 
-        private final Path targetPath;
+    private static void moveIntoPlace(final Path writePath, final Path targetPath) throws IOException {
+        try {
+            Files.move(writePath, targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final AccessDeniedException ex) {
+            // Sometimes because of file locking this will fail... Let's just try again and hope for the best
+            // Thanks Windows!
+            for (int tries = 0; tries < MAX_TRIES; ++tries) {
+                // Pause for a bit
+                try {
+                    Thread.sleep(5 * tries);
+                    Files.move(writePath, targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    return;
+                } catch (final AccessDeniedException ex2) {
+                    if (tries == MAX_TRIES - 1) {
+                        throw ex;
+                    }
+                } catch (final InterruptedException exInterrupt) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private static void syncDirectory(final Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (final IOException ex) {
+            // directories can't be opened or synced on every platform
+        }
+    }
+
+    /**
+     * Writes bytes directly into a channel for a temporary file, moving it
+     * into place on close.
+     */
+    private static final class AtomicFileOutputStream extends OutputStream {
+
+        private final FileChannel channel;
         private final Path writePath;
+        private final Path targetPath;
+        private final SyncMode syncMode;
+        private boolean closed;
 
-        protected AtomicFileWriter(final Path writePath, final Path targetPath, final Writer wrapping) {
-            super(wrapping);
+        AtomicFileOutputStream(final FileChannel channel, final Path writePath, final Path targetPath, final SyncMode syncMode) {
+            this.channel = channel;
             this.writePath = writePath;
             this.targetPath = targetPath;
+            this.syncMode = syncMode;
+        }
+
+        @Override
+        public void write(final int value) throws IOException {
+            this.write(new byte[] {(byte) value}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            this.write(ByteBuffer.wrap(bytes, offset, length));
+        }
+
+        void write(final ByteBuffer buffer) throws IOException {
+            if (this.closed) {
+                throw new IOException("Stream has already been closed");
+            }
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+        }
+
+        /**
+         * Close the temporary file without moving it into place.
+         *
+         * @throws IOException if the file could not be removed
+         */
+        void abort() throws IOException {
+            this.closed = true;
+            try {
+                this.channel.close();
+            } finally {
+                Files.deleteIfExists(this.writePath);
+            }
         }
 
         @Override
         public void close() throws IOException {
-            super.close();
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+
             try {
-                Files.move(this.writePath, this.targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
-            } catch (final AccessDeniedException ex) {
-                // Sometimes because of file locking this will fail... Let's just try again and hope for the best
-                // Thanks Windows!
-                for (int tries = 0; tries < MAX_TRIES; ++tries) {
-                    // Pause for a bit
-                    try {
-                        Thread.sleep(5 * tries);
-                        Files.move(this.writePath, this.targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
-                    } catch (final AccessDeniedException ex2) {
-                        if (tries == MAX_TRIES - 1) {
-                            throw ex;
-                        }
-                    } catch (final InterruptedException exInterrupt) {
-                        Thread.currentThread().interrupt();
-                        throw ex;
+                try {
+                    if (this.syncMode != SyncMode.NONE) {
+                        this.channel.force(true);
                     }
+                } finally {
+                    this.channel.close();
+                }
+                moveIntoPlace(this.writePath, this.targetPath);
+            } catch (final IOException | RuntimeException ex) {
+                Files.deleteIfExists(this.writePath);
+                throw ex;
+            }
+
+            if (this.syncMode == SyncMode.FILE_AND_DIRECTORY) {
+                syncDirectory(this.targetPath.getParent());
+            }
+        }
+
+    }
+
+    /**
+     * Encodes characters directly into a temporary file, moving it into
+     * place on close.
+     */
+    private static final class AtomicFileWriter extends Writer {
+
+        private final AtomicFileOutputStream output;
+        private final CharsetEncoder encoder;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        // a high surrogate whose pair has not been written yet
+        private final CharBuffer leftover = CharBuffer.allocate(2);
+        private boolean closed;
+
+        AtomicFileWriter(final AtomicFileOutputStream output, final CharsetEncoder encoder) {
+            this.output = output;
+            this.encoder = encoder;
+            this.leftover.flip();
+        }
+
+        @Override
+        public void write(final char[] chars, int offset, int length) throws IOException {
+            this.ensureOpen();
+            if (this.leftover.hasRemaining() && length > 0) {
+                // complete the pending surrogate pair first
+                this.leftover.compact().put(chars[offset++]).flip();
+                length--;
+                this.encode(this.leftover, false);
+            }
+            final CharBuffer input = CharBuffer.wrap(chars, offset, length);
+            this.encode(input, false);
+            if (input.hasRemaining()) {
+                this.leftover.compact().put(input).flip();
+            }
+        }
+
+        private void encode(final CharBuffer input, final boolean endOfInput) throws IOException {
+            while (true) {
+                final CoderResult result = this.encoder.encode(input, this.buffer, endOfInput);
+                if (result.isOverflow()) {
+                    this.drain();
+                } else if (result.isUnderflow()) {
+                    return;
+                } else {
+                    result.throwException();
+                }
+            }
+        }
+
+        private void drain() throws IOException {
+            this.buffer.flip();
+            this.output.write(this.buffer);
+            this.buffer.clear();
+        }
+
+        private void ensureOpen() throws IOException {
+            if (this.closed) {
+                throw new IOException("Writer has already been closed");
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.ensureOpen();
+            this.drain();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+
+            try {
+                this.encode(this.leftover, true);
+                while (this.encoder.flush(this.buffer).isOverflow()) {
+                    this.drain();
+                }
+                this.drain();
+            } catch (final IOException | RuntimeException ex) {
+                try {
+                    this.output.abort();
+                } catch (final IOException ex2) {
+                    ex.addSuppressed(ex2);
                 }
+                throw ex;
             }
+            this.output.close();
         }
 
     }
@@ -0,0 +1,137 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Callable;
+
+/**
+ * A source of raw bytes for a loader to read a configuration from.
+ *
+ * <p>Loaders for formats that can be parsed from bytes read from this
+ * instead of a decoded {@link java.io.BufferedReader}. Bytes are expected to
+ * be UTF-8 encoded, unless the format itself specifies otherwise.</p>
+ *
+ * @since 4.2.0
+ */
+@FunctionalInterface
+public interface ByteSource {
+
+    /**
+     * Read from an input stream.
+     *
+     * @param stream a function opening a new stream for each read
+     * @return a new byte source
+     * @since 4.2.0
+     */
+    static ByteSource stream(final Callable<? extends InputStream> stream) {
+        requireNonNull(stream, "stream");
+        return () -> {
+            try {
+                return stream.call();
+            } catch (final IOException | RuntimeException ex) {
+                throw ex;
+            } catch (final Exception ex) {
+                throw new IOException(ex);
+            }
+        };
+    }
+
+    /**
+     * Read from a byte channel.
+     *
+     * @param channel a function opening a new channel for each read
+     * @return a new byte source
+     * @since 4.2.0
+     */
+    static ByteSource channel(final Callable<? extends ReadableByteChannel> channel) {
+        requireNonNull(channel, "channel");
+        return stream(() -> Channels.newInputStream(channel.call()));
+    }
+
+    /**
+     * Read a file.
+     *
+     * @param path the file to read
+     * @return a new byte source
+     * @since 4.2.0
+     */
+    static ByteSource path(final Path path) {
+        requireNonNull(path, "path");
+        return () -> Files.newInputStream(path);
+    }
+
+    /**
+     * Read a file by mapping it into memory.
+     *
+     * <p>This avoids copying the file's content through intermediate
+     * buffers, but the mapping is only released once garbage collected.
+     * While mapped, some platforms (notably Windows) will not allow the file
+     * to be replaced, so this is best suited to files that are rarely
+     * saved. A file must not be truncated while it is being read.</p>
+     *
+     * @param path the file to map
+     * @return a new byte source
+     * @since 4.2.0
+     */
+    static ByteSource mapped(final Path path) {
+        requireNonNull(path, "path");
+        return () -> {
+            final MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            return new ByteBufferInputStream(buffer);
+        };
+    }
+
+    /**
+     * Read from the remaining content of a buffer.
+     *
+     * <p>Each read starts from the buffer's position at the time this source
+     * was created. The buffer itself is not modified.</p>
+     *
+     * @param buffer the buffer to read
+     * @return a new byte source
+     * @since 4.2.0
+     */
+    static ByteSource buffer(final ByteBuffer buffer) {
+        final ByteBuffer content = requireNonNull(buffer, "buffer").slice();
+        return () -> new ByteBufferInputStream(content.duplicate());
+    }
+
+    /**
+     * Open a new stream reading this source from the beginning.
+     *
+     * @return a new stream, to be closed by the caller
+     * @throws IOException if the source could not be opened
+     * @since 4.2.0
+     */
+    InputStream open() throws IOException;
+
+}
@@ -0,0 +1,403 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * A cache of parsed configuration files, stored in a form that is quicker
+ * to read than the source.
+ *
+ * <p>Each entry records the size, modification time, and SHA-256 hash of the
+ * source it was parsed from, and is only used while all three still match.
+ * Entries are written when a loader parses its file. Saving a node does not
+ * update the entry, which is replaced the next time the changed file is
+ * parsed.</p>
+ *
+ * <p>Caches are set on a loader with
+ * {@link AbstractConfigurationLoader.Builder#parseCache(ParseCache)}, and only
+ * apply to loaders reading a {@link AbstractConfigurationLoader.Builder#path(Path)
+ * path}. The encoding of cached nodes is provided by a {@link Codec}, such as
+ * the one in the {@code configurate-binary} module.</p>
+ *
+ * @since 4.2.0
+ */
+public final class ParseCache {
+
+    private static final int MAGIC = 0x43464743; // CFGC
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".cache";
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Create a cache storing each entry next to its source file.
+     *
+     * <p>The cache for {@code config.conf} is the hidden file
+     * {@code .config.conf.cache} in the same directory.</p>
+     *
+     * @param codec the encoding of cached nodes
+     * @return a new cache
+     * @since 4.2.0
+     */
+    public static ParseCache nextToSource(final Codec codec) {
+        return new ParseCache(null, requireNonNull(codec, "codec"));
+    }
+
+    /**
+     * Create a cache storing entries in a directory.
+     *
+     * <p>Entries are named after their source file, and a hash of its
+     * absolute path, so one directory can hold the cache for any number
+     * of files.</p>
+     *
+     * @param directory the directory to store entries in, created as needed
+     * @param codec the encoding of cached nodes
+     * @return a new cache
+     * @since 4.2.0
+     */
+    public static ParseCache inDirectory(final Path directory, final Codec codec) {
+        return new ParseCache(requireNonNull(directory, "directory").toAbsolutePath(), requireNonNull(codec, "codec"));
+    }
+
+    private final @Nullable Path directory;
+    private final Codec codec;
+
+    private ParseCache(final @Nullable Path directory, final Codec codec) {
+        this.directory = directory;
+        this.codec = codec;
+    }
+
+    /**
+     * Get the file an entry for the source is stored in.
+     *
+     * @param source the source file
+     * @return the cache file
+     * @since 4.2.0
+     */
+    public Path cacheFile(final Path source) {
+        final Path absolute = source.toAbsolutePath();
+        final String name = String.valueOf(absolute.getFileName());
+        if (this.directory == null) {
+            return absolute.resolveSibling("." + name + EXTENSION);
+        }
+
+        final byte[] pathHash = sha256().digest(absolute.toString().getBytes(StandardCharsets.UTF_8));
+        final StringBuilder fileName = new StringBuilder(name).append('-');
+        for (int i = 0; i < 8; ++i) {
+            fileName.append(Character.forDigit((pathHash[i] >> 4) & 0xF, 16))
+                .append(Character.forDigit(pathHash[i] & 0xF, 16));
+        }
+        return this.directory.resolve(fileName.append(EXTENSION).toString());
+    }
+
+    /**
+     * Record the current state of a source file.
+     *
+     * @param source the source file
+     * @param content the bytes of the source, as the loader reads them
+     * @return the source state, or {@code null} if the file does not exist
+     * @throws IOException if the file could not be read
+     */
+    @Nullable Stamp stamp(final Path source, final ByteSource content) throws IOException {
+        final @Nullable Recorder recorder = this.recorder(source, content);
+        if (recorder == null) {
+            return null;
+        }
+        recorder.open().close();
+        return recorder.stamp();
+    }
+
+    /**
+     * Prepare to record the state of a source file from the bytes read
+     * while parsing it.
+     *
+     * <p>The stamp describes exactly the bytes that were parsed, even if
+     * the file is changed while it is being read.</p>
+     *
+     * @param source the source file
+     * @param content the bytes of the source, as the loader reads them
+     * @return a source to parse from, or {@code null} if the file does
+     *     not exist
+     * @throws IOException if the file's attributes could not be read
+     */
+    @Nullable Recorder recorder(final Path source, final ByteSource content) throws IOException {
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        } catch (final NoSuchFileException ex) {
+            return null;
+        }
+        // taken first, so any later change to the file also changes its time
+        return new Recorder(content, attributes.lastModifiedTime().toMillis());
+    }
+
+    /**
+     * Read the entry for a source, if it is present and still matches
+     * the source.
+     *
+     * <p>Unreadable entries are treated as missing.</p>
+     *
+     * @param source the source file
+     * @param stamp the current state of the source
+     * @param nodeFactory a function creating the node to read into, given
+     *     the cached header
+     * @param <N> the node type
+     * @return the cached node, or {@code null} if there is no valid entry
+     */
+    <N extends ConfigurationNode> @Nullable N read(final Path source, final Stamp stamp, final Function<@Nullable String, N> nodeFactory) {
+        try (SeekableByteChannel channel = Files.newByteChannel(this.cacheFile(source));
+             DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                return null;
+            }
+            final long size = input.readLong();
+            final long modified = input.readLong();
+            final byte[] hash = new byte[input.readUnsignedByte()];
+            input.readFully(hash);
+            if (size != stamp.size || modified != stamp.modified || !Arrays.equals(hash, stamp.hash)) {
+                return null;
+            }
+
+            final int headerLength = input.readInt();
+            final @Nullable String header;
+            if (headerLength < 0) {
+                header = null;
+            } else if (headerLength > channel.size()) {
+                return null; // damaged, and longer than the entry itself
+            } else {
+                final byte[] headerBytes = new byte[headerLength];
+                input.readFully(headerBytes);
+                header = new String(headerBytes, StandardCharsets.UTF_8);
+            }
+
+            final N node = nodeFactory.apply(header);
+            this.codec.read(node, input);
+            return node;
+        } catch (final IOException | RuntimeException ex) {
+            // a missing, stale or damaged entry is just a cache miss
+            return null;
+        }
+    }
+
+    /**
+     * Store an entry for a source.
+     *
+     * <p>Failing to write the entry does not affect the loader, so any
+     * error is ignored.</p>
+     *
+     * @param source the source file
+     * @param stamp the state of the source the node was read from
+     * @param node the node to store
+     */
+    void write(final Path source, final Stamp stamp, final ConfigurationNode node) {
+        final Path cacheFile = this.cacheFile(source);
+        try (DataOutputStream output = new DataOutputStream(AtomicFiles.atomicOutputStream(cacheFile, SyncMode.NONE))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(stamp.size);
+            output.writeLong(stamp.modified);
+            output.writeByte(stamp.hash.length);
+            output.write(stamp.hash);
+
+            final @Nullable String header = node.options().header();
+            if (header == null) {
+                output.writeInt(-1);
+            } else {
+                final byte[] headerBytes = header.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(headerBytes.length);
+                output.write(headerBytes);
+            }
+
+            this.codec.write(node, output);
+        } catch (final IOException | RuntimeException ex) {
+            // the entry is only an optimization, and the next load will try again
+            try {
+                Files.deleteIfExists(cacheFile);
+            } catch (final IOException ex2) {
+                // ignore
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * A source whose content is hashed as it is read, to produce the
+     * {@link Stamp} of what was read.
+     *
+     * <p>Only a single stream may be opened. Anything left unread is still
+     * hashed when that stream is closed.</p>
+     */
+    static final class Recorder implements ByteSource {
+
+        private final ByteSource content;
+        private final long modified;
+        private final MessageDigest digest = sha256();
+        private long size;
+        private boolean closed;
+
+        Recorder(final ByteSource content, final long modified) {
+            this.content = content;
+            this.modified = modified;
+        }
+
+        @Override
+        public InputStream open() throws IOException {
+            return new DigestInputStream(this.content.open(), this.digest) {
+                @Override
+                public int read() throws IOException {
+                    final int read = super.read();
+                    if (read != -1) {
+                        ++Recorder.this.size;
+                    }
+                    return read;
+                }
+
+                @Override
+                public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+                    final int read = super.read(buffer, offset, length);
+                    if (read > 0) {
+                        Recorder.this.size += read;
+                    }
+                    return read;
+                }
+
+                @Override
+                public boolean markSupported() {
+                    return false;
+                }
+
+                @Override
+                public long skip(final long count) throws IOException {
+                    // skipped bytes are read instead, so they are hashed too
+                    final byte[] buffer = new byte[(int) Math.min(count, BUFFER_SIZE)];
+                    final int read = buffer.length == 0 ? 0 : this.read(buffer, 0, buffer.length);
+                    return Math.max(read, 0);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        if (!Recorder.this.closed) {
+                            // hash anything the parser left unread
+                            final byte[] buffer = new byte[BUFFER_SIZE];
+                            int read;
+                            do {
+                                read = this.read(buffer, 0, buffer.length);
+                            } while (read != -1);
+                            Recorder.this.closed = true;
+                        }
+                    } finally {
+                        super.close();
+                    }
+                }
+            };
+        }
+
+        /**
+         * Get the state of the source, as read through the stream opened
+         * from this recorder.
+         *
+         * @return the stamp, or {@code null} if the stream was not read to
+         *     the end and closed
+         */
+        @Nullable Stamp stamp() {
+            return this.closed ? new Stamp(this.size, this.modified, this.digest.digest()) : null;
+        }
+
+    }
+
+    /**
+     * The state of a source file at one point in time.
+     */
+    static final class Stamp {
+
+        final long size;
+        final long modified;
+        final byte[] hash;
+
+        Stamp(final long size, final long modified, final byte[] hash) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+        }
+
+    }
+
+    /**
+     * An encoding for the nodes stored in a {@link ParseCache}.
+     *
+     * @since 4.2.0
+     */
+    public interface Codec {
+
+        /**
+         * Write a node and all of its children.
+         *
+         * <p>The node must be left unchanged, as it is also returned by the
+         * loader that parsed it.</p>
+         *
+         * @param node the node to write
+         * @param output the stream to write to, which should not be closed
+         * @throws IOException if the node could not be written
+         * @since 4.2.0
+         */
+        void write(ConfigurationNode node, OutputStream output) throws IOException;
+
+        /**
+         * Read a node written by {@link #write(ConfigurationNode, OutputStream)}
+         * into an empty node.
+         *
+         * @param node the node to read into
+         * @param input the stream to read from, which should not be closed
+         * @throws IOException if the input could not be read
+         * @since 4.2.0
+         */
+        void read(ConfigurationNode node, InputStream input) throws IOException;
+
+    }
+
+}
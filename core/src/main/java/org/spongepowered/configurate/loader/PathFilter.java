@@ -0,0 +1,278 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.NodePath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A selection of the subtrees of a configuration to load.
+ *
+ * <p>A filter is made of patterns, each a {@link NodePath} that may contain
+ * the {@link #ANY} wildcard in place of a key. A value is kept if the path
+ * to it starts with one of the patterns. Maps and lists on the way to a
+ * pattern are kept, holding only their kept children. Anything else
+ * is dropped.</p>
+ *
+ * <p>Map keys are compared by their string form. List elements can only be
+ * matched by {@link #ANY}, since an element that keeps nothing is removed
+ * from its list, moving any later elements to a lower index. A pattern
+ * containing a list index is rejected.</p>
+ *
+ * <p>Filters are set on a loader with
+ * {@link AbstractConfigurationLoader.Builder#pathFilter(PathFilter)}. Loaders
+ * that read through a streaming parser skip values outside the filter
+ * without building them. Other loaders read the whole document and then
+ * remove what is not matched.</p>
+ *
+ * @since 4.2.0
+ */
+public final class PathFilter {
+
+    /**
+     * A pattern key matching any single key.
+     *
+     * @since 4.2.0
+     */
+    public static final Object ANY = new Object() {
+        @Override
+        public String toString() {
+            return "*";
+        }
+    };
+
+    private static final PathFilter ALL = new PathFilter(true);
+
+    /**
+     * Get a filter that keeps everything.
+     *
+     * @return the filter
+     * @since 4.2.0
+     */
+    public static PathFilter all() {
+        return ALL;
+    }
+
+    /**
+     * Create a filter keeping the subtrees matching any of the patterns.
+     *
+     * @param patterns the patterns to match
+     * @return a new filter
+     * @throws IllegalArgumentException if a pattern contains a list index
+     * @since 4.2.0
+     */
+    public static PathFilter of(final NodePath... patterns) {
+        return of(Arrays.asList(patterns));
+    }
+
+    /**
+     * Create a filter keeping the subtrees matching any of the patterns.
+     *
+     * @param patterns the patterns to match
+     * @return a new filter
+     * @throws IllegalArgumentException if a pattern contains a list index
+     * @since 4.2.0
+     */
+    public static PathFilter of(final Collection<NodePath> patterns) {
+        final PathFilter root = new PathFilter(false);
+        for (final NodePath pattern : patterns) {
+            root.add(requireNonNull(pattern, "pattern"), 0);
+        }
+        return root.all ? ALL : root.seal();
+    }
+
+    private boolean all;
+    private boolean sealed;
+    private final Map<String, PathFilter> children = new HashMap<>();
+    private @Nullable PathFilter any;
+
+    private PathFilter(final boolean all) {
+        this.all = all;
+    }
+
+    private void add(final NodePath pattern, final int index) {
+        if (this.all) {
+            return;
+        } else if (index == pattern.size()) {
+            // everything below a matched path is kept, so longer patterns are redundant
+            this.all = true;
+            this.children.clear();
+            this.any = null;
+            return;
+        }
+
+        final Object key = pattern.get(index);
+        if (key instanceof Number) {
+            throw new IllegalArgumentException("List elements can only be matched by PathFilter.ANY, but " + pattern + " has index " + key);
+        }
+        PathFilter child;
+        if (key == ANY) {
+            child = this.any;
+            if (child == null) {
+                this.any = child = new PathFilter(false);
+            }
+        } else {
+            child = this.children.computeIfAbsent(key.toString(), $ -> new PathFilter(false));
+        }
+        child.add(pattern, index + 1);
+    }
+
+    /**
+     * Merge the wildcard filter into the filter of each exact key, so that
+     * looking up a child never has to combine them.
+     *
+     * <p>Filters are shared between unions, but sealing one doesn't change
+     * what it matches, so it is only done once.</p>
+     */
+    private PathFilter seal() {
+        if (this.all || this.sealed) {
+            return this;
+        }
+        this.sealed = true;
+        final @Nullable PathFilter any = this.any == null ? null : this.any.seal();
+        this.any = any;
+        for (final Map.Entry<String, PathFilter> entry : this.children.entrySet()) {
+            final PathFilter exact = entry.getValue();
+            entry.setValue((any == null ? exact : union(exact, any)).seal());
+        }
+        return this;
+    }
+
+    /**
+     * Get whether this filter keeps everything.
+     *
+     * @return whether everything is kept
+     * @since 4.2.0
+     */
+    public boolean includesAll() {
+        return this.all;
+    }
+
+    /**
+     * Get the filter for the children of the value at {@code key}.
+     *
+     * @param key the key of a child of the map this filter applies to
+     * @return the child's filter, or {@code null} if the child is dropped
+     * @since 4.2.0
+     */
+    public @Nullable PathFilter child(final Object key) {
+        if (this.all) {
+            return this;
+        }
+        final @Nullable PathFilter exact = this.children.get(key.toString());
+        return exact == null ? this.any : exact;
+    }
+
+    /**
+     * Get the filter for the children of each element of a list.
+     *
+     * @return the elements' filter, or {@code null} if all are dropped
+     * @since 4.2.0
+     */
+    public @Nullable PathFilter element() {
+        return this.all ? this : this.any;
+    }
+
+    private static PathFilter union(final PathFilter first, final PathFilter second) {
+        if (first.all || second.all) {
+            return ALL;
+        }
+        final PathFilter union = new PathFilter(false);
+        union.children.putAll(first.children);
+        for (final Map.Entry<String, PathFilter> entry : second.children.entrySet()) {
+            union.children.merge(entry.getKey(), entry.getValue(), PathFilter::union);
+        }
+        if (first.any == null || second.any == null) {
+            union.any = first.any == null ? second.any : first.any;
+        } else {
+            union.any = union(first.any, second.any);
+        }
+        return union;
+    }
+
+    /**
+     * Get whether the value at a path is kept by this filter.
+     *
+     * <p>Numeric keys of the path are taken to be list indices.</p>
+     *
+     * @param path the path to test
+     * @return whether the value is kept
+     * @since 4.2.0
+     */
+    public boolean matches(final NodePath path) {
+        @Nullable PathFilter filter = this;
+        for (int i = 0; i < path.size() && filter != null && !filter.all; ++i) {
+            final Object key = path.get(i);
+            filter = key instanceof Number ? filter.element() : filter.child(key);
+        }
+        return filter != null && filter.all;
+    }
+
+    /**
+     * Remove everything not kept by this filter from a node.
+     *
+     * <p>If the node itself is not kept, its value is cleared.</p>
+     *
+     * @param node the node to filter
+     * @since 4.2.0
+     */
+    public void apply(final ConfigurationNode node) {
+        if (!this.retain(node)) {
+            node.raw(null);
+        }
+    }
+
+    private boolean retain(final ConfigurationNode node) {
+        if (this.all) {
+            return true;
+        } else if (node.isMap()) {
+            final List<Object> removed = new ArrayList<>();
+            for (final Map.Entry<Object, ? extends ConfigurationNode> entry : node.childrenMap().entrySet()) {
+                final @Nullable PathFilter filter = this.child(entry.getKey());
+                if (filter == null || !filter.retain(entry.getValue())) {
+                    removed.add(entry.getKey());
+                }
+            }
+            for (final Object key : removed) {
+                node.removeChild(key);
+            }
+            return true;
+        } else if (node.isList()) {
+            // removing from the end keeps the index of earlier elements
+            final @Nullable PathFilter filter = this.element();
+            final List<? extends ConfigurationNode> elements = node.childrenList();
+            for (int i = elements.size() - 1; i >= 0; --i) {
+                if (filter == null || !filter.retain(elements.get(i))) {
+                    node.removeChild(i);
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+}
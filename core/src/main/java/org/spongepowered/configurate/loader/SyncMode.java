@@ -0,0 +1,63 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+/**
+ * How durably {@link AtomicFiles atomic writers} commit a file to storage
+ * before reporting a save as complete.
+ *
+ * <p>Every mode replaces the target file atomically, so readers never see
+ * a partially written file. The modes differ in what survives a crash or
+ * power loss shortly after a save.</p>
+ *
+ * @since 4.2.0
+ */
+public enum SyncMode {
+
+    /**
+     * Leave flushing to the operating system.
+     *
+     * <p>This is the fastest mode, but after a crash the file may hold either
+     * its previous content or, on some file systems, be empty.</p>
+     *
+     * @since 4.2.0
+     */
+    NONE,
+
+    /**
+     * Sync the written file's content to storage before moving it into place.
+     *
+     * <p>After a crash, the file holds either its previous or its new
+     * content, but the save itself may be lost.</p>
+     *
+     * @since 4.2.0
+     */
+    FILE,
+
+    /**
+     * Sync the written file, and then the directory containing it once the
+     * file has been moved into place.
+     *
+     * <p>A save is durable once it completes. Syncing directories is not
+     * supported on every platform, in which case this is the same
+     * as {@link #FILE}.</p>
+     *
+     * @since 4.2.0
+     */
+    FILE_AND_DIRECTORY
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.objectmapping;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.util.CheckedFunction;
+
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of object mappers.
+ *
+ * <p>Lookups of cached mappers do not lock, except to record their use for
+ * least-recently-used eviction. Misses compute a mapper outside of any lock,
+ * so two threads missing on the same type at once may both compute it, with
+ * the first result to be stored winning.</p>
+ */
+final class MapperCache {
+
+    private final ConcurrentHashMap<Type, ObjectMapper<?>> mappers = new ConcurrentHashMap<>();
+    // the eviction order of cached mappers, guarded by itself
+    private final LinkedHashMap<Type, ObjectMapper<?>> order;
+    private final int maximumSize;
+    private final boolean leastRecentlyUsed;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    MapperCache(final int maximumSize, final ObjectMapper.Factory.CacheEviction eviction) {
+        this.maximumSize = maximumSize;
+        this.leastRecentlyUsed = eviction == ObjectMapper.Factory.CacheEviction.LEAST_RECENTLY_USED;
+        this.order = new LinkedHashMap<Type, ObjectMapper<?>>(16, 0.75f, this.leastRecentlyUsed) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Type, ObjectMapper<?>> eldest) {
+                if (this.size() <= MapperCache.this.maximumSize) {
+                    return false;
+                }
+                MapperCache.this.mappers.remove(eldest.getKey());
+                MapperCache.this.evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    ObjectMapper<?> get(
+        final Type type,
+        final CheckedFunction<Type, ObjectMapper<?>, SerializationException> creator
+    ) throws SerializationException {
+        final @Nullable ObjectMapper<?> existing = this.mappers.get(type);
+        if (existing != null) {
+            this.hits.increment();
+            if (this.leastRecentlyUsed) {
+                synchronized (this.order) {
+                    this.order.get(type); // move to the most recently used end
+                }
+            }
+            return existing;
+        }
+
+        this.misses.increment();
+        final ObjectMapper<?> created = creator.apply(type);
+        if (this.maximumSize == 0) {
+            return created;
+        }
+
+        synchronized (this.order) {
+            final @Nullable ObjectMapper<?> raced = this.mappers.putIfAbsent(type, created);
+            if (raced != null) {
+                return raced;
+            }
+            this.order.put(type, created);
+        }
+        return created;
+    }
+
+    ObjectMapper.Factory.CacheStatistics statistics() {
+        return ObjectMapper.Factory.CacheStatistics.of(
+            this.hits.sum(),
+            this.misses.sum(),
+            this.evictions.sum(),
+            this.mappers.size(),
+            this.maximumSize
+        );
+    }
+
+}
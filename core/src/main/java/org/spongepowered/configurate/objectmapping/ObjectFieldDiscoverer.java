@@ -25,32 +25,50 @@ import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.util.CheckedFunction;
 import org.spongepowered.configurate.util.Types;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AnnotatedType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 
-class ObjectFieldDiscoverer implements FieldDiscoverer<Map<Field, Object>> {
+/**
+ * Discovers fields in ordinary classes.
+ *
+ * <p>Fields are read and written through method handles. The intermediate
+ * state is an array holding, for field index {@code i}, an explicit value at
+ * {@code i} and an implicit initializer at {@code i + fieldCount}.</p>
+ */
+class ObjectFieldDiscoverer implements FieldDiscoverer<@Nullable Object[]> {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
 
     static final ObjectFieldDiscoverer EMPTY_CONSTRUCTOR_INSTANCE = new ObjectFieldDiscoverer(type -> {
+        final MethodHandle constructor;
         try {
-            final Constructor<?> constructor;
-            constructor = erase(type.getType()).getDeclaredConstructor();
-            constructor.setAccessible(true);
-            return () -> {
-                try {
-                    return constructor.newInstance();
-                } catch (final InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                    throw new RuntimeException(e);
-                }
-            };
+            final Constructor<?> reflected = erase(type.getType()).getDeclaredConstructor();
+            reflected.setAccessible(true);
+            constructor = MethodHandles.lookup().unreflectConstructor(reflected).asType(CONSTRUCTOR_TYPE);
         } catch (final NoSuchMethodException e) {
             return null;
+        } catch (final IllegalAccessException e) {
+            throw new SerializationException(type.getType(), "Unable to access constructor", e);
         }
+        return () -> {
+            try {
+                return (Object) constructor.invokeExact();
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable e) {
+                throw new RuntimeException(e);
+            }
+        };
     }, "Objects must have a zero-argument constructor to be able to create new instances");
 
     private final CheckedFunction<AnnotatedType, @Nullable Supplier<Object>, SerializationException> instanceFactory;
@@ -68,8 +86,8 @@ class ObjectFieldDiscoverer implements FieldDiscoverer<Map<Field, Object>> {
     }
 
     @Override
-    public <V> @Nullable InstanceFactory<Map<Field, Object>> discover(final AnnotatedType target,
-            final FieldCollector<Map<Field, Object>, V> collector) throws SerializationException {
+    public <V> @Nullable InstanceFactory<@Nullable Object[]> discover(final AnnotatedType target,
+            final FieldCollector<@Nullable Object[], V> collector) throws SerializationException {
         final Class<?> clazz = erase(target.getType());
         if (clazz.isInterface()) {
             throw new SerializationException(target.getType(), "ObjectMapper can only work with concrete types");
@@ -77,10 +95,15 @@ class ObjectFieldDiscoverer implements FieldDiscoverer<Map<Field, Object>> {
 
         final @Nullable Supplier<Object> maker = this.instanceFactory.apply(target);
 
+        final List<FieldAccessor> accessors = new ArrayList<>();
         AnnotatedType collectType = target;
         Class<?> collectClass = clazz;
         while (true) {
-            collectFields(collectType, collector);
+            try {
+                collectFields(collectType, collector, accessors);
+            } catch (final IllegalAccessException ex) {
+                throw new SerializationException(collectType.getType(), "Unable to access field in type", ex);
+            }
             collectClass = collectClass.getSuperclass();
             if (collectClass.equals(Object.class)) {
                 break;
@@ -88,36 +111,43 @@ class ObjectFieldDiscoverer implements FieldDiscoverer<Map<Field, Object>> {
             collectType = getExactSuperType(collectType, collectClass);
         }
 
-        return new MutableInstanceFactory<Map<Field, Object>>() {
+        final FieldAccessor[] fields = accessors.toArray(new FieldAccessor[0]);
+        return new MutableInstanceFactory<@Nullable Object[]>() {
 
             @Override
-            public Map<Field, Object> begin() {
-                return new HashMap<>();
+            public @Nullable Object[] begin() {
+                return new Object[fields.length * 2];
             }
 
             @Override
-            public void complete(final Object instance, final Map<Field, Object> intermediate) throws SerializationException {
-                for (Map.Entry<Field, Object> entry : intermediate.entrySet()) {
-                    try {
+            @SuppressWarnings("unchecked")
+            public void complete(final Object instance, final @Nullable Object[] intermediate) throws SerializationException {
+                try {
+                    for (int i = 0; i < fields.length; ++i) {
+                        final @Nullable Object value = intermediate[i];
+                        if (value != null) {
+                            fields[i].setter.invokeExact(instance, value);
+                            continue;
+                        }
+
                         // Handle implicit field initialization by detecting any existing information in the object
-                        if (entry.getValue() instanceof ImplicitProvider) {
-                            final @Nullable Object implicit = ((ImplicitProvider) entry.getValue()).provider.get();
-                            if (implicit != null) {
-                                if (entry.getKey().get(instance) == null) {
-                                    entry.getKey().set(instance, implicit);
-                                }
+                        final @Nullable Object implicitProvider = intermediate[fields.length + i];
+                        if (implicitProvider != null) {
+                            final @Nullable Object implicit = ((Supplier<Object>) implicitProvider).get();
+                            if (implicit != null && (Object) fields[i].getter.invokeExact(instance) == null) {
+                                fields[i].setter.invokeExact(instance, implicit);
                             }
-                        } else {
-                            entry.getKey().set(instance, entry.getValue());
                         }
-                    } catch (final IllegalAccessException e) {
-                        throw new SerializationException(target.getType(), e);
                     }
+                } catch (final RuntimeException | Error ex) {
+                    throw ex;
+                } catch (final Throwable ex) {
+                    throw new SerializationException(target.getType(), ex);
                 }
             }
 
             @Override
-            public Object complete(final Map<Field, Object> intermediate) throws SerializationException {
+            public Object complete(final @Nullable Object[] intermediate) throws SerializationException {
                 final Object instance = maker == null ? null : maker.get();
                 if (instance == null) {
                     throw new SerializationException(target.getType(), ObjectFieldDiscoverer.this.instanceUnavailableErrorMessage);
@@ -134,31 +164,51 @@ class ObjectFieldDiscoverer implements FieldDiscoverer<Map<Field, Object>> {
         };
     }
 
-    private void collectFields(final AnnotatedType clazz, final FieldCollector<Map<Field, Object>, ?> fieldMaker) {
+    private void collectFields(final AnnotatedType clazz, final FieldCollector<@Nullable Object[], ?> fieldMaker,
+            final List<FieldAccessor> accessors) throws IllegalAccessException {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
         for (Field field : erase(clazz.getType()).getDeclaredFields()) {
             if ((field.getModifiers() & (Modifier.STATIC | Modifier.TRANSIENT)) != 0) {
                 continue;
             }
 
             field.setAccessible(true);
+            final FieldAccessor accessor = new FieldAccessor(
+                lookup.unreflectGetter(field).asType(GETTER_TYPE),
+                lookup.unreflectSetter(field).asType(SETTER_TYPE)
+            );
+            final int index = accessors.size();
+            accessors.add(accessor);
             final AnnotatedType fieldType = getFieldType(field, clazz);
             fieldMaker.accept(field.getName(), fieldType, Types.combinedAnnotations(fieldType, field),
                               (intermediate, val, implicitProvider) -> {
                     if (val != null) {
-                        intermediate.put(field, val);
+                        intermediate[index] = val;
                     } else {
-                        intermediate.put(field, new ImplicitProvider(implicitProvider));
+                        intermediate[intermediate.length / 2 + index] = implicitProvider;
                     }
-                }, field::get);
+                }, accessor::get);
         }
     }
 
-    static class ImplicitProvider {
+    static final class FieldAccessor {
 
-        final Supplier<Object> provider;
+        final MethodHandle getter;
+        final MethodHandle setter;
 
-        ImplicitProvider(final Supplier<Object> provider) {
-            this.provider = provider;
+        FieldAccessor(final MethodHandle getter, final MethodHandle setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Nullable Object get(final Object instance) throws Exception {
+            try {
+                return (Object) this.getter.invokeExact(instance);
+            } catch (final Exception | Error ex) {
+                throw ex;
+            } catch (final Throwable ex) {
+                throw new RuntimeException(ex);
+            }
         }
 
     }
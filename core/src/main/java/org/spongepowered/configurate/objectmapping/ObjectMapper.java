@@ -16,6 +16,7 @@
  */
 package org.spongepowered.configurate.objectmapping;
 
+import com.google.auto.value.AutoValue;
 import io.leangen.geantyref.TypeToken;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.objectmapping.meta.Constraint;
@@ -240,6 +241,114 @@ public interface ObjectMapper<V> {
          */
         TypeSerializer<Object> asTypeSerializer();
 
+        /**
+         * Get a snapshot of statistics for this factory's cache of
+         * object mappers.
+         *
+         * <p>Factories that do not cache mappers report all zeroes.</p>
+         *
+         * @return current cache statistics
+         * @since 4.2.0
+         */
+        default CacheStatistics cacheStatistics() {
+            return CacheStatistics.of(0, 0, 0, 0, 0);
+        }
+
+        /**
+         * A policy choosing which object mappers to discard once a factory's
+         * cache is full.
+         *
+         * @since 4.2.0
+         */
+        enum CacheEviction {
+
+            /**
+             * Discard the mappers that have gone unused the longest.
+             *
+             * @since 4.2.0
+             */
+            LEAST_RECENTLY_USED,
+
+            /**
+             * Discard the mappers that were created first, regardless of use.
+             *
+             * @since 4.2.0
+             */
+            FIRST_IN_FIRST_OUT
+
+        }
+
+        /**
+         * A point-in-time view of an object mapper cache.
+         *
+         * @since 4.2.0
+         */
+        @AutoValue
+        abstract class CacheStatistics {
+
+            static CacheStatistics of(final long hits, final long misses, final long evictions, final int size, final int maximumSize) {
+                return new AutoValue_ObjectMapper_Factory_CacheStatistics(hits, misses, evictions, size, maximumSize);
+            }
+
+            CacheStatistics() {
+                // for auto-value use
+            }
+
+            /**
+             * The number of lookups that found an existing mapper.
+             *
+             * @return hit count
+             * @since 4.2.0
+             */
+            public abstract long hits();
+
+            /**
+             * The number of lookups that had to create a new mapper.
+             *
+             * @return miss count
+             * @since 4.2.0
+             */
+            public abstract long misses();
+
+            /**
+             * The number of mappers discarded to keep the cache within
+             * its maximum size.
+             *
+             * @return eviction count
+             * @since 4.2.0
+             */
+            public abstract long evictions();
+
+            /**
+             * The number of mappers currently cached.
+             *
+             * @return cache size
+             * @since 4.2.0
+             */
+            public abstract int size();
+
+            /**
+             * The maximum number of mappers the cache will hold.
+             *
+             * @return maximum size
+             * @since 4.2.0
+             */
+            public abstract int maximumSize();
+
+            /**
+             * The fraction of lookups that found an existing mapper.
+             *
+             * @return hit rate between 0 and 1, or {@code 1} if there have
+             *     been no lookups
+             * @since 4.2.0
+             */
+            public double hitRate() {
+                final long total = this.hits() + this.misses();
+                return total == 0 ? 1d : (double) this.hits() / total;
+            }
+
+        }
+
         /**
          * A builder for a configured factory producing object mappers.
          *
@@ -347,6 +456,40 @@ public interface ObjectMapper<V> {
              */
             <A extends Annotation, T> Builder addConstraint(Class<A> definition, Class<T> valueType, Constraint.Factory<A, T> factory);
 
+            /**
+             * Set the maximum number of object mappers the factory will cache.
+             *
+             * <p>Creating a mapper requires reflectively inspecting its type,
+             * so applications with many mapped types may want to increase
+             * this. A size of {@code 0} disables caching. By default, up to
+             * 64 mappers are cached.</p>
+             *
+             * <p>Builders of factories that do not cache mappers ignore
+             * this setting.</p>
+             *
+             * @param maximumSize the maximum cache size
+             * @return this builder
+             * @since 4.2.0
+             */
+            default Builder mapperCacheSize(int maximumSize) {
+                return this;
+            }
+
+            /**
+             * Set the policy used to discard mappers once the cache is full.
+             *
+             * <p>By default, the mappers created first are discarded.
+             * Builders of factories that do not cache mappers ignore this
+             * setting.</p>
+             *
+             * @param eviction the eviction policy
+             * @return this builder
+             * @since 4.2.0
+             */
+            default Builder mapperCacheEviction(CacheEviction eviction) {
+                return this;
+            }
+
             /**
              * Create a new factory using the current configuration.
              *
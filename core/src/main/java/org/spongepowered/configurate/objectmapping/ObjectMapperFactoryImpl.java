@@ -48,7 +48,6 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -57,20 +56,16 @@ import java.util.Map;
  */
 final class ObjectMapperFactoryImpl implements ObjectMapper.Factory, TypeSerializer<Object> {
 
-    private static final int MAXIMUM_MAPPERS_SIZE = 64;
+    static final int DEFAULT_MAPPER_CACHE_SIZE = 64;
 
-    private final Map<Type, ObjectMapper<?>> mappers = new LinkedHashMap<Type, ObjectMapper<?>>() {
-        @Override
-        protected boolean removeEldestEntry(final Map.Entry<Type, ObjectMapper<?>> eldest) {
-            return this.size() > MAXIMUM_MAPPERS_SIZE;
-        }
-    };
+    private final MapperCache mappers;
     private final List<NodeResolver.Factory> resolverFactories;
     private final List<FieldDiscoverer<?>> fieldDiscoverers;
     private final Map<Class<? extends Annotation>, List<Definition<?, ?, ? extends Constraint.Factory<?, ?>>>> constraints;
     private final Map<Class<? extends Annotation>, List<Definition<?, ?, ? extends Processor.Factory<?, ?>>>> processors;
 
     ObjectMapperFactoryImpl(final Builder builder) {
+        this.mappers = new MapperCache(builder.mapperCacheSize, builder.mapperCacheEviction);
         this.resolverFactories = new ArrayList<>(builder.resolvers);
         Collections.reverse(this.resolverFactories);
 
@@ -105,9 +100,12 @@ final class ObjectMapperFactoryImpl implements ObjectMapper.Factory, TypeSeriali
             throw new SerializationException(type, "Raw types are not supported!");
         }
 
-        synchronized (this.mappers) {
-            return computeFromMap(this.mappers, type, this::computeMapper);
-        }
+        return this.mappers.get(type, this::computeMapper);
+    }
+
+    @Override
+    public CacheStatistics cacheStatistics() {
+        return this.mappers.statistics();
     }
 
     @Override
@@ -261,46 +259,6 @@ final class ObjectMapperFactoryImpl implements ObjectMapper.Factory, TypeSeriali
         }
     }
 
-    // Helpers to get value from map
-
-    /**
-     * Lightweight wrapper exception that doesn't need to track its
-     * own stacktrace.
-     */
-    private static class StacklessWrapper extends RuntimeException {
-
-        private static final long serialVersionUID = 1759625646560465255L;
-
-        StacklessWrapper(final Throwable cause) {
-            super(cause);
-        }
-
-        @Override
-        public synchronized Throwable fillInStackTrace() {
-            // no-op
-            return this;
-        }
-    }
-
-    @SuppressWarnings("unchecked") // for E cast
-    private static <K, V, E extends Exception> V computeFromMap(final Map<K, V> map, final K key, final CheckedFunction<K, V, E> creator) throws E {
-        try {
-            return map.computeIfAbsent(key, k -> {
-                try {
-                    return creator.apply(k);
-                } catch (final Exception e) {
-                    if (e instanceof RuntimeException) {
-                        throw (RuntimeException) e;
-                    } else {
-                        throw new StacklessWrapper(e);
-                    }
-                }
-            });
-        } catch (final StacklessWrapper ex) {
-            throw (E) ex.getCause();
-        }
-    }
-
     static ObjectMapper.Factory.Builder defaultBuilder() {
         return new Builder()
                 .defaultNamingScheme(NamingSchemes.LOWER_CASE_DASHED)
@@ -329,6 +287,8 @@ final class ObjectMapperFactoryImpl implements ObjectMapper.Factory, TypeSeriali
         private final List<FieldDiscoverer<?>> discoverer = new ArrayList<>();
         private final List<Definition<?, ?, ? extends Constraint.Factory<?, ?>>> constraints = new ArrayList<>();
         private final List<Definition<?, ?, ? extends Processor.Factory<?, ?>>> processors = new ArrayList<>();
+        private int mapperCacheSize = DEFAULT_MAPPER_CACHE_SIZE;
+        private CacheEviction mapperCacheEviction = CacheEviction.FIRST_IN_FIRST_OUT;
 
         @Override
         public ObjectMapper.Factory.Builder defaultNamingScheme(final NamingScheme scheme) {
@@ -362,6 +322,21 @@ final class ObjectMapperFactoryImpl implements ObjectMapper.Factory, TypeSeriali
             return this;
         }
 
+        @Override
+        public Builder mapperCacheSize(final int maximumSize) {
+            if (maximumSize < 0) {
+                throw new IllegalArgumentException("Mapper cache size must not be negative, but was " + maximumSize);
+            }
+            this.mapperCacheSize = maximumSize;
+            return this;
+        }
+
+        @Override
+        public Builder mapperCacheEviction(final CacheEviction eviction) {
+            this.mapperCacheEviction = requireNonNull(eviction, "eviction");
+            return this;
+        }
+
         @Override
         public ObjectMapper.Factory build() {
             return new ObjectMapperFactoryImpl(this);
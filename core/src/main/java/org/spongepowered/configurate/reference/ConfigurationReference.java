@@ -16,6 +16,8 @@
  */
 package org.spongepowered.configurate.reference;
 
+import static java.util.Objects.requireNonNull;
+
 import io.leangen.geantyref.TypeToken;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.configurate.ConfigurateException;
@@ -73,8 +75,9 @@ public interface ConfigurationReference<N extends ConfigurationNode> extends Aut
     static <T extends ScopedConfigurationNode<T>> ConfigurationReference<T>
             watching(Function<Path, ConfigurationLoader<? extends T>> loaderCreator, Path file, WatchServiceListener listener)
             throws ConfigurateException {
-        final WatchingConfigurationReference<T> ret = new WatchingConfigurationReference<>(loaderCreator.apply(file), listener.taskExecutor);
-        ret.load();
+        final WatchingConfigurationReference<T> ret = new WatchingConfigurationReference<>(loaderCreator.apply(file), listener.taskExecutor,
+            file, listener.changeCheck);
+        ret.reload();
         ret.disposable(listener.listenToFile(file, ret));
 
         return ret;
@@ -400,6 +403,25 @@ public interface ConfigurationReference<N extends ConfigurationNode> extends Aut
      */
     Publisher<N> updates();
 
+    /**
+     * Access a {@link Publisher} that broadcasts the node at {@code path}
+     * whenever the content of that subtree changes.
+     *
+     * <p>Unlike {@link #updates()}, reloads or saves that leave the subtree
+     * unchanged are not broadcast. A subtree is considered changed if its
+     * node was modified in place, or if it was replaced by a node that is
+     * not {@link Object#equals(Object) equal}. Each subscriber compares
+     * against the subtree as of the last value it received, or as of the
+     * time it subscribed.</p>
+     *
+     * @param path the path of the subtree to observe
+     * @return a publisher of changed subtrees
+     * @since 4.2.0
+     */
+    default Publisher<N> changes(final NodePath path) {
+        return new SubtreeChangePublisher<>(this, requireNonNull(path, "path"));
+    }
+
     /**
      * A stream that will receive errors that occur while loading or saving to
      * this reference.
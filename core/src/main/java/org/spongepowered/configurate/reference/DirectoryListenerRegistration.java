@@ -26,7 +26,10 @@ import org.spongepowered.configurate.reactive.Subscriber;
 import java.nio.file.Path;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -45,6 +48,7 @@ class DirectoryListenerRegistration implements Subscriber<WatchEvent<?>> {
         = new ConcurrentHashMap<>();
     private final Executor executor;
     private final Processor<WatchEvent<?>, WatchEvent<?>> dirListeners;
+    private final Set<Debounced> debouncedListeners = ConcurrentHashMap.newKeySet();
 
     DirectoryListenerRegistration(final WatchKey key, final Executor executor) {
         this.key = requireNonNull(key, "key");
@@ -69,6 +73,30 @@ class DirectoryListenerRegistration implements Subscriber<WatchEvent<?>> {
         if (fileListeners != null) {
             fileListeners.submit(item);
         }
+
+        if (!this.debouncedListeners.isEmpty()) {
+            final long now = System.nanoTime();
+            for (final Debounced listener : this.debouncedListeners) {
+                listener.defer(file, item, now);
+            }
+        }
+    }
+
+    /**
+     * Deliver any debounced events whose window has elapsed.
+     *
+     * <p>This must only be called from the polling thread.</p>
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return nanoseconds until the next pending window elapses, or
+     *     {@link Long#MAX_VALUE} if no events are pending
+     */
+    long flushDebounced(final long now) {
+        long next = Long.MAX_VALUE;
+        for (final Debounced listener : this.debouncedListeners) {
+            next = Math.min(next, listener.flush(now));
+        }
+        return next;
     }
 
     @Override
@@ -90,6 +118,15 @@ class DirectoryListenerRegistration implements Subscriber<WatchEvent<?>> {
             });
 
             this.fileListeners.clear();
+
+            this.debouncedListeners.forEach(listener -> {
+                try {
+                    listener.processor.onClose();
+                } catch (final Exception t) {
+                    listener.processor.onError(t);
+                }
+            });
+            this.debouncedListeners.clear();
             this.key.cancel();
         } finally {
             this.lock.unlock();
@@ -122,10 +159,45 @@ class DirectoryListenerRegistration implements Subscriber<WatchEvent<?>> {
         }
     }
 
+    /**
+     * Subscribe to events, delivering them once no further events have been
+     * received for a window of time.
+     *
+     * <p>Only the most recent event for each path is delivered.</p>
+     *
+     * @param file the file to receive events for, or {@code null} for every
+     *     path in the directory
+     * @param windowNanos the debounce window, in nanoseconds
+     * @param subscriber the subscriber
+     * @return a disposable to cancel the subscription
+     */
+    public Disposable subscribe(final @Nullable Path file, final long windowNanos, final Subscriber<WatchEvent<?>> subscriber) {
+        if (windowNanos <= 0) {
+            return file == null ? this.subscribe(subscriber) : this.subscribe(file, subscriber);
+        }
+
+        if (!this.acceptingRegistrations.get()) {
+            return () -> {};
+        }
+
+        this.lock.lock();
+        try {
+            final Debounced listener = new Debounced(file, windowNanos, Processor.create(this.executor));
+            final Disposable subscription = listener.processor.subscribe(subscriber);
+            this.debouncedListeners.add(listener);
+            return () -> {
+                subscription.dispose();
+                this.debouncedListeners.remove(listener);
+            };
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
     public boolean hasSubscribers() {
         this.lock.lock();
         try {
-            return this.dirListeners.hasSubscribers() || !this.fileListeners.isEmpty();
+            return this.dirListeners.hasSubscribers() || !this.fileListeners.isEmpty() || !this.debouncedListeners.isEmpty();
         } finally {
             this.lock.unlock();
         }
@@ -165,4 +237,50 @@ class DirectoryListenerRegistration implements Subscriber<WatchEvent<?>> {
         return false;
     }
 
+    /**
+     * A subscription that coalesces events until its window has passed without
+     * any new events.
+     */
+    private static final class Debounced {
+
+        final @Nullable Path file;
+        final long windowNanos;
+        final Processor<WatchEvent<?>, WatchEvent<?>> processor;
+        // only accessed from the polling thread
+        private final Map<@Nullable Object, WatchEvent<?>> pending = new LinkedHashMap<>();
+        private long deadline;
+
+        Debounced(final @Nullable Path file, final long windowNanos, final Processor<WatchEvent<?>, WatchEvent<?>> processor) {
+            this.file = file;
+            this.windowNanos = windowNanos;
+            this.processor = processor;
+        }
+
+        void defer(final @Nullable Path context, final WatchEvent<?> event, final long now) {
+            if (this.file != null && !this.file.equals(context)) {
+                return;
+            }
+            this.pending.put(context, event);
+            this.deadline = now + this.windowNanos;
+        }
+
+        long flush(final long now) {
+            if (this.pending.isEmpty()) {
+                return Long.MAX_VALUE;
+            }
+
+            final long remaining = this.deadline - now;
+            if (remaining > 0) {
+                return remaining;
+            }
+
+            for (final WatchEvent<?> event : this.pending.values()) {
+                this.processor.submit(event);
+            }
+            this.pending.clear();
+            return Long.MAX_VALUE;
+        }
+
+    }
+
 }
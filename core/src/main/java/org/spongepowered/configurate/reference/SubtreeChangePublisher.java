@@ -0,0 +1,96 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.reference;
+
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.NodePath;
+import org.spongepowered.configurate.reactive.Disposable;
+import org.spongepowered.configurate.reactive.Publisher;
+import org.spongepowered.configurate.reactive.Subscriber;
+
+import java.util.concurrent.Executor;
+
+/**
+ * A publisher of the node at one path in a reference, only emitting
+ * when that subtree's content changes.
+ *
+ * <p>Each subscriber compares against the subtree as it was when that
+ * subscriber last received it, or when it subscribed.</p>
+ *
+ * @param <N> node type
+ */
+final class SubtreeChangePublisher<N extends ConfigurationNode> implements Publisher<N> {
+
+    private final ConfigurationReference<N> reference;
+    private final NodePath path;
+
+    SubtreeChangePublisher(final ConfigurationReference<N> reference, final NodePath path) {
+        this.reference = reference;
+        this.path = path;
+    }
+
+    @Override
+    public Disposable subscribe(final Subscriber<? super N> subscriber) {
+        return this.reference.updates().subscribe(new Subscriber<N>() {
+            private SubtreeSnapshot<N> last = new SubtreeSnapshot<>(
+                SubtreeChangePublisher.this.subtree(SubtreeChangePublisher.this.reference.node())
+            );
+
+            @Override
+            public void submit(final N item) {
+                final N current = SubtreeChangePublisher.this.subtree(item);
+                final boolean changed;
+                synchronized (this) {
+                    changed = this.last.changedIn(current);
+                    if (changed || this.last.node != current) {
+                        this.last = new SubtreeSnapshot<>(current);
+                    }
+                }
+                if (changed) {
+                    subscriber.submit(current);
+                }
+            }
+
+            @Override
+            public void onError(final Throwable thrown) {
+                subscriber.onError(thrown);
+            }
+
+            @Override
+            public void onClose() {
+                subscriber.onClose();
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private N subtree(final N root) {
+        // children are of the same type as their root
+        return (N) root.node(this.path);
+    }
+
+    @Override
+    public boolean hasSubscribers() {
+        return this.reference.updates().hasSubscribers();
+    }
+
+    @Override
+    public Executor executor() {
+        return this.reference.updates().executor();
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.reference;
+
+import org.spongepowered.configurate.ConfigurationNode;
+
+/**
+ * The state of a subtree at the time it was last observed.
+ *
+ * <p>A later subtree is considered changed if the observed node has been
+ * modified since, or if it is a different node with different content.
+ * Nodes that do not track modifications are always considered changed.</p>
+ *
+ * @param <N> node type
+ */
+final class SubtreeSnapshot<N extends ConfigurationNode> {
+
+    final N node;
+    private final long modifications;
+
+    SubtreeSnapshot(final N node) {
+        this.node = node;
+        this.modifications = node.modificationCount();
+    }
+
+    /**
+     * Get whether a subtree differs from the one observed.
+     *
+     * @param current the current subtree at the same path
+     * @return whether the content differs
+     */
+    boolean changedIn(final N current) {
+        if (this.modifications == ConfigurationNode.UNKNOWN_MODIFICATION_COUNT
+            || this.node.modificationCount() != this.modifications) {
+            return true;
+        }
+        return this.node != current && !this.node.equals(current);
+    }
+
+}
@@ -41,6 +41,7 @@ class ValueReferenceImpl<@Nullable T, N extends ScopedConfigurationNode<N>> impl
     private final TypeToken<T> type;
     private final TypeSerializer<T> serializer;
     private final Publisher.Cached<@Nullable T> deserialized;
+    private volatile SubtreeSnapshot<N> source;
 
     ValueReferenceImpl(final ManualConfigurationReference<N> root, final NodePath path, final TypeToken<T> type,
                        final @Nullable T def) throws SerializationException {
@@ -53,14 +54,25 @@ class ValueReferenceImpl<@Nullable T, N extends ScopedConfigurationNode<N>> impl
         }
         this.serializer = serializer;
 
-        this.deserialized = root.updateListener.map(n -> {
+        final @Nullable T initial = deserializedValueFrom(root.node(), def);
+        this.source = new SubtreeSnapshot<>(root.node().node(this.path));
+
+        // Only deserialize subtrees that changed, but record them once the whole update commits,
+        // since a failure elsewhere in the transaction rolls back this value too.
+        final Publisher<Loaded<T, N>> loaded = root.updateListener.map(n -> {
+            final N node = n.node(this.path);
+            if (!this.source.changedIn(node)) {
+                return new Loaded<>(this.get(), node);
+            }
             try {
-                return deserializedValueFrom(n, def);
+                return new Loaded<>(deserializedValueFrom(n, def), node);
             } catch (final SerializationException e) {
                 root.errorListener.submit(UnmodifiableCollections.immutableMapEntry(ErrorPhase.VALUE, e));
                 throw new TransactionFailedException(e);
             }
-        }).cache(deserializedValueFrom(root.node(), def));
+        });
+        loaded.subscribe(it -> this.source = new SubtreeSnapshot<>(it.node));
+        this.deserialized = loaded.map(it -> it.value).cache(initial);
     }
 
     ValueReferenceImpl(final ManualConfigurationReference<N> root, final NodePath path, final Class<T> type,
@@ -162,4 +174,19 @@ class ValueReferenceImpl<@Nullable T, N extends ScopedConfigurationNode<N>> impl
         return this.deserialized.executor();
     }
 
+    /**
+     * A value deserialized from the node at this reference's path.
+     */
+    static final class Loaded<T, N> {
+
+        final @Nullable T value;
+        final N node;
+
+        Loaded(final @Nullable T value, final N node) {
+            this.value = value;
+            this.node = node;
+        }
+
+    }
+
 }
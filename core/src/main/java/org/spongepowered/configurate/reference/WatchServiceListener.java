@@ -26,6 +26,8 @@ import org.spongepowered.configurate.reactive.Disposable;
 import org.spongepowered.configurate.reactive.Subscriber;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
@@ -35,12 +37,18 @@ import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -70,6 +78,8 @@ public final class WatchServiceListener implements AutoCloseable {
     private volatile boolean open = true;
     private final Thread executor;
     final Executor taskExecutor;
+    private final long debounceNanos;
+    final ChangeCheck changeCheck;
     private final ConcurrentHashMap<Path, DirectoryListenerRegistration> activeListeners = new ConcurrentHashMap<>();
     private static final ThreadLocal<IOException> exceptionHolder = new ThreadLocal<>();
 
@@ -94,16 +104,23 @@ public final class WatchServiceListener implements AutoCloseable {
      * @since 4.0.0
      */
     public static WatchServiceListener create() throws IOException {
-        return new WatchServiceListener(DEFAULT_THREAD_FACTORY, FileSystems.getDefault(), ForkJoinPool.commonPool());
+        return new WatchServiceListener(DEFAULT_THREAD_FACTORY, FileSystems.getDefault(), ForkJoinPool.commonPool(), 0, ChangeCheck.NONE);
     }
 
-    private WatchServiceListener(final ThreadFactory factory, final FileSystem fileSystem, final Executor taskExecutor) throws IOException {
+    private WatchServiceListener(
+        final ThreadFactory factory,
+        final FileSystem fileSystem,
+        final Executor taskExecutor,
+        final long debounceNanos,
+        final ChangeCheck changeCheck
+    ) throws IOException {
         this.watchService = fileSystem.newWatchService();
         this.executor = factory.newThread(() -> {
             while (this.open) {
-                final WatchKey key;
+                final @Nullable WatchKey key;
                 try {
-                    key = this.watchService.take();
+                    final long wait = this.flushDebounced();
+                    key = wait == Long.MAX_VALUE ? this.watchService.take() : this.watchService.poll(wait, TimeUnit.NANOSECONDS);
                 } catch (final InterruptedException e) {
                     this.open = false;
                     Thread.currentThread().interrupt();
@@ -111,6 +128,9 @@ public final class WatchServiceListener implements AutoCloseable {
                 } catch (final ClosedWatchServiceException e) {
                     break;
                 }
+                if (key == null) { // a debounce window has elapsed
+                    continue;
+                }
                 final Path watched = (Path) key.watchable();
                 final DirectoryListenerRegistration registration = this.activeListeners.get(watched);
                 if (registration != null) {
@@ -138,18 +158,29 @@ public final class WatchServiceListener implements AutoCloseable {
                         oldListeners.onClose();
                     }
                 }
-                try {
-                    Thread.sleep(20);
-                } catch (final InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
             }
         });
         this.taskExecutor = taskExecutor;
+        this.debounceNanos = debounceNanos;
+        this.changeCheck = changeCheck;
         this.executor.start();
     }
 
+    /**
+     * Deliver debounced events whose window has elapsed.
+     *
+     * @return nanoseconds until the next pending window elapses, or
+     *     {@link Long#MAX_VALUE} if no events are pending
+     */
+    private long flushDebounced() {
+        final long now = System.nanoTime();
+        long next = Long.MAX_VALUE;
+        for (final DirectoryListenerRegistration registration : this.activeListeners.values()) {
+            next = Math.min(next, registration.flushDebounced(now));
+        }
+        return next;
+    }
+
     /**
      * Gets or creates a registration holder for a specific directory. This
      * handles registering with the watch service if necessary.
@@ -185,14 +216,41 @@ public final class WatchServiceListener implements AutoCloseable {
      * @throws IllegalArgumentException if the provided path is a directory.
      * @since 4.0.0
      */
-    public Disposable listenToFile(Path file, final Subscriber<WatchEvent<?>> callback) throws ConfigurateException, IllegalArgumentException {
+    public Disposable listenToFile(final Path file, final Subscriber<WatchEvent<?>> callback) throws ConfigurateException, IllegalArgumentException {
+        return this.listenToFile(file, this.debounceNanos, callback);
+    }
+
+    /**
+     * Listen for changes to a specific file or directory, coalescing events
+     * that arrive in quick succession.
+     *
+     * <p>Events are delivered once no further event has been received for
+     * the file within the {@code debounce} window. Tools that write a file in
+     * several steps will then only notify the callback once.</p>
+     *
+     * @param file the path of the file or directory to listen for changes on.
+     * @param debounce the time to wait for further events, or
+     *     {@link Duration#ZERO} to deliver every event immediately
+     * @param callback a subscriber that will be notified when changes occur.
+     * @return a {@link Disposable} that can be used to cancel this subscription
+     * @throws ConfigurateException if a filesystem error occurs.
+     * @throws IllegalArgumentException if the provided path is a directory.
+     * @since 4.2.0
+     */
+    public Disposable listenToFile(final Path file, final Duration debounce, final Subscriber<WatchEvent<?>> callback)
+            throws ConfigurateException, IllegalArgumentException {
+        return this.listenToFile(file, debounceNanos(debounce), callback);
+    }
+
+    private Disposable listenToFile(Path file, final long debounceNanos, final Subscriber<WatchEvent<?>> callback)
+            throws ConfigurateException, IllegalArgumentException {
         file = file.toAbsolutePath();
         if (Files.isDirectory(file)) {
             throw new IllegalArgumentException("Path " + file + " must be a file");
         }
 
         final Path fileName = file.getFileName();
-        return registration(file.getParent()).subscribe(fileName, callback);
+        return registration(file.getParent()).subscribe(fileName, debounceNanos, callback);
     }
 
     /**
@@ -207,19 +265,59 @@ public final class WatchServiceListener implements AutoCloseable {
      * @throws IllegalArgumentException if the provided path is not a directory
      * @since 4.0.0
      */
-    public Disposable listenToDirectory(Path directory, final Subscriber<WatchEvent<?>> callback)
+    public Disposable listenToDirectory(final Path directory, final Subscriber<WatchEvent<?>> callback)
+            throws ConfigurateException, IllegalArgumentException {
+        return this.listenToDirectory(directory, this.debounceNanos, callback);
+    }
+
+    /**
+     * Listen to a directory, coalescing events that arrive in
+     * quick succession.
+     *
+     * <p>Events are delivered once no further event has been received in
+     * the directory within the {@code debounce} window. Only the most recent
+     * event for each path is delivered.</p>
+     *
+     * @param directory the directory to listen to
+     * @param debounce the time to wait for further events, or
+     *     {@link Duration#ZERO} to deliver every event immediately
+     * @param callback a subscriber that will be notified when changes occur.
+     * @return a {@link Disposable} that can be used to cancel this subscription
+     * @throws ConfigurateException when an error occurs registering with the
+     *                              underlying watch service.
+     * @throws IllegalArgumentException if the provided path is not a directory
+     * @since 4.2.0
+     */
+    public Disposable listenToDirectory(final Path directory, final Duration debounce, final Subscriber<WatchEvent<?>> callback)
+            throws ConfigurateException, IllegalArgumentException {
+        return this.listenToDirectory(directory, debounceNanos(debounce), callback);
+    }
+
+    private Disposable listenToDirectory(Path directory, final long debounceNanos, final Subscriber<WatchEvent<?>> callback)
             throws ConfigurateException, IllegalArgumentException {
         directory = directory.toAbsolutePath();
         if (!(Files.isDirectory(directory) || !Files.exists(directory))) {
             throw new IllegalArgumentException("Path " + directory + " must be a directory");
         }
 
-        return registration(directory).subscribe(callback);
+        return registration(directory).subscribe(null, debounceNanos, callback);
+    }
+
+    private static long debounceNanos(final Duration debounce) {
+        if (debounce.isNegative()) {
+            throw new IllegalArgumentException("Debounce window must not be negative, but was " + debounce);
+        }
+        return debounce.toNanos();
     }
 
     /**
      * Create a new {@link ConfigurationReference} subscribed to FS updates.
      *
+     * <p>The file is reloaded using this listener's
+     * {@link Builder#debounce(Duration) debounce window}, and skipped when
+     * the configured {@link Builder#changeCheck(ChangeCheck) change check}
+     * finds it unchanged since it was last loaded or saved.</p>
+     *
      * @param loaderFunc function that will create a new loader
      * @param path path to to for changes
      * @param <N> node type
@@ -258,6 +356,8 @@ public final class WatchServiceListener implements AutoCloseable {
         private @Nullable ThreadFactory threadFactory;
         private @Nullable FileSystem fileSystem;
         private @Nullable Executor taskExecutor;
+        private Duration debounce = Duration.ZERO;
+        private ChangeCheck changeCheck = ChangeCheck.NONE;
 
         private Builder() { }
 
@@ -302,6 +402,44 @@ public final class WatchServiceListener implements AutoCloseable {
             return this;
         }
 
+        /**
+         * Set the default time to wait for further events on a path before
+         * notifying listeners.
+         *
+         * <p>Editors and deployment tools often write a file in several steps,
+         * each producing its own event. Within the window, events are
+         * coalesced so listeners are only notified once the file has
+         * settled. By default, every event is delivered immediately.</p>
+         *
+         * <p>This applies to every listener registered without its own
+         * window, including configuration references.</p>
+         *
+         * @param debounce the debounce window, or {@link Duration#ZERO}
+         *     to disable
+         * @return this builder
+         * @since 4.2.0
+         */
+        public Builder debounce(final Duration debounce) {
+            debounceNanos(requireNonNull(debounce, "debounce"));
+            this.debounce = debounce;
+            return this;
+        }
+
+        /**
+         * Set how configuration references created by this listener decide
+         * whether a changed file needs to be reloaded.
+         *
+         * <p>By default, every event causes a reload.</p>
+         *
+         * @param check the change check to use
+         * @return this builder
+         * @since 4.2.0
+         */
+        public Builder changeCheck(final ChangeCheck check) {
+            this.changeCheck = requireNonNull(check, "check");
+            return this;
+        }
+
         /**
          * Create a new listener, using default values for any unset parameters.
          *
@@ -322,9 +460,84 @@ public final class WatchServiceListener implements AutoCloseable {
                 this.taskExecutor = ForkJoinPool.commonPool();
             }
 
-            return new WatchServiceListener(this.threadFactory, this.fileSystem, this.taskExecutor);
+            return new WatchServiceListener(this.threadFactory, this.fileSystem, this.taskExecutor, this.debounce.toNanos(), this.changeCheck);
         }
 
     }
 
+    /**
+     * Ways to detect whether a watched configuration file has actually
+     * changed since it was last loaded or saved.
+     *
+     * <p>A file whose content is found unchanged is not reloaded.</p>
+     *
+     * @since 4.2.0
+     */
+    public enum ChangeCheck {
+        /**
+         * Reload on every event.
+         *
+         * @since 4.2.0
+         */
+        NONE {
+            @Override
+            @Nullable Object fingerprint(final Path file) {
+                return null;
+            }
+        },
+        /**
+         * Compare the file's size and last modified time.
+         *
+         * <p>This is cheap, but relies on the file system recording
+         * modification times with enough precision.</p>
+         *
+         * @since 4.2.0
+         */
+        SIZE_AND_MODIFIED_TIME {
+            @Override
+            @Nullable Object fingerprint(final Path file) throws IOException {
+                final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return Arrays.asList(attributes.size(), attributes.lastModifiedTime());
+            }
+        },
+        /**
+         * Compare a hash of the file's content.
+         *
+         * <p>This reads the whole file, but skips reloads of files that
+         * were rewritten with the same content.</p>
+         *
+         * @since 4.2.0
+         */
+        CONTENT_HASH {
+            @Override
+            @Nullable Object fingerprint(final Path file) throws IOException {
+                final MessageDigest digest;
+                try {
+                    digest = MessageDigest.getInstance("SHA-256");
+                } catch (final NoSuchAlgorithmException ex) {
+                    throw new IOException(ex);
+                }
+
+                final byte[] buffer = new byte[8192];
+                try (InputStream is = Files.newInputStream(file)) {
+                    int read;
+                    while ((read = is.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                    }
+                }
+                return ByteBuffer.wrap(digest.digest());
+            }
+        };
+
+        /**
+         * Get a value that is equal between two states of a file when its
+         * content is known to be the same.
+         *
+         * @param file the file
+         * @return the fingerprint, or {@code null} if unknown
+         * @throws IOException if the file could not be read
+         */
+        abstract @Nullable Object fingerprint(Path file) throws IOException;
+    }
+
 }
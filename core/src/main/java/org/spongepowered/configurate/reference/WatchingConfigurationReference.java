@@ -25,6 +25,8 @@ import org.spongepowered.configurate.reactive.Disposable;
 import org.spongepowered.configurate.reactive.Subscriber;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.util.concurrent.Executor;
@@ -35,11 +37,24 @@ import java.util.concurrent.Executor;
 class WatchingConfigurationReference<N extends ScopedConfigurationNode<N>>
         extends ManualConfigurationReference<N> implements Subscriber<WatchEvent<?>> {
 
+    private final Path file;
+    private final WatchServiceListener.ChangeCheck changeCheck;
     private volatile boolean saveSuppressed;
     private @Nullable Disposable disposable;
+    /**
+     * Fingerprint of the file as it was last loaded or saved.
+     */
+    private volatile @Nullable Object fingerprint;
 
-    WatchingConfigurationReference(final ConfigurationLoader<? extends N> loader, final Executor taskExecutor) {
+    WatchingConfigurationReference(
+        final ConfigurationLoader<? extends N> loader,
+        final Executor taskExecutor,
+        final Path file,
+        final WatchServiceListener.ChangeCheck changeCheck
+    ) {
         super(loader, taskExecutor);
+        this.file = file;
+        this.changeCheck = changeCheck;
     }
 
     @Override
@@ -51,6 +66,33 @@ class WatchingConfigurationReference<N extends ScopedConfigurationNode<N>>
             } finally {
                 this.saveSuppressed = false;
             }
+            this.fingerprint = this.currentFingerprint();
+        }
+    }
+
+    /**
+     * Load the file, unless it is known to be unchanged since it was last
+     * loaded or saved.
+     *
+     * @throws ConfigurateException if thrown while loading
+     */
+    void reload() throws ConfigurateException {
+        synchronized (loader()) {
+            // taken before loading, so a write racing with the load is picked up by the next event
+            final @Nullable Object fingerprint = this.currentFingerprint();
+            if (fingerprint != null && fingerprint.equals(this.fingerprint)) {
+                return;
+            }
+            load();
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private @Nullable Object currentFingerprint() {
+        try {
+            return this.changeCheck.fingerprint(this.file);
+        } catch (final IOException ex) {
+            return null; // unknown, so always load
         }
     }
 
@@ -67,7 +109,7 @@ class WatchingConfigurationReference<N extends ScopedConfigurationNode<N>>
     public void submit(final WatchEvent<?> item) {
         if (!this.saveSuppressed || item.kind() == StandardWatchEventKinds.ENTRY_MODIFY) {
             try {
-                load();
+                reload();
             } catch (final Exception e) {
                 this.errorListener.submit(UnmodifiableCollections.immutableMapEntry(ErrorPhase.LOADING, e));
             }
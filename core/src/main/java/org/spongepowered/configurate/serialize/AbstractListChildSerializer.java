@@ -50,9 +50,26 @@ public abstract class AbstractListChildSerializer<T> implements TypeSerializer<T
             throw new SerializationException(node, entryType, "No applicable type serializer for type");
         }
 
-        if (node.isList()) {
+        final @Nullable T packed = this.deserializePacked(entrySerial, node);
+        if (packed != null) {
+            return packed;
+        } else if (node.isList()) {
             final List<? extends ConfigurationNode> values = node.childrenList();
             final T ret = createNew(values.size(), entryType);
+            if (ParallelDeserialization.enabled(node.options(), values.size())) {
+                final @Nullable Object[] elements = ParallelDeserialization.deserialize(node.options(), values.size(), i -> {
+                    try {
+                        return entrySerial.deserialize(entryType, values.get(i));
+                    } catch (final SerializationException ex) {
+                        ex.initPath(values.get(i)::path);
+                        throw ex;
+                    }
+                });
+                for (int i = 0; i < elements.length; ++i) {
+                    deserializeSingle(i, ret, elements[i]);
+                }
+                return ret;
+            }
             for (int i = 0; i < values.size(); ++i) {
                 try {
                     deserializeSingle(i, ret, entrySerial.deserialize(entryType, values.get(i)));
@@ -82,6 +99,10 @@ public abstract class AbstractListChildSerializer<T> implements TypeSerializer<T
             throw new SerializationException(node, entryType, "No applicable type serializer for type");
         }
 
+        if (obj != null && this.serializePacked(entrySerial, obj, node)) {
+            return;
+        }
+
         node.raw(Collections.emptyList());
         if (obj != null) {
             forEachElement(obj, el -> {
@@ -105,6 +126,29 @@ public abstract class AbstractListChildSerializer<T> implements TypeSerializer<T
         }
     }
 
+    /**
+     * Attempt to read a collection directly from a packed list node.
+     *
+     * @param entrySerial the serializer for elements
+     * @param node the node to read from
+     * @return a collection, or null if no packed representation is available
+     */
+    @Nullable T deserializePacked(final TypeSerializer<?> entrySerial, final ConfigurationNode node) {
+        return null;
+    }
+
+    /**
+     * Attempt to write a collection to a node as a packed list.
+     *
+     * @param entrySerial the serializer for elements
+     * @param collection the collection to write
+     * @param node the node to write to
+     * @return whether the collection was written
+     */
+    boolean serializePacked(final TypeSerializer<?> entrySerial, final T collection, final ConfigurationNode node) {
+        return false;
+    }
+
     /**
      * Given the type of container, provide the expected type of an element. If
      * the element type is not available, an exception must be thrown.
@@ -18,6 +18,7 @@ package org.spongepowered.configurate.serialize;
 
 import io.leangen.geantyref.GenericTypeReflector;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.util.CheckedConsumer;
 import org.spongepowered.configurate.util.Types;
 
@@ -44,6 +45,41 @@ abstract class ArraySerializer<T> extends AbstractListChildSerializer<T> {
         return componentType;
     }
 
+    /**
+     * A serializer for primitive arrays that nodes may hold packed.
+     *
+     * <p>Packed lists are only used when elements would otherwise be
+     * serialized by the default scalar serializer for their type, and are
+     * natively accepted by the node.</p>
+     *
+     * @param <T> array type
+     */
+    abstract static class Packable<T> extends ArraySerializer<T> {
+
+        private final Class<T> type;
+        private final ScalarSerializer<?> elementSerializer;
+
+        Packable(final Class<T> type, final ScalarSerializer<?> elementSerializer) {
+            this.type = type;
+            this.elementSerializer = elementSerializer;
+        }
+
+        @Override
+        final @Nullable T deserializePacked(final TypeSerializer<?> entrySerial, final ConfigurationNode node) {
+            return entrySerial == this.elementSerializer ? node.packedList(this.type) : null;
+        }
+
+        @Override
+        final boolean serializePacked(final TypeSerializer<?> entrySerial, final T collection, final ConfigurationNode node) {
+            if (entrySerial != this.elementSerializer || !node.options().acceptsType(this.type.getComponentType())) {
+                return false;
+            }
+            node.rawPackedList(collection);
+            return true;
+        }
+
+    }
+
     static final class Objects extends ArraySerializer<Object[]> {
 
         public static boolean accepts(final Type token) {
@@ -77,10 +113,14 @@ abstract class ArraySerializer<T> extends AbstractListChildSerializer<T> {
 
     }
 
-    static final class Booleans extends ArraySerializer<boolean[]> {
+    static final class Booleans extends Packable<boolean[]> {
 
         static final Class<boolean[]> TYPE = boolean[].class;
 
+        Booleans() {
+            super(TYPE, Scalars.BOOLEAN);
+        }
+
         @Override
         protected boolean[] createNew(final int length, final Type elementType) {
             return new boolean[length];
@@ -177,10 +217,14 @@ abstract class ArraySerializer<T> extends AbstractListChildSerializer<T> {
 
     }
 
-    static final class Ints extends ArraySerializer<int[]> {
+    static final class Ints extends Packable<int[]> {
 
         static final Class<int[]> TYPE = int[].class;
 
+        Ints() {
+            super(TYPE, Scalars.INTEGER);
+        }
+
         @Override
         protected int[] createNew(final int length, final Type elementType) {
             return new int[length];
@@ -202,10 +246,14 @@ abstract class ArraySerializer<T> extends AbstractListChildSerializer<T> {
 
     }
 
-    static final class Longs extends ArraySerializer<long[]> {
+    static final class Longs extends Packable<long[]> {
 
         static final Class<long[]> TYPE = long[].class;
 
+        Longs() {
+            super(TYPE, Scalars.LONG);
+        }
+
         @Override
         protected long[] createNew(final int length, final Type elementType) {
             return new long[length];
@@ -227,10 +275,14 @@ abstract class ArraySerializer<T> extends AbstractListChildSerializer<T> {
 
     }
 
-    static final class Floats extends ArraySerializer<float[]> {
+    static final class Floats extends Packable<float[]> {
 
         static final Class<float[]> TYPE = float[].class;
 
+        Floats() {
+            super(TYPE, Scalars.FLOAT);
+        }
+
         @Override
         protected float[] createNew(final int length, final Type elementType) {
             return new float[length];
@@ -252,10 +304,14 @@ abstract class ArraySerializer<T> extends AbstractListChildSerializer<T> {
 
     }
 
-    static final class Doubles extends ArraySerializer<double[]> {
+    static final class Doubles extends Packable<double[]> {
 
         static final Class<double[]> TYPE = double[].class;
 
+        Doubles() {
+            super(TYPE, Scalars.DOUBLE);
+        }
+
         @Override
         protected double[] createNew(final int length, final Type elementType) {
             return new double[length];
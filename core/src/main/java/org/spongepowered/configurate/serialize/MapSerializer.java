@@ -26,9 +26,11 @@ import org.spongepowered.configurate.ConfigurationOptions;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -63,9 +65,23 @@ final class MapSerializer implements TypeSerializer<Map<?, ?>> {
                 throw new SerializationException(type, "No type serializer available for value type " + value);
             }
 
-            final BasicConfigurationNode keyNode = BasicConfigurationNode.root(node.options());
+            final Map<Object, ? extends ConfigurationNode> children = node.childrenMap();
+            if (ParallelDeserialization.enabled(node.options(), children.size())) {
+                final List<Map.Entry<Object, ? extends ConfigurationNode>> entries = new ArrayList<>(children.entrySet());
+                final @Nullable Object[] keys = new Object[entries.size()];
+                final @Nullable Object[] values = ParallelDeserialization.deserialize(node.options(), entries.size(), i -> {
+                    final Map.Entry<Object, ? extends ConfigurationNode> ent = entries.get(i);
+                    keys[i] = requireNonNull(keySerial.deserialize(key, BasicConfigurationNode.root(node.options()).set(ent.getKey())), "key");
+                    return requireNonNull(valueSerial.deserialize(value, ent.getValue()), "value");
+                });
+                for (int i = 0; i < keys.length; ++i) {
+                    ret.put(keys[i], values[i]);
+                }
+                return ret;
+            }
 
-            for (Map.Entry<Object, ? extends ConfigurationNode> ent : node.childrenMap().entrySet()) {
+            final BasicConfigurationNode keyNode = BasicConfigurationNode.root(node.options());
+            for (Map.Entry<Object, ? extends ConfigurationNode> ent : children.entrySet()) {
                 ret.put(requireNonNull(keySerial.deserialize(key, keyNode.set(ent.getKey())), "key"),
                     requireNonNull(valueSerial.deserialize(value, ent.getValue()), "value"));
             }
@@ -0,0 +1,153 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.serialize;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationOptions;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Deserializes the elements of large collections on a fork-join pool.
+ *
+ * <p>Results are returned in element order. When elements fail, the
+ * exception for the lowest index is thrown, with the exceptions for any
+ * later elements attached as suppressed in index order, so the outcome
+ * does not depend on thread scheduling.</p>
+ */
+final class ParallelDeserialization {
+
+    private ParallelDeserialization() {
+    }
+
+    /**
+     * A function deserializing the element at one index.
+     */
+    @FunctionalInterface
+    interface Element {
+
+        @Nullable Object deserialize(int index) throws SerializationException;
+
+    }
+
+    /**
+     * Get whether a collection of the provided size should be deserialized
+     * in parallel.
+     *
+     * @param options options for the collection node
+     * @param size the number of elements
+     * @return whether to deserialize in parallel
+     */
+    static boolean enabled(final ConfigurationOptions options, final int size) {
+        final int threshold = options.parallelThreshold();
+        return threshold > 0 && size >= threshold && size > 1;
+    }
+
+    /**
+     * Deserialize {@code size} elements in parallel.
+     *
+     * @param options options providing the pool
+     * @param size the number of elements
+     * @param element the per-element function
+     * @return deserialized values, in index order
+     * @throws SerializationException the failure with the lowest index
+     */
+    static @Nullable Object[] deserialize(
+        final ConfigurationOptions options,
+        final int size,
+        final Element element
+    ) throws SerializationException {
+        final @Nullable ForkJoinPool configured = options.parallelPool();
+        final ForkJoinPool pool = configured == null ? ForkJoinPool.commonPool() : configured;
+        final @Nullable Object[] results = new Object[size];
+        final @Nullable SerializationException[] failures = new SerializationException[size];
+        final int leafSize = Math.max(1, size / (pool.getParallelism() * 4));
+        final Range task = new Range(element, results, failures, 0, size, leafSize);
+        if (ForkJoinTask.getPool() == pool) {
+            // already on a worker, likely for a nested collection
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+
+        @Nullable SerializationException first = null;
+        for (final @Nullable SerializationException failure : failures) {
+            if (failure == null) {
+                continue;
+            }
+            if (first == null) {
+                first = failure;
+            } else {
+                first.addSuppressed(failure);
+            }
+        }
+        if (first != null) {
+            throw first;
+        }
+        return results;
+    }
+
+    @SuppressWarnings("serial")
+    static final class Range extends RecursiveAction {
+
+        private final Element element;
+        private final @Nullable Object[] results;
+        private final @Nullable SerializationException[] failures;
+        private final int start;
+        private final int end;
+        private final int leafSize;
+
+        Range(
+            final Element element,
+            final @Nullable Object[] results,
+            final @Nullable SerializationException[] failures,
+            final int start,
+            final int end,
+            final int leafSize
+        ) {
+            this.element = element;
+            this.results = results;
+            this.failures = failures;
+            this.start = start;
+            this.end = end;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start <= this.leafSize) {
+                for (int i = this.start; i < this.end; ++i) {
+                    try {
+                        this.results[i] = this.element.deserialize(i);
+                    } catch (final SerializationException ex) {
+                        this.failures[i] = ex;
+                    }
+                }
+            } else {
+                final int mid = (this.start + this.end) >>> 1;
+                invokeAll(
+                    new Range(this.element, this.results, this.failures, this.start, mid, this.leafSize),
+                    new Range(this.element, this.results, this.failures, mid, this.end, this.leafSize)
+                );
+            }
+        }
+
+    }
+
+}
@@ -16,6 +16,7 @@
  */
 package org.spongepowered.configurate.serialize;
 
+import static io.leangen.geantyref.GenericTypeReflector.erase;
 import static io.leangen.geantyref.GenericTypeReflector.isSuperType;
 import static java.util.Objects.requireNonNull;
 import static org.spongepowered.configurate.util.Types.requireCompleteParameters;
@@ -28,12 +29,19 @@ import org.spongepowered.configurate.objectmapping.ConfigSerializable;
 import org.spongepowered.configurate.objectmapping.ObjectMapper;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
@@ -81,13 +89,86 @@ public final class TypeSerializerCollection {
                 .build();
     }
 
+    /**
+     * The erased supertypes of a class, including itself and
+     * {@link Object}, in no particular order.
+     */
+    private static final ClassValue<Class<?>[]> SUPERTYPES = new ClassValue<Class<?>[]>() {
+        @Override
+        protected Class<?>[] computeValue(final Class<?> type) {
+            final Set<Class<?>> seen = new LinkedHashSet<>();
+            final Deque<Class<?>> queue = new ArrayDeque<>();
+            queue.add(type);
+            seen.add(type);
+            while (!queue.isEmpty()) {
+                final Class<?> next = queue.remove();
+                final @Nullable Class<?> superclass = next.getSuperclass();
+                if (superclass != null && seen.add(superclass)) {
+                    queue.add(superclass);
+                }
+                for (final Class<?> iface : next.getInterfaces()) {
+                    if (seen.add(iface)) {
+                        queue.add(iface);
+                    }
+                }
+            }
+            seen.add(Object.class);
+            return seen.toArray(new Class<?>[0]);
+        }
+    };
+
     private final @Nullable TypeSerializerCollection parent;
     final List<RegisteredSerializer> serializers;
     private final Map<Type, TypeSerializer<?>> typeMatches = new ConcurrentHashMap<>();
 
+    // Registration indices, each in ascending order, so the first registered
+    // applicable serializer can be found without testing every predicate.
+    private final Map<Class<?>, int[]> exactIndex;
+    private final Map<Class<?>, int[]> hierarchyIndex;
+    private final int[] unindexed;
+
     private TypeSerializerCollection(final @Nullable TypeSerializerCollection parent, final List<RegisteredSerializer> serializers) {
         this.parent = parent;
         this.serializers = UnmodifiableCollections.copyOf(serializers);
+
+        final Map<Class<?>, List<Integer>> exact = new HashMap<>();
+        final Map<Class<?>, List<Integer>> hierarchy = new HashMap<>();
+        final List<Integer> unindexed = new ArrayList<>();
+        for (int i = 0; i < this.serializers.size(); ++i) {
+            final RegisteredSerializer registration = this.serializers.get(i);
+            if (registration.exactType != null) {
+                exact.computeIfAbsent(erase(registration.exactType), k -> new ArrayList<>()).add(i);
+            } else if (registration.hierarchyType != null && isIndexable(registration.hierarchyType)) {
+                hierarchy.computeIfAbsent(erase(registration.hierarchyType), k -> new ArrayList<>()).add(i);
+            } else {
+                unindexed.add(i);
+            }
+        }
+        this.exactIndex = toIndex(exact);
+        this.hierarchyIndex = toIndex(hierarchy);
+        this.unindexed = toArray(unindexed);
+    }
+
+    private static boolean isIndexable(final Type type) {
+        // for these, any subtype's erasure is a subclass of the erasure of the registered type
+        return type instanceof Class<?> && !((Class<?>) type).isArray()
+            || type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() instanceof Class<?>;
+    }
+
+    private static Map<Class<?>, int[]> toIndex(final Map<Class<?>, List<Integer>> lists) {
+        final Map<Class<?>, int[]> index = new HashMap<>(lists.size() * 2);
+        for (final Map.Entry<Class<?>, List<Integer>> entry : lists.entrySet()) {
+            index.put(entry.getKey(), toArray(entry.getValue()));
+        }
+        return index;
+    }
+
+    private static int[] toArray(final List<Integer> values) {
+        final int[] ret = new int[values.size()];
+        for (int i = 0; i < ret.length; ++i) {
+            ret[i] = values.get(i);
+        }
+        return ret;
     }
 
     /**
@@ -148,23 +229,62 @@ public final class TypeSerializerCollection {
     }
 
     private @Nullable TypeSerializer<?> get0(final Type canonical) {
-        @Nullable TypeSerializer<?> serial = this.typeMatches.computeIfAbsent(canonical, param -> {
-            for (RegisteredSerializer ent : this.serializers) {
-                if (ent.predicate.test(param)) {
-                    return ent.serializer;
-                }
+        final TypeSerializer<?> serial = this.typeMatches.computeIfAbsent(canonical, param -> {
+            final int match = this.firstMatch(param);
+            if (match < this.serializers.size()) {
+                return this.serializers.get(match).serializer;
             }
-            return NoOp.INSTANCE;
+
+            // cache the parent's result here so later lookups take a single step
+            final @Nullable TypeSerializer<?> inherited = this.parent == null ? null : this.parent.get0(param);
+            return inherited == null ? NoOp.INSTANCE : inherited;
         });
 
-        if (serial == NoOp.INSTANCE) {
-            serial = null;
+        return serial == NoOp.INSTANCE ? null : serial;
+    }
+
+    /**
+     * Find the index of the first registered serializer applicable to
+     * a type.
+     *
+     * @param type the type to match
+     * @return the registration index, or the number of registrations if
+     *     none match
+     */
+    private int firstMatch(final Type type) {
+        int best = this.serializers.size();
+        if (!(type instanceof Class<?> || type instanceof ParameterizedType || type instanceof GenericArrayType)) {
+            // wildcards and type variables may be bounded by several types, so test every registration
+            for (int i = 0; i < best; ++i) {
+                if (this.serializers.get(i).predicate.test(type)) {
+                    return i;
+                }
+            }
+            return best;
         }
 
-        if (serial == null && this.parent != null) {
-            serial = this.parent.get0(canonical);
+        final Class<?> erased = erase(type);
+        best = this.firstMatch(this.exactIndex.get(erased), type, best);
+        if (!this.hierarchyIndex.isEmpty()) {
+            for (final Class<?> supertype : SUPERTYPES.get(erased)) {
+                best = this.firstMatch(this.hierarchyIndex.get(supertype), type, best);
+            }
         }
-        return serial;
+        return this.firstMatch(this.unindexed, type, best);
+    }
+
+    private int firstMatch(final int @Nullable [] candidates, final Type type, final int best) {
+        if (candidates != null) {
+            for (final int candidate : candidates) {
+                if (candidate >= best) {
+                    break;
+                }
+                if (this.serializers.get(candidate).predicate.test(type)) {
+                    return candidate;
+                }
+            }
+        }
+        return best;
     }
 
     /**
@@ -290,7 +410,7 @@ public final class TypeSerializerCollection {
         public <T> Builder register(final Predicate<Type> test, final TypeSerializer<? super T> serializer) {
             requireNonNull(test, "test");
             requireNonNull(serializer, "serializer");
-            this.serializers.add(new RegisteredSerializer(test, serializer));
+            this.serializers.add(new RegisteredSerializer(test, serializer, null, null));
             return this;
         }
 
@@ -327,7 +447,7 @@ public final class TypeSerializerCollection {
                     }
                 }
                 return false;
-            }, serializer));
+            }, serializer, null, type));
             return this;
         }
 
@@ -385,7 +505,7 @@ public final class TypeSerializerCollection {
         private Builder registerExact0(final Type type, final TypeSerializer<?> serializer) {
             requireNonNull(type, "type");
             requireNonNull(serializer, "serializer");
-            this.serializers.add(new RegisteredSerializer(test -> test.equals(type), serializer));
+            this.serializers.add(new RegisteredSerializer(test -> test.equals(type), serializer, type, null));
             return this;
         }
 
@@ -443,10 +563,19 @@ public final class TypeSerializerCollection {
 
         final Predicate<Type> predicate;
         final TypeSerializer<?> serializer;
-
-        private RegisteredSerializer(final Predicate<Type> predicate, final TypeSerializer<?> serializer) {
+        final @Nullable Type exactType;
+        final @Nullable Type hierarchyType;
+
+        private RegisteredSerializer(
+            final Predicate<Type> predicate,
+            final TypeSerializer<?> serializer,
+            final @Nullable Type exactType,
+            final @Nullable Type hierarchyType
+        ) {
             this.predicate = predicate;
             this.serializer = serializer;
+            this.exactType = exactType;
+            this.hierarchyType = hierarchyType;
         }
 
     }
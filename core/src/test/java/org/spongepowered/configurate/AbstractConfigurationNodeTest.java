@@ -19,6 +19,7 @@ package org.spongepowered.configurate;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -38,6 +39,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -403,6 +405,185 @@ public class AbstractConfigurationNodeTest {
         assertEquals(true, mergeTarget.hint(IS_EVIL));
     }
 
+    @Test
+    void testHintsCopyOnWrite() {
+        final ConfigurationNode original = BasicConfigurationNode.root();
+        assertSame(original.ownHints(), original.node("child").ownHints());
+
+        original.raw("1234").hint(IS_EVIL, true);
+        final ConfigurationNode copy = original.copy();
+        assertSame(original.ownHints(), copy.ownHints());
+
+        copy.hint(INDENT, 4);
+        assertNull(original.ownHint(INDENT));
+        assertEquals(4, copy.ownHint(INDENT));
+        assertEquals(true, copy.ownHint(IS_EVIL));
+        assertThrows(UnsupportedOperationException.class, () -> original.ownHints().clear());
+
+        copy.hint(IS_EVIL, null).hint(INDENT, null);
+        assertTrue(copy.ownHints().isEmpty());
+        assertEquals(true, original.ownHint(IS_EVIL));
+    }
+
+    @Test
+    void testPrimitiveValues() {
+        final ConfigurationNode node = BasicConfigurationNode.root();
+        node.node("int").rawInt(42);
+        node.node("long").rawLong(Long.MAX_VALUE);
+        node.node("double").rawDouble(2.5d);
+        node.node("bool").rawBoolean(true);
+
+        assertEquals(42, node.node("int").raw());
+        assertEquals(42, node.node("int").getInt());
+        assertEquals(42L, node.node("int").getLong());
+        assertEquals(42d, node.node("int").getDouble());
+        assertEquals("42", node.node("int").getString());
+        assertEquals(Long.MAX_VALUE, node.node("long").getLong());
+        assertEquals(-1, node.node("long").getInt(-1));
+        assertEquals(2.5d, node.node("double").rawScalar());
+        assertEquals(2.5d, node.node("double").getDouble());
+        assertTrue(node.node("bool").getBoolean());
+        assertFalse(node.node("bool").virtual());
+
+        node.node("int").raw("replaced");
+        assertEquals("replaced", node.node("int").raw());
+        node.node("int").rawInt(7).raw(null);
+        assertTrue(node.node("int").virtual());
+    }
+
+    @Test
+    void testPrimitiveValuesEqualBoxed() {
+        final ConfigurationNode primitive = BasicConfigurationNode.root();
+        primitive.node("a").rawInt(3);
+        primitive.node("b").rawBoolean(false);
+        final ConfigurationNode boxed = BasicConfigurationNode.root();
+        boxed.node("a").raw(3);
+        boxed.node("b").raw(false);
+
+        assertEquals(boxed, primitive);
+        assertEquals(primitive, boxed);
+        assertEquals(boxed.hashCode(), primitive.hashCode());
+
+        final ConfigurationNode copy = primitive.copy();
+        assertEquals(primitive, copy);
+        copy.node("a").rawInt(4);
+        assertEquals(3, primitive.node("a").getInt());
+    }
+
+    @Test
+    void testPackedList() {
+        final ConfigurationNode node = BasicConfigurationNode.root();
+        node.node("values").rawPackedList(new int[] {3, 1, 4});
+        final ConfigurationNode values = node.node("values");
+
+        assertTrue(values.isList());
+        assertEquals(Arrays.asList(3, 1, 4), values.raw());
+        assertEquals(1, values.node(1).getInt());
+        assertFalse(values.node(1).virtual());
+        assertSame(values.node(1), values.node(1));
+        assertTrue(values.node(3).virtual());
+
+        values.node(1).raw(5);
+        assertEquals(Arrays.asList(3, 5, 4), values.raw());
+        assertArrayEquals(new int[] {3, 5, 4}, values.packedList(int[].class));
+        assertNull(values.packedList(long[].class));
+        assertArrayEquals(new int[] {3, 5, 4}, (int[]) values.packedList());
+        assertNull(node.packedList());
+
+        final ConfigurationNode unpacked = BasicConfigurationNode.root();
+        unpacked.node("values").raw(ImmutableList.of(3, 5, 4));
+        assertEquals(unpacked, node);
+        assertEquals(unpacked.hashCode(), node.hashCode());
+
+        values.appendListNode().raw(1);
+        assertEquals(Arrays.asList(3, 5, 4, 1), values.raw());
+        assertEquals(4, values.childrenList().size());
+        assertEquals(3, values.childrenList().get(0).getInt());
+    }
+
+    @Test
+    void testPackedListCopy() {
+        final ConfigurationNode original = BasicConfigurationNode.root();
+        original.rawPackedList(new boolean[] {true, false});
+        original.node(0).raw(false);
+
+        final ConfigurationNode copy = original.copy();
+        final ConfigurationNode fromCopy = CommentedConfigurationNode.root().from(original);
+        copy.node(1).raw(true);
+
+        assertEquals(Arrays.asList(false, false), original.raw());
+        assertEquals(Arrays.asList(false, true), copy.raw());
+        assertEquals(Arrays.asList(false, false), fromCopy.raw());
+        assertArrayEquals(new boolean[] {false, false}, fromCopy.packedList(boolean[].class));
+    }
+
+    @Test
+    void testLookupsLeavePackedListsAndCopies() {
+        final ConfigurationNode node = BasicConfigurationNode.root();
+        node.node("list").rawPackedList(new int[] {1, 2, 3});
+        final ConfigurationNode copy = node.copy();
+
+        assertTrue(copy.hasChild("list", 1));
+        assertFalse(copy.hasChild("list", 3));
+        assertFalse(copy.hasChild("list", 1, "x"));
+        assertTrue(((AbstractConfigurationNode<?, ?>) copy).sharesValueWith((AbstractConfigurationNode<?, ?>) node));
+        assertTrue(copy.node("list", 1, "x").virtual());
+
+        final ListConfigValue<?, ?> list = (ListConfigValue<?, ?>) ((AbstractConfigurationNode<?, ?>) node.node("list")).value;
+        node.node("list", 1, "x");
+        assertTrue(list.peekElements().stream().allMatch(element -> element instanceof int[]));
+
+        node.node("list", 1, "x").raw("y");
+        assertEquals(Collections.singletonMap("x", "y"), node.node("list", 1).raw());
+        assertTrue(list.peekElements().get(0) instanceof int[]);
+        assertEquals(Arrays.asList(1, 2, 3), copy.node("list").raw());
+    }
+
+    @Test
+    void testPackedListEqualsChildNodes() {
+        final List<ConfigurationNodeFactory<?>> factories = Arrays.asList(
+            BasicConfigurationNode.factory(),
+            CommentedConfigurationNode.factory(),
+            AttributedConfigurationNode.factory()
+        );
+        for (final ConfigurationNodeFactory<?> factory : factories) {
+            final ConfigurationNode packed = factory.createNode();
+            packed.rawPackedList(new long[] {2, 7});
+            final ConfigurationNode unpacked = factory.createNode();
+            unpacked.appendListNode().raw(2L);
+            unpacked.appendListNode().raw(7L);
+
+            assertEquals(unpacked.hashCode(), packed.hashCode());
+            assertEquals(unpacked, packed);
+        }
+    }
+
+    @Test
+    void testPackedListEqualsComparesChildMetadata() {
+        final CommentedConfigurationNode packed = CommentedConfigurationNode.root();
+        packed.rawPackedList(new int[] {1, 2});
+        final CommentedConfigurationNode other = CommentedConfigurationNode.root();
+        other.rawPackedList(new int[] {1, 2});
+        final CommentedConfigurationNode unpacked = CommentedConfigurationNode.root();
+        unpacked.appendListNode().raw(1);
+        unpacked.appendListNode().raw(2);
+
+        packed.node(1).comment("two");
+        assertNotEquals(other, packed);
+        assertNotEquals(packed, other);
+        assertNotEquals(unpacked, packed);
+        assertNotEquals(packed, unpacked);
+
+        other.node(1).comment("two");
+        unpacked.node(1).comment("two");
+        assertEquals(other, packed);
+        assertEquals(other.hashCode(), packed.hashCode());
+        assertEquals(unpacked, packed);
+        assertEquals(unpacked.hashCode(), packed.hashCode());
+        assertTrue(((ListConfigValue<?, ?>) ((CommentedConfigurationNodeImpl) packed).value).peekElements().get(0) instanceof int[]);
+        assertNull(packed.packedList(int[].class)); // the comment can't be held by the array
+    }
+
     @Test
     void testCollectToMap() {
         final ConfigurationNode target = ImmutableMap.of("one", 3,
@@ -496,4 +677,103 @@ public class AbstractConfigurationNodeTest {
             .getMessage().contains("Got a value of unexpected type"));
     }
 
+    @Test
+    void testRawPrimitiveOfInvalidTypeMatchesBoxed() {
+        final ConfigurationOptions options = ConfigurationOptions.defaults()
+            .nativeTypes(UnmodifiableCollections.toSet(String.class));
+        final BasicConfigurationNode boxed = BasicConfigurationNode.root(options);
+        final BasicConfigurationNode primitive = BasicConfigurationNode.root(options);
+        final BasicConfigurationNode source = BasicConfigurationNode.root();
+        source.node("a").rawInt(5);
+
+        final IllegalArgumentException boxedEx = assertThrows(IllegalArgumentException.class, () -> boxed.node("a").raw(5));
+        final IllegalArgumentException primitiveEx = assertThrows(IllegalArgumentException.class, () -> primitive.node("a").rawInt(5));
+        assertEquals(boxedEx.getMessage(), primitiveEx.getMessage());
+        assertEquals(boxed, primitive);
+
+        final BasicConfigurationNode copied = BasicConfigurationNode.root(options);
+        assertEquals(boxedEx.getMessage(), assertThrows(IllegalArgumentException.class, () -> copied.node("a").from(source.node("a")))
+            .getMessage());
+        assertEquals(boxed, copied);
+    }
+
+    @Test
+    void testModificationCountPropagatesToAncestors() throws SerializationException {
+        final BasicConfigurationNode root = BasicConfigurationNode.root();
+        root.node("a", "b").set("one");
+        root.node("c").set("two");
+
+        final long rootCount = root.modificationCount();
+        final long aCount = root.node("a").modificationCount();
+        final long cCount = root.node("c").modificationCount();
+
+        root.node("a", "b").set("three");
+        assertTrue(root.modificationCount() > rootCount);
+        assertTrue(root.node("a").modificationCount() > aCount);
+        assertEquals(cCount, root.node("c").modificationCount());
+
+        final long beforeRead = root.modificationCount();
+        root.node("a", "b").getString();
+        root.node("missing").getString();
+        assertEquals(beforeRead, root.modificationCount());
+
+        root.node("a").removeChild("b");
+        assertTrue(root.modificationCount() > beforeRead);
+    }
+
+    @Test
+    void testHashCodeFollowsDescendantModifications() throws SerializationException {
+        final CommentedConfigurationNode root = CommentedConfigurationNode.root(n -> {
+            n.node("a", "b").raw("one");
+            n.node("c").raw(Arrays.asList(1, 2, 3));
+        });
+        final CommentedConfigurationNode other = root.copy();
+        assertEquals(root.hashCode(), other.hashCode());
+        assertEquals(root, other);
+
+        final int before = root.hashCode();
+        root.node("a", "b").set("two");
+        assertNotEquals(before, root.hashCode());
+        assertNotEquals(root, other);
+
+        root.node("a", "b").set("one");
+        assertEquals(other.hashCode(), root.hashCode());
+        assertEquals(other, root);
+
+        root.node("a", "b").comment("a comment");
+        assertNotEquals(other, root);
+        other.node("a", "b").comment("a comment");
+        assertEquals(root.hashCode(), other.hashCode());
+        assertEquals(root, other);
+    }
+
+    @Test
+    void testHashCodeAfterListElementRemoval() {
+        final BasicConfigurationNode list = BasicConfigurationNode.root(n -> n.raw(Arrays.asList("a", "b", "c")));
+        list.hashCode();
+        list.node(0).raw(null);
+
+        final BasicConfigurationNode expected = BasicConfigurationNode.root(n -> n.raw(Arrays.asList("b", "c")));
+        assertEquals(expected, list);
+        assertEquals(expected.hashCode(), list.hashCode());
+    }
+
+    @Test
+    void testHashCodeComputedDuringModification() {
+        final BasicConfigurationNode root = BasicConfigurationNode.root(n -> n.node("list").raw(Arrays.asList(1, 2)));
+        final List<Integer> replacement = new ArrayList<Integer>(Arrays.asList(3, 4)) {
+            @Override
+            public Iterator<Integer> iterator() {
+                // hash the tree while the modification is in progress
+                root.hashCode();
+                return super.iterator();
+            }
+        };
+        root.node("list").raw(replacement);
+
+        final BasicConfigurationNode expected = BasicConfigurationNode.root(n -> n.node("list").raw(Arrays.asList(3, 4)));
+        assertEquals(expected.hashCode(), root.hashCode());
+        assertEquals(expected, root);
+    }
+
 }
@@ -16,16 +16,24 @@
  */
 package org.spongepowered.configurate;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 import org.spongepowered.configurate.serialize.SerializationException;
 
 import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class CopyTest {
 
@@ -89,4 +97,153 @@ public class CopyTest {
         assertNotSame(originalVal.parent(), copyVal.parent());
     }
 
+    @Test
+    void testModifyOriginalBeforeCopyIsRead() throws SerializationException {
+        final ConfigurationNode node = BasicConfigurationNode.root(n -> {
+            n.node("a", "b", "c").raw(1);
+            n.node("a", "d").raw("unchanged");
+            n.node("list").raw(Arrays.asList("one", "two"));
+        });
+        final ConfigurationNode held = node.node("a", "b", "c");
+
+        final ConfigurationNode copy = node.copy();
+        held.raw(2);
+        node.node("a", "e").raw("added");
+        node.node("list").appendListNode().raw("three");
+        node.node("a", "d").raw(null);
+
+        // nodes of the original keep their identity
+        assertSame(held, node.node("a", "b", "c"));
+        assertEquals(2, node.node("a", "b", "c").raw());
+
+        assertEquals(1, copy.node("a", "b", "c").raw());
+        assertEquals("unchanged", copy.node("a", "d").raw());
+        assertTrue(copy.node("a", "e").virtual());
+        assertEquals(Arrays.asList("one", "two"), copy.node("list").raw());
+    }
+
+    @Test
+    void testModifyCopyLeavesOriginal() throws SerializationException {
+        final ConfigurationNode node = BasicConfigurationNode.root(n -> {
+            n.node("a", "b").raw(1);
+            n.node("packed").rawPackedList(new int[] {1, 2, 3});
+        });
+
+        final ConfigurationNode copy = node.copy();
+        copy.node("a", "b").raw(5);
+        copy.node("packed", 1).raw(20);
+        copy.node("a").removeChild("b");
+
+        assertEquals(1, node.node("a", "b").raw());
+        assertArrayEquals(new int[] {1, 2, 3}, node.node("packed").packedList(int[].class));
+        assertArrayEquals(new int[] {1, 20, 3}, copy.node("packed").packedList(int[].class));
+        assertFalse(copy.node("a").hasChild("b"));
+    }
+
+    @Test
+    void testChangesThroughChildrenOfCopy() throws SerializationException {
+        final ConfigurationNode node = BasicConfigurationNode.root(n -> {
+            n.node("a", "b").raw(1);
+            n.node("c").raw(2);
+            n.node("list").raw(Arrays.asList("x", "y"));
+            n.node("packed").rawPackedList(new int[] {1, 2, 3});
+        });
+
+        final ConfigurationNode copy = node.copy();
+        final ConfigurationNode child = copy.node("a", "b");
+        child.raw(5);
+        copy.node("list", 1).raw("z");
+        copy.node("packed", 0).raw(10);
+        final ConfigurationNode second = copy.copy();
+        node.node("a", "b").raw(7);
+
+        assertSame(child, copy.node("a", "b"));
+        assertEquals(7, node.node("a", "b").raw());
+        assertEquals(Arrays.asList("x", "y"), node.node("list").raw());
+        assertArrayEquals(new int[] {1, 2, 3}, node.node("packed").packedList(int[].class));
+
+        final ConfigurationNode expected = BasicConfigurationNode.root(n -> {
+            n.node("a", "b").raw(5);
+            n.node("c").raw(2);
+            n.node("list").raw(Arrays.asList("x", "z"));
+            n.node("packed").rawPackedList(new int[] {10, 2, 3});
+        });
+        assertArrayEquals(new int[] {10, 2, 3}, copy.node("packed").packedList(int[].class));
+        assertEquals(expected.raw(), copy.raw());
+        assertEquals(expected, copy);
+        assertEquals(expected.hashCode(), copy.hashCode());
+        assertEquals(expected, second);
+    }
+
+    @Test
+    void testCopyOfCopy() throws SerializationException {
+        final ConfigurationNode node = BasicConfigurationNode.root(n -> n.node("a", "b").raw(1));
+        final ConfigurationNode first = node.copy();
+        final ConfigurationNode second = first.copy();
+
+        node.node("a", "b").raw(2);
+        first.node("a", "b").raw(3);
+
+        assertEquals(2, node.node("a", "b").raw());
+        assertEquals(3, first.node("a", "b").raw());
+        assertEquals(1, second.node("a", "b").raw());
+        assertEquals(node.copy(), node);
+    }
+
+    @Test
+    void testCopyKeepsCommentsAndHints() {
+        final RepresentationHint<String> hint = RepresentationHint.of("test", String.class);
+        final CommentedConfigurationNode node = CommentedConfigurationNode.root(n -> {
+            n.node("a", "b").raw(1).comment("before");
+            n.node("a", "b").hint(hint, "before");
+        });
+
+        final CommentedConfigurationNode copy = node.copy();
+        node.node("a", "b").comment("after");
+        node.node("a", "b").hint(hint, "after");
+
+        assertEquals("before", copy.node("a", "b").comment());
+        assertEquals("before", copy.node("a", "b").ownHint(hint));
+        assertEquals("after", node.node("a", "b").comment());
+    }
+
+    @Test
+    void testConcurrentWritersDoNotReachCopies() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 50; ++round) {
+                final ConfigurationNode original = BasicConfigurationNode.root(n -> {
+                    for (int i = 0; i < 2000; ++i) {
+                        n.node("key" + i).raw(i);
+                    }
+                });
+                final ConfigurationNode copy = original.copy();
+                final CountDownLatch start = new CountDownLatch(1);
+                final AtomicBoolean unshared = new AtomicBoolean();
+
+                final Future<?> unsharing = executor.submit(() -> {
+                    start.await();
+                    original.node("key0").raw(-1);
+                    unshared.set(true);
+                    return null;
+                });
+                final Future<?> adding = executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; !unshared.get(); ++i) {
+                        original.node("added" + i).raw(i);
+                    }
+                    return null;
+                });
+                start.countDown();
+                unsharing.get();
+                adding.get();
+
+                assertEquals(2000, copy.childrenMap().size());
+                assertEquals(0, copy.node("key0").raw());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
 }
@@ -0,0 +1,164 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class FrozenConfigurationNodeTest {
+
+    private static final RepresentationHint<String> STYLE = RepresentationHint.of("style", String.class);
+
+    private static BasicConfigurationNode sample() throws SerializationException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root();
+        node.node("name").set("frozen");
+        node.node("section", "enabled").set(true);
+        node.node("section", "weight").set(0.5d);
+        node.node("section").hint(STYLE, "block");
+        node.node("list").setList(Integer.class, Arrays.asList(1, 2, 3));
+        for (int i = 0; i < 50; ++i) {
+            node.node("large", "key-" + i).set(i);
+        }
+        return node;
+    }
+
+    @Test
+    void testFrozenMatchesSource() throws SerializationException {
+        final BasicConfigurationNode source = sample();
+        final ConfigurationNode frozen = source.freeze();
+
+        assertEquals(source.raw(), frozen.raw());
+        assertEquals("frozen", frozen.node("name").getString());
+        assertTrue(frozen.node("section", "enabled").getBoolean());
+        assertEquals(0.5d, frozen.node("section", "weight").getDouble());
+        assertEquals(Arrays.asList(1, 2, 3), frozen.node("list").getList(Integer.class));
+        assertEquals(2, frozen.node("list", 1).getInt());
+        assertTrue(frozen.isMap());
+        assertTrue(frozen.node("list").isList());
+        assertEquals(source.childrenMap().keySet(), frozen.childrenMap().keySet());
+    }
+
+    @Test
+    void testLargeMapLookup() throws SerializationException {
+        final ConfigurationNode frozen = sample().freeze();
+        for (int i = 0; i < 50; ++i) {
+            assertEquals(i, frozen.node("large", "key-" + i).getInt());
+            assertTrue(frozen.hasChild("large", "key-" + i));
+        }
+        assertFalse(frozen.hasChild("large", "key-50"));
+        assertEquals(50, frozen.node("large").childrenMap().size());
+        assertEquals(37, frozen.node("large").childrenMap().get("key-37").getInt());
+    }
+
+    @Test
+    void testMissingPathIsVirtual() throws SerializationException {
+        final ConfigurationNode frozen = sample().freeze();
+        final ConfigurationNode missing = frozen.node("section", "absent", "deeper");
+        assertTrue(missing.virtual());
+        assertTrue(missing.isNull());
+        assertEquals(NodePath.path("section", "absent", "deeper"), missing.path());
+        assertFalse(frozen.hasChild("section", "absent"));
+        assertEquals(5, missing.getInt(5));
+    }
+
+    @Test
+    void testModificationRejected() throws SerializationException {
+        final ConfigurationNode frozen = sample().freeze();
+        assertThrows(UnsupportedOperationException.class, () -> frozen.node("name").set("thawed"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.node("name").raw("thawed"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.removeChild("name"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.node("list").appendListNode());
+        assertThrows(UnsupportedOperationException.class, () -> frozen.node("absent").set(1));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.mergeFrom(BasicConfigurationNode.root()));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.hint(STYLE, "flow"));
+    }
+
+    @Test
+    void testSourceChangesNotReflected() throws SerializationException {
+        final BasicConfigurationNode source = sample();
+        final ConfigurationNode frozen = source.freeze();
+        source.node("name").set("changed");
+        source.node("section").set(null);
+        assertEquals("frozen", frozen.node("name").getString());
+        assertTrue(frozen.node("section", "enabled").getBoolean());
+    }
+
+    @Test
+    void testHints() throws SerializationException {
+        final ConfigurationNode frozen = sample().freeze();
+        assertEquals("block", frozen.node("section").ownHint(STYLE));
+        assertEquals("block", frozen.node("section", "enabled").hint(STYLE));
+        assertNull(frozen.node("section", "enabled").ownHint(STYLE));
+        assertSame(frozen.ownHints(), frozen.node("name").ownHints());
+    }
+
+    @Test
+    void testEqualityAndFreezeIdempotent() throws SerializationException {
+        final ConfigurationNode frozen = sample().freeze();
+        assertEquals(frozen, sample().freeze());
+        assertEquals(frozen.hashCode(), sample().freeze().hashCode());
+        assertSame(frozen, frozen.freeze());
+        assertSame(frozen, frozen.copy());
+    }
+
+    @Test
+    void testThaw() throws SerializationException {
+        final BasicConfigurationNode source = sample();
+        final BasicConfigurationNode thawed = BasicConfigurationNode.root().from(source.freeze());
+        assertEquals(source, thawed);
+        assertEquals("block", thawed.node("section").ownHint(STYLE));
+    }
+
+    @Test
+    void testVisitOrderMatchesSource() throws SerializationException {
+        final BasicConfigurationNode source = sample();
+        assertEquals(visitPaths(source), visitPaths(source.freeze()));
+    }
+
+    private static List<String> visitPaths(final ConfigurationNode node) {
+        final List<String> events = new ArrayList<>();
+        node.visit(new ConfigurationVisitor.Stateless<RuntimeException>() {
+            @Override
+            public void enterNode(final ConfigurationNode node) {
+                events.add("enter " + node.path());
+            }
+
+            @Override
+            public void exitMappingNode(final ConfigurationNode node) {
+                events.add("exit map " + node.path());
+            }
+
+            @Override
+            public void exitListNode(final ConfigurationNode node) {
+                events.add("exit list " + node.path());
+            }
+        });
+        return events;
+    }
+
+}
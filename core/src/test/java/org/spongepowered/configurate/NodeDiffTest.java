@@ -0,0 +1,133 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class NodeDiffTest {
+
+    private static BasicConfigurationNode sample() {
+        return BasicConfigurationNode.root(n -> {
+            n.node("server", "host").raw("localhost");
+            n.node("server", "port").raw(25565);
+            n.node("motd").raw("hello");
+            n.node("worlds").raw(Arrays.asList("overworld", "nether"));
+        });
+    }
+
+    @Test
+    void testEqualTreesHaveNoChanges() {
+        final NodeDiff diff = NodeDiff.between(sample(), sample());
+
+        assertTrue(diff.isEmpty());
+        assertEquals(Collections.emptyList(), diff.changes());
+    }
+
+    @Test
+    void testChangesAreReportedAtShallowestPath() {
+        final BasicConfigurationNode previous = sample();
+        final BasicConfigurationNode current = sample();
+        current.node("server", "port").raw(25566);
+        current.node("motd").raw(null);
+        current.node("limits", "players").raw(20);
+        current.node("limits", "worlds").raw(3);
+        current.node("worlds").appendListNode().raw("end");
+
+        assertEquals(Arrays.asList(
+            NodeDiff.Change.of(NodeDiff.Change.Type.CHANGED, NodePath.path("server", "port"), 25565, 25566),
+            NodeDiff.Change.of(NodeDiff.Change.Type.REMOVED, NodePath.path("motd"), "hello", null),
+            NodeDiff.Change.of(NodeDiff.Change.Type.ADDED, NodePath.path("worlds", 2), null, "end"),
+            NodeDiff.Change.of(NodeDiff.Change.Type.ADDED, NodePath.path("limits"), null, current.node("limits").raw())
+        ), NodeDiff.between(previous, current).changes());
+    }
+
+    @Test
+    void testTypeChangeIsSingleChange() {
+        final BasicConfigurationNode previous = sample();
+        final BasicConfigurationNode current = sample();
+        current.node("server").raw("localhost:25565");
+
+        assertEquals(Collections.singletonList(
+            NodeDiff.Change.of(NodeDiff.Change.Type.CHANGED, NodePath.path("server"), previous.node("server").raw(), "localhost:25565")
+        ), NodeDiff.between(previous, current).changes());
+    }
+
+    @Test
+    void testSharedCopyIsNotCompared() {
+        final BasicConfigurationNode previous = sample();
+        final BasicConfigurationNode current = previous.copy();
+        assertTrue(((BasicConfigurationNodeImpl) previous).sharesValueWith((BasicConfigurationNodeImpl) current));
+        assertTrue(NodeDiff.between(previous, current).isEmpty());
+
+        current.node("server", "port").raw(1);
+        final NodeDiff diff = NodeDiff.between(previous, current);
+        assertEquals(1, diff.changes().size());
+        assertTrue(((BasicConfigurationNodeImpl) previous.node("worlds")).sharesValueWith((BasicConfigurationNodeImpl) current.node("worlds")));
+        assertEquals(25565, previous.node("server", "port").raw());
+    }
+
+    @Test
+    void testComparingLeavesTreesUntouched() {
+        final BasicConfigurationNode snapshot = BasicConfigurationNode.root(n -> {
+            n.node("server", "port").raw(25565);
+            n.node("weights").rawPackedList(new double[] {0.5, 1, 2});
+            n.node("ids").rawPackedList(new int[] {1, 2});
+        });
+        final BasicConfigurationNode previous = snapshot.copy();
+        final BasicConfigurationNode current = BasicConfigurationNode.root(n -> {
+            n.node("server", "port").raw(25566);
+            n.node("weights").rawPackedList(new double[] {0.5, 1.5});
+            n.node("ids").rawPackedList(new int[] {1, 2});
+        });
+        current.node("ids", 1).raw("two");
+
+        assertEquals(Arrays.asList(
+            NodeDiff.Change.of(NodeDiff.Change.Type.CHANGED, NodePath.path("server", "port"), 25565, 25566),
+            NodeDiff.Change.of(NodeDiff.Change.Type.CHANGED, NodePath.path("weights", 1), 1d, 1.5),
+            NodeDiff.Change.of(NodeDiff.Change.Type.REMOVED, NodePath.path("weights", 2), 2d, null),
+            NodeDiff.Change.of(NodeDiff.Change.Type.CHANGED, NodePath.path("ids", 1), 2, "two")
+        ), NodeDiff.between(previous, current).changes());
+
+        assertTrue(((BasicConfigurationNodeImpl) previous).sharesValueWith((BasicConfigurationNodeImpl) snapshot));
+        for (final Object element : ((ListConfigValue<?, ?>) ((BasicConfigurationNodeImpl) current.node("weights")).value).peekElements()) {
+            assertTrue(element instanceof double[]);
+        }
+    }
+
+    @Test
+    void testAffects() {
+        final BasicConfigurationNode previous = sample();
+        final BasicConfigurationNode current = sample();
+        current.node("server", "port").raw(1);
+        final NodeDiff diff = NodeDiff.between(previous, current);
+
+        assertTrue(diff.affects(NodePath.path("server", "port")));
+        assertTrue(diff.affects(NodePath.path("server")));
+        assertTrue(diff.affects(NodePath.path()));
+        assertTrue(diff.affects(NodePath.path("server", "port", "sub")));
+        assertFalse(diff.affects(NodePath.path("server", "host")));
+        assertFalse(diff.affects(NodePath.path("motd")));
+    }
+
+}
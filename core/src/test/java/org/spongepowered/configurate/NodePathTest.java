@@ -17,6 +17,10 @@
 package org.spongepowered.configurate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.spongepowered.configurate.NodePath.path;
 
 import org.junit.jupiter.api.Test;
@@ -56,4 +60,76 @@ public class NodePathTest {
         assertEquals(path("client", "port"), path.with(0, "client"));
     }
 
+    @Test
+    void testCompiledAccessorFindsExisting() {
+        final BasicConfigurationNode root = BasicConfigurationNode.root(n -> {
+            n.node("server", "port").raw(25565);
+            n.node("server", "hosts").act(h -> {
+                h.appendListNode().raw("a.example.com");
+                h.appendListNode().raw("b.example.com");
+            });
+        });
+
+        final NodeAccessor port = path("server", "port").compile();
+        assertSame(root.node("server", "port"), port.find(root));
+        assertEquals(25565, port.getInt(root, 0));
+        assertEquals(25565L, port.getLong(root, 0));
+        assertEquals("25565", port.getString(root));
+        assertEquals("b.example.com", path("server", "hosts", 1).compile().getString(root));
+        assertEquals("b.example.com", path("server", "hosts", "1").compile().getString(root));
+        assertSame(root, path().compile().find(root));
+    }
+
+    @Test
+    void testCompiledAccessorMissing() {
+        final BasicConfigurationNode root = BasicConfigurationNode.root(ConfigurationOptions.defaults().shouldCopyDefaults(true), n -> {
+            n.node("server", "port").raw(25565);
+            n.node("list").appendListNode().raw("one");
+        });
+
+        final NodeAccessor missing = path("server", "limits", "burst").compile();
+        assertNull(missing.find(root));
+        assertFalse(missing.exists(root));
+        assertEquals(5, missing.getInt(root, 5));
+        assertEquals("def", missing.getString(root, "def"));
+        assertTrue(path("server", "port", "nested").compile().getBoolean(root, true));
+        assertNull(path("list", 3).compile().find(root));
+        assertNull(path("list", "first").compile().find(root));
+
+        // lookups are read-only, even when defaults would otherwise be copied
+        assertFalse(root.hasChild("server", "limits"));
+    }
+
+    @Test
+    void testCompiledAccessorLeavesTreeUntouched() {
+        final BasicConfigurationNode original = BasicConfigurationNode.root(n -> {
+            n.node("server", "port").raw(25565);
+            n.node("server", "ratios").rawPackedList(new double[] {0.5, 1.5});
+            n.node("server", "ids").rawPackedList(new long[] {7, 1L << 40});
+        });
+        final BasicConfigurationNodeImpl copy = (BasicConfigurationNodeImpl) original.copy();
+
+        assertEquals(25565, path("server", "port").compile().getInt(copy, 0));
+        assertEquals(1.5, path("server", "ratios", 1).compile().getDouble(copy, 0));
+        assertEquals(7, path("server", "ids", 0).compile().getInt(copy, 0));
+        assertEquals(3, path("server", "ids", 1).compile().getInt(copy, 3));
+        assertEquals(1L << 40, path("server", "ids", 1).compile().getLong(copy, 0));
+        assertEquals("0.5", path("server", "ratios", 0).compile().getString(copy));
+        assertEquals(7L, path("server", "ids", 0).compile().raw(copy));
+        assertTrue(path("server", "ids", 1).compile().exists(copy));
+        assertFalse(path("server", "ids", 2).compile().exists(copy));
+
+        assertTrue(copy.sharesValueWith((BasicConfigurationNodeImpl) original));
+        final ListConfigValue<?, ?> ratios = (ListConfigValue<?, ?>) ((BasicConfigurationNodeImpl) original.node("server", "ratios")).value;
+        assertTrue(ratios.peek(0) instanceof double[]);
+        assertTrue(ratios.peek(1) instanceof double[]);
+
+        // a found packed element is replaced in its list when modified
+        final ConfigurationNode found = path("server", "ratios", 1).compile().find(copy);
+        assertTrue(ratios.peek(1) instanceof double[]);
+        found.raw(2.5);
+        assertEquals(2.5, copy.node("server", "ratios", 1).getDouble());
+        assertEquals(1.5, original.node("server", "ratios", 1).getDouble());
+    }
+
 }
@@ -17,6 +17,7 @@
 package org.spongepowered.configurate.loader;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -26,15 +27,26 @@ import org.junit.jupiter.api.io.TempDir;
 import org.spongepowered.configurate.BasicConfigurationNode;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.NodePath;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class AbstractConfigurationLoaderTest {
 
@@ -121,4 +133,229 @@ public class AbstractConfigurationLoaderTest {
         assertEquals("i'm a shortcut!", expected);
     }
 
+    @Test
+    void testSkipUnmodifiedSaves() throws ConfigurateException {
+        final AtomicInteger writes = new AtomicInteger();
+        final TestConfigurationLoader loader = TestConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader("initial")))
+            .sink(() -> {
+                writes.incrementAndGet();
+                return new BufferedWriter(new StringWriter());
+            })
+            .skipUnmodifiedSaves(true)
+            .build();
+
+        final BasicConfigurationNode node = loader.load();
+        loader.save(node);
+        assertEquals(0, writes.get());
+
+        node.raw("changed");
+        loader.save(node);
+        loader.save(node);
+        assertEquals(1, writes.get());
+
+        loader.save(BasicConfigurationNode.root().raw("changed"));
+        assertEquals(2, writes.get());
+    }
+
+    @Test
+    void testSkipUnmodifiedSavesKeepsChangesMadeWhileSaving() throws ConfigurateException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root().raw("first");
+        final StringWriter[] written = new StringWriter[1];
+        final TestConfigurationLoader loader = TestConfigurationLoader.builder()
+            .sink(() -> {
+                if (written[0] == null) {
+                    node.raw("changed while saving"); // after the node is read, before it is written
+                }
+                written[0] = new StringWriter();
+                return new BufferedWriter(written[0]);
+            })
+            .skipUnmodifiedSaves(true)
+            .build();
+
+        loader.save(node);
+        final StringWriter first = written[0];
+        loader.save(node);
+        assertTrue(first != written[0]);
+        assertEquals("changed while saving", written[0].toString());
+    }
+
+    @Test
+    void testByteStreamsDefaultToCharacters(final @TempDir Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("bytes.txt");
+        final TestConfigurationLoader loader = new TestConfigurationLoader(TestConfigurationLoader.builder().path(file)) {
+            @Override
+            protected boolean readsBytes() {
+                return true;
+            }
+
+            @Override
+            protected boolean writesBytes() {
+                return true;
+            }
+        };
+
+        loader.save(BasicConfigurationNode.root().raw("h\u00e9llo \u2713"));
+        assertEquals("h\u00e9llo \u2713", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        assertEquals("h\u00e9llo \u2713", loader.load().getString());
+    }
+
+    @Test
+    void testFilteredLoadersDoNotSave(final @TempDir Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("filtered.txt");
+        Files.write(file, "hello".getBytes(StandardCharsets.UTF_8));
+        final TestConfigurationLoader loader = TestConfigurationLoader.builder()
+            .path(file)
+            .pathFilter(PathFilter.of(NodePath.path("a")))
+            .build();
+
+        assertThrows(ConfigurateException.class, () -> loader.save(loader.load()));
+        assertEquals("hello", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testSkipUnmodifiedSavesRewritesChangedFile(final @TempDir Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("skip.txt");
+        Files.write(file, "hello".getBytes(StandardCharsets.UTF_8));
+        final TestConfigurationLoader loader = TestConfigurationLoader.builder()
+            .path(file)
+            .skipUnmodifiedSaves(true)
+            .build();
+
+        final BasicConfigurationNode node = loader.load();
+        Files.delete(file);
+        loader.save(node);
+        assertEquals("hello", readToString(file));
+    }
+
+    @Test
+    void testByteSources(final @TempDir Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("bytes.txt");
+        Files.write(file, "h\u00e9llo".getBytes(StandardCharsets.UTF_8));
+
+        final ByteSource[] sources = {
+            ByteSource.path(file),
+            ByteSource.mapped(file),
+            ByteSource.channel(() -> FileChannel.open(file)),
+            ByteSource.stream(() -> Files.newInputStream(file)),
+            ByteSource.buffer(ByteBuffer.wrap(Files.readAllBytes(file)))
+        };
+        for (final ByteSource source : sources) {
+            final TestConfigurationLoader loader = TestConfigurationLoader.builder().byteSource(source).build();
+            assertEquals("h\u00e9llo", loader.load().getString());
+            assertEquals("h\u00e9llo", loader.load().getString()); // each load reads from the start
+        }
+    }
+
+    @Test
+    void testMemoryMappedPath(final @TempDir Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("mapped.txt");
+        Files.write(file, "mapped".getBytes(StandardCharsets.UTF_8));
+
+        final TestConfigurationLoader.Builder builder = TestConfigurationLoader.builder().path(file).memoryMapped(true);
+        assertTrue(builder.byteSource() != null);
+        assertEquals("mapped", builder.build().load().getString());
+
+        builder.source(() -> new BufferedReader(new StringReader("characters")));
+        assertEquals(null, builder.byteSource());
+    }
+
+    @Test
+    void testParseCache(final @TempDir Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("cached.txt");
+        Files.write(file, "first".getBytes(StandardCharsets.UTF_8));
+
+        final AtomicInteger writes = new AtomicInteger();
+        final AtomicInteger reads = new AtomicInteger();
+        final ParseCache cache = ParseCache.inDirectory(tempDir.resolve("cache"), new ParseCache.Codec() {
+            @Override
+            public void write(final ConfigurationNode node, final OutputStream output) throws IOException {
+                writes.incrementAndGet();
+                output.write(String.valueOf(node.getString()).getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void read(final ConfigurationNode node, final InputStream input) throws IOException {
+                reads.incrementAndGet();
+                final ByteArrayOutputStream contents = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[64];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    contents.write(buffer, 0, read);
+                }
+                node.raw(new String(contents.toByteArray(), StandardCharsets.UTF_8));
+            }
+        });
+        final TestConfigurationLoader loader = TestConfigurationLoader.builder().path(file).parseCache(cache).build();
+
+        assertEquals("first", loader.load().getString());
+        assertEquals(1, writes.get());
+        assertTrue(Files.exists(cache.cacheFile(file)));
+
+        assertEquals("first", loader.load().getString());
+        assertEquals(1, reads.get());
+
+        // same size and modification time, but different content
+        final FileTime modified = Files.getLastModifiedTime(file);
+        Files.write(file, "other".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, modified);
+        assertEquals("other", loader.load().getString());
+        assertEquals(2, writes.get());
+        assertEquals(1, reads.get());
+
+        // a corrupt entry is a miss
+        Files.write(cache.cacheFile(file), new byte[] {1, 2, 3});
+        assertEquals("other", loader.load().getString());
+        assertEquals(3, writes.get());
+
+        // as is one with a damaged header length, which is not allocated
+        final byte[] entry = Files.readAllBytes(cache.cacheFile(file));
+        final int headerLength = 4 + 4 + 8 + 8 + 1 + entry[24];
+        ByteBuffer.wrap(entry).putInt(headerLength, Integer.MAX_VALUE);
+        Files.write(cache.cacheFile(file), entry);
+        assertEquals("other", loader.load().getString());
+        assertEquals(4, writes.get());
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    void testParseCacheStampsParsedContent(final @TempDir Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("changing.txt");
+        Files.write(file, "first".getBytes(StandardCharsets.UTF_8));
+        final FileTime modified = Files.getLastModifiedTime(file);
+        final AtomicInteger opens = new AtomicInteger();
+        final ByteSource changing = () -> {
+            if (opens.incrementAndGet() == 1) {
+                // changed by someone else as the loader starts reading
+                Files.write(file, "later".getBytes(StandardCharsets.UTF_8));
+                Files.setLastModifiedTime(file, modified);
+            }
+            return Files.newInputStream(file);
+        };
+        final ParseCache cache = ParseCache.inDirectory(tempDir.resolve("cache"), new ParseCache.Codec() {
+            @Override
+            public void write(final ConfigurationNode node, final OutputStream output) throws IOException {
+                output.write(String.valueOf(node.getString()).getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void read(final ConfigurationNode node, final InputStream input) throws IOException {
+                final byte[] contents = new byte[5];
+                new DataInputStream(input).readFully(contents);
+                node.raw(new String(contents, StandardCharsets.UTF_8));
+            }
+        });
+        final TestConfigurationLoader loader = TestConfigurationLoader.builder()
+            .path(file)
+            .byteSource(changing)
+            .parseCache(cache)
+            .build();
+        assertEquals("later", loader.load().getString());
+
+        // the entry holds what was parsed, so it doesn't apply to the original content
+        Files.write(file, "first".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, modified);
+        assertEquals("first", loader.load().getString());
+    }
+
 }
@@ -0,0 +1,129 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class AtomicFilesTest {
+
+    @Test
+    void testReplacesExistingFile(final @TempDir Path tempDir) throws IOException {
+        final Path target = tempDir.resolve("config.txt");
+        Files.write(target, Collections.singleton("old content"));
+
+        try (BufferedWriter writer = AtomicFiles.atomicBufferedWriter(target, StandardCharsets.UTF_8)) {
+            writer.write("new content");
+            assertEquals("old content", new String(Files.readAllBytes(target), StandardCharsets.UTF_8).trim());
+        }
+
+        assertEquals("new content", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(Collections.singletonList(target), files.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void testEncodesAcrossBufferBoundaries(final @TempDir Path tempDir) throws IOException {
+        final Path target = tempDir.resolve("nested").resolve("unicode.txt");
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10_000; ++i) {
+            expected.append("aé😀");
+        }
+
+        try (BufferedWriter writer = AtomicFiles.atomicBufferedWriter(target, StandardCharsets.UTF_8, SyncMode.FILE_AND_DIRECTORY)) {
+            // split surrogate pairs between writes
+            final String content = expected.toString();
+            for (int i = 0; i < content.length(); i += 7) {
+                writer.write(content.toCharArray(), i, Math.min(7, content.length() - i));
+                writer.flush();
+            }
+        }
+
+        assertEquals(expected.toString(), new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testMalformedInputDoesNotReplaceFile(final @TempDir Path tempDir) throws IOException {
+        final Path target = tempDir.resolve("config.txt");
+        Files.write(target, Collections.singleton("old content"));
+
+        final BufferedWriter writer = AtomicFiles.atomicBufferedWriter(target, StandardCharsets.UTF_8, SyncMode.FILE);
+        writer.write("unpaired \ud83d");
+        assertThrows(MalformedInputException.class, writer::close);
+
+        assertEquals(Collections.singletonList("old content"), Files.readAllLines(target));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testOutputStream(final @TempDir Path tempDir) throws IOException {
+        final Path target = tempDir.resolve("config.bin");
+        final byte[] expected = new byte[20_000];
+        for (int i = 0; i < expected.length; ++i) {
+            expected[i] = (byte) i;
+        }
+
+        try (OutputStream output = AtomicFiles.atomicOutputStream(target, SyncMode.FILE)) {
+            output.write(expected, 0, 100);
+            output.write(expected[100]);
+            output.write(expected, 101, expected.length - 101);
+            assertFalse(Files.exists(target));
+        }
+
+        assertArrayEquals(expected, Files.readAllBytes(target));
+    }
+
+    @Test
+    void testPreservesPermissions(final @TempDir Path tempDir) throws IOException {
+        assumeTrue(Files.getFileAttributeView(tempDir, PosixFileAttributeView.class) != null);
+        final Path target = tempDir.resolve("config.txt");
+        Files.write(target, Collections.singleton("old content"));
+        final Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(target, permissions);
+
+        try (BufferedWriter writer = AtomicFiles.atomicBufferedWriter(target, StandardCharsets.UTF_8)) {
+            writer.write("new content");
+        }
+
+        assertEquals(permissions, Files.getPosixFilePermissions(target));
+    }
+
+}
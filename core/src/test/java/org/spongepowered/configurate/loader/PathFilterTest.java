@@ -0,0 +1,133 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.spongepowered.configurate.NodePath.path;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.util.Arrays;
+
+public class PathFilterTest {
+
+    @Test
+    void testMatchesPrefixes() {
+        final PathFilter filter = PathFilter.of(path("servers", PathFilter.ANY, "host"), path("db"));
+
+        assertTrue(filter.matches(path("db")));
+        assertTrue(filter.matches(path("db", "pool", 3)));
+        assertTrue(filter.matches(path("servers", 0, "host")));
+        assertTrue(filter.matches(path("servers", "0", "host")));
+        assertTrue(filter.matches(path("servers", "main", "host", "name")));
+        assertFalse(filter.matches(path("servers", 0, "port")));
+        assertFalse(filter.matches(path("servers")));
+        assertFalse(filter.matches(path("other")));
+    }
+
+    @Test
+    void testChildTraversal() {
+        final PathFilter filter = PathFilter.of(path("a", "x"), path(PathFilter.ANY, "y"));
+
+        final PathFilter a = filter.child("a");
+        assertNotNull(a);
+        assertFalse(a.includesAll());
+        assertTrue(a.child("x").includesAll());
+        assertTrue(a.child("y").includesAll());
+        assertNull(a.child("z"));
+
+        final PathFilter b = filter.child("b");
+        assertNotNull(b);
+        assertNull(b.child("x"));
+
+        // wildcards are merged into exact keys once, when the filter is created
+        assertSame(a, filter.child("a"));
+    }
+
+    @Test
+    void testNestedWildcardsMerge() {
+        final PathFilter filter = PathFilter.of(path("a", "b", "c"), path(PathFilter.ANY, PathFilter.ANY, "d"), path(PathFilter.ANY, "b", "e"));
+
+        assertTrue(filter.matches(path("a", "b", "c")));
+        assertTrue(filter.matches(path("a", "b", "d")));
+        assertTrue(filter.matches(path("a", "b", "e")));
+        assertTrue(filter.matches(path("a", "x", "d")));
+        assertFalse(filter.matches(path("a", "x", "c")));
+        assertFalse(filter.matches(path("a", "x", "e")));
+        assertTrue(filter.matches(path("z", "b", "e")));
+        assertFalse(filter.matches(path("z", "b", "c")));
+    }
+
+    @Test
+    void testListElementsOnlyMatchAny() {
+        assertThrows(IllegalArgumentException.class, () -> PathFilter.of(path("servers", 1)));
+
+        final PathFilter filter = PathFilter.of(path("list", "1"), path("servers", PathFilter.ANY, "host"));
+        assertNull(filter.child("list").element());
+        assertFalse(filter.matches(path("list", 1)));
+        assertTrue(filter.matches(path("list", "1")));
+        assertTrue(filter.child("servers").element().child("host").includesAll());
+        assertTrue(filter.matches(path("servers", 1, "host")));
+        assertSame(PathFilter.all(), PathFilter.all().element());
+    }
+
+    @Test
+    void testEmptyPatternKeepsEverything() {
+        assertSame(PathFilter.all(), PathFilter.of(path("a"), path()));
+        assertSame(PathFilter.all(), PathFilter.all().child("anything"));
+    }
+
+    @Test
+    void testApply() throws SerializationException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> {
+            n.node("servers").appendListNode().act(s -> {
+                s.node("host").raw("one");
+                s.node("port").raw(25565);
+            });
+            n.node("servers").appendListNode().node("port").raw(25566);
+            n.node("servers").appendListNode().raw("not a map");
+            n.node("db", "url").raw("jdbc:h2:mem");
+            n.node("other").setList(Integer.class, Arrays.asList(1, 2, 3));
+        });
+
+        PathFilter.of(path("servers", PathFilter.ANY, "host"), path("db")).apply(node);
+
+        assertEquals(2, node.childrenMap().size());
+        assertEquals(2, node.node("servers").childrenList().size());
+        assertEquals("one", node.node("servers", 0, "host").raw());
+        assertTrue(node.node("servers", 0, "port").virtual());
+        assertTrue(node.node("servers", 1).empty());
+        assertEquals("jdbc:h2:mem", node.node("db", "url").raw());
+    }
+
+    @Test
+    void testApplyToScalarRoot() {
+        final ConfigurationNode node = BasicConfigurationNode.root().raw("value");
+        PathFilter.of(path("a")).apply(node);
+        assertNull(node.raw());
+    }
+
+}
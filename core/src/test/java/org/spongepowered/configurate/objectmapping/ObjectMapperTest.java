@@ -18,7 +18,9 @@ package org.spongepowered.configurate.objectmapping;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -328,4 +330,63 @@ public class ObjectMapperTest {
         assertNull(deserialized.hello);
     }
 
+    @Test
+    void testMapperCacheStatistics() throws SerializationException {
+        final ObjectMapper.Factory factory = ObjectMapper.factoryBuilder().build();
+        final ObjectMapper<TestObject> first = factory.get(TestObject.class);
+        assertSame(first, factory.get(TestObject.class));
+        factory.get(FieldNameObject.class);
+
+        final ObjectMapper.Factory.CacheStatistics stats = factory.cacheStatistics();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(0, stats.evictions());
+        assertEquals(2, stats.size());
+        assertEquals(1d / 3, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    void testMapperCacheEvictsLeastRecentlyUsed() throws SerializationException {
+        final ObjectMapper.Factory factory = ObjectMapper.factoryBuilder()
+            .mapperCacheSize(2)
+            .mapperCacheEviction(ObjectMapper.Factory.CacheEviction.LEAST_RECENTLY_USED)
+            .build();
+        final ObjectMapper<TestObject> kept = factory.get(TestObject.class);
+        factory.get(FieldNameObject.class);
+        factory.get(TestObject.class);
+        factory.get(CommentedObject.class);
+
+        assertSame(kept, factory.get(TestObject.class));
+        final ObjectMapper.Factory.CacheStatistics stats = factory.cacheStatistics();
+        assertEquals(1, stats.evictions());
+        assertEquals(2, stats.size());
+        assertEquals(2, stats.maximumSize());
+
+        factory.get(FieldNameObject.class);
+        assertEquals(4, factory.cacheStatistics().misses());
+    }
+
+    @Test
+    void testMapperCacheFirstInFirstOutByDefault() throws SerializationException {
+        final ObjectMapper.Factory factory = ObjectMapper.factoryBuilder()
+            .mapperCacheSize(2)
+            .build();
+        final ObjectMapper<TestObject> evicted = factory.get(TestObject.class);
+        factory.get(FieldNameObject.class);
+        factory.get(TestObject.class);
+        factory.get(CommentedObject.class);
+
+        assertNotSame(evicted, factory.get(TestObject.class));
+    }
+
+    @Test
+    void testMapperCacheDisabled() throws SerializationException {
+        final ObjectMapper.Factory factory = ObjectMapper.factoryBuilder()
+            .mapperCacheSize(0)
+            .build();
+        assertNotSame(factory.get(TestObject.class), factory.get(TestObject.class));
+        assertEquals(0, factory.cacheStatistics().size());
+        assertEquals(2, factory.cacheStatistics().misses());
+    }
+
 }
@@ -0,0 +1,199 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.reference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.NodePath;
+import org.spongepowered.configurate.loader.ConfigurationLoader;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.serialize.TypeSerializer;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConfigurationReferenceTest {
+
+    @Test
+    void testChangesOnlyFireForChangedSubtrees() throws ConfigurateException {
+        final MemoryLoader loader = new MemoryLoader();
+        loader.next = document("one", "two");
+        final ManualConfigurationReference<BasicConfigurationNode> reference = new ManualConfigurationReference<>(loader, Runnable::run);
+        reference.load();
+
+        final List<@Nullable Object> first = new ArrayList<>();
+        final List<@Nullable Object> second = new ArrayList<>();
+        reference.changes(NodePath.path("first")).subscribe(node -> first.add(node.raw()));
+        reference.changes(NodePath.path("second")).subscribe(node -> second.add(node.raw()));
+
+        loader.next = document("one", "two");
+        reference.load();
+        loader.next = document("one", "three");
+        reference.load();
+        assertEquals(0, first.size());
+        assertEquals(1, second.size());
+        assertEquals("three", second.get(0));
+
+        // modified in place, so reloading the original content is a change
+        reference.node().node("first").raw("four");
+        loader.next = document("one", "three");
+        reference.load();
+        assertEquals(1, first.size());
+        assertEquals("one", first.get(0));
+        assertEquals(1, second.size());
+    }
+
+    @Test
+    void testValueReferenceOnlyDeserializesChangedSubtrees() throws ConfigurateException {
+        final AtomicInteger deserializations = new AtomicInteger();
+        final ConfigurationOptions options = ConfigurationOptions.defaults()
+            .serializers(b -> b.register(Counted.class, new CountingSerializer(deserializations)));
+        final MemoryLoader loader = new MemoryLoader();
+        loader.next = document(options, "one", "two");
+        final ManualConfigurationReference<BasicConfigurationNode> reference = new ManualConfigurationReference<>(loader, Runnable::run);
+        reference.load();
+
+        final ValueReference<Counted, BasicConfigurationNode> first = reference.referenceTo(Counted.class, NodePath.path("first"));
+        final ValueReference<Counted, BasicConfigurationNode> second = reference.referenceTo(Counted.class, NodePath.path("second"));
+        assertEquals(2, deserializations.get());
+
+        loader.next = document(options, "one", "three");
+        reference.load();
+        assertEquals(3, deserializations.get());
+        assertEquals("one", first.get().value);
+        assertEquals("three", second.get().value);
+
+        loader.next = document(options, "one", "three");
+        reference.load();
+        assertEquals(3, deserializations.get());
+    }
+
+    @Test
+    void testFailedUpdateIsRetried() throws ConfigurateException {
+        final CountingSerializer serializer = new CountingSerializer(new AtomicInteger());
+        final ConfigurationOptions options = ConfigurationOptions.defaults()
+            .serializers(b -> b.register(Counted.class, serializer));
+        final MemoryLoader loader = new MemoryLoader();
+        loader.next = document(options, "one", "two");
+        final ManualConfigurationReference<BasicConfigurationNode> reference = new ManualConfigurationReference<>(loader, Runnable::run);
+        reference.errors().subscribe(error -> { });
+        reference.load();
+
+        final ValueReference<Counted, BasicConfigurationNode> first = reference.referenceTo(Counted.class, NodePath.path("first"));
+        reference.referenceTo(Counted.class, NodePath.path("second"));
+
+        // the invalid second value rolls back the whole update
+        loader.next = document(options, "changed", "invalid");
+        reference.load();
+        assertEquals("one", first.get().value);
+
+        loader.next = document(options, "changed", "two");
+        reference.load();
+        assertEquals("changed", first.get().value);
+        // references are notified in no particular order, so the failed attempt may not have reached the first value,
+        // but the retry reads it again while leaving the unchanged second value alone
+        final List<@Nullable String> values = serializer.values;
+        assertEquals(1, Collections.frequency(values, "one"));
+        assertEquals(1, Collections.frequency(values, "two"));
+        assertEquals(1, Collections.frequency(values, "invalid"));
+        assertEquals("changed", values.get(values.size() - 1));
+    }
+
+    private static BasicConfigurationNode document(final String first, final String second) {
+        return document(ConfigurationOptions.defaults(), first, second);
+    }
+
+    private static BasicConfigurationNode document(final ConfigurationOptions options, final String first, final String second) {
+        return BasicConfigurationNode.root(options, n -> {
+            n.node("first").raw(first);
+            n.node("second").raw(second);
+        });
+    }
+
+    static final class Counted {
+
+        final String value;
+
+        Counted(final String value) {
+            this.value = value;
+        }
+
+    }
+
+    static final class CountingSerializer implements TypeSerializer<Counted> {
+
+        private final AtomicInteger count;
+        final List<@Nullable String> values = new ArrayList<>();
+
+        CountingSerializer(final AtomicInteger count) {
+            this.count = count;
+        }
+
+        @Override
+        public Counted deserialize(final Type type, final ConfigurationNode node) throws SerializationException {
+            this.count.incrementAndGet();
+            final @Nullable String value = node.getString();
+            this.values.add(value);
+            if (value == null || value.equals("invalid")) {
+                throw new SerializationException(node, type, "Invalid value");
+            }
+            return new Counted(value);
+        }
+
+        @Override
+        public void serialize(final Type type, final @Nullable Counted obj, final ConfigurationNode node) {
+            node.raw(obj == null ? null : obj.value);
+        }
+
+    }
+
+    static final class MemoryLoader implements ConfigurationLoader<BasicConfigurationNode> {
+
+        @Nullable BasicConfigurationNode next;
+
+        @Override
+        public BasicConfigurationNode load(final ConfigurationOptions options) {
+            final @Nullable BasicConfigurationNode next = this.next;
+            return next == null ? this.createNode(options) : next;
+        }
+
+        @Override
+        public ConfigurationReference<BasicConfigurationNode> loadToReference() throws ConfigurateException {
+            return ConfigurationReference.fixed(this);
+        }
+
+        @Override
+        public void save(final ConfigurationNode node) {
+        }
+
+        @Override
+        public BasicConfigurationNode createNode(final ConfigurationOptions options) {
+            return BasicConfigurationNode.root(options);
+        }
+
+    }
+
+}
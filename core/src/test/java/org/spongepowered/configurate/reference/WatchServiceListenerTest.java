@@ -17,14 +17,20 @@
 package org.spongepowered.configurate.reference;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTimeout;
 
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.BasicConfigurationNode;
 import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.loader.ConfigurationLoader;
 import org.spongepowered.configurate.reactive.Disposable;
 
 import java.io.IOException;
@@ -34,8 +40,12 @@ import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -149,4 +159,95 @@ public class WatchServiceListenerTest {
         });
     }
 
+    @Test
+    void testDebouncedEventsAreCoalesced() throws IOException, InterruptedException {
+        final Path tempFolder = Files.createTempDirectory("configurate-test");
+        final Path testFile = tempFolder.resolve("debounced.txt");
+        Files.write(testFile, Collections.singleton("version one"), StandardOpenOption.SYNC, StandardOpenOption.CREATE);
+
+        final BlockingQueue<Path> events = new ArrayBlockingQueue<>(16);
+        final Disposable disposable = listener.listenToFile(testFile, Duration.ofMillis(500), event -> events.add((Path) event.context()));
+        try {
+            Files.write(testFile, Collections.singleton("version two"), StandardOpenOption.SYNC);
+            Files.write(testFile, Collections.singleton("version three"), StandardOpenOption.SYNC);
+            Files.write(testFile, Collections.singleton("version four"), StandardOpenOption.SYNC);
+
+            assertEquals(testFile.getFileName(), events.poll(1, TimeUnit.MINUTES));
+            assertEquals(null, events.poll(1, TimeUnit.SECONDS));
+        } finally {
+            disposable.dispose();
+        }
+    }
+
+    @Test
+    void testUnchangedContentIsNotReloaded() throws IOException {
+        final Path tempFolder = Files.createTempDirectory("configurate-test");
+        final Path testFile = tempFolder.resolve("unchanged.txt");
+        Files.write(testFile, Collections.singleton("version one"));
+
+        final CountingLoader loader = new CountingLoader(testFile);
+        final WatchingConfigurationReference<BasicConfigurationNode> reference = new WatchingConfigurationReference<>(
+            loader, ForkJoinPool.commonPool(), testFile, WatchServiceListener.ChangeCheck.CONTENT_HASH);
+
+        reference.reload();
+        assertEquals(1, loader.loads);
+        assertEquals("version one", reference.node().getString());
+
+        Files.write(testFile, Collections.singleton("version one"));
+        reference.reload();
+        assertEquals(1, loader.loads);
+
+        Files.write(testFile, Collections.singleton("version two"));
+        reference.reload();
+        assertEquals(2, loader.loads);
+        assertEquals("version two", reference.node().getString());
+
+        reference.node().raw("version three");
+        reference.save();
+        reference.reload();
+        assertEquals(2, loader.loads);
+    }
+
+    static final class CountingLoader implements ConfigurationLoader<BasicConfigurationNode> {
+
+        private final Path file;
+        int loads;
+
+        CountingLoader(final Path file) {
+            this.file = file;
+        }
+
+        @Override
+        public BasicConfigurationNode load(final ConfigurationOptions options) throws ConfigurateException {
+            this.loads++;
+            try {
+                return BasicConfigurationNode.root(options, n -> n.raw(Files.readAllLines(this.file).get(0)));
+            } catch (final IOException ex) {
+                throw new ConfigurateException(ex);
+            }
+        }
+
+        @Override
+        public ConfigurationReference<BasicConfigurationNode> loadToReference() throws ConfigurateException {
+            return ConfigurationReference.fixed(this);
+        }
+
+        @Override
+        public void save(final ConfigurationNode node) throws ConfigurateException {
+            final @Nullable String value = node.getString();
+            assertNotNull(value);
+            try {
+                Files.write(this.file, Collections.singleton(value));
+            } catch (final IOException ex) {
+                throw new ConfigurateException(ex);
+            }
+        }
+
+        @Override
+        public BasicConfigurationNode createNode(final ConfigurationOptions options) {
+            return BasicConfigurationNode.root(options);
+        }
+
+    }
+
 }
@@ -17,6 +17,8 @@
 package org.spongepowered.configurate.serialize;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import io.leangen.geantyref.TypeToken;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -25,8 +27,11 @@ import org.spongepowered.configurate.BasicConfigurationNode;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.ConfigurationOptions;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public class TypeSerializerCollectionTest {
 
@@ -42,4 +47,53 @@ public class TypeSerializerCollectionTest {
         assertEquals(Arrays.asList("a string", 14), value);
     }
 
+    @Test
+    void testFirstRegistrationWins() {
+        final PassthroughSerializer hierarchy = new PassthroughSerializer();
+        final PassthroughSerializer exact = new PassthroughSerializer();
+        final PassthroughSerializer predicate = new PassthroughSerializer();
+        final TypeSerializerCollection collection = TypeSerializerCollection.builder()
+            .register(type -> type == StringBuilder.class, predicate)
+            .register(CharSequence.class, hierarchy)
+            .registerExact(String.class, exact)
+            .build();
+
+        assertSame(hierarchy, collection.get(String.class));
+        assertSame(predicate, collection.get(StringBuilder.class));
+        assertSame(hierarchy, collection.get(StringBuffer.class));
+        assertNull(collection.get(Integer.class));
+    }
+
+    @Test
+    void testResolveThroughInterfaceHierarchy() {
+        final PassthroughSerializer collectionSerializer = new PassthroughSerializer();
+        final PassthroughSerializer listSerializer = new PassthroughSerializer();
+        final TypeSerializerCollection collection = TypeSerializerCollection.builder()
+            .register(new TypeToken<Collection<String>>() {}, collectionSerializer)
+            .register(new TypeToken<List<?>>() {}, listSerializer)
+            .build();
+
+        assertSame(collectionSerializer, collection.get(new TypeToken<ArrayList<String>>() {}));
+        assertSame(listSerializer, collection.get(new TypeToken<ArrayList<Integer>>() {}));
+        assertSame(collectionSerializer, collection.get(new TypeToken<Set<String>>() {}));
+        assertNull(collection.get(new TypeToken<Set<Integer>>() {}));
+    }
+
+    @Test
+    void testChildPrefersOwnRegistrations() {
+        final PassthroughSerializer parentSerializer = new PassthroughSerializer();
+        final PassthroughSerializer childSerializer = new PassthroughSerializer();
+        final TypeSerializerCollection parent = TypeSerializerCollection.builder()
+            .register(Object.class, parentSerializer)
+            .build();
+        final TypeSerializerCollection child = parent.childBuilder()
+            .registerExact(String.class, childSerializer)
+            .build();
+
+        assertSame(childSerializer, child.get(String.class));
+        assertSame(parentSerializer, child.get(Integer.class));
+        assertSame(parentSerializer, child.get(Integer.class));
+        assertSame(parentSerializer, parent.get(String.class));
+    }
+
 }
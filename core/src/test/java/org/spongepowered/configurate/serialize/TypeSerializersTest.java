@@ -21,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.common.collect.ImmutableMap;
@@ -44,6 +45,7 @@ import java.net.URL;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -52,6 +54,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Pattern;
 
 public class TypeSerializersTest {
@@ -319,6 +322,59 @@ public class TypeSerializersTest {
         assertEquals("Bob", object.name);
     }
 
+    @Test
+    void testParallelListDeserialization() throws SerializationException {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final BasicConfigurationNode node = BasicConfigurationNode.root(ConfigurationOptions.defaults().parallelDeserialization(8, pool));
+            for (int i = 0; i < 500; ++i) {
+                final ConfigurationNode child = node.appendListNode();
+                child.node("int").raw(i);
+                child.node("name").raw("object " + i);
+            }
+
+            final List<TestObject> objects = node.getList(TestObject.class);
+            assertEquals(500, objects.size());
+            for (int i = 0; i < objects.size(); ++i) {
+                assertEquals(i, objects.get(i).value);
+                assertEquals("object " + i, objects.get(i).name);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelMapDeserializationKeepsOrder() throws SerializationException {
+        final TypeToken<Map<Integer, String>> type = new TypeToken<Map<Integer, String>>() {};
+        final BasicConfigurationNode node = BasicConfigurationNode.root(ConfigurationOptions.defaults().parallelDeserialization(2));
+        final List<Integer> expectedKeys = new ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            final int key = (i * 37) % 200;
+            node.node(String.valueOf(key)).raw("value " + key);
+            expectedKeys.add(key);
+        }
+
+        final Map<Integer, String> deserialized = requireNonNull(node.get(type));
+        assertEquals(expectedKeys, new ArrayList<>(deserialized.keySet()));
+        assertEquals("value 74", deserialized.get(74));
+    }
+
+    @Test
+    void testParallelDeserializationErrorsAreOrdered() {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(ConfigurationOptions.defaults().parallelDeserialization(4));
+        for (int i = 0; i < 100; ++i) {
+            node.appendListNode().raw(i % 10 == 3 ? "invalid " + i : i);
+        }
+
+        final SerializationException ex = assertThrows(SerializationException.class, () -> node.getList(Integer.class));
+        assertEquals(node.node(3).path(), ex.path());
+        assertEquals(9, ex.getSuppressed().length);
+        for (int i = 0; i < 9; ++i) {
+            assertEquals(node.node(13 + i * 10).path(), ((SerializationException) ex.getSuppressed()[i]).path());
+        }
+    }
+
     @Test
     void testUriSerializer() throws SerializationException {
         final TypeToken<URI> uriType = TypeToken.get(URI.class);
@@ -472,6 +528,7 @@ public class TypeSerializersTest {
         intArraySerializer.serialize(intArrayType, testArray, serializeTo);
         assertEquals(Arrays.asList(1, 5, 3, 7, 9), serializeTo.raw());
         assertArrayEquals(testArray, intArraySerializer.deserialize(intArrayType, serializeTo));
+        assertArrayEquals(testArray, serializeTo.packedList(int[].class));
     }
 
     @Test
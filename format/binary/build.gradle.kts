@@ -0,0 +1,9 @@
+plugins {
+    id("org.spongepowered.configurate.build.component")
+}
+
+description = "Compact binary snapshot format for Configurate"
+
+dependencies {
+    api(projects.core)
+}
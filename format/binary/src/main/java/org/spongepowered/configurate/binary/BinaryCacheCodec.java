@@ -0,0 +1,49 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.binary;
+
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.RepresentationHint;
+import org.spongepowered.configurate.loader.ParseCache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Stores nodes in a {@link ParseCache} as binary snapshots.
+ */
+final class BinaryCacheCodec implements ParseCache.Codec {
+
+    private final Map<String, RepresentationHint<?>> hints;
+
+    BinaryCacheCodec(final Map<String, RepresentationHint<?>> hints) {
+        this.hints = hints;
+    }
+
+    @Override
+    public void write(final ConfigurationNode node, final OutputStream output) throws IOException {
+        new BinaryEncoder(output).write(node);
+    }
+
+    @Override
+    public void read(final ConfigurationNode node, final InputStream input) throws IOException {
+        new BinaryDecoder(input, this.hints).read(node);
+    }
+
+}
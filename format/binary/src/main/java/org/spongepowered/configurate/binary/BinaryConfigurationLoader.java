@@ -0,0 +1,203 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.binary;
+
+import static java.util.Objects.requireNonNull;
+
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.RepresentationHint;
+import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
+import org.spongepowered.configurate.loader.CommentHandler;
+import org.spongepowered.configurate.loader.ParseCache;
+import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.util.UnmodifiableCollections;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A loader for compact binary snapshots of a configuration.
+ *
+ * <p>Snapshots keep the full node tree, including comments and any
+ * {@link RepresentationHint}s with string, boolean, number, or enum values.
+ * Map keys and repeated strings are stored once, so snapshots are usually
+ * much smaller than their text form, and are read without any parsing.</p>
+ *
+ * <p>Hints are restored only when they are
+ * {@link Builder#representationHints(RepresentationHint[]) registered} with
+ * the loader, since a hint cannot be recreated from its identifier alone.
+ * The configuration header is not stored.</p>
+ *
+ * <p>Snapshots can only be read from a {@link Builder#byteSource() byte
+ * source} and written to a {@link Builder#byteSink() byte sink}, such as
+ * those set by {@link Builder#path(java.nio.file.Path)}. Nodes from any loader
+ * can be cached in this format using {@link #parseCacheCodec(RepresentationHint[])}.</p>
+ *
+ * @since 4.2.0
+ */
+public final class BinaryConfigurationLoader extends AbstractConfigurationLoader<CommentedConfigurationNode> {
+
+    private static final Set<Class<?>> NATIVE_TYPES = UnmodifiableCollections.toSet(
+            Double.class, Float.class, Long.class, Integer.class, Boolean.class, String.class);
+
+    /**
+     * Creates a new {@link BinaryConfigurationLoader} builder.
+     *
+     * @return a new builder
+     * @since 4.2.0
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a codec storing nodes in a {@link ParseCache} as
+     * binary snapshots.
+     *
+     * <p>This lets nodes parsed by any loader be cached in this format.
+     * Scalars of types without a binary representation, which are
+     * restored as strings, are best avoided in cached nodes.</p>
+     *
+     * @param hints the hints to restore when reading cached nodes
+     * @return a new codec
+     * @since 4.2.0
+     */
+    public static ParseCache.Codec parseCacheCodec(final RepresentationHint<?>... hints) {
+        return new BinaryCacheCodec(byIdentifier(hints));
+    }
+
+    private static Map<String, RepresentationHint<?>> byIdentifier(final RepresentationHint<?>... hints) {
+        final Map<String, RepresentationHint<?>> ret = new LinkedHashMap<>();
+        for (final RepresentationHint<?> hint : hints) {
+            ret.put(requireNonNull(hint, "hint").identifier(), hint);
+        }
+        return UnmodifiableCollections.copyOf(ret);
+    }
+
+    /**
+     * Builds a {@link BinaryConfigurationLoader}.
+     *
+     * @since 4.2.0
+     */
+    public static final class Builder extends AbstractConfigurationLoader.Builder<Builder, BinaryConfigurationLoader> {
+        private final Map<String, RepresentationHint<?>> hints = new LinkedHashMap<>();
+
+        Builder() {
+        }
+
+        /**
+         * Register hints to restore when loading a snapshot.
+         *
+         * <p>Hints are matched by their {@link RepresentationHint#identifier()
+         * identifier}. All hints with a storable value are saved, whether
+         * registered or not.</p>
+         *
+         * @param hints the hints to restore
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public Builder representationHints(final RepresentationHint<?>... hints) {
+            this.hints.putAll(byIdentifier(hints));
+            return this;
+        }
+
+        /**
+         * Get the hints restored when loading a snapshot.
+         *
+         * @return the registered hints
+         * @since 4.2.0
+         */
+        public Collection<RepresentationHint<?>> representationHints() {
+            return UnmodifiableCollections.copyOf(this.hints).values();
+        }
+
+        @Override
+        public BinaryConfigurationLoader build() {
+            defaultOptions(o -> o.nativeTypes(NATIVE_TYPES));
+            return new BinaryConfigurationLoader(this);
+        }
+    }
+
+    private final Map<String, RepresentationHint<?>> hints;
+
+    private BinaryConfigurationLoader(final Builder builder) {
+        super(builder, new CommentHandler[0]);
+        this.hints = UnmodifiableCollections.copyOf(builder.hints);
+    }
+
+    @Override
+    protected boolean readsBytes() {
+        return true;
+    }
+
+    @Override
+    protected boolean writesBytes() {
+        return true;
+    }
+
+    @Override
+    protected void checkCanWrite(final ConfigurationNode node) throws ConfigurateException {
+        if (this.byteSink == null) {
+            throw new ConfigurateException(node, "Binary configurations can only be saved to a byte sink");
+        }
+    }
+
+    @Override
+    protected void loadInternal(final CommentedConfigurationNode node, final BufferedReader reader) throws ParsingException {
+        throw new ParsingException(node, ParsingException.UNKNOWN_POS, ParsingException.UNKNOWN_POS, null,
+            "Binary configurations can only be loaded from a byte source", null);
+    }
+
+    @Override
+    protected void loadInternal(final CommentedConfigurationNode node, final InputStream input) throws ParsingException {
+        try {
+            new BinaryDecoder(input, this.hints).read(node);
+        } catch (final IOException ex) {
+            throw ParsingException.wrap(node, ex);
+        }
+    }
+
+    @Override
+    protected void saveInternal(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        throw new ConfigurateException(node, "Binary configurations can only be saved to a byte sink");
+    }
+
+    @Override
+    protected void saveInternal(final ConfigurationNode node, final OutputStream output) throws ConfigurateException {
+        try {
+            new BinaryEncoder(output).write(node);
+        } catch (final IOException ex) {
+            throw ConfigurateException.wrap(node, ex);
+        }
+    }
+
+    @Override
+    public CommentedConfigurationNode createNode(final ConfigurationOptions options) {
+        return CommentedConfigurationNode.root(options.nativeTypes(NATIVE_TYPES));
+    }
+
+}
@@ -0,0 +1,317 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.binary;
+
+import static org.spongepowered.configurate.binary.BinaryFormat.BUFFER_SIZE;
+import static org.spongepowered.configurate.binary.BinaryFormat.DOUBLE;
+import static org.spongepowered.configurate.binary.BinaryFormat.FALSE;
+import static org.spongepowered.configurate.binary.BinaryFormat.FLAG_COMMENT;
+import static org.spongepowered.configurate.binary.BinaryFormat.FLAG_HINTS;
+import static org.spongepowered.configurate.binary.BinaryFormat.FLOAT;
+import static org.spongepowered.configurate.binary.BinaryFormat.INT;
+import static org.spongepowered.configurate.binary.BinaryFormat.LIST;
+import static org.spongepowered.configurate.binary.BinaryFormat.LONG;
+import static org.spongepowered.configurate.binary.BinaryFormat.MAGIC;
+import static org.spongepowered.configurate.binary.BinaryFormat.MAP;
+import static org.spongepowered.configurate.binary.BinaryFormat.NULL;
+import static org.spongepowered.configurate.binary.BinaryFormat.STRING;
+import static org.spongepowered.configurate.binary.BinaryFormat.TRUE;
+import static org.spongepowered.configurate.binary.BinaryFormat.TYPE_MASK;
+import static org.spongepowered.configurate.binary.BinaryFormat.VERSION;
+import static org.spongepowered.configurate.loader.ParsingException.UNKNOWN_POS;
+
+import io.leangen.geantyref.GenericTypeReflector;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.CommentedConfigurationNodeIntermediary;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.RepresentationHint;
+import org.spongepowered.configurate.loader.ParsingException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a binary snapshot into a node tree.
+ *
+ * <p>Instances are single-use.</p>
+ */
+final class BinaryDecoder {
+
+    private final InputStream input;
+    private final Map<String, RepresentationHint<?>> hints;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    // bytes consumed before the current buffer contents
+    private long offset;
+    private final List<String> strings = new ArrayList<>();
+
+    BinaryDecoder(final InputStream input, final Map<String, RepresentationHint<?>> hints) {
+        this.input = input;
+        this.hints = hints;
+    }
+
+    /**
+     * Read a complete snapshot into the node.
+     *
+     * @param node the root node
+     * @throws ParsingException if the input is not a valid snapshot
+     * @throws IOException if the input could not be read
+     */
+    void read(final ConfigurationNode node) throws IOException {
+        for (final byte expected : MAGIC) {
+            if (this.readByte() != (expected & 0xFF)) {
+                throw this.error("Input is not a binary configuration");
+            }
+        }
+        final int version = this.readByte();
+        if (version != VERSION) {
+            throw this.error("Unsupported binary configuration version " + version);
+        }
+        this.readNode(this.readByte(), node);
+        if (this.position < this.limit || this.fill()) {
+            throw this.error("Unexpected data after the end of the configuration");
+        }
+    }
+
+    private void readNode(final int tag, final ConfigurationNode node) throws IOException {
+        if ((tag & ~(TYPE_MASK | FLAG_COMMENT | FLAG_HINTS)) != 0) {
+            throw this.error("Invalid node tag " + tag);
+        }
+        if ((tag & FLAG_COMMENT) != 0) {
+            final String comment = this.readString();
+            if (node instanceof CommentedConfigurationNodeIntermediary<?>) {
+                ((CommentedConfigurationNodeIntermediary<?>) node).comment(comment);
+            }
+        }
+        if ((tag & FLAG_HINTS) != 0) {
+            for (int i = this.readSize("hint count"); i > 0; --i) {
+                final String identifier = this.readString();
+                final @Nullable Object value = this.readScalar(this.readByte());
+                final @Nullable RepresentationHint<?> hint = this.hints.get(identifier);
+                if (hint != null && value != null) {
+                    applyHint(node, hint, value);
+                }
+            }
+        }
+
+        final int type = tag & TYPE_MASK;
+        if (type == MAP) {
+            this.readMap(node);
+        } else if (type == LIST) {
+            this.readList(node);
+        } else {
+            node.raw(this.readScalar(type));
+        }
+    }
+
+    private void readMap(final ConfigurationNode node) throws IOException {
+        final int size = this.readSize("map size");
+        if (size == 0) { // ensure the type is preserved
+            node.raw(Collections.emptyMap());
+            return;
+        }
+        for (int i = 0; i < size; ++i) {
+            final @Nullable Object key = this.readScalar(this.readByte());
+            if (key == null) {
+                throw this.error("Map keys cannot be null");
+            } else if (i == 0 && !(key instanceof String)) {
+                // so that integer keys are not taken as list indices
+                node.raw(Collections.emptyMap());
+            }
+            this.readNode(this.readByte(), node.node(key));
+        }
+    }
+
+    private void readList(final ConfigurationNode node) throws IOException {
+        final int size = this.readSize("list size");
+        // leading numbers and booleans are collected so that they can be set
+        // together, allowing the node to store them packed
+        @Nullable List<Object> scalars = new ArrayList<>();
+        for (int i = 0; i < size; ++i) {
+            final int tag = this.readByte();
+            if (scalars != null && tag >= TRUE && tag <= DOUBLE) {
+                scalars.add(this.readScalar(tag));
+                continue;
+            }
+            if (scalars != null) {
+                for (final Object scalar : scalars) {
+                    node.appendListNode().raw(scalar);
+                }
+                scalars = null;
+            }
+            this.readNode(tag, node.appendListNode());
+        }
+        if (scalars != null) {
+            node.raw(scalars.isEmpty() ? Collections.emptyList() : scalars);
+        }
+    }
+
+    private @Nullable Object readScalar(final int type) throws IOException {
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return this.readString();
+            case TRUE:
+                return true;
+            case FALSE:
+                return false;
+            case INT:
+                final int intValue = this.readVarInt();
+                return (intValue >>> 1) ^ -(intValue & 1);
+            case LONG:
+                final long longValue = this.readVarLong();
+                return (longValue >>> 1) ^ -(longValue & 1);
+            case FLOAT:
+                return Float.intBitsToFloat(this.readInt());
+            case DOUBLE:
+                return Double.longBitsToDouble(((long) this.readInt() << 32) | (this.readInt() & 0xFFFFFFFFL));
+            default:
+                throw this.error("Expected a scalar value, but got type " + type);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void applyHint(final ConfigurationNode node, final RepresentationHint<?> hint, final Object value) {
+        final Class<?> type = GenericTypeReflector.erase(GenericTypeReflector.box(hint.valueType().getType()));
+        if (type.isEnum() && value instanceof String) {
+            try {
+                node.hint((RepresentationHint) hint, Enum.valueOf((Class) type, (String) value));
+            } catch (final IllegalArgumentException ex) {
+                // a constant that no longer exists, so the hint is dropped
+            }
+        } else if (type.isInstance(value)) {
+            node.hint((RepresentationHint) hint, value);
+        }
+    }
+
+    private String readString() throws IOException {
+        final int reference = this.readVarInt();
+        if (reference != 0) {
+            if (reference > this.strings.size()) {
+                throw this.error("Unknown string reference " + reference);
+            }
+            return this.strings.get(reference - 1);
+        }
+
+        final int length = this.readSize("string length");
+        final String value;
+        if (length <= this.limit - this.position) {
+            value = new String(this.buffer, this.position, length, StandardCharsets.UTF_8);
+            this.position += length;
+        } else {
+            // grown as the input arrives, so a corrupt length can't allocate more than the input holds
+            int read = this.limit - this.position;
+            byte[] bytes = new byte[(int) Math.min(length, 2L * Math.max(read, BUFFER_SIZE))];
+            System.arraycopy(this.buffer, this.position, bytes, 0, read);
+            this.position += read;
+            while (read < length) {
+                if (read == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * bytes.length));
+                }
+                final int count = this.input.read(bytes, read, bytes.length - read);
+                if (count == -1) {
+                    throw this.error("Unexpected end of input");
+                }
+                read += count;
+                this.offset += count;
+            }
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        this.strings.add(value);
+        return value;
+    }
+
+    /**
+     * Read a count or length, which can't be negative.
+     *
+     * <p>Sizes beyond the remaining input are not rejected up front, as the
+     * input's length is not known, but nothing is allocated for them before
+     * the data they describe has been read.</p>
+     *
+     * @param description what the size is of, for the error message
+     * @return the size
+     * @throws ParsingException if the size is negative
+     * @throws IOException if the input could not be read
+     */
+    private int readSize(final String description) throws IOException {
+        final int size = this.readVarInt();
+        if (size < 0) {
+            throw this.error("Invalid " + description + " " + Integer.toUnsignedString(size));
+        }
+        return size;
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int next = this.readByte();
+            value |= (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw this.error("Malformed variable-length integer");
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int next = this.readByte();
+            value |= (long) (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw this.error("Malformed variable-length integer");
+    }
+
+    private int readInt() throws IOException {
+        return this.readByte() << 24 | this.readByte() << 16 | this.readByte() << 8 | this.readByte();
+    }
+
+    private int readByte() throws IOException {
+        if (this.position == this.limit && !this.fill()) {
+            throw this.error("Unexpected end of input");
+        }
+        return this.buffer[this.position++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        this.offset += this.limit;
+        this.position = 0;
+        this.limit = 0;
+        final int read = this.input.read(this.buffer);
+        if (read <= 0) {
+            return false;
+        }
+        this.limit = read;
+        return true;
+    }
+
+    private ParsingException error(final String message) {
+        return new ParsingException(UNKNOWN_POS, UNKNOWN_POS, null, message + " (at byte " + (this.offset + this.position) + ")", null);
+    }
+
+}
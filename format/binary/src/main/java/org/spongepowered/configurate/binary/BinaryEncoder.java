@@ -0,0 +1,281 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.binary;
+
+import static org.spongepowered.configurate.binary.BinaryFormat.BUFFER_SIZE;
+import static org.spongepowered.configurate.binary.BinaryFormat.DOUBLE;
+import static org.spongepowered.configurate.binary.BinaryFormat.FALSE;
+import static org.spongepowered.configurate.binary.BinaryFormat.FLAG_COMMENT;
+import static org.spongepowered.configurate.binary.BinaryFormat.FLAG_HINTS;
+import static org.spongepowered.configurate.binary.BinaryFormat.FLOAT;
+import static org.spongepowered.configurate.binary.BinaryFormat.INT;
+import static org.spongepowered.configurate.binary.BinaryFormat.LIST;
+import static org.spongepowered.configurate.binary.BinaryFormat.LONG;
+import static org.spongepowered.configurate.binary.BinaryFormat.MAGIC;
+import static org.spongepowered.configurate.binary.BinaryFormat.MAP;
+import static org.spongepowered.configurate.binary.BinaryFormat.NULL;
+import static org.spongepowered.configurate.binary.BinaryFormat.STRING;
+import static org.spongepowered.configurate.binary.BinaryFormat.TRUE;
+import static org.spongepowered.configurate.binary.BinaryFormat.VERSION;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.CommentedConfigurationNodeIntermediary;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.RepresentationHint;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a node tree as a binary snapshot.
+ *
+ * <p>Instances are single-use.</p>
+ */
+final class BinaryEncoder {
+
+    private final OutputStream output;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    BinaryEncoder(final OutputStream output) {
+        this.output = output;
+    }
+
+    /**
+     * Write a complete snapshot of the node, flushing the output.
+     *
+     * @param node the root node
+     * @throws IOException if the output could not be written
+     */
+    void write(final ConfigurationNode node) throws IOException {
+        this.writeBytes(MAGIC);
+        this.writeByte(VERSION);
+        this.writeNode(node);
+        this.drain();
+        this.output.flush();
+    }
+
+    private void writeNode(final ConfigurationNode node) throws IOException {
+        final @Nullable String comment = node instanceof CommentedConfigurationNodeIntermediary<?>
+            ? ((CommentedConfigurationNodeIntermediary<?>) node).comment() : null;
+        final Map<RepresentationHint<?>, ?> hints = node.ownHints();
+        int hintCount = 0;
+        for (final Object value : hints.values()) {
+            if (isStorable(value)) {
+                hintCount++;
+            }
+        }
+
+        final int type;
+        final @Nullable Object value;
+        if (node.isMap()) {
+            type = MAP;
+            value = null;
+        } else if (node.isList()) {
+            type = LIST;
+            value = null;
+        } else {
+            value = node.rawScalar();
+            type = scalarType(value);
+        }
+
+        this.writeByte(type | (comment == null ? 0 : FLAG_COMMENT) | (hintCount == 0 ? 0 : FLAG_HINTS));
+        if (comment != null) {
+            this.writeString(comment);
+        }
+        if (hintCount != 0) {
+            this.writeVarInt(hintCount);
+            for (final Map.Entry<RepresentationHint<?>, ?> hint : hints.entrySet()) {
+                if (isStorable(hint.getValue())) {
+                    this.writeString(hint.getKey().identifier());
+                    this.writeScalar(hint.getValue() instanceof Enum<?> ? ((Enum<?>) hint.getValue()).name() : hint.getValue());
+                }
+            }
+        }
+
+        if (type == MAP) {
+            final Map<Object, ? extends ConfigurationNode> children = node.childrenMap();
+            this.writeVarInt(children.size());
+            for (final Map.Entry<Object, ? extends ConfigurationNode> child : children.entrySet()) {
+                this.writeScalar(child.getKey());
+                this.writeNode(child.getValue());
+            }
+        } else if (type == LIST) {
+            // packed elements are read without creating a child node for each
+            final @Nullable Object packed = node.packedList();
+            if (packed != null) {
+                this.writePackedElements(packed);
+            } else {
+                final List<? extends ConfigurationNode> children = node.childrenList();
+                this.writeVarInt(children.size());
+                for (final ConfigurationNode child : children) {
+                    this.writeNode(child);
+                }
+            }
+        } else {
+            this.writeScalarValue(type, value);
+        }
+    }
+
+    // packed elements have no comment or hints, so each is just a scalar
+    private void writePackedElements(final Object packed) throws IOException {
+        final int length = Array.getLength(packed);
+        this.writeVarInt(length);
+        for (int i = 0; i < length; ++i) {
+            this.writeScalar(Array.get(packed, i));
+        }
+    }
+
+    // hints are only written when their value can be restored from a scalar
+    private static boolean isStorable(final @Nullable Object value) {
+        return value instanceof String || value instanceof Boolean || value instanceof Number || value instanceof Enum<?>;
+    }
+
+    /**
+     * Get the type a scalar is written as.
+     *
+     * <p>Values without a binary representation of their own are written as
+     * their string form.</p>
+     *
+     * @param value the scalar value
+     * @return the value type
+     */
+    private static int scalarType(final @Nullable Object value) {
+        if (value == null) {
+            return NULL;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? TRUE : FALSE;
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return INT;
+        } else if (value instanceof Long) {
+            return LONG;
+        } else if (value instanceof Float) {
+            return FLOAT;
+        } else if (value instanceof Double) {
+            return DOUBLE;
+        } else {
+            return STRING;
+        }
+    }
+
+    private void writeScalar(final @Nullable Object value) throws IOException {
+        final int type = scalarType(value);
+        this.writeByte(type);
+        this.writeScalarValue(type, value);
+    }
+
+    private void writeScalarValue(final int type, final @Nullable Object value) throws IOException {
+        switch (type) {
+            case INT:
+                final int intValue = ((Number) value).intValue();
+                this.writeVarInt((intValue << 1) ^ (intValue >> 31));
+                break;
+            case LONG:
+                final long longValue = (Long) value;
+                this.writeVarLong((longValue << 1) ^ (longValue >> 63));
+                break;
+            case FLOAT:
+                this.writeInt(Float.floatToIntBits((Float) value));
+                break;
+            case DOUBLE:
+                final long bits = Double.doubleToLongBits((Double) value);
+                this.writeInt((int) (bits >>> 32));
+                this.writeInt((int) bits);
+                break;
+            case STRING:
+                this.writeString(String.valueOf(value));
+                break;
+            default:
+                // the type holds the whole value
+                break;
+        }
+    }
+
+    private void writeString(final String value) throws IOException {
+        final @Nullable Integer index = this.strings.get(value);
+        if (index != null) {
+            this.writeVarInt(index + 1);
+            return;
+        }
+        this.strings.put(value, this.strings.size());
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        this.writeVarInt(0);
+        this.writeVarInt(bytes.length);
+        this.writeBytes(bytes);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        this.ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            this.buffer[this.position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        this.ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            this.buffer[this.position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    private void writeInt(final int value) throws IOException {
+        this.ensureCapacity(4);
+        this.buffer[this.position++] = (byte) (value >>> 24);
+        this.buffer[this.position++] = (byte) (value >>> 16);
+        this.buffer[this.position++] = (byte) (value >>> 8);
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    private void writeByte(final int value) throws IOException {
+        this.ensureCapacity(1);
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    private void writeBytes(final byte[] bytes) throws IOException {
+        if (bytes.length > this.buffer.length - this.position) {
+            this.drain();
+            if (bytes.length > this.buffer.length) {
+                this.output.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+        this.position += bytes.length;
+    }
+
+    private void ensureCapacity(final int length) throws IOException {
+        if (this.buffer.length - this.position < length) {
+            this.drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        this.output.write(this.buffer, 0, this.position);
+        this.position = 0;
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.binary;
+
+/**
+ * Constants shared by the binary encoder and decoder.
+ *
+ * <p>A snapshot starts with {@link #MAGIC} and a {@link #VERSION} byte,
+ * followed by the root node. Each node is a tag byte, holding its type in
+ * the low bits and {@link #FLAG_COMMENT}/{@link #FLAG_HINTS} in the high
+ * bits, then the comment and hints if flagged, then the value:</p>
+ *
+ * <ul>
+ *     <li>maps are a varint entry count, then each key as a scalar followed
+ *     by the child node</li>
+ *     <li>lists are a varint element count, then each element node</li>
+ *     <li>integers and longs are zigzag-encoded varints</li>
+ *     <li>floats and doubles are their big-endian IEEE 754 bits</li>
+ *     <li>strings are string references</li>
+ * </ul>
+ *
+ * <p>Hints are a varint count of identifier string references, each followed
+ * by a scalar value. A string reference is a varint: {@code 0} introduces
+ * a new string as a varint byte length and its UTF-8 bytes, appending it to
+ * the string table, and any other value {@code n} refers to entry
+ * {@code n - 1} of the table.</p>
+ */
+final class BinaryFormat {
+
+    static final byte[] MAGIC = {'C', 'F', 'G', 'B'};
+    static final int VERSION = 1;
+
+    static final int TYPE_MASK = 0x0F;
+    static final int FLAG_COMMENT = 0x10;
+    static final int FLAG_HINTS = 0x20;
+
+    static final int NULL = 0;
+    static final int MAP = 1;
+    static final int LIST = 2;
+    static final int STRING = 3;
+    static final int TRUE = 4;
+    static final int FALSE = 5;
+    static final int INT = 6;
+    static final int LONG = 7;
+    static final int FLOAT = 8;
+    static final int DOUBLE = 9;
+
+    static final int BUFFER_SIZE = 8192;
+
+    private BinaryFormat() {}
+
+}
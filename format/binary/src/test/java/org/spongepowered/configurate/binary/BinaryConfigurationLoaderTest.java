@@ -0,0 +1,235 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.binary;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.RepresentationHint;
+import org.spongepowered.configurate.loader.ByteSource;
+import org.spongepowered.configurate.loader.ParseCache;
+import org.spongepowered.configurate.loader.ParsingException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class BinaryConfigurationLoaderTest {
+
+    private static final RepresentationHint<Style> STYLE = RepresentationHint.of("style", Style.class);
+    private static final RepresentationHint<String> NAME = RepresentationHint.of("name", String.class);
+
+    enum Style {
+        BLOCK,
+        FLOW
+    }
+
+    @Test
+    void testRoundTrip(final @TempDir Path tempDir) throws ConfigurateException {
+        final char[] longText = new char[20000];
+        Arrays.fill(longText, 'ä');
+        final CommentedConfigurationNode node = CommentedConfigurationNode.root(n -> {
+            n.node("strings", "plain").raw("hello").comment("a greeting");
+            n.node("strings", "unicode").raw("☃ snow 😀");
+            n.node("strings", "long").raw(new String(longText));
+            n.node("numbers", "int").raw(-42);
+            n.node("numbers", "long").raw(Long.MIN_VALUE);
+            n.node("numbers", "float").raw(1.5f);
+            n.node("numbers", "double").raw(-0.25d);
+            n.node("booleans").raw(Arrays.asList(true, false));
+            n.node("nested").act(c -> {
+                for (int i = 0; i < 3; ++i) {
+                    c.appendListNode().node("id").raw(i).comment("entry " + i);
+                }
+            });
+            n.node("mixed").raw(Arrays.asList(1, "two", 3.0));
+            n.node("empty-map").raw(Collections.emptyMap());
+            n.node("empty-list").raw(Collections.emptyList());
+            n.node("int-keys").raw(Collections.emptyMap()).node(5).raw("five");
+        });
+
+        final BinaryConfigurationLoader loader = BinaryConfigurationLoader.builder()
+            .path(tempDir.resolve("snapshot.bin"))
+            .build();
+        loader.save(node);
+        final CommentedConfigurationNode loaded = loader.load();
+
+        assertEquals(node, loaded);
+        assertEquals("a greeting", loaded.node("strings", "plain").comment());
+        assertEquals("entry 2", loaded.node("nested", 2, "id").comment());
+        assertEquals(Long.MIN_VALUE, loaded.node("numbers", "long").raw());
+        assertEquals(1.5f, loaded.node("numbers", "float").raw());
+        assertEquals("five", loaded.node("int-keys", 5).raw());
+        assertTrue(loaded.node("empty-map").isMap());
+        assertTrue(loaded.node("empty-list").isList());
+    }
+
+    @Test
+    void testScalarListsArePacked() throws ConfigurateException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> n.node("ints").raw(Arrays.asList(1, 2, 3)));
+
+        final ConfigurationNode loaded = load(BinaryConfigurationLoader.builder(), save(node));
+
+        assertArrayEquals(new int[] {1, 2, 3}, loaded.node("ints").packedList(int[].class));
+    }
+
+    @Test
+    void testSavingLeavesListsPacked() throws ConfigurateException {
+        final CommentedConfigurationNode node = CommentedConfigurationNode.root(n -> {
+            n.node("ints").rawPackedList(new int[] {1, 2, 3});
+            n.node("commented").rawPackedList(new double[] {0.5, 1.5});
+        });
+        node.node("commented", 1).comment("second");
+
+        final CommentedConfigurationNode loaded = (CommentedConfigurationNode) load(BinaryConfigurationLoader.builder(), save(node));
+
+        assertArrayEquals(new int[] {1, 2, 3}, node.node("ints").packedList(int[].class));
+        assertEquals(node, loaded);
+        assertEquals("second", loaded.node("commented", 1).comment());
+    }
+
+    @Test
+    void testRegisteredHintsAreRestored() throws ConfigurateException {
+        final CommentedConfigurationNode node = CommentedConfigurationNode.root(n -> {
+            n.node("a").hint(STYLE, Style.FLOW).raw("value");
+            n.node("b").hint(NAME, "bee").raw(2);
+        });
+        final byte[] bytes = save(node);
+
+        final ConfigurationNode restored = load(BinaryConfigurationLoader.builder().representationHints(STYLE, NAME), bytes);
+        assertEquals(Style.FLOW, restored.node("a").hint(STYLE));
+        assertEquals("bee", restored.node("b").hint(NAME));
+
+        final ConfigurationNode unregistered = load(BinaryConfigurationLoader.builder(), bytes);
+        assertNull(unregistered.node("a").hint(STYLE));
+        assertEquals("value", unregistered.node("a").raw());
+    }
+
+    @Test
+    void testRepeatedStringsAreStoredOnce() throws ConfigurateException {
+        final CommentedConfigurationNode node = CommentedConfigurationNode.root();
+        for (int i = 0; i < 1000; ++i) {
+            node.appendListNode().node("a-fairly-long-key-name").raw("a-fairly-long-value");
+        }
+
+        // each element only refers to both strings
+        assertTrue(save(node).length < 10 * 1000);
+    }
+
+    @Test
+    void testInvalidInput() throws ConfigurateException {
+        assertThrows(ParsingException.class, () -> load(BinaryConfigurationLoader.builder(), "{\"a\": 1}".getBytes()));
+
+        final byte[] bytes = save(CommentedConfigurationNode.root(n -> n.node("a").raw("b")));
+        assertThrows(ParsingException.class, () -> load(BinaryConfigurationLoader.builder(), Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+
+    @Test
+    void testCorruptSizes() {
+        // a string claiming the largest length, but ending early
+        assertThrows(ParsingException.class, () -> load(BinaryConfigurationLoader.builder(),
+            snapshot(BinaryFormat.STRING, 0, 0xFF, 0xFF, 0xFF, 0xFF, 0x07, 'a')));
+        // sizes that overflow into negative numbers
+        assertThrows(ParsingException.class, () -> load(BinaryConfigurationLoader.builder(),
+            snapshot(BinaryFormat.STRING, 0, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F, 'a')));
+        assertThrows(ParsingException.class, () -> load(BinaryConfigurationLoader.builder(),
+            snapshot(BinaryFormat.MAP, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F)));
+        assertThrows(ParsingException.class, () -> load(BinaryConfigurationLoader.builder(),
+            snapshot(BinaryFormat.LIST, 0x80, 0x80, 0x80, 0x80, 0x08)));
+    }
+
+    @Test
+    void testRequiresByteSink() {
+        assertThrows(ConfigurateException.class, () -> BinaryConfigurationLoader.builder()
+            .buildAndSaveString(CommentedConfigurationNode.root(n -> n.raw("a"))));
+    }
+
+    @Test
+    void testParseCacheCodec() throws IOException {
+        final CommentedConfigurationNode node = CommentedConfigurationNode.root(n -> {
+            n.node("name").raw("cached").comment("a comment");
+            n.node("values").appendListNode().raw(1);
+            n.node("values").appendListNode().raw(2.5d);
+        });
+
+        final ParseCache.Codec codec = BinaryConfigurationLoader.parseCacheCodec();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        codec.write(node, output);
+
+        final CommentedConfigurationNode commented = CommentedConfigurationNode.root();
+        codec.read(commented, new ByteArrayInputStream(output.toByteArray()));
+        assertEquals(node, commented);
+
+        final BasicConfigurationNode basic = BasicConfigurationNode.root();
+        codec.read(basic, new ByteArrayInputStream(output.toByteArray()));
+        assertEquals("cached", basic.node("name").raw());
+        assertEquals(2.5d, basic.node("values", 1).raw());
+    }
+
+    @Test
+    void testParseCacheLeavesListsPacked(final @TempDir Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("packed.bin");
+        final BinaryConfigurationLoader loader = BinaryConfigurationLoader.builder()
+            .path(file)
+            .parseCache(ParseCache.inDirectory(tempDir.resolve("cache"), BinaryConfigurationLoader.parseCacheCodec()))
+            .build();
+        loader.save(loader.createNode(n -> n.node("ints").rawPackedList(new int[] {1, 2, 3})));
+
+        final ConfigurationNode parsed = loader.load(); // written to the cache
+        assertArrayEquals(new int[] {1, 2, 3}, parsed.node("ints").packedList(int[].class));
+        final ConfigurationNode cached = loader.load(); // read from the cache
+        assertArrayEquals(new int[] {1, 2, 3}, cached.node("ints").packedList(int[].class));
+    }
+
+    private static byte[] save(final ConfigurationNode node) throws ConfigurateException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BinaryConfigurationLoader.builder()
+            .byteSink(() -> output)
+            .build()
+            .save(node);
+        return output.toByteArray();
+    }
+
+    private static byte[] snapshot(final int... body) {
+        final byte[] ret = Arrays.copyOf(BinaryFormat.MAGIC, BinaryFormat.MAGIC.length + 1 + body.length);
+        ret[BinaryFormat.MAGIC.length] = BinaryFormat.VERSION;
+        for (int i = 0; i < body.length; ++i) {
+            ret[BinaryFormat.MAGIC.length + 1 + i] = (byte) body[i];
+        }
+        return ret;
+    }
+
+    private static ConfigurationNode load(final BinaryConfigurationLoader.Builder builder, final byte[] bytes) throws ConfigurateException {
+        return builder.byteSource(ByteSource.buffer(ByteBuffer.wrap(bytes)))
+            .build()
+            .load();
+    }
+
+}
@@ -36,6 +36,7 @@ import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
 import org.spongepowered.configurate.loader.CommentHandler;
 import org.spongepowered.configurate.loader.CommentHandlers;
 import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.loader.PathFilter;
 import org.spongepowered.configurate.serialize.TypeSerializerCollection;
 import org.spongepowered.configurate.util.Strings;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
@@ -43,7 +44,9 @@ import org.spongepowered.configurate.util.UnmodifiableCollections;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -189,13 +192,23 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
 
         try (JsonReader parser = new JsonReader(reader)) {
             parser.setLenient(this.lenient);
-            parseValue(parser, node);
+            final PathFilter filter = this.pathFilter == null ? PathFilter.all() : this.pathFilter;
+            if (skips(filter, parser.peek())) {
+                parser.skipValue();
+            } else {
+                parseValue(parser, node, filter);
+            }
         } catch (final IOException ex) {
             throw ParsingException.wrap(node, ex);
         }
     }
 
-    private void parseValue(final JsonReader parser, final BasicConfigurationNode node) throws ParsingException {
+    @Override
+    protected boolean filtersPaths() {
+        return true;
+    }
+
+    private void parseValue(final JsonReader parser, final BasicConfigurationNode node, final PathFilter filter) throws ParsingException {
         final JsonToken token;
         try {
             token = parser.peek();
@@ -206,19 +219,19 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
         try {
             switch (token) {
                 case BEGIN_OBJECT:
-                    parseObject(parser, node);
+                    parseObject(parser, node, filter);
                     break;
                 case BEGIN_ARRAY:
-                    parseArray(parser, node);
+                    parseArray(parser, node, filter);
                     break;
                 case NUMBER:
-                    node.raw(readNumber(parser));
+                    readNumber(parser, node);
                     break;
                 case STRING:
                     node.raw(parser.nextString());
                     break;
                 case BOOLEAN:
-                    node.raw(parser.nextBoolean());
+                    node.rawBoolean(parser.nextBoolean());
                     break;
                 case NULL: // Ignored values
                     parser.nextNull();
@@ -239,11 +252,36 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
         }
     }
 
+    /**
+     * Get whether a value within a filter is left out of the loaded node.
+     *
+     * <p>Scalars on the way to a filtered path are skipped, as only maps and
+     * lists could hold what is being looked for.</p>
+     */
+    private static boolean skips(final PathFilter filter, final JsonToken token) {
+        return !filter.includesAll() && token != JsonToken.BEGIN_OBJECT && token != JsonToken.BEGIN_ARRAY;
+    }
+
     private ParsingException newException(final JsonReader reader, final ConfigurationNode node, final @Nullable String message,
             final @Nullable Throwable cause) {
         return new ParsingException(node, JsonReaderAccess.lineNumber(reader), JsonReaderAccess.column(reader), null, message, cause);
     }
 
+    private void readNumber(final JsonReader reader, final ConfigurationNode node) throws IOException {
+        final String number = reader.nextString();
+        if (number.contains(".")) {
+            node.rawDouble(Double.parseDouble(number));
+            return;
+        }
+        final long nextLong = Long.parseLong(number);
+        final int nextInt = (int) nextLong;
+        if (nextInt == nextLong) {
+            node.rawInt(nextInt);
+        } else {
+            node.rawLong(nextLong);
+        }
+    }
+
     private Number readNumber(final JsonReader reader) throws IOException {
         final String number = reader.nextString();
         if (number.contains(".")) {
@@ -257,28 +295,47 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
         return nextLong;
     }
 
-    private void parseArray(final JsonReader parser, final BasicConfigurationNode node) throws IOException {
+    private void parseArray(final JsonReader parser, final BasicConfigurationNode node, final PathFilter filter) throws IOException {
         parser.beginArray();
 
+        // leading numbers and booleans are collected so that they can be set
+        // together, allowing the node to store them packed
+        @Nullable List<Object> scalars = filter.includesAll() ? new ArrayList<>() : null;
+        final @Nullable PathFilter elementFilter = filter.element();
         boolean written = false;
         @Nullable JsonToken token;
         while ((token = parser.peek()) != null) {
             if (token == JsonToken.END_ARRAY) {
                 parser.endArray();
-                // ensure the type is preserved
-                if (!written) {
+                if (scalars != null && !scalars.isEmpty()) {
+                    node.raw(scalars);
+                } else if (!written) { // ensure the type is preserved
                     node.raw(Collections.emptyList());
                 }
                 return;
+            } else if (scalars != null && (token == JsonToken.NUMBER || token == JsonToken.BOOLEAN)) {
+                scalars.add(token == JsonToken.NUMBER ? readNumber(parser) : parser.nextBoolean());
+                written = true;
             } else {
-                parseValue(parser, node.appendListNode());
+                if (scalars != null) {
+                    for (final Object scalar : scalars) {
+                        node.appendListNode().raw(scalar);
+                    }
+                    scalars = null;
+                }
+                if (elementFilter == null || skips(elementFilter, token)) {
+                    parser.skipValue();
+                    continue;
+                }
+                parseValue(parser, node.appendListNode(), elementFilter);
                 written = true;
             }
         }
         throw newException(parser, node, "Reached end of stream with unclosed array!", null);
     }
 
-    private void parseObject(final JsonReader parser, final BasicConfigurationNode node) throws ParsingException, IOException {
+    private void parseObject(final JsonReader parser, final BasicConfigurationNode node, final PathFilter filter)
+        throws ParsingException, IOException {
         parser.beginObject();
 
         boolean written = false;
@@ -294,7 +351,13 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
                     }
                     return;
                 case NAME:
-                    parseValue(parser, node.node(parser.nextName()));
+                    final String name = parser.nextName();
+                    final @Nullable PathFilter childFilter = filter.child(name);
+                    if (childFilter == null || skips(childFilter, parser.peek())) {
+                        parser.skipValue();
+                        break;
+                    }
+                    parseValue(parser, node.node(name), childFilter);
                     written = true;
                     break;
                 default:
@@ -16,6 +16,7 @@
  */
 package org.spongepowered.configurate.gson;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -32,6 +33,7 @@ import org.spongepowered.configurate.loader.AtomicFiles;
 import org.spongepowered.configurate.loader.ConfigurationLoader;
 import org.spongepowered.configurate.loader.HeaderMode;
 import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.loader.PathFilter;
 import org.spongepowered.configurate.util.MapFactories;
 
 import java.io.BufferedReader;
@@ -45,6 +47,7 @@ import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 /**
  * Basic sanity checks for the loader.
@@ -151,6 +154,26 @@ public class GsonConfigurationLoaderTest {
         assertEquals(stval, ret.node("string").raw());
     }
 
+    @Test
+    void testLoadingPackedArrays() throws ConfigurateException {
+        final String json = "{\"ints\":[1,2,3],\"mixed\":[1,2.5,\"three\"]}";
+        final StringWriter writer = new StringWriter();
+        final GsonConfigurationLoader loader = GsonConfigurationLoader.builder()
+                .indent(0)
+                .source(() -> new BufferedReader(new StringReader(json)))
+                .sink(() -> new BufferedWriter(writer))
+                .headerMode(HeaderMode.NONE)
+                .build();
+
+        final ConfigurationNode node = loader.load();
+        assertArrayEquals(new int[] {1, 2, 3}, node.node("ints").packedList(int[].class));
+        assertEquals(2, node.node("ints", 1).getInt());
+        assertEquals(Arrays.asList(1, 2.5, "three"), node.node("mixed").raw());
+
+        loader.save(node);
+        assertEquals(json, writer.toString().trim());
+    }
+
     @Test
     void testWriteNonRootNode() throws ConfigurateException {
         // https://github.com/SpongePowered/Configurate/issues/163
@@ -187,4 +210,20 @@ public class GsonConfigurationLoaderTest {
         assertTrue(ex.rawMessage().contains("Unterminated string"));
     }
 
+    @Test
+    void testPathFilter() throws ConfigurateException {
+        final ConfigurationNode node = GsonConfigurationLoader.builder()
+                .pathFilter(PathFilter.of(NodePath.path("servers", PathFilter.ANY, "host"), NodePath.path("db")))
+                .buildAndLoadString("{\"servers\": [{\"host\": \"one\", \"port\": 1}, {\"port\": 2}, 3],"
+                + " \"db\": {\"url\": \"jdbc\", \"pool\": [1, 2]}, \"other\": {\"deep\": [[{\"a\": 1}]]}}");
+
+        assertEquals(2, node.childrenMap().size());
+        assertEquals(2, node.node("servers").childrenList().size());
+        assertEquals("one", node.node("servers", 0, "host").raw());
+        assertTrue(node.node("servers", 0, "port").virtual());
+        assertTrue(node.node("servers", 1).isMap());
+        assertEquals(Arrays.asList(1, 2), node.node("db", "pool").raw());
+        assertTrue(node.node("other").virtual());
+    }
+
 }
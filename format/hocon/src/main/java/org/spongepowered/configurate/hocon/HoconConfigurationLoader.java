@@ -21,18 +21,14 @@ import com.typesafe.config.ConfigException;
 import com.typesafe.config.ConfigFactory;
 import com.typesafe.config.ConfigList;
 import com.typesafe.config.ConfigObject;
-import com.typesafe.config.ConfigOrigin;
-import com.typesafe.config.ConfigOriginFactory;
-import com.typesafe.config.ConfigRenderOptions;
 import com.typesafe.config.ConfigValue;
-import com.typesafe.config.ConfigValueFactory;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.configurate.CommentedConfigurationNode;
-import org.spongepowered.configurate.CommentedConfigurationNodeIntermediary;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.ConfigurationOptions;
 import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
+import org.spongepowered.configurate.loader.ByteSource;
 import org.spongepowered.configurate.loader.CommentHandler;
 import org.spongepowered.configurate.loader.CommentHandlers;
 import org.spongepowered.configurate.loader.ParsingException;
@@ -41,20 +37,29 @@ import org.spongepowered.configurate.util.UnmodifiableCollections;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Writer;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
 import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 
 /**
- * A loader for HOCON (Hodor)-formatted configurations, using the
+ * A loader for HOCON (Hodor)-formatted configurations.
+ *
+ * <p>Documents are read directly into nodes, keeping the order of their
+ * keys. Includes and substitutions are supported, with substitutions
+ * resolved once the whole document has been read. The
  * <a href="https://github.com/lightbend/config">lightbend config</a> library
- * for parsing and generation.
+ * can be used for parsing instead, see
+ * {@link Builder#lightbendParser(boolean)}.</p>
+ *
+ * <p>Output is written as each node is visited, without building any
+ * intermediate representation of the document. Keys are sorted as they
+ * are written, so saving a loaded document gives the same output with
+ * either parser, unless {@link Builder#sortKeys(boolean)} is disabled.</p>
  *
  * @since 4.0.0
  */
@@ -63,18 +68,6 @@ public final class HoconConfigurationLoader extends AbstractConfigurationLoader<
     private static final Set<Class<?>> NATIVE_TYPES = UnmodifiableCollections.toSet(
             Double.class, Long.class, Integer.class, Boolean.class, String.class, Number.class);
 
-    /**
-     * The default render options used by configurate.
-     */
-    private static final ConfigRenderOptions DEFAULT_RENDER_OPTIONS = ConfigRenderOptions.defaults()
-            .setOriginComments(false)
-            .setJson(false);
-
-    /**
-     * An instance of {@link ConfigOrigin} for configurate.
-     */
-    private static final ConfigOrigin CONFIGURATE_ORIGIN = ConfigOriginFactory.newSimple("configurate-hocon");
-
     /**
      * Creates a new {@link HoconConfigurationLoader} builder.
      *
@@ -91,24 +84,60 @@ public final class HoconConfigurationLoader extends AbstractConfigurationLoader<
      * @since 4.0.0
      */
     public static final class Builder extends AbstractConfigurationLoader.Builder<Builder, HoconConfigurationLoader> {
-        private ConfigRenderOptions render = DEFAULT_RENDER_OPTIONS;
+        private boolean prettyPrinting = true;
+        private boolean emitComments = true;
+        private boolean jsonCompatible;
+        private boolean sortKeys = true;
+        private boolean lightbendParser;
+        private @Nullable URL origin;
 
         Builder() {
         }
 
+        @Override
+        public Builder path(final Path path) {
+            super.path(path);
+            try {
+                this.origin = path.toAbsolutePath().toUri().toURL();
+            } catch (final MalformedURLException ex) {
+                this.origin = null;
+            }
+            return this;
+        }
+
+        @Override
+        public Builder url(final URL url) {
+            super.url(url);
+            this.origin = url;
+            return this;
+        }
+
+        @Override
+        public Builder source(final @Nullable Callable<BufferedReader> source) {
+            super.source(source);
+            this.origin = null;
+            return this;
+        }
+
+        @Override
+        public Builder byteSource(final @Nullable ByteSource source) {
+            super.byteSource(source);
+            this.origin = null;
+            return this;
+        }
+
         /**
          * Set whether output from this loader will be pretty-printed or not.
          *
          * <p>Output will always print with a fixed indent of 4 spaces per
-         * level. This is a limitation of the underlying library, so it may
-         * become customizable at some point in the future.</p>
+         * level.</p>
          *
          * @param prettyPrinting whether to pretty-print
          * @return this builder
          * @since 4.0.0
          */
         public Builder prettyPrinting(final boolean prettyPrinting) {
-            this.render = this.render.setFormatted(prettyPrinting);
+            this.prettyPrinting = prettyPrinting;
             return this;
         }
 
@@ -123,7 +152,7 @@ public final class HoconConfigurationLoader extends AbstractConfigurationLoader<
          * @since 4.0.0
          */
         public Builder emitComments(final boolean emitComments) {
-            this.render = this.render.setComments(emitComments);
+            this.emitComments = emitComments;
             return this;
         }
 
@@ -140,10 +169,64 @@ public final class HoconConfigurationLoader extends AbstractConfigurationLoader<
          * @since 4.0.0
          */
         public Builder emitJsonCompatible(final boolean jsonCompatible) {
-            this.render = this.render.setJson(jsonCompatible);
+            this.jsonCompatible = jsonCompatible;
+            return this;
+        }
+
+        /**
+         * Set whether the keys of each object are sorted when written.
+         *
+         * <p>By default, keys are sorted, with numeric keys first. When
+         * disabled, keys are written in the order of each node's
+         * children.</p>
+         *
+         * @param sortKeys whether to sort keys
+         * @return this builder
+         * @since 4.2.0
+         */
+        public Builder sortKeys(final boolean sortKeys) {
+            this.sortKeys = sortKeys;
+            return this;
+        }
+
+        /**
+         * Get whether the keys of each object are sorted when written.
+         *
+         * @return whether to sort keys
+         * @since 4.2.0
+         */
+        public boolean sortKeys() {
+            return this.sortKeys;
+        }
+
+        /**
+         * Set whether documents are parsed using the lightbend
+         * config library.
+         *
+         * <p>By default, documents are read directly into nodes. The
+         * lightbend parser builds its own tree of the whole document first,
+         * and does not keep the order of keys.</p>
+         *
+         * @param lightbendParser whether to use the lightbend parser
+         * @return this builder
+         * @since 4.2.0
+         */
+        public Builder lightbendParser(final boolean lightbendParser) {
+            this.lightbendParser = lightbendParser;
             return this;
         }
 
+        /**
+         * Get whether documents are parsed using the lightbend
+         * config library.
+         *
+         * @return whether to use the lightbend parser
+         * @since 4.2.0
+         */
+        public boolean lightbendParser() {
+            return this.lightbendParser;
+        }
+
         @Override
         public HoconConfigurationLoader build() {
             defaultOptions(o -> o.nativeTypes(NATIVE_TYPES));
@@ -151,11 +234,21 @@ public final class HoconConfigurationLoader extends AbstractConfigurationLoader<
         }
     }
 
-    private final ConfigRenderOptions render;
+    private final boolean prettyPrinting;
+    private final boolean emitComments;
+    private final boolean jsonCompatible;
+    private final boolean sortKeys;
+    private final boolean lightbendParser;
+    private final @Nullable URL origin;
 
     private HoconConfigurationLoader(final Builder build) {
         super(build, new CommentHandler[] {CommentHandlers.HASH, CommentHandlers.DOUBLE_SLASH});
-        this.render = build.render;
+        this.prettyPrinting = build.prettyPrinting;
+        this.emitComments = build.emitComments;
+        this.jsonCompatible = build.jsonCompatible;
+        this.sortKeys = build.sortKeys;
+        this.lightbendParser = build.lightbendParser;
+        this.origin = build.origin;
     }
 
     @Override
@@ -167,6 +260,21 @@ public final class HoconConfigurationLoader extends AbstractConfigurationLoader<
 
     @Override
     protected void loadInternal(final CommentedConfigurationNode node, final BufferedReader reader) throws ParsingException {
+        if (this.lightbendParser) {
+            loadLightbend(node, reader);
+            return;
+        }
+
+        try {
+            final HoconSubstitutions substitutions = new HoconSubstitutions(node, null);
+            new HoconParser(reader, this.origin, substitutions).parseDocument(node);
+            substitutions.resolveAll();
+        } catch (final IOException ex) {
+            throw ParsingException.wrap(node, ex);
+        }
+    }
+
+    private static void loadLightbend(final CommentedConfigurationNode node, final BufferedReader reader) throws ParsingException {
         Config hoconConfig;
         try {
             hoconConfig = ConfigFactory.parseReader(reader);
@@ -230,87 +338,15 @@ public final class HoconConfigurationLoader extends AbstractConfigurationLoader<
                 writer.write(SYSTEM_LINE_SEPARATOR);
                 return;
             }
-            final ConfigValue value = fromValue(node);
-            final String renderedValue = value.render(this.render);
-            writer.write(renderedValue);
+            new HoconVisitor(this.prettyPrinting, this.emitComments, this.jsonCompatible, this.sortKeys).write(node, writer);
         } catch (final IOException io) {
             throw new ConfigurateException(node, io);
         }
     }
 
-    private static ConfigValue fromValue(final ConfigurationNode node) {
-        ConfigValue ret;
-        if (node.isMap()) {
-            final Map<String, ConfigValue> children = node.options().mapFactory().create();
-            for (Map.Entry<Object, ? extends ConfigurationNode> ent : node.childrenMap().entrySet()) {
-                children.put(String.valueOf(ent.getKey()), fromValue(ent.getValue()));
-            }
-            ret = newConfigObject(children);
-        } else if (node.isList()) {
-            final List<ConfigValue> children = new ArrayList<>();
-            for (ConfigurationNode ent : node.childrenList()) {
-                children.add(fromValue(ent));
-            }
-            ret = newConfigList(children);
-
-        } else {
-            ret = ConfigValueFactory.fromAnyRef(node.rawScalar(), CONFIGURATE_ORIGIN.description());
-        }
-        if (node instanceof CommentedConfigurationNodeIntermediary<?>) {
-            final CommentedConfigurationNodeIntermediary<?> commentedNode = (CommentedConfigurationNodeIntermediary<?>) node;
-            final @Nullable String origComment = commentedNode.comment();
-            if (origComment != null) {
-                ret = ret.withOrigin(ret.origin().withComments(Arrays.asList(CONFIGURATE_LINE_PATTERN.split(origComment))));
-            }
-        }
-        return ret;
-    }
-
-    static ConfigValue newConfigObject(final Map<String, ConfigValue> vals) {
-        try {
-            return CONFIG_OBJECT_CONSTRUCTOR.newInstance(CONFIGURATE_ORIGIN, vals);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException(e); // rethrow
-        }
-
-    }
-
-    static ConfigValue newConfigList(final List<ConfigValue> vals) {
-        try {
-            return CONFIG_LIST_CONSTRUCTOR.newInstance(CONFIGURATE_ORIGIN, vals);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException(e); // rethrow
-        }
-    }
-
     @Override
     public CommentedConfigurationNode createNode(final ConfigurationOptions options) {
         return CommentedConfigurationNode.root(options.nativeTypes(NATIVE_TYPES));
     }
 
-    // -- Comment handling -- this might have to be updated as the hocon dep changes
-    // (But tests should detect this breakage)
-    private static final Constructor<? extends ConfigValue> CONFIG_OBJECT_CONSTRUCTOR;
-    private static final Constructor<? extends ConfigValue> CONFIG_LIST_CONSTRUCTOR;
-
-    static {
-        final Class<? extends ConfigValue> objectClass;
-        final Class<? extends ConfigValue> listClass;
-        try {
-            objectClass = Class.forName("com.typesafe.config.impl.SimpleConfigObject").asSubclass(ConfigValue.class);
-            listClass = Class.forName("com.typesafe.config.impl.SimpleConfigList").asSubclass(ConfigValue.class);
-        } catch (final ClassNotFoundException e) {
-            throw new ExceptionInInitializerError(e);
-        }
-
-        try {
-            CONFIG_OBJECT_CONSTRUCTOR = objectClass.getDeclaredConstructor(ConfigOrigin.class, Map.class);
-            CONFIG_OBJECT_CONSTRUCTOR.setAccessible(true);
-            CONFIG_LIST_CONSTRUCTOR = listClass.getDeclaredConstructor(ConfigOrigin.class, List.class);
-            CONFIG_LIST_CONSTRUCTOR.setAccessible(true);
-        } catch (final NoSuchMethodException e) {
-            throw new ExceptionInInitializerError(e);
-        }
-    }
-
 }
@@ -0,0 +1,1071 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.hocon;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.NodePath;
+import org.spongepowered.configurate.loader.ParsingException;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * A HOCON reader that builds nodes as it reads the document.
+ *
+ * <p>Substitutions are recorded with a {@link HoconSubstitutions} registry
+ * and resolved once the document has been read. Documents without any
+ * substitutions are read in a single pass.</p>
+ */
+final class HoconParser {
+
+    private static final int EOF = -1;
+    private static final int BUFFER_SIZE = 8192;
+    private static final String[] EXTENSIONS = {".properties", ".json", ".conf"};
+    private static final boolean[] UNQUOTED = new boolean[128];
+
+    static {
+        for (char c = '!'; c < 128; ++c) {
+            UNQUOTED[c] = "$\"{}[]:=,+#`^?!@*&\\".indexOf(c) == -1;
+        }
+    }
+
+    private final Reader reader;
+    private final @Nullable URL origin;
+    private final @Nullable HoconParser parent;
+    private final NodePath prefix;
+    private HoconSubstitutions substitutions;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long offset;
+    private int line = 1;
+    private long lineStart;
+
+    private final StringBuilder scratch = new StringBuilder();
+    private final StringBuilder whitespace = new StringBuilder();
+    private final StringBuilder comment = new StringBuilder();
+    private boolean commented;
+    private boolean separated;
+
+    /**
+     * Create a parser for a document.
+     *
+     * @param reader the document source
+     * @param origin the location of the document, used to find
+     *     relative includes
+     * @param substitutions the registry for values with substitutions
+     */
+    HoconParser(final Reader reader, final @Nullable URL origin, final HoconSubstitutions substitutions) {
+        this(reader, origin, null, NodePath.path(), substitutions);
+    }
+
+    private HoconParser(
+        final Reader reader,
+        final @Nullable URL origin,
+        final @Nullable HoconParser parent,
+        final NodePath prefix,
+        final HoconSubstitutions substitutions
+    ) {
+        this.reader = reader;
+        this.origin = origin;
+        this.parent = parent;
+        this.prefix = prefix;
+        this.substitutions = substitutions;
+    }
+
+    /**
+     * Read a document, merging its fields into a node.
+     *
+     * @param node the node to read into
+     * @throws IOException if the document could not be read or is invalid
+     */
+    void parseDocument(final CommentedConfigurationNode node) throws IOException {
+        this.skipToContent();
+        final int c = this.peek();
+        if (c == '{') {
+            this.skip();
+            this.takeComment();
+            this.parseObject(node, '}');
+            this.skipToContent();
+            if (this.peek() != EOF) {
+                throw this.error("Expected end of input but found " + this.describe(this.peek()));
+            }
+        } else if (c == '[') {
+            throw this.error("A HOCON document must be an object, not a list");
+        } else {
+            this.parseObject(node, EOF);
+        }
+    }
+
+    private void parseObject(final CommentedConfigurationNode node, final int closing) throws IOException {
+        this.separated = true;
+        while (true) {
+            this.skipToContent();
+            final int c = this.peek();
+            if (c == ',' && !this.separated) {
+                // the separator of the previous field, after a new line
+                this.skip();
+                this.separated = true;
+            } else if (c == closing) {
+                if (c != EOF) {
+                    this.skip();
+                }
+                this.takeComment();
+                return;
+            } else if (c == EOF) {
+                throw this.error("Expected '}' but found end of input");
+            } else if (this.isInclude()) {
+                this.takeComment();
+                this.parseInclude(node);
+                this.endValue(closing);
+            } else {
+                this.parseField(node, closing);
+            }
+        }
+    }
+
+    private void parseField(final CommentedConfigurationNode parent, final int closing) throws IOException {
+        @Nullable String comment = this.takeComment();
+        CommentedConfigurationNode target = parent;
+        for (final String key : this.readPath()) {
+            target = target.node(key);
+        }
+        if (!this.substitutions.isEmpty()) {
+            this.substitutions.assigned(target.path());
+        }
+
+        final int c = this.peek();
+        boolean append = false;
+        if (c == '=' || c == ':') {
+            this.skip();
+        } else if (c == '+' && this.peek(1) == '=') {
+            this.skip();
+            this.skip();
+            append = true;
+        } else if (c != '{') {
+            throw this.error("Expected ':' or '=' after a key, but found " + this.describe(c));
+        }
+
+        this.skipToContent();
+        comment = join(comment, this.takeComment());
+        final boolean merged;
+        if (append) {
+            this.appendValue(target);
+            merged = true;
+        } else {
+            merged = this.parseValue(target);
+        }
+        applyComment(target, withTrailing(comment, this.endValue(closing)), merged);
+    }
+
+    private void parseList(final CommentedConfigurationNode list) throws IOException {
+        this.separated = true;
+        while (true) {
+            this.skipToContent();
+            final int c = this.peek();
+            if (c == ',' && !this.separated) {
+                this.skip();
+                this.separated = true;
+                continue;
+            } else if (c == ']') {
+                this.skip();
+                this.takeComment();
+                return;
+            }
+            final @Nullable String comment = this.takeComment();
+            final CommentedConfigurationNode element = list.appendListNode();
+            this.parseValue(element);
+            applyComment(element, withTrailing(comment, this.endValue(']')), false);
+        }
+    }
+
+    /**
+     * Read the end of a value: an optional comma, then a comment, a new line,
+     * or the end of the enclosing object or list.
+     *
+     * <p>A comma may also start the line after the value.</p>
+     *
+     * @return a comment following the value on the same line
+     */
+    private @Nullable String endValue(final int closing) throws IOException {
+        this.skipInlineWhitespace();
+        int c = this.peek();
+        final boolean comma = c == ',';
+        this.separated = comma;
+        if (comma) {
+            this.skip();
+            this.skipInlineWhitespace();
+            c = this.peek();
+        }
+
+        if (this.isCommentStart(c)) {
+            return this.readComment();
+        } else if (comma || c == '\n' || c == EOF || c == closing) {
+            return null;
+        }
+        throw this.error("Expected ',' or a new line after a value, but found " + this.describe(c));
+    }
+
+    /**
+     * Read a value into a node.
+     *
+     * @return whether the value was an object merged with an existing object
+     */
+    private boolean parseValue(final CommentedConfigurationNode target) throws IOException {
+        final int c = this.peek();
+        if (c == '{') {
+            this.skip();
+            final boolean merged = target.isMap();
+            if (!merged) {
+                this.replace(target, Collections.emptyMap());
+            }
+            this.parseObject(target, '}');
+            this.concatenate(target, true);
+            return merged;
+        } else if (c == '[') {
+            this.skip();
+            this.replace(target, Collections.emptyList());
+            this.parseList(target);
+            this.concatenate(target, false);
+            return false;
+        } else {
+            this.parseScalar(target);
+            return false;
+        }
+    }
+
+    /**
+     * Read any values following an object or list on the same line.
+     *
+     * <p>Objects merge and lists are joined as they are read. Once a
+     * substitution is found, the rest of the value is resolved later.</p>
+     */
+    private void concatenate(final CommentedConfigurationNode target, final boolean object) throws IOException {
+        while (true) {
+            this.skipInlineWhitespace();
+            final int c = this.peek();
+            if (object && c == '{') {
+                this.skip();
+                this.parseObject(target, '}');
+            } else if (!object && c == '[') {
+                this.skip();
+                this.parseList(target);
+            } else if (this.isReferenceStart(c)) {
+                final List<Object> pieces = new ArrayList<>();
+                pieces.add(CommentedConfigurationNode.root(target.options()).from(target));
+                this.readPieces(pieces);
+                this.register(target, pieces);
+                return;
+            } else if (this.isValueStart(c)) {
+                throw this.error("Cannot concatenate " + (object ? "an object" : "a list") + " with a value of another type");
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void parseScalar(final CommentedConfigurationNode target) throws IOException {
+        final int c = this.peek();
+        final Object first;
+        boolean unquoted = false;
+        if (c == '"') {
+            first = this.readQuoted();
+        } else if (this.isReferenceStart(c)) {
+            first = this.readReference();
+        } else if (this.isUnquotedStart(c)) {
+            first = this.readUnquoted(false);
+            unquoted = true;
+        } else {
+            throw this.error("Expected a value but found " + this.describe(c));
+        }
+
+        this.readInlineWhitespace();
+        if (!this.isValueStart(this.peek())) {
+            if (first instanceof HoconSubstitutions.Reference) {
+                final List<Object> pieces = new ArrayList<>(1);
+                pieces.add(first);
+                this.register(target, pieces);
+            } else {
+                this.replace(target, unquoted ? unquotedValue((String) first) : first);
+            }
+            return;
+        }
+
+        final List<Object> pieces = new ArrayList<>();
+        pieces.add(first);
+        pieces.add(this.whitespace.toString());
+        this.readPieces(pieces);
+        boolean text = true;
+        for (final Object piece : pieces) {
+            text &= piece instanceof String;
+        }
+        if (text) {
+            final StringBuilder value = new StringBuilder();
+            for (final Object piece : pieces) {
+                value.append((String) piece);
+            }
+            this.replace(target, value.toString());
+        } else if (!hasReference(pieces)) {
+            throw this.error("Cannot concatenate an object or list with a value of another type");
+        } else {
+            this.register(target, pieces);
+        }
+    }
+
+    /**
+     * Read the remaining pieces of a concatenation on the current line,
+     * keeping the whitespace between them.
+     */
+    private void readPieces(final List<Object> pieces) throws IOException {
+        while (true) {
+            final int c = this.peek();
+            if (c == '"') {
+                pieces.add(this.readQuoted());
+            } else if (this.isReferenceStart(c)) {
+                pieces.add(this.readReference());
+            } else if (c == '{' || c == '[') {
+                pieces.add(this.readDetached());
+            } else {
+                pieces.add(this.readUnquoted(false));
+            }
+
+            this.readInlineWhitespace();
+            if (!this.isValueStart(this.peek())) {
+                return;
+            }
+            pieces.add(this.whitespace.toString());
+        }
+    }
+
+    /**
+     * Read an object or list that is part of a value with substitutions.
+     *
+     * <p>The value is read into its own tree, since it is only combined with
+     * the rest of the value once substitutions are resolved.</p>
+     */
+    private Object readDetached() throws IOException {
+        final HoconSubstitutions outer = this.substitutions;
+        final CommentedConfigurationNode node = CommentedConfigurationNode.root(outer.root().options());
+        final HoconSubstitutions local = new HoconSubstitutions(node, outer.document());
+        this.substitutions = local;
+        try {
+            this.parseValue(node);
+        } finally {
+            this.substitutions = outer;
+        }
+        return local.isEmpty() ? node : new HoconSubstitutions.Detached(local);
+    }
+
+    private void appendValue(final CommentedConfigurationNode target) throws IOException {
+        if (!this.substitutions.isEmpty()) {
+            this.substitutions.ensureResolved(target.path());
+        }
+        if (target.virtual()) {
+            target.raw(Collections.emptyList());
+        } else if (!target.isList()) {
+            throw this.error("Cannot append to a value that is not a list");
+        }
+        this.parseValue(target.appendListNode());
+    }
+
+    private void replace(final CommentedConfigurationNode target, final @Nullable Object value) {
+        if (!this.substitutions.isEmpty()) {
+            this.substitutions.replaced(target.path());
+        }
+        target.raw(value);
+    }
+
+    /**
+     * Record a value containing substitutions, to be resolved once the
+     * document has been read.
+     *
+     * <p>A substitution of the path being assigned refers to the value the
+     * path held before, so it is resolved immediately.</p>
+     */
+    private void register(final CommentedConfigurationNode target, final List<Object> pieces) throws IOException {
+        if (this.substitutions.isDocument()) {
+            final NodePath path = target.path();
+            for (int i = pieces.size() - 1; i >= 0; --i) {
+                final Object piece = pieces.get(i);
+                if (piece instanceof HoconSubstitutions.Reference && ((HoconSubstitutions.Reference) piece).refersTo(path)) {
+                    final @Nullable CommentedConfigurationNode previous = this.substitutions.lookup((HoconSubstitutions.Reference) piece);
+                    if (previous == null) {
+                        pieces.remove(i);
+                    } else {
+                        pieces.set(i, previous);
+                    }
+                }
+            }
+        }
+
+        final boolean placeholder = target.virtual();
+        if (placeholder) {
+            // hold the position of the value until it is resolved
+            target.raw(Collections.emptyMap());
+        }
+        this.substitutions.add(target.path(), pieces, placeholder, this.line, this.column());
+    }
+
+    private boolean isInclude() throws IOException {
+        if (!this.lookingAt("include", 0) || !isInlineWhitespace(this.peek(7))) {
+            return false;
+        }
+        int at = 8;
+        while (isInlineWhitespace(this.peek(at))) {
+            if (++at > 64) {
+                return false;
+            }
+        }
+        return this.peek(at) == '"'
+            || this.lookingAt("required(", at)
+            || this.lookingAt("url(", at)
+            || this.lookingAt("file(", at)
+            || this.lookingAt("classpath(", at);
+    }
+
+    private void parseInclude(final CommentedConfigurationNode target) throws IOException {
+        this.skip("include".length());
+        this.skipInlineWhitespace();
+        final boolean required = this.lookingAt("required(", 0);
+        if (required) {
+            this.skip("required(".length());
+            this.skipInlineWhitespace();
+        }
+
+        IncludeKind kind = IncludeKind.ANY;
+        for (final IncludeKind candidate : IncludeKind.FUNCTIONS) {
+            if (this.lookingAt(candidate.function, 0)) {
+                kind = candidate;
+                this.skip(candidate.function.length());
+                this.skipInlineWhitespace();
+                break;
+            }
+        }
+
+        if (this.peek() != '"') {
+            throw this.error("Expected a quoted name to include, but found " + this.describe(this.peek()));
+        }
+        final String name = this.readQuoted();
+        if (kind != IncludeKind.ANY) {
+            this.expectClose();
+        }
+        if (required) {
+            this.expectClose();
+        }
+
+        boolean found = false;
+        if (name.endsWith(".conf") || name.endsWith(".json") || name.endsWith(".properties")) {
+            found = this.include(target, kind, name);
+        } else {
+            for (final String extension : EXTENSIONS) {
+                found |= this.include(target, kind, name + extension);
+            }
+        }
+        if (required && !found) {
+            throw this.error("Could not find required include '" + name + "'");
+        }
+    }
+
+    private void expectClose() throws IOException {
+        this.skipInlineWhitespace();
+        if (this.peek() != ')') {
+            throw this.error("Expected ')' but found " + this.describe(this.peek()));
+        }
+        this.skip();
+    }
+
+    /**
+     * Read an included document into a node.
+     *
+     * @return whether the document exists
+     */
+    private boolean include(final CommentedConfigurationNode target, final IncludeKind kind, final String name) throws IOException {
+        final @Nullable URL url = this.locate(kind, name);
+        if (url == null) {
+            return false;
+        }
+
+        final InputStream stream;
+        try {
+            stream = url.openStream();
+        } catch (final FileNotFoundException | NoSuchFileException ex) {
+            return false;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            for (@Nullable HoconParser parser = this; parser != null; parser = parser.parent) {
+                if (parser.origin != null && parser.origin.toString().equals(url.toString())) {
+                    throw this.error("Include cycle: '" + url + "' includes itself");
+                }
+            }
+
+            if (name.endsWith(".properties")) {
+                final Properties properties = new Properties();
+                properties.load(reader);
+                for (final String key : new TreeSet<>(properties.stringPropertyNames())) {
+                    this.replace(target.node((Object[]) key.split("\\.", -1)), properties.getProperty(key));
+                }
+            } else {
+                final NodePath prefix = this.substitutions.isDocument() ? target.path() : this.prefix;
+                new HoconParser(reader, url, this, prefix, this.substitutions).parseDocument(target);
+            }
+        }
+        return true;
+    }
+
+    private @Nullable URL locate(final IncludeKind kind, final String name) throws IOException {
+        switch (kind) {
+            case URL:
+                return new URL(name);
+            case FILE:
+                return Paths.get(name).toUri().toURL();
+            case CLASSPATH:
+                @Nullable ClassLoader loader = Thread.currentThread().getContextClassLoader();
+                if (loader == null) {
+                    loader = HoconParser.class.getClassLoader();
+                }
+                return loader.getResource(name.startsWith("/") ? name.substring(1) : name);
+            default:
+                if (this.origin != null) {
+                    return new URL(this.origin, name);
+                }
+                try {
+                    return new URL(name);
+                } catch (final MalformedURLException ex) {
+                    return Paths.get(name).toUri().toURL();
+                }
+        }
+    }
+
+    private List<String> readPath() throws IOException {
+        final List<String> elements = new ArrayList<>(1);
+        @Nullable String element = null;
+        boolean spaced = false;
+        while (true) {
+            final int c = this.peek();
+            final String piece;
+            if (c == '"') {
+                piece = this.readQuoted();
+            } else if (c == '.') {
+                if (element == null) {
+                    throw this.error("Expected a key but found '.'");
+                }
+                elements.add(element);
+                element = null;
+                spaced = false;
+                this.skip();
+                continue;
+            } else if (isInlineWhitespace(c)) {
+                spaced = this.readInlineWhitespace();
+                continue;
+            } else if (this.isUnquotedStart(c)) {
+                piece = this.readUnquoted(true);
+            } else {
+                break;
+            }
+
+            if (element == null) {
+                element = piece;
+            } else {
+                element = spaced ? element + this.whitespace + piece : element + piece;
+            }
+            spaced = false;
+        }
+
+        if (element == null) {
+            throw this.error("Expected a key but found " + this.describe(this.peek()));
+        }
+        elements.add(element);
+        return elements;
+    }
+
+    private HoconSubstitutions.Reference readReference() throws IOException {
+        final int line = this.line;
+        final int column = this.column();
+        this.skip(2);
+        final boolean optional = this.peek() == '?';
+        if (optional) {
+            this.skip();
+        }
+        final List<String> path = this.readPath();
+        if (this.peek() != '}') {
+            throw this.error("Expected '}' to end a substitution, but found " + this.describe(this.peek()));
+        }
+        this.skip();
+        return new HoconSubstitutions.Reference(NodePath.of(path), this.prefix, optional, line, column);
+    }
+
+    private String readQuoted() throws IOException {
+        this.skip();
+        if (this.peek() == '"' && this.peek(1) == '"') {
+            this.skip(2);
+            return this.readTripleQuoted();
+        }
+
+        final StringBuilder builder = this.scratch;
+        builder.setLength(0);
+        while (true) {
+            final int start = this.position;
+            while (this.position < this.limit) {
+                final char c = this.buffer[this.position];
+                if (c == '"' || c == '\\' || c == '\n') {
+                    break;
+                }
+                this.position++;
+            }
+            builder.append(this.buffer, start, this.position - start);
+
+            final int c = this.peek();
+            if (c == '"') {
+                this.skip();
+                return builder.toString();
+            } else if (c == EOF || c == '\n') {
+                throw this.error("Expected '\"' to end a string, but found " + this.describe(c));
+            } else if (c == '\\') {
+                this.skip();
+                builder.append(this.readEscape());
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        final int c = this.peek();
+        if (c == EOF) {
+            throw this.error("Expected an escape sequence but found end of input");
+        }
+        this.skip();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; ++i) {
+                    final int digit = Character.digit(this.peek(), 16);
+                    if (digit == -1) {
+                        throw this.error("Expected a hexadecimal digit but found " + this.describe(this.peek()));
+                    }
+                    this.skip();
+                    value = value << 4 | digit;
+                }
+                return (char) value;
+            default:
+                throw this.error("Invalid escape sequence '\\" + (char) c + "'");
+        }
+    }
+
+    private String readTripleQuoted() throws IOException {
+        final StringBuilder builder = this.scratch;
+        builder.setLength(0);
+        while (true) {
+            final int c = this.peek();
+            if (c == EOF) {
+                throw this.error("Expected '\"\"\"' to end a string, but found end of input");
+            } else if (c == '"' && this.peek(1) == '"' && this.peek(2) == '"' && this.peek(3) != '"') {
+                this.skip(3);
+                return builder.toString();
+            }
+            builder.append((char) c);
+            this.skip();
+        }
+    }
+
+    /**
+     * Read unquoted text, which ends at whitespace, a reserved character,
+     * or a comment.
+     *
+     * <p>Keys also end at a period. A number may contain a {@code +} in
+     * its exponent.</p>
+     */
+    private String readUnquoted(final boolean key) throws IOException {
+        final int first = this.peek();
+        final boolean number = !key && (first == '-' || first >= '0' && first <= '9');
+        @Nullable StringBuilder spill = null;
+        int start = this.position;
+        char previous = 0;
+        while (true) {
+            if (this.position + 1 >= this.limit) {
+                // keep one character of lookahead to find the start of a comment
+                if (spill == null) {
+                    spill = this.scratch;
+                    spill.setLength(0);
+                }
+                spill.append(this.buffer, start, this.position - start);
+                this.ensure(2);
+                start = this.position;
+                if (this.position == this.limit) {
+                    break;
+                }
+            }
+
+            final char c = this.buffer[this.position];
+            if (c < 128 ? !UNQUOTED[c] : isWhitespace(c)) {
+                if (!(number && c == '+' && (previous == 'e' || previous == 'E'))) {
+                    break;
+                }
+            } else if (c == '/' && this.position + 1 < this.limit && this.buffer[this.position + 1] == '/' || key && c == '.') {
+                break;
+            }
+            previous = c;
+            this.position++;
+        }
+
+        if (spill == null) {
+            return new String(this.buffer, start, this.position - start);
+        }
+        return spill.append(this.buffer, start, this.position - start).toString();
+    }
+
+    /**
+     * Collect any whitespace, new lines and comments before the next value.
+     *
+     * <p>Comments are kept for the next value, unless a blank line follows
+     * them.</p>
+     */
+    private void skipToContent() throws IOException {
+        boolean blank = false;
+        while (true) {
+            final int c = this.peek();
+            if (c == '\n') {
+                this.skip();
+                if (blank) {
+                    this.takeComment();
+                }
+                blank = true;
+            } else if (isInlineWhitespace(c)) {
+                this.skip();
+            } else if (this.isCommentStart(c)) {
+                final String comment = this.readComment();
+                if (this.commented) {
+                    this.comment.append('\n');
+                }
+                this.comment.append(comment);
+                this.commented = true;
+                blank = false;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private String readComment() throws IOException {
+        if (this.peek() == '/') {
+            this.skip();
+        }
+        this.skip();
+
+        final StringBuilder builder = this.scratch;
+        builder.setLength(0);
+        int c;
+        while ((c = this.peek()) != '\n' && c != EOF) {
+            if (c != '\r') {
+                builder.append((char) c);
+            }
+            this.skip();
+        }
+        final int start = builder.length() > 0 && builder.charAt(0) == ' ' ? 1 : 0;
+        return builder.substring(start);
+    }
+
+    private @Nullable String takeComment() {
+        if (!this.commented) {
+            return null;
+        }
+        final String comment = this.comment.toString();
+        this.comment.setLength(0);
+        this.commented = false;
+        return comment;
+    }
+
+    private boolean readInlineWhitespace() throws IOException {
+        this.whitespace.setLength(0);
+        int c;
+        while (isInlineWhitespace(c = this.peek())) {
+            this.whitespace.append((char) c);
+            this.skip();
+        }
+        return this.whitespace.length() > 0;
+    }
+
+    private void skipInlineWhitespace() throws IOException {
+        while (isInlineWhitespace(this.peek())) {
+            this.skip();
+        }
+    }
+
+    private boolean isCommentStart(final int c) throws IOException {
+        return c == '#' || c == '/' && this.peek(1) == '/';
+    }
+
+    private boolean isReferenceStart(final int c) throws IOException {
+        return c == '$' && this.peek(1) == '{';
+    }
+
+    private boolean isUnquotedStart(final int c) throws IOException {
+        if (c == EOF) {
+            return false;
+        } else if (c < 128) {
+            return UNQUOTED[c] && !(c == '/' && this.peek(1) == '/');
+        } else {
+            return !isWhitespace(c);
+        }
+    }
+
+    private boolean isValueStart(final int c) throws IOException {
+        return c == '"' || c == '{' || c == '[' || this.isReferenceStart(c) || this.isUnquotedStart(c);
+    }
+
+    private static boolean isInlineWhitespace(final int c) {
+        return c != '\n' && c != EOF && isWhitespace(c);
+    }
+
+    private static boolean isWhitespace(final int c) {
+        return c == ' ' || c == '\t' || c == '\u00A0' || c == '\u2007' || c == '\u202F' || c == '\uFEFF' || Character.isWhitespace(c);
+    }
+
+    private boolean lookingAt(final String text, final int at) throws IOException {
+        for (int i = 0; i < text.length(); ++i) {
+            if (this.peek(at + i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int peek() throws IOException {
+        return this.position < this.limit || this.ensure(1) ? this.buffer[this.position] : EOF;
+    }
+
+    private int peek(final int ahead) throws IOException {
+        return this.ensure(ahead + 1) ? this.buffer[this.position + ahead] : EOF;
+    }
+
+    /**
+     * Consume the current character, which must have been peeked.
+     */
+    private void skip() {
+        if (this.buffer[this.position++] == '\n') {
+            this.line++;
+            this.lineStart = this.offset + this.position;
+        }
+    }
+
+    private void skip(final int count) throws IOException {
+        for (int i = 0; i < count; ++i) {
+            this.peek();
+            this.skip();
+        }
+    }
+
+    /**
+     * Make sure a number of characters are available in the buffer.
+     *
+     * @return whether the characters are available before the end of input
+     */
+    private boolean ensure(final int count) throws IOException {
+        if (this.limit - this.position >= count) {
+            return true;
+        }
+
+        final int remaining = this.limit - this.position;
+        if (this.position > 0) {
+            System.arraycopy(this.buffer, this.position, this.buffer, 0, remaining);
+            this.offset += this.position;
+            this.position = 0;
+            this.limit = remaining;
+        }
+        while (this.limit < count) {
+            final int read = this.reader.read(this.buffer, this.limit, this.buffer.length - this.limit);
+            if (read == -1) {
+                return false;
+            }
+            this.limit += read;
+        }
+        return true;
+    }
+
+    private int column() {
+        return (int) (this.offset + this.position - this.lineStart) + 1;
+    }
+
+    private String describe(final int c) {
+        if (c == EOF) {
+            return "end of input";
+        } else if (c == '\n') {
+            return "a new line";
+        } else {
+            return "'" + (char) c + "'";
+        }
+    }
+
+    private ParsingException error(final String message) {
+        final @Nullable String context;
+        final int start = (int) (this.lineStart - this.offset);
+        if (start >= 0 && start <= this.limit) {
+            int end = start;
+            while (end < this.limit && this.buffer[end] != '\n' && this.buffer[end] != '\r') {
+                end++;
+            }
+            context = new String(this.buffer, start, end - start);
+        } else {
+            context = null;
+        }
+        final String located = this.parent == null || this.origin == null ? message : message + " (in " + this.origin + ")";
+        return new ParsingException(this.line, this.column(), context, located, null);
+    }
+
+    private static @Nullable Object unquotedValue(final String text) {
+        switch (text) {
+            case "true":
+                return Boolean.TRUE;
+            case "false":
+                return Boolean.FALSE;
+            case "null":
+                return null;
+            default:
+                final char first = text.charAt(0);
+                if (first == '-' || first >= '0' && first <= '9') {
+                    final @Nullable Number number = parseNumber(text);
+                    if (number != null) {
+                        return number;
+                    }
+                }
+                return text;
+        }
+    }
+
+    /**
+     * Parse a number, using the narrowest of {@code int}, {@code long} or
+     * {@code double} that holds its value.
+     */
+    private static @Nullable Number parseNumber(final String text) {
+        boolean decimal = false;
+        for (int i = 0; i < text.length(); ++i) {
+            final char c = text.charAt(i);
+            if (c == '.' || c == 'e' || c == 'E') {
+                decimal = true;
+            } else if ((c < '0' || c > '9') && c != '-' && c != '+') {
+                return null;
+            }
+        }
+
+        try {
+            if (decimal) {
+                final double value = Double.parseDouble(text);
+                final long integral = (long) value;
+                return integral == value ? narrow(integral) : (Number) value;
+            } else {
+                return narrow(Long.parseLong(text));
+            }
+        } catch (final NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static Number narrow(final long value) {
+        return value == (int) value ? (Number) (int) value : (Number) value;
+    }
+
+    private static boolean hasReference(final List<Object> pieces) {
+        for (final Object piece : pieces) {
+            if (piece instanceof HoconSubstitutions.Reference) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add the comment following a value on the same line to the comments
+     * before it, unless they are the same.
+     */
+    private static @Nullable String withTrailing(final @Nullable String comment, final @Nullable String trailing) {
+        return trailing != null && trailing.equals(comment) ? comment : join(comment, trailing);
+    }
+
+    private static @Nullable String join(final @Nullable String first, final @Nullable String second) {
+        if (first == null) {
+            return second;
+        } else if (second == null) {
+            return first;
+        }
+        return first + '\n' + second;
+    }
+
+    /**
+     * Apply the comment of a field to its value.
+     *
+     * <p>A value that replaces another replaces its comment too, while an
+     * object merged into another adds to the existing comment.</p>
+     */
+    private static void applyComment(final CommentedConfigurationNode target, final @Nullable String comment, final boolean merged) {
+        if (target.virtual()) {
+            return;
+        }
+        final @Nullable String existing = target.comment();
+        if (!merged) {
+            if (comment != null || existing != null) {
+                target.comment(comment);
+            }
+        } else if (comment != null) {
+            target.comment(existing == null ? comment : comment + '\n' + existing);
+        }
+    }
+
+    private enum IncludeKind {
+        ANY(""),
+        URL("url("),
+        FILE("file("),
+        CLASSPATH("classpath(");
+
+        static final IncludeKind[] FUNCTIONS = {URL, FILE, CLASSPATH};
+
+        final String function;
+
+        IncludeKind(final String function) {
+            this.function = function;
+        }
+    }
+
+}
@@ -0,0 +1,471 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.hocon;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.NodePath;
+import org.spongepowered.configurate.loader.ParsingException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Values containing substitutions that are waiting to be resolved against a
+ * node tree.
+ *
+ * <p>Each value is recorded with the pieces of its concatenation. Once the
+ * whole document has been read, values are resolved in the order they were
+ * read. A substitution referring to a path that is still pending resolves
+ * that path first.</p>
+ */
+final class HoconSubstitutions {
+
+    private static final int NEW = 0;
+    private static final int RESOLVING = 1;
+    private static final int DONE = 2;
+
+    private final CommentedConfigurationNode root;
+    private final @Nullable HoconSubstitutions document;
+    private final List<Pending> pending = new ArrayList<>();
+    private final Map<NodePath, List<Pending>> byPath = new HashMap<>();
+    private final Map<NodePath, Integer> below = new HashMap<>();
+    private final List<CommentedConfigurationNode> removed = new ArrayList<>();
+
+    /**
+     * Create a registry for the values of a document.
+     *
+     * @param root the document's root node
+     * @param document the registry substitutions are looked up in, when
+     *     this registry holds values that are not yet part of the document
+     */
+    HoconSubstitutions(final CommentedConfigurationNode root, final @Nullable HoconSubstitutions document) {
+        this.root = root;
+        this.document = document;
+    }
+
+    CommentedConfigurationNode root() {
+        return this.root;
+    }
+
+    HoconSubstitutions document() {
+        return this.document == null ? this : this.document;
+    }
+
+    boolean isDocument() {
+        return this.document == null;
+    }
+
+    boolean isEmpty() {
+        return this.pending.isEmpty();
+    }
+
+    /**
+     * Record a value that will be resolved later.
+     *
+     * @param path the path of the value
+     * @param pieces the pieces of the value: text, {@link Reference}s,
+     *     nodes and {@link Detached} values
+     * @param placeholder whether the node at the path only holds a place
+     *     for the value, and should be removed if it is undefined
+     * @param line the line the value was read on
+     * @param column the column the value was read on
+     */
+    void add(final NodePath path, final List<Object> pieces, final boolean placeholder, final int line, final int column) {
+        final Pending value = new Pending(path, pieces, placeholder, line, column);
+        this.pending.add(value);
+        this.byPath.computeIfAbsent(path, $ -> new ArrayList<>(1)).add(value);
+        for (int i = 0; i < path.size(); ++i) {
+            this.below.merge(prefix(path, i), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Note a field assigned after any values pending at its parents.
+     *
+     * <p>Fields assigned later take priority over the same keys in a
+     * resolved object, and survive a resolved value that is not
+     * an object.</p>
+     *
+     * @param path the path of the assigned field
+     */
+    void assigned(final NodePath path) {
+        for (int i = 0; i < path.size(); ++i) {
+            final @Nullable List<Pending> at = this.byPath.get(prefix(path, i));
+            if (at != null) {
+                final Object key = path.get(i);
+                for (final Pending value : at) {
+                    value.laterKeys.add(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancel any values pending at or below a path that has been replaced.
+     *
+     * @param path the replaced path
+     */
+    void replaced(final NodePath path) {
+        final @Nullable List<Pending> at = this.byPath.get(path);
+        if (at != null) {
+            for (final Pending value : at) {
+                value.cancelled = true;
+            }
+        }
+        if (this.below.containsKey(path)) {
+            for (final Pending value : this.pending) {
+                if (isBelow(value.path, path)) {
+                    value.cancelled = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolve every pending value.
+     *
+     * @throws ParsingException if a substitution cannot be resolved
+     */
+    void resolveAll() throws ParsingException {
+        for (final Pending value : this.pending) {
+            this.resolve(value);
+        }
+        // undefined list elements are removed last, so indices of pending elements stay valid
+        for (int i = this.removed.size() - 1; i >= 0; --i) {
+            this.removed.get(i).raw(null);
+        }
+        this.removed.clear();
+    }
+
+    /**
+     * Resolve any pending values that could change the value at a path.
+     *
+     * @param path the path to resolve
+     * @throws ParsingException if a substitution cannot be resolved
+     */
+    void ensureResolved(final NodePath path) throws ParsingException {
+        if (this.pending.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i <= path.size(); ++i) {
+            final @Nullable List<Pending> at = this.byPath.get(i == path.size() ? path : prefix(path, i));
+            if (at != null) {
+                for (final Pending value : at) {
+                    this.resolve(value);
+                }
+            }
+        }
+        if (this.below.containsKey(path)) {
+            for (final Pending value : this.pending) {
+                if (isBelow(value.path, path)) {
+                    this.resolve(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Look up the value a substitution refers to.
+     *
+     * @param reference the substitution
+     * @return a copy of the value, or {@code null} if an optional
+     *     substitution is undefined
+     * @throws ParsingException if a required substitution is undefined
+     */
+    @Nullable CommentedConfigurationNode lookup(final Reference reference) throws ParsingException {
+        if (this.document != null) {
+            return this.document.lookup(reference);
+        }
+
+        if (reference.prefix.size() > 0) {
+            final @Nullable CommentedConfigurationNode value = this.find(reference.prefix.plus(reference.path));
+            if (value != null) {
+                return value;
+            }
+        }
+        final @Nullable CommentedConfigurationNode value = this.find(reference.path);
+        if (value != null) {
+            return value;
+        }
+
+        final @Nullable String env = System.getenv(reference.name());
+        if (env != null) {
+            return CommentedConfigurationNode.root(this.root.options()).raw(env);
+        } else if (reference.optional) {
+            return null;
+        }
+        throw new ParsingException(reference.line, reference.column, null,
+            "Could not resolve substitution to a value: ${" + reference.name() + "}", null);
+    }
+
+    private @Nullable CommentedConfigurationNode find(final NodePath path) throws ParsingException {
+        this.ensureResolved(path);
+        final CommentedConfigurationNode node = this.root.node(path);
+        if (node.virtual()) {
+            return null;
+        }
+        return CommentedConfigurationNode.root(this.root.options()).from(node);
+    }
+
+    private void resolve(final Pending value) throws ParsingException {
+        if (value.state == DONE) {
+            return;
+        } else if (value.state == RESOLVING) {
+            throw new ParsingException(value.line, value.column, null, "Substitution cycle while resolving " + value.path, null);
+        }
+
+        value.state = RESOLVING;
+        if (!value.cancelled) {
+            final @Nullable CommentedConfigurationNode result = this.evaluate(value);
+            final CommentedConfigurationNode node = this.root.node(value.path);
+            if (result != null) {
+                combine(node, result, value.laterKeys);
+            } else if (value.placeholder && node.isMap() && node.childrenMap().isEmpty()) {
+                if (node.key() instanceof Integer) {
+                    this.removed.add(node);
+                } else {
+                    node.raw(null);
+                }
+            }
+        }
+        value.state = DONE;
+    }
+
+    /**
+     * Concatenate the pieces of a value.
+     *
+     * <p>Objects are merged, with later objects taking priority, and lists
+     * are joined. A single value keeps its type, while any other combination
+     * of values is joined as text.</p>
+     */
+    private @Nullable CommentedConfigurationNode evaluate(final Pending value) throws ParsingException {
+        final List<@Nullable Object> values = new ArrayList<>(value.pieces.size());
+        boolean maps = false;
+        boolean lists = false;
+        int defined = 0;
+        for (final Object piece : value.pieces) {
+            final @Nullable Object resolved;
+            if (piece instanceof Reference) {
+                resolved = this.lookup((Reference) piece);
+            } else if (piece instanceof Detached) {
+                ((Detached) piece).values.resolveAll();
+                resolved = ((Detached) piece).values.root;
+            } else {
+                resolved = piece;
+            }
+
+            if (resolved instanceof ConfigurationNode) {
+                maps |= ((ConfigurationNode) resolved).isMap();
+                lists |= ((ConfigurationNode) resolved).isList();
+                defined++;
+            } else if (resolved instanceof String && !isBlank((String) resolved)) {
+                defined++;
+            }
+            values.add(resolved);
+        }
+
+        if (defined == 0) {
+            return null;
+        }
+
+        final CommentedConfigurationNode result = CommentedConfigurationNode.root(this.root.options());
+        if (maps || lists) {
+            for (int i = values.size() - 1; i >= 0; --i) {
+                final @Nullable Object piece = values.get(i);
+                if (piece instanceof ConfigurationNode && (maps ? ((ConfigurationNode) piece).isMap() : ((ConfigurationNode) piece).isList())) {
+                    if (maps) {
+                        result.mergeFrom((ConfigurationNode) piece);
+                    }
+                } else if (piece != null && !(piece instanceof String && isBlank((String) piece))) {
+                    throw new ParsingException(value.line, value.column, null,
+                        "Cannot concatenate " + (maps ? "an object" : "a list") + " with a value of another type", null);
+                }
+            }
+            if (lists) {
+                result.raw(Collections.emptyList());
+                for (final @Nullable Object piece : values) {
+                    if (piece instanceof ConfigurationNode) {
+                        for (final ConfigurationNode element : ((ConfigurationNode) piece).childrenList()) {
+                            result.appendListNode().from(element);
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        if (defined == 1) {
+            for (final @Nullable Object piece : values) {
+                if (piece instanceof ConfigurationNode) {
+                    return result.from((ConfigurationNode) piece);
+                }
+            }
+        }
+        final StringBuilder text = new StringBuilder();
+        for (final @Nullable Object piece : values) {
+            if (piece instanceof ConfigurationNode) {
+                text.append(((ConfigurationNode) piece).raw());
+            } else if (piece != null) {
+                text.append(piece);
+            }
+        }
+        return result.raw(text.toString());
+    }
+
+    /**
+     * Apply a resolved value to the node holding it.
+     *
+     * <p>Objects merge with the existing value, while other values replace
+     * it. In both cases, fields assigned after the substitution win.</p>
+     */
+    private static void combine(final CommentedConfigurationNode node, final CommentedConfigurationNode value, final Set<Object> laterKeys) {
+        if (!value.isMap()) {
+            if (laterKeys.isEmpty() || !node.isMap()) {
+                node.from(value);
+            } else {
+                for (final Object key : new ArrayList<>(node.childrenMap().keySet())) {
+                    if (!laterKeys.contains(key)) {
+                        node.removeChild(key);
+                    }
+                }
+            }
+        } else if (!node.isMap()) {
+            node.from(value);
+        } else {
+            for (final Map.Entry<Object, CommentedConfigurationNode> entry : value.childrenMap().entrySet()) {
+                final CommentedConfigurationNode child = node.node(entry.getKey());
+                if (laterKeys.contains(entry.getKey())) {
+                    child.mergeFrom(entry.getValue());
+                } else if (child.isMap() && entry.getValue().isMap()) {
+                    final CommentedConfigurationNode merged = entry.getValue().copy();
+                    merged.mergeFrom(child);
+                    child.from(merged);
+                } else {
+                    child.from(entry.getValue());
+                }
+            }
+            if (value.comment() != null) {
+                node.comment(value.comment());
+            }
+        }
+    }
+
+    private static NodePath prefix(final NodePath path, final int length) {
+        return NodePath.of(Arrays.copyOf(path.array(), length));
+    }
+
+    private static boolean isBelow(final NodePath path, final NodePath parent) {
+        if (path.size() <= parent.size()) {
+            return false;
+        }
+        for (int i = 0; i < parent.size(); ++i) {
+            if (!path.get(i).equals(parent.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(final String text) {
+        for (int i = 0; i < text.length(); ++i) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A substitution of the value at a path.
+     */
+    static final class Reference {
+        final NodePath path;
+        final NodePath prefix;
+        final boolean optional;
+        final int line;
+        final int column;
+
+        Reference(final NodePath path, final NodePath prefix, final boolean optional, final int line, final int column) {
+            this.path = path;
+            this.prefix = prefix;
+            this.optional = optional;
+            this.line = line;
+            this.column = column;
+        }
+
+        /**
+         * Get whether this substitution refers to the value at a path.
+         *
+         * @param path the path to test
+         * @return whether the path is the one referred to
+         */
+        boolean refersTo(final NodePath path) {
+            return this.prefix.size() == 0 ? this.path.equals(path) : this.prefix.plus(this.path).equals(path);
+        }
+
+        String name() {
+            final StringBuilder name = new StringBuilder();
+            for (final Object element : this.path) {
+                if (name.length() > 0) {
+                    name.append('.');
+                }
+                name.append(element);
+            }
+            return name.toString();
+        }
+    }
+
+    /**
+     * An object or list read outside the document, with its own
+     * pending values.
+     */
+    static final class Detached {
+        final HoconSubstitutions values;
+
+        Detached(final HoconSubstitutions values) {
+            this.values = values;
+        }
+    }
+
+    private static final class Pending {
+        final NodePath path;
+        final List<Object> pieces;
+        final boolean placeholder;
+        final int line;
+        final int column;
+        final Set<Object> laterKeys = new HashSet<>();
+        int state = NEW;
+        boolean cancelled;
+
+        Pending(final NodePath path, final List<Object> pieces, final boolean placeholder, final int line, final int column) {
+            this.path = path;
+            this.pieces = pieces;
+            this.placeholder = placeholder;
+            this.line = line;
+            this.column = column;
+        }
+    }
+
+}
@@ -0,0 +1,420 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.hocon;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.CommentedConfigurationNodeIntermediary;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write a node tree as HOCON text directly to a writer.
+ *
+ * <p>Output matches what the lightbend config library renders for the same
+ * tree. Like that renderer, keys are sorted, with numeric keys first, unless
+ * the visitor is created to keep the order of each node's children.</p>
+ *
+ * <p>The tree is walked by {@link #write(ConfigurationNode, Writer)} itself
+ * rather than by {@link ConfigurationNode#visit}, so that keys can be
+ * ordered and packed lists read without creating their child nodes.</p>
+ */
+final class HoconVisitor {
+
+    private static final String INDENT = "    ";
+
+    private final boolean prettyPrinting;
+    private final boolean emitComments;
+    private final boolean jsonCompatible;
+    private final boolean sortKeys;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private @Nullable ConfigurationNode start;
+
+    HoconVisitor(final boolean prettyPrinting, final boolean emitComments, final boolean jsonCompatible, final boolean sortKeys) {
+        this.prettyPrinting = prettyPrinting;
+        this.emitComments = emitComments;
+        this.jsonCompatible = jsonCompatible;
+        this.sortKeys = sortKeys;
+    }
+
+    /**
+     * Write a node and all of its children.
+     *
+     * @param node the node to write
+     * @param writer the writer to write to
+     * @throws ConfigurateException if the node could not be written
+     */
+    void write(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        this.beginVisit(node);
+        if (!node.isNull()) {
+            this.writeNode(node, writer);
+        }
+        this.endVisit();
+    }
+
+    private void writeNode(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        this.enterNode(node, writer);
+        if (node.isMap()) {
+            this.enterMappingNode(node, writer);
+            for (final ConfigurationNode child : this.mapChildren(node)) {
+                this.writeNode(child, writer);
+            }
+            this.exitMappingNode(node, writer);
+        } else if (node.isList()) {
+            this.enterListNode(node, writer);
+            // packed elements are read without creating a child node for each
+            final @Nullable Object packed = node.packedList();
+            if (packed != null) {
+                this.writePackedElements(node, packed, writer);
+            } else {
+                for (final ConfigurationNode child : node.childrenList()) {
+                    this.writeNode(child, writer);
+                }
+            }
+            this.exitListNode(node, writer);
+        } else {
+            this.enterScalarNode(node, writer);
+        }
+    }
+
+    private Collection<? extends ConfigurationNode> mapChildren(final ConfigurationNode node) {
+        final Map<Object, ? extends ConfigurationNode> children = node.childrenMap();
+        if (!this.sortKeys) {
+            return children.values();
+        }
+        final List<ConfigurationNode> sorted = new ArrayList<>(children.values());
+        sorted.sort((a, b) -> compareKeys(String.valueOf(a.key()), String.valueOf(b.key())));
+        return sorted;
+    }
+
+    /**
+     * Compare keys the way the lightbend renderer orders them, with numeric
+     * keys first, in numeric order.
+     */
+    private static int compareKeys(final String a, final String b) {
+        final boolean aDigits = isAllDigits(a);
+        final boolean bDigits = isAllDigits(b);
+        if (aDigits && bDigits) {
+            return new BigInteger(a).compareTo(new BigInteger(b));
+        } else if (aDigits) {
+            return -1;
+        } else if (bDigits) {
+            return 1;
+        } else {
+            return a.compareTo(b);
+        }
+    }
+
+    private static boolean isAllDigits(final String key) {
+        if (key.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); ++i) {
+            if (!Character.isDigit(key.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // packed elements have no comment, so each is just a separated value
+    private void writePackedElements(final ConfigurationNode node, final Object packed, final Writer writer) throws ConfigurateException {
+        final Frame frame = this.frames.element();
+        try {
+            for (int i = 0, length = Array.getLength(packed); i < length; ++i) {
+                this.separate(writer, frame);
+                this.indent(writer, frame.inner);
+                this.writeValue(writer, Array.get(packed, i));
+            }
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    private void beginVisit(final ConfigurationNode node) {
+        this.start = node;
+        this.frames.clear();
+    }
+
+    private void enterNode(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        final @Nullable Frame frame = this.frames.peek();
+        if (node == this.start || frame == null) {
+            return;
+        }
+
+        try {
+            this.separate(writer, frame);
+            if (this.emitComments && node instanceof CommentedConfigurationNodeIntermediary<?>) {
+                final @Nullable String comment = ((CommentedConfigurationNodeIntermediary<?>) node).comment();
+                if (comment != null) {
+                    this.writeComment(writer, frame, comment);
+                }
+            }
+
+            this.indent(writer, frame.inner);
+            if (!frame.list) {
+                final @Nullable Object key = node.key();
+                if (key == null) {
+                    throw new ConfigurateException(node, "Node must have key to be a value in a mapping");
+                }
+                this.writeString(writer, key.toString());
+                if (this.jsonCompatible) {
+                    writer.write(this.prettyPrinting ? " : " : ":");
+                } else if (!node.isMap()) {
+                    writer.write('=');
+                } else if (this.prettyPrinting) {
+                    writer.write(' ');
+                }
+            }
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    private void separate(final Writer writer, final Frame frame) throws IOException {
+        if (frame.size++ > 0) {
+            if (!this.prettyPrinting) {
+                writer.write(',');
+            } else if (frame.list || this.jsonCompatible) {
+                writer.write(",\n");
+            } else {
+                writer.write('\n');
+            }
+        }
+    }
+
+    private void writeComment(final Writer writer, final Frame frame, final String comment) throws IOException {
+        final Iterator<String> lines = AbstractConfigurationLoader.CONFIGURATE_LINE_PATTERN.splitAsStream(comment).iterator();
+        while (lines.hasNext()) {
+            final String line = lines.next();
+            this.indent(writer, frame.inner);
+            writer.write(frame.list || !line.startsWith(" ") ? "# " : "#");
+            writer.write(line);
+            writer.write('\n');
+        }
+    }
+
+    private void enterMappingNode(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        // a root object is written without braces, unless as json
+        this.startCollection(node, writer, false, node != this.start || this.jsonCompatible);
+    }
+
+    private void enterListNode(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        this.startCollection(node, writer, true, true);
+    }
+
+    private void startCollection(final ConfigurationNode node, final Writer writer, final boolean list, final boolean braces)
+        throws ConfigurateException {
+        final @Nullable Frame parent = this.frames.peek();
+        final int level = parent == null ? 0 : parent.inner;
+        final Frame frame = new Frame(list, braces, level);
+        this.frames.push(frame);
+
+        try {
+            if (node.empty()) {
+                frame.closed = true;
+                writer.write(list ? "[]" : "{}");
+            } else if (braces) {
+                writer.write(list ? '[' : '{');
+                if (this.prettyPrinting) {
+                    writer.write('\n');
+                }
+            }
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    private void enterScalarNode(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        try {
+            this.writeValue(writer, node.rawScalar());
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    private void writeValue(final Writer writer, final @Nullable Object value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+        } else if (value instanceof Double || value instanceof Integer || value instanceof Long || value instanceof Boolean) {
+            writer.write(value.toString());
+        } else if (value instanceof Number) {
+            writer.write(numberToString(((Number) value).doubleValue()));
+        } else {
+            this.writeString(writer, value.toString());
+        }
+    }
+
+    /**
+     * Format a number as the narrowest type able to hold it.
+     */
+    private static String numberToString(final double value) {
+        final long asLong = (long) value;
+        if (asLong != value) {
+            return Double.toString(value);
+        } else if (asLong == (int) asLong) {
+            return Integer.toString((int) asLong);
+        } else {
+            return Long.toString(asLong);
+        }
+    }
+
+    private void exitMappingNode(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        this.endCollection(node, writer);
+    }
+
+    private void exitListNode(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        this.endCollection(node, writer);
+    }
+
+    private void endCollection(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        final Frame frame = this.frames.pop();
+        try {
+            if (!frame.closed && frame.braces) {
+                if (this.prettyPrinting) {
+                    writer.write('\n');
+                    this.indent(writer, frame.level);
+                }
+                writer.write(frame.list ? ']' : '}');
+            }
+            if (node == this.start && this.prettyPrinting) {
+                writer.write('\n');
+            }
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    private void endVisit() {
+        this.start = null;
+        this.frames.clear();
+    }
+
+    private void indent(final Writer writer, final int level) throws IOException {
+        if (this.prettyPrinting) {
+            for (int i = 0; i < level; ++i) {
+                writer.write(INDENT);
+            }
+        }
+    }
+
+    private void writeString(final Writer writer, final String value) throws IOException {
+        if (!this.jsonCompatible && canWriteUnquoted(value)) {
+            writer.write(value);
+        } else {
+            writeQuoted(writer, value);
+        }
+    }
+
+    /**
+     * Get whether a string can be written without quotes, without being
+     * read back as a value of another type.
+     */
+    private static boolean canWriteUnquoted(final String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        final int first = value.codePointAt(0);
+        if (Character.isDigit(first) || first == '-') {
+            return false;
+        }
+        if (value.startsWith("include") || value.startsWith("true") || value.startsWith("false") || value.startsWith("null")) {
+            return false;
+        }
+        for (int i = 0, length = value.length(); i < length; ++i) {
+            final char c = value.charAt(i);
+            if (!Character.isLetter(c) && !Character.isDigit(c) && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeQuoted(final Writer writer, final String value) throws IOException {
+        writer.write('"');
+        int unwritten = 0;
+        for (int i = 0, length = value.length(); i < length; ++i) {
+            final char c = value.charAt(i);
+            if (c != '"' && c != '\\' && c >= 0x20) {
+                continue;
+            }
+
+            writer.write(value, unwritten, i - unwritten);
+            unwritten = i + 1;
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\b':
+                    writer.write("\\b");
+                    break;
+                case '\f':
+                    writer.write("\\f");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    writer.write(String.format("\\u%04x", (int) c));
+                    break;
+            }
+        }
+        writer.write(value, unwritten, value.length() - unwritten);
+        writer.write('"');
+    }
+
+    /**
+     * An object or list being written.
+     */
+    static final class Frame {
+        final boolean list;
+        final boolean braces;
+        final int level;
+        final int inner;
+        int size;
+        boolean closed;
+
+        Frame(final boolean list, final boolean braces, final int level) {
+            this.list = list;
+            this.braces = braces;
+            this.level = level;
+            this.inner = braces ? level + 1 : level;
+        }
+    }
+
+}
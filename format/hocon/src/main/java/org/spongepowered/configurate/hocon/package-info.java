@@ -17,9 +17,9 @@
 /**
  * Configuration loader for the <a href="https://github.com/lightbend/config/">HOCON</a> library.
  *
- * <p>Due to limitations in the library currently used, this loader does not
- * respect nodes' map factories. This means that ordering in configurations will
- * not be preserved.</p>
+ * <p>Keys are sorted when written, unless the loader is built not to sort
+ * them. Documents are loaded in their own order, except when parsing with
+ * the lightbend config library, which does not preserve it.</p>
  */
 @DefaultQualifier(NonNull.class)
 package org.spongepowered.configurate.hocon;
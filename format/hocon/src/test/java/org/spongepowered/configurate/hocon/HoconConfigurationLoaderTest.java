@@ -16,14 +16,14 @@
  */
 package org.spongepowered.configurate.hocon;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertLinesMatch;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
-import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Resources;
-import com.typesafe.config.ConfigValue;
-import com.typesafe.config.ConfigValueFactory;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -31,6 +31,7 @@ import org.spongepowered.configurate.CommentedConfigurationNode;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationOptions;
 import org.spongepowered.configurate.loader.AtomicFiles;
+import org.spongepowered.configurate.loader.ParsingException;
 import org.spongepowered.configurate.objectmapping.ConfigSerializable;
 import org.spongepowered.configurate.objectmapping.ObjectMapper;
 import org.spongepowered.configurate.objectmapping.meta.Setting;
@@ -38,13 +39,15 @@ import org.spongepowered.configurate.objectmapping.meta.Setting;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -119,18 +122,6 @@ public class HoconConfigurationLoaderTest {
         assertEquals(Resources.readLines(url, StandardCharsets.UTF_8), Files.readAllLines(saveTo, StandardCharsets.UTF_8));
     }
 
-    @Test
-    void testNewConfigObject() {
-        final Map<String, ConfigValue> entries = ImmutableMap.of("a", ConfigValueFactory.fromAnyRef("hi"), "b", ConfigValueFactory.fromAnyRef("bye"));
-        HoconConfigurationLoader.newConfigObject(entries);
-    }
-
-    @Test
-    void testNewConfigList() {
-        final List<ConfigValue> entries = Arrays.asList(ConfigValueFactory.fromAnyRef("hello"), ConfigValueFactory.fromAnyRef("goodbye"));
-        HoconConfigurationLoader.newConfigList(entries);
-    }
-
     @Test
     void testRoundtripAndMergeEmpty(final @TempDir Path tempDir) throws IOException {
         // https://github.com/SpongePowered/Configurate/issues/44
@@ -190,6 +181,129 @@ public class HoconConfigurationLoaderTest {
         assertEquals("tasty", root.node("test", "donut").comment());
     }
 
+    @Test
+    void testLightbendParserMatches() throws ConfigurateException {
+        final URL resource = requireResource("example.conf");
+        final CommentedConfigurationNode lightbend = HoconConfigurationLoader.builder()
+            .url(resource)
+            .lightbendParser(true)
+            .build()
+            .load();
+        final CommentedConfigurationNode parsed = HoconConfigurationLoader.builder()
+            .url(resource)
+            .build()
+            .load();
+
+        assertEquals(lightbend, parsed);
+    }
+
+    @Test
+    void testSavedOutputDoesNotDependOnParser() throws IOException {
+        final URL resource = requireResource("example.conf");
+        final String lightbend = HoconConfigurationLoader.builder()
+            .buildAndSaveString(HoconConfigurationLoader.builder().url(resource).lightbendParser(true).build().load());
+        final String parsed = HoconConfigurationLoader.builder()
+            .buildAndSaveString(HoconConfigurationLoader.builder().url(resource).build().load());
+
+        assertEquals(lightbend, parsed);
+        assertLinesMatch(Resources.readLines(requireResource("roundtrip-test.conf"), StandardCharsets.UTF_8), Arrays.asList(parsed.split("\n")));
+    }
+
+    @Test
+    void testSubstitutions() throws ConfigurateException {
+        final CommentedConfigurationNode root = parse("base { host = localhost, port = 25565 }\n"
+                + "server = ${base} { port = 25566 }\n"
+                + "address = ${server.host}\":\"${server.port}\n"
+                + "path = a\n"
+                + "path = ${path}\"/b\"\n"
+                + "list = [1, ${?missing}, 2]\n"
+                + "list += 3\n"
+                + "later = ${defined}\n"
+                + "defined = 5\n");
+
+        assertEquals("localhost", root.node("server", "host").raw());
+        assertEquals(25566, root.node("server", "port").raw());
+        assertEquals("localhost:25566", root.node("address").raw());
+        assertEquals("a/b", root.node("path").raw());
+        assertEquals(Arrays.asList(1, 2, 3), root.node("list").raw());
+        assertEquals(5, root.node("later").raw());
+    }
+
+    @Test
+    void testSubstitutionCycle() {
+        final ParsingException ex = assertThrows(ParsingException.class, () -> parse("a = ${b}\nb = ${a}\n"));
+        assertEquals(1, ex.line());
+    }
+
+    @Test
+    void testIncludes(final @TempDir Path tempDir) throws IOException {
+        Files.write(tempDir.resolve("shared.conf"), Arrays.asList("name = shared", "greeting = hello ${name}"));
+        Files.write(tempDir.resolve("shared.properties"), Collections.singletonList("props.enabled=true"));
+        final Path main = tempDir.resolve("main.conf");
+        Files.write(main, Arrays.asList(
+            "include \"shared\"",
+            "nested { include \"shared.conf\" }",
+            "include \"missing.conf\"",
+            "name = main"
+        ));
+
+        final CommentedConfigurationNode root = HoconConfigurationLoader.builder()
+            .path(main)
+            .build()
+            .load();
+        assertEquals("main", root.node("name").raw());
+        assertEquals("hello main", root.node("greeting").raw());
+        assertEquals("true", root.node("props", "enabled").raw());
+        assertEquals("hello shared", root.node("nested", "greeting").raw());
+    }
+
+    @Test
+    void testKeyOrderAndComments() throws ConfigurateException {
+        final CommentedConfigurationNode root = parse("# first\n"
+                + "zebra = 1 // trailing\n"
+                + "\n"
+                + "# dropped\n"
+                + "\n"
+                + "apple {\n"
+                + "    # inner\n"
+                + "    b = \"\"\"raw \\n\"\"\"\n"
+                + "}\n");
+
+        assertEquals(Arrays.asList("zebra", "apple"), new ArrayList<>(root.childrenMap().keySet()));
+        assertEquals("first\ntrailing", root.node("zebra").comment());
+        assertNull(root.node("apple").comment());
+        assertEquals("inner", root.node("apple", "b").comment());
+        assertEquals("raw \\n", root.node("apple", "b").raw());
+    }
+
+    @Test
+    void testSavedKeyOrder() throws ConfigurateException {
+        final CommentedConfigurationNode node = CommentedConfigurationNode.root(n -> {
+            n.node("b").raw("second");
+            n.node("10").raw(10);
+            n.node("a").rawPackedList(new int[] {1, 2});
+            n.node("2").raw(2);
+        });
+
+        final HoconConfigurationLoader.Builder builder = HoconConfigurationLoader.builder().prettyPrinting(false);
+        assertEquals("\"2\"=2,\"10\"=10,a=[1,2],b=second", builder.buildAndSaveString(node));
+        assertEquals("b=second,\"10\"=10,a=[1,2],\"2\"=2", builder.sortKeys(false).buildAndSaveString(node));
+        assertArrayEquals(new int[] {1, 2}, node.node("a").packedList(int[].class));
+    }
+
+    @Test
+    void testParseErrorPosition() {
+        final ParsingException ex = assertThrows(ParsingException.class, () -> parse("a = 1\nb = [1, 2\n"));
+        assertEquals(3, ex.line());
+    }
+
+    private static CommentedConfigurationNode parse(final String text) throws ConfigurateException {
+        return HoconConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader(text)))
+            .build()
+            .load();
+    }
+
     private URL requireResource(final String path) {
         final @Nullable URL resource = this.getClass().getResource('/' + path);
         assertNotNull(resource, () -> "Resource " + path + " was not present when expected to be!");
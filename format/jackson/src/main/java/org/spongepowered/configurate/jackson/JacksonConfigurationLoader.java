@@ -34,11 +34,15 @@ import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
 import org.spongepowered.configurate.loader.CommentHandler;
 import org.spongepowered.configurate.loader.CommentHandlers;
 import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.loader.PathFilter;
+import org.spongepowered.configurate.util.CheckedSupplier;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -162,9 +166,28 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
 
     @Override
     protected void loadInternal(final BasicConfigurationNode node, final BufferedReader reader) throws ParsingException {
-        try (JsonParser parser = this.factory.createParser(reader)) {
-            parser.nextToken();
-            parseValue(parser, node);
+        this.load(node, () -> this.factory.createParser(reader));
+    }
+
+    @Override
+    protected boolean readsBytes() {
+        return true;
+    }
+
+    @Override
+    protected void loadInternal(final BasicConfigurationNode node, final InputStream input) throws ParsingException {
+        // Jackson's byte-based parser decodes UTF-8 itself, faster than going through a Reader
+        this.load(node, () -> this.factory.createParser(input));
+    }
+
+    private void load(final BasicConfigurationNode node, final CheckedSupplier<JsonParser, IOException> parserFactory) throws ParsingException {
+        try (JsonParser parser = parserFactory.get()) {
+            final PathFilter filter = this.pathFilter == null ? PathFilter.all() : this.pathFilter;
+            if (skips(filter, parser.nextToken())) {
+                parser.skipChildren();
+            } else {
+                parseValue(parser, node, filter);
+            }
         } catch (final StreamReadException ex) {
             throw newException(node, ex.getLocation(), ex.getRequestPayloadAsString(), ex.getMessage(), ex.getCause());
         } catch (final IOException ex) {
@@ -172,30 +195,45 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
         }
     }
 
-    private static void parseValue(final JsonParser parser, final ConfigurationNode node) throws IOException {
+    @Override
+    protected boolean filtersPaths() {
+        return true;
+    }
+
+    /**
+     * Get whether a value within a filter is left out of the loaded node.
+     *
+     * <p>Scalars on the way to a filtered path are skipped, as only maps and
+     * lists could hold what is being looked for.</p>
+     */
+    private static boolean skips(final PathFilter filter, final @Nullable JsonToken token) {
+        return !filter.includesAll() && token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY;
+    }
+
+    private static void parseValue(final JsonParser parser, final ConfigurationNode node, final PathFilter filter) throws IOException {
         try {
             final JsonToken token = parser.getCurrentToken();
             switch (token) {
                 case START_OBJECT:
-                    parseObject(parser, node);
+                    parseObject(parser, node, filter);
                     break;
                 case START_ARRAY:
-                    parseArray(parser, node);
+                    parseArray(parser, node, filter);
                     break;
                 case VALUE_NUMBER_FLOAT:
                     final double doubleVal = parser.getDoubleValue();
                     if ((float) doubleVal != doubleVal) {
-                        node.raw(parser.getDoubleValue());
+                        node.rawDouble(doubleVal);
                     } else {
-                        node.raw(parser.getFloatValue());
+                        node.rawFloat((float) doubleVal);
                     }
                     break;
                 case VALUE_NUMBER_INT:
                     final long longVal = parser.getLongValue();
                     if ((int) longVal != longVal) {
-                        node.raw(parser.getLongValue());
+                        node.rawLong(longVal);
                     } else {
-                        node.raw(parser.getIntValue());
+                        node.rawInt((int) longVal);
                     }
                     break;
                 case VALUE_STRING:
@@ -203,7 +241,7 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
                     break;
                 case VALUE_TRUE:
                 case VALUE_FALSE:
-                    node.raw(parser.getBooleanValue());
+                    node.rawBoolean(parser.getBooleanValue());
                     break;
                 case VALUE_NULL: // Ignored values
                 case FIELD_NAME:
@@ -217,24 +255,71 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
         }
     }
 
-    private static void parseArray(final JsonParser parser, final ConfigurationNode node) throws IOException {
+    private static void parseArray(final JsonParser parser, final ConfigurationNode node, final PathFilter filter) throws IOException {
+        // leading numbers and booleans are collected so that they can be set
+        // together, allowing the node to store them packed
+        @Nullable List<Object> scalars = filter.includesAll() ? new ArrayList<>() : null;
+        final @Nullable PathFilter elementFilter = filter.element();
         boolean written = false;
         JsonToken token;
         while ((token = parser.nextToken()) != null) {
-            if (token == JsonToken.END_ARRAY) { // ensure the type is preserved
-                if (!written) {
+            if (token == JsonToken.END_ARRAY) {
+                if (scalars != null && !scalars.isEmpty()) {
+                    node.raw(scalars);
+                } else if (!written) { // ensure the type is preserved
                     node.raw(Collections.emptyList());
                 }
                 return;
+            }
+
+            if (elementFilter == null || skips(elementFilter, token)) {
+                parser.skipChildren();
+                continue;
+            }
+
+            final @Nullable Object scalar = scalars == null ? null : readPrimitive(parser, token);
+            if (scalar != null) {
+                scalars.add(scalar);
             } else {
-                parseValue(parser, node.appendListNode());
-                written = true;
+                if (scalars != null) {
+                    for (final Object previous : scalars) {
+                        node.appendListNode().raw(previous);
+                    }
+                    scalars = null;
+                }
+                parseValue(parser, node.appendListNode(), elementFilter);
             }
+            written = true;
         }
         throw newException(node, parser.getCurrentLocation(), null, "Reached end of stream with unclosed array!", null);
     }
 
-    private static void parseObject(final JsonParser parser, final ConfigurationNode node) throws IOException {
+    private static @Nullable Object readPrimitive(final JsonParser parser, final JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_NUMBER_FLOAT:
+                final double doubleVal = parser.getDoubleValue();
+                if ((float) doubleVal != doubleVal) {
+                    return doubleVal;
+                } else {
+                    return (float) doubleVal;
+                }
+            case VALUE_NUMBER_INT:
+                final long longVal = parser.getLongValue();
+                if ((int) longVal != longVal) {
+                    return longVal;
+                } else {
+                    return (int) longVal;
+                }
+            case VALUE_TRUE:
+                return true;
+            case VALUE_FALSE:
+                return false;
+            default:
+                return null;
+        }
+    }
+
+    private static void parseObject(final JsonParser parser, final ConfigurationNode node, final PathFilter filter) throws IOException {
         boolean written = false;
         JsonToken token;
         while ((token = parser.nextToken()) != null) {
@@ -243,9 +328,15 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
                     node.raw(Collections.emptyMap());
                 }
                 return;
-            } else {
-                parseValue(parser, node.node(parser.getCurrentName()));
-                written = true;
+            } else if (token != JsonToken.FIELD_NAME) {
+                final String name = parser.getCurrentName();
+                final @Nullable PathFilter childFilter = filter.child(name);
+                if (childFilter == null || skips(childFilter, token)) {
+                    parser.skipChildren();
+                } else {
+                    parseValue(parser, node.node(name), childFilter);
+                    written = true;
+                }
             }
         }
         throw newException(node, parser.getCurrentLocation(), null, "Reached end of stream with unclosed object!", null);
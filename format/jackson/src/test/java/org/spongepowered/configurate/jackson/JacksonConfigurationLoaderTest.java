@@ -29,9 +29,11 @@ import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.ConfigurationOptions;
 import org.spongepowered.configurate.NodePath;
 import org.spongepowered.configurate.loader.AtomicFiles;
+import org.spongepowered.configurate.loader.ByteSource;
 import org.spongepowered.configurate.loader.ConfigurationLoader;
 import org.spongepowered.configurate.loader.HeaderMode;
 import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.loader.PathFilter;
 import org.spongepowered.configurate.util.MapFactories;
 
 import java.io.BufferedReader;
@@ -41,9 +43,11 @@ import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 /**
  * Basic sanity checks for the loader.
@@ -129,4 +133,44 @@ public class JacksonConfigurationLoaderTest {
         assertTrue(ex.rawMessage().contains("Unexpected end-of-input"));
     }
 
+    @Test
+    void testLoadFromBytes(final @TempDir Path tempDir) throws IOException {
+        final Path plain = tempDir.resolve("plain.json");
+        Files.write(plain, Arrays.asList("{", "  \"name\": \"caf\u00e9\",", "  \"values\": [1, 2, 3]", "}"), StandardCharsets.UTF_8);
+        final Path withHeader = tempDir.resolve("header.json");
+        Files.write(withHeader, Arrays.asList("// the header", "", "{\"name\": \"caf\u00e9\"}"), StandardCharsets.UTF_8);
+
+        for (final boolean mapped : new boolean[] {false, true}) {
+            final ConfigurationNode node = JacksonConfigurationLoader.builder().memoryMapped(mapped).path(plain).build().load();
+            assertEquals("caf\u00e9", node.node("name").getString());
+            assertEquals(Arrays.asList(1, 2, 3), node.node("values").raw());
+
+            final ConfigurationNode headed = JacksonConfigurationLoader.builder().path(withHeader).memoryMapped(mapped).build().load();
+            assertEquals("the header", headed.options().header());
+            assertEquals("caf\u00e9", headed.node("name").getString());
+        }
+
+        final ConfigurationNode fromBuffer = JacksonConfigurationLoader.builder()
+            .byteSource(ByteSource.buffer(ByteBuffer.wrap(Files.readAllBytes(plain))))
+            .build()
+            .load();
+        assertEquals("caf\u00e9", fromBuffer.node("name").getString());
+    }
+
+    @Test
+    void testPathFilter() throws ConfigurateException {
+        final ConfigurationNode node = JacksonConfigurationLoader.builder()
+                .pathFilter(PathFilter.of(NodePath.path("servers", PathFilter.ANY, "host"), NodePath.path("db")))
+                .buildAndLoadString("{\"servers\": [{\"host\": \"one\", \"port\": 1}, {\"port\": 2}, 3],"
+                + " \"db\": {\"url\": \"jdbc\", \"pool\": [1, 2]}, \"other\": {\"deep\": [[{\"a\": 1}]]}}");
+
+        assertEquals(2, node.childrenMap().size());
+        assertEquals(2, node.node("servers").childrenList().size());
+        assertEquals("one", node.node("servers", 0, "host").raw());
+        assertTrue(node.node("servers", 0, "port").virtual());
+        assertTrue(node.node("servers", 1).isMap());
+        assertEquals(Arrays.asList(1, 2), node.node("db", "pool").raw());
+        assertTrue(node.node("other").virtual());
+    }
+
 }
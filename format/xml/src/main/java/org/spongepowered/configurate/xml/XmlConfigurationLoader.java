@@ -19,7 +19,6 @@ package org.spongepowered.configurate.xml;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.configurate.AttributedConfigurationNode;
-import org.spongepowered.configurate.CommentedConfigurationNodeIntermediary;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.ConfigurationOptions;
@@ -29,7 +28,6 @@ import org.spongepowered.configurate.loader.CommentHandlers;
 import org.spongepowered.configurate.loader.ParsingException;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -47,26 +45,25 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
-import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.validation.Schema;
 
 /**
  * A loader for XML (Extensible Markup Language), using the native javax library
  * for parsing and generation.
  *
+ * <p>Documents are read from a stream of parse events and written directly to
+ * the output, so neither direction holds a DOM of the whole document. When a
+ * {@link Builder#schema(Schema) schema} is set, documents are instead read
+ * into a DOM to be validated.</p>
+ *
  * @since 4.0.0
  */
 public final class XmlConfigurationLoader extends AbstractConfigurationLoader<AttributedConfigurationNode> {
@@ -79,24 +76,21 @@ public final class XmlConfigurationLoader extends AbstractConfigurationLoader<At
      */
     private static final String HEADER_PREFIX = "~";
 
-    private static final String ATTRIBUTE_TYPE = "configurate-type";
+    static final String ATTRIBUTE_TYPE = "configurate-type";
 
     /**
      * The user data used to store comments on nodes.
      */
     private static final String USER_DATA_COMMENT = "configurate-comment";
 
-    /**
-     * The property used to mark how many spaces should be used to indent.
-     */
-    private static final String INDENT_PROPERTY = "{http://xml.apache.org/xslt}indent-amount";
-
     private static final String FEATURE_EXTERNAL_GENERAL_ENTITIES = "http://xml.org/sax/features/external-general-entities";
 
     private static final String FEATURE_EXTERNAL_PARAMETER_ENTITIES = "http://xml.org/sax/features/external-parameter-entities";
 
     private static final String FEATURE_LOAD_EXTERNAL_DTD = "http://apache.org/xml/features/nonvalidating/load-external-dtd";
 
+    private static final String PROPERTY_IGNORE_EXTERNAL_DTD = "http://java.sun.com/xml/stream/properties/ignore-external-dtd";
+
 
     /**
      * Creates a new {@link XmlConfigurationLoader} builder.
@@ -331,34 +325,40 @@ public final class XmlConfigurationLoader extends AbstractConfigurationLoader<At
         }
     }
 
-    private Transformer newTransformer() throws ConfigurateException {
-        final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    private XMLInputFactory newInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        // element and attribute names are read as written, as with the DOM
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
         if (!this.resolvesExternalContent) {
-            transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-            transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_STYLESHEET, "");
-        }
-        try {
-            final Transformer transformer = transformerFactory.newTransformer();
-
-            // we write the header ourselves.
-            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-
-            if (this.indent > 0) {
-                transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-                transformer.setOutputProperty(INDENT_PROPERTY, Integer.toString(this.indent));
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            if (factory.isPropertySupported(PROPERTY_IGNORE_EXTERNAL_DTD)) {
+                factory.setProperty(PROPERTY_IGNORE_EXTERNAL_DTD, true);
+            } else {
+                factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
             }
-            return transformer;
-        } catch (final TransformerConfigurationException e) {
-            throw new ConfigurateException(e);
         }
+        return factory;
     }
 
     @Override
-    public @NonNull AttributedConfigurationNode load(@NonNull ConfigurationOptions options) throws ParsingException {
+    public @NonNull AttributedConfigurationNode load(final @NonNull ConfigurationOptions options) throws ParsingException {
+        final AttributedConfigurationNode node = this.loadDocument(options);
+        if (this.pathFilter != null) {
+            this.pathFilter.apply(node);
+        }
+        return node;
+    }
+
+    private AttributedConfigurationNode loadDocument(ConfigurationOptions options) throws ParsingException {
         if (source == null) {
             throw new ParsingException(-1, -1, "", "No source present to read from!", null);
         }
         try (BufferedReader reader = source.call()) {
+            if (this.schema == null) {
+                final @Nullable AttributedConfigurationNode node = this.loadStream(reader, options);
+                return node == null ? createNode(options) : node;
+            }
             final DocumentBuilder documentBuilder = newDocumentBuilder();
 
             final Document document;
@@ -392,13 +392,33 @@ public final class XmlConfigurationLoader extends AbstractConfigurationLoader<At
         return createNode(options);
     }
 
+    private @Nullable AttributedConfigurationNode loadStream(final BufferedReader reader, final ConfigurationOptions options)
+        throws ParsingException {
+        final XMLStreamReader streamReader;
+        try {
+            streamReader = newInputFactory().createXMLStreamReader(reader);
+        } catch (final XMLStreamException ex) {
+            throw new ParsingException(-1, -1, "", null, ex);
+        }
+
+        try {
+            return new XmlStreamParser(this, streamReader).parse(options);
+        } finally {
+            try {
+                streamReader.close();
+            } catch (final XMLStreamException ignored) {
+                // the underlying reader is closed by the caller
+            }
+        }
+    }
+
     /**
      * Given a single comment node's comment, clear any prefix lines.
      *
      * @param headerContent the content of a header
      * @return a formatted header, with lines separated by {@link #CONFIGURATE_LINE_SEPARATOR}
      */
-    private String unwrapHeader(final String headerContent) {
+    String unwrapHeader(final String headerContent) {
         if (headerContent.isEmpty()) {
             return headerContent;
         }
@@ -423,7 +443,7 @@ public final class XmlConfigurationLoader extends AbstractConfigurationLoader<At
         throw new UnsupportedOperationException("XMLConfigurationLoader provides custom loading logic to handle headers");
     }
 
-    private enum NodeType {
+    enum NodeType {
         MAP, LIST
     }
 
@@ -535,75 +555,7 @@ public final class XmlConfigurationLoader extends AbstractConfigurationLoader<At
 
     @Override
     protected void saveInternal(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
-        final DocumentBuilder documentBuilder = newDocumentBuilder();
-        final Document document = documentBuilder.newDocument();
-
-        final @Nullable Node comment = createCommentNode(document, node);
-        if (comment != null) {
-            document.appendChild(comment);
-        }
-
-        document.appendChild(writeNode(document, node, null));
-
-        final Transformer transformer = newTransformer();
-        final DOMSource source = new DOMSource(document);
-        try {
-            transformer.transform(source, new StreamResult(writer));
-        } catch (final TransformerException e) {
-            throw new ConfigurateException(node, e);
-        }
-    }
-
-    private void appendCommentIfNecessary(final Element parent, final ConfigurationNode node) {
-        final @Nullable Node possibleComment = createCommentNode(parent.getOwnerDocument(), node);
-        if (possibleComment != null) {
-            parent.appendChild(possibleComment);
-        }
-    }
-
-    private @Nullable Node createCommentNode(final Document doc, final ConfigurationNode node) {
-        if (node instanceof CommentedConfigurationNodeIntermediary<?>) {
-            final @Nullable String comment = ((CommentedConfigurationNodeIntermediary<?>) node).comment();
-            if (comment != null) {
-                return doc.createComment(" " + comment.trim() + " ");
-            }
-        }
-        return null;
-    }
-
-    private Element writeNode(final Document document, final ConfigurationNode node, final @Nullable String forcedTag) {
-        String tag = this.defaultTagName;
-        Map<String, String> attributes = Collections.emptyMap();
-
-        if (node instanceof AttributedConfigurationNode) {
-            final AttributedConfigurationNode attributedNode = (AttributedConfigurationNode) node;
-            tag = attributedNode.tagName();
-            attributes = attributedNode.attributes();
-        }
-
-        final Element element = document.createElement(forcedTag == null ? tag : forcedTag);
-        for (final Map.Entry<String, String> attribute : attributes.entrySet()) {
-            element.setAttribute(attribute.getKey(), attribute.getValue());
-        }
-
-        if (node.isMap()) {
-            for (final Map.Entry<Object, ? extends ConfigurationNode> child : node.childrenMap().entrySet()) {
-                appendCommentIfNecessary(element, child.getValue());
-                element.appendChild(writeNode(document, child.getValue(), child.getKey().toString()));
-            }
-        } else if (node.isList()) {
-            if (this.writeExplicitType) {
-                element.setAttribute(ATTRIBUTE_TYPE, "list");
-            }
-            for (final ConfigurationNode child : node.childrenList()) {
-                appendCommentIfNecessary(element, child);
-                element.appendChild(writeNode(document, child, null));
-            }
-        } else {
-            element.appendChild(document.createTextNode(Objects.toString(node.rawScalar())));
-        }
-
-        return element;
+        node.visit(new XmlVisitor(this.defaultTagName, this.indent, this.writeExplicitType, SYSTEM_LINE_SEPARATOR), writer);
     }
 
     @Override
@@ -612,7 +564,7 @@ public final class XmlConfigurationLoader extends AbstractConfigurationLoader<At
         return AttributedConfigurationNode.root("root", options);
     }
 
-    private static Object parseValue(final String value) {
+    static Object parseValue(final String value) {
         if (value.equals("true") || value.equals("false")) {
             return Boolean.parseBoolean(value);
         }
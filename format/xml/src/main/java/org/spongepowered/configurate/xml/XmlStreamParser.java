@@ -0,0 +1,304 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.xml;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.AttributedConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.xml.XmlConfigurationLoader.NodeType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Read a document from a stream of parse events directly into nodes.
+ *
+ * <p>This produces the same tree as reading the document into a DOM first,
+ * but only keeps state for the elements currently open.</p>
+ */
+final class XmlStreamParser {
+
+    private final XmlConfigurationLoader loader;
+    private final XMLStreamReader reader;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+
+    XmlStreamParser(final XmlConfigurationLoader loader, final XMLStreamReader reader) {
+        this.loader = loader;
+        this.reader = reader;
+    }
+
+    /**
+     * Read the document's root element.
+     *
+     * @param options options for the created root node, with any header
+     *     found before the root element applied
+     * @return the root node, or {@code null} if the document has no root
+     * @throws ParsingException if the document is not well-formed
+     */
+    @Nullable AttributedConfigurationNode parse(ConfigurationOptions options) throws ParsingException {
+        try {
+            while (this.reader.hasNext()) {
+                final int event = this.reader.next();
+                if (event == XMLStreamConstants.COMMENT) {
+                    options = options.header(this.loader.unwrapHeader(this.reader.getText().trim()));
+                } else if (event == XMLStreamConstants.START_ELEMENT) {
+                    final AttributedConfigurationNode root = this.loader.createNode(options);
+                    this.startElement(root);
+                    this.readContents();
+                    return root;
+                }
+            }
+            return null;
+        } catch (final XMLStreamException ex) {
+            throw this.wrap(ex);
+        }
+    }
+
+    private ParsingException wrap(final XMLStreamException ex) {
+        final @Nullable Location location = ex.getLocation();
+        @Nullable String message = ex.getMessage();
+        // the reader prefixes its messages with the location, which we report separately
+        final int messageStart = message == null ? -1 : message.indexOf("Message: ");
+        if (message != null && messageStart != -1) {
+            message = message.substring(messageStart + "Message: ".length());
+        }
+        return new ParsingException(
+            location == null ? -1 : location.getLineNumber(),
+            location == null ? -1 : location.getColumnNumber(),
+            "",
+            message,
+            ex.getNestedException()
+        );
+    }
+
+    private void readContents() throws XMLStreamException {
+        while (!this.frames.isEmpty()) {
+            final Frame frame = this.frames.peek();
+            switch (this.reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    this.startChild(frame);
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    this.frames.pop().end();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    frame.text(this.reader);
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    frame.comment(this.reader.getText().trim());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void startChild(final Frame parent) throws XMLStreamException {
+        final String name = qualifiedName(this.reader.getPrefix(), this.reader.getLocalName());
+        final @Nullable String comment = parent.takeComment();
+        final @Nullable AttributedConfigurationNode child = parent.child(name);
+        if (child == null) {
+            // only the first element of each name is read into a map
+            this.skipElement();
+            return;
+        }
+        if (comment != null) {
+            child.comment(comment);
+        }
+        this.startElement(child);
+    }
+
+    private void startElement(final AttributedConfigurationNode node) {
+        node.tagName(qualifiedName(this.reader.getPrefix(), this.reader.getLocalName()));
+        @Nullable NodeType type = null;
+
+        // attributes are added in order of name, as a DOM would present them
+        final int count = this.reader.getAttributeCount();
+        final Map<String, String> attributes = count > 1 ? new TreeMap<>() : new HashMap<>(2);
+        for (int i = 0; i < count; ++i) {
+            final String key = qualifiedName(this.reader.getAttributePrefix(i), this.reader.getAttributeLocalName(i));
+            final String value = this.reader.getAttributeValue(i);
+            if (key.equals(XmlConfigurationLoader.ATTRIBUTE_TYPE)) {
+                if (value.equals("map")) {
+                    type = NodeType.MAP;
+                } else if (value.equals("list")) {
+                    type = NodeType.LIST;
+                }
+                continue;
+            }
+            attributes.put(key, value);
+        }
+        for (final Map.Entry<String, String> attribute : attributes.entrySet()) {
+            node.addAttribute(attribute.getKey(), attribute.getValue());
+        }
+
+        this.frames.push(new Frame(node, type));
+    }
+
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            final int event = this.reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static String qualifiedName(final @Nullable String prefix, final String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ':' + localName;
+    }
+
+    /**
+     * An element that has been opened but not yet closed.
+     */
+    static final class Frame {
+        final AttributedConfigurationNode node;
+        @Nullable NodeType type;
+        final boolean explicit;
+        /**
+         * Names of child elements, in order of first appearance.
+         */
+        @Nullable Map<String, Integer> names;
+        boolean grouped = true;
+        int lastGroup;
+        @Nullable StringBuilder text;
+        @Nullable StringBuilder comment;
+
+        Frame(final AttributedConfigurationNode node, final @Nullable NodeType type) {
+            this.node = node;
+            this.type = type;
+            this.explicit = type != null;
+        }
+
+        void text(final XMLStreamReader reader) {
+            if (this.names != null) {
+                return;
+            }
+            if (this.text == null) {
+                this.text = new StringBuilder(reader.getTextLength());
+            }
+            this.text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+        }
+
+        void comment(final String comment) {
+            if (this.comment == null) {
+                this.comment = new StringBuilder(comment);
+            } else {
+                if (this.comment.length() > 0) {
+                    this.comment.append('\n');
+                }
+                this.comment.append(comment);
+            }
+        }
+
+        @Nullable String takeComment() {
+            final @Nullable StringBuilder comment = this.comment;
+            if (comment == null || comment.length() == 0) {
+                return null;
+            }
+            this.comment = null;
+            return comment.toString();
+        }
+
+        /**
+         * Create the node for a child element.
+         *
+         * <p>Without an explicit type, an element is read as a map until a
+         * second child element with the same name is found.</p>
+         *
+         * @param name the child element's name
+         * @return the child node, or {@code null} if the element should be
+         *     skipped
+         */
+        @Nullable AttributedConfigurationNode child(final String name) {
+            @Nullable Map<String, Integer> names = this.names;
+            if (names == null) {
+                this.names = names = new HashMap<>();
+                this.text = null;
+                if (this.type == NodeType.LIST) {
+                    this.node.raw(Collections.emptyList());
+                } else {
+                    this.type = NodeType.MAP;
+                    this.node.raw(Collections.emptyMap());
+                }
+            }
+
+            final @Nullable Integer existing = names.get(name);
+            final int group = existing == null ? names.size() : existing;
+            if (existing == null) {
+                names.put(name, group);
+            }
+
+            if (this.type == NodeType.MAP) {
+                if (existing == null) {
+                    this.lastGroup = group;
+                    return this.node.node(name);
+                } else if (this.explicit) {
+                    return null;
+                }
+                // a repeated name: this is a list, of the elements read so far
+                // (copied, as replacing the value clears the existing children)
+                final Collection<AttributedConfigurationNode> children = this.node.copy().childrenMap().values();
+                this.type = NodeType.LIST;
+                this.node.raw(Collections.emptyList());
+                for (final AttributedConfigurationNode child : children) {
+                    this.node.appendListNode().from(child);
+                }
+            }
+
+            if (group < this.lastGroup) {
+                this.grouped = false;
+            }
+            this.lastGroup = group;
+            return this.node.appendListNode();
+        }
+
+        void end() {
+            final @Nullable Map<String, Integer> names = this.names;
+            if (names == null) {
+                // no child elements, this is a scalar
+                this.node.raw(XmlConfigurationLoader.parseValue(this.text == null ? "" : this.text.toString()));
+            } else if (!this.grouped) {
+                // list elements are ordered by the first appearance of their names
+                final List<AttributedConfigurationNode> children = new ArrayList<>(this.node.copy().childrenList());
+                children.sort((a, b) -> Integer.compare(names.get(a.tagName()), names.get(b.tagName())));
+                this.node.raw(Collections.emptyList());
+                for (final AttributedConfigurationNode child : children) {
+                    this.node.appendListNode().from(child);
+                }
+            }
+        }
+    }
+
+}
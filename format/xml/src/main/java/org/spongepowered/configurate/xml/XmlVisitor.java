@@ -0,0 +1,345 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.xml;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.AttributedConfigurationNode;
+import org.spongepowered.configurate.CommentedConfigurationNodeIntermediary;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationVisitor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Write a node tree as an XML element directly to a writer.
+ *
+ * <p>Output matches what the JDK's identity transformer produces for the DOM
+ * previously built from the same tree, without holding the document in
+ * memory.</p>
+ */
+final class XmlVisitor implements ConfigurationVisitor<Writer, Void, ConfigurateException> {
+
+    private final String defaultTagName;
+    private final int indent;
+    private final boolean writeExplicitType;
+    private final String lineSeparator;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private @Nullable ConfigurationNode start;
+    private @Nullable String pendingTag;
+    private boolean entered;
+
+    XmlVisitor(final String defaultTagName, final int indent, final boolean writeExplicitType, final String lineSeparator) {
+        this.defaultTagName = defaultTagName;
+        this.indent = indent;
+        this.writeExplicitType = writeExplicitType;
+        this.lineSeparator = lineSeparator;
+    }
+
+    @Override
+    public Writer newState() {
+        throw new UnsupportedOperationException("Writer must be provided");
+    }
+
+    @Override
+    public void beginVisit(final ConfigurationNode node, final Writer state) {
+        this.start = node;
+        this.frames.clear();
+        this.entered = false;
+    }
+
+    @Override
+    public void enterNode(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        this.entered = true;
+        final @Nullable Frame parent = this.frames.peek();
+        final int depth = parent == null ? 0 : parent.depth + 1;
+
+        String tag = this.defaultTagName;
+        Map<String, String> attributes = Collections.emptyMap();
+        if (node instanceof AttributedConfigurationNode) {
+            tag = ((AttributedConfigurationNode) node).tagName();
+            attributes = ((AttributedConfigurationNode) node).attributes();
+        }
+        if (parent != null && !parent.list) {
+            final @Nullable Object key = node.key();
+            if (key == null) {
+                throw new ConfigurateException(node, "Node must have key to be a value in a mapping");
+            }
+            tag = key.toString();
+        }
+        if (!isName(tag)) {
+            throw new ConfigurateException(node, "'" + tag + "' is not a valid XML element name");
+        }
+
+        try {
+            if (parent != null && !parent.open) {
+                // the start tag is only closed once we know the element has content
+                parent.open = true;
+                writer.write('>');
+            }
+            if (node instanceof CommentedConfigurationNodeIntermediary<?>) {
+                final @Nullable String comment = ((CommentedConfigurationNodeIntermediary<?>) node).comment();
+                if (comment != null) {
+                    if (parent != null) {
+                        this.newLine(writer, depth);
+                    }
+                    this.writeComment(writer, comment);
+                }
+            }
+            if (parent != null) {
+                this.newLine(writer, depth);
+            }
+
+            writer.write('<');
+            writer.write(tag);
+            if (node.isList() && this.writeExplicitType) {
+                // attributes are written sorted by name, including our own
+                final Map<String, String> sorted = new TreeMap<>(attributes);
+                sorted.put(XmlConfigurationLoader.ATTRIBUTE_TYPE, "list");
+                attributes = sorted;
+            } else if (attributes.size() > 1) {
+                attributes = new TreeMap<>(attributes);
+            }
+            for (final Map.Entry<String, String> attribute : attributes.entrySet()) {
+                if (!isName(attribute.getKey())) {
+                    throw new ConfigurateException(node, "'" + attribute.getKey() + "' is not a valid XML attribute name");
+                }
+                writer.write(' ');
+                writer.write(attribute.getKey());
+                writer.write("=\"");
+                this.writeEscaped(node, writer, attribute.getValue(), true);
+                writer.write('"');
+            }
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+        this.pendingTag = tag;
+    }
+
+    @Override
+    public void enterMappingNode(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        this.startElement(false);
+    }
+
+    @Override
+    public void enterListNode(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        this.startElement(true);
+    }
+
+    private void startElement(final boolean list) {
+        final @Nullable Frame parent = this.frames.peek();
+        this.frames.push(new Frame(Objects.requireNonNull(this.pendingTag, "tag"), parent == null ? 0 : parent.depth + 1, list));
+    }
+
+    @Override
+    public void enterScalarNode(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        final String value = Objects.toString(node.rawScalar());
+        try {
+            if (value.isEmpty()) {
+                writer.write("/>");
+            } else {
+                writer.write('>');
+                this.writeEscaped(node, writer, value, false);
+                writer.write("</");
+                writer.write(Objects.requireNonNull(this.pendingTag, "tag"));
+                writer.write('>');
+            }
+            if (node == this.start) {
+                this.newLine(writer, 0);
+            }
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public void exitMappingNode(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        this.endElement(node, writer);
+    }
+
+    @Override
+    public void exitListNode(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        this.endElement(node, writer);
+    }
+
+    private void endElement(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        final Frame frame = this.frames.pop();
+        try {
+            if (frame.open) {
+                this.newLine(writer, frame.depth);
+                writer.write("</");
+                writer.write(frame.tag);
+                writer.write('>');
+            } else {
+                writer.write("/>");
+            }
+            if (node == this.start) {
+                this.newLine(writer, 0);
+            }
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public Void endVisit(final Writer writer) throws ConfigurateException {
+        final @Nullable ConfigurationNode start = this.start;
+        // a node without any value is still written, as an element holding the text "null"
+        if (!this.entered && start != null) {
+            this.enterNode(start, writer);
+            this.enterScalarNode(start, writer);
+        }
+        this.start = null;
+        this.pendingTag = null;
+        this.frames.clear();
+        return null;
+    }
+
+    private void newLine(final Writer writer, final int depth) throws IOException {
+        if (this.indent > 0) {
+            writer.write(this.lineSeparator);
+            for (int i = 0, length = depth * this.indent; i < length; ++i) {
+                writer.write(' ');
+            }
+        }
+    }
+
+    private void writeComment(final Writer writer, final String comment) throws IOException {
+        final String text = comment.trim();
+        writer.write("<!-- ");
+        // a comment may not contain a double hyphen
+        int unwritten = 0;
+        for (int i = 0, length = text.length() - 1; i < length; ++i) {
+            if (text.charAt(i) == '-' && text.charAt(i + 1) == '-') {
+                writer.write(text, unwritten, i + 1 - unwritten);
+                writer.write(' ');
+                unwritten = i + 1;
+            }
+        }
+        writer.write(text, unwritten, text.length() - unwritten);
+        writer.write(" -->");
+    }
+
+    /**
+     * Write character data, escaping markup and anything else that would not
+     * be read back unchanged.
+     */
+    private void writeEscaped(final ConfigurationNode node, final Writer writer, final String value, final boolean attribute)
+        throws IOException {
+        int unwritten = 0;
+        for (int i = 0, length = value.length(); i < length; ++i) {
+            final char c = value.charAt(i);
+            final @Nullable String replacement;
+            int codePoint = c;
+            if (c == '&') {
+                replacement = "&amp;";
+            } else if (c == '<') {
+                replacement = "&lt;";
+            } else if (c == '>') {
+                replacement = "&gt;";
+            } else if (c == '"' && attribute) {
+                replacement = "&quot;";
+            } else if (c < 0x20) {
+                replacement = !attribute && (c == '\t' || c == '\n') ? null : "&#" + (int) c + ';';
+            } else if (c >= 0x7f && c <= 0x9f) {
+                replacement = attribute ? null : "&#" + (int) c + ';';
+            } else if (Character.isSurrogate(c)) {
+                if (!Character.isHighSurrogate(c) || i + 1 == length || !Character.isLowSurrogate(value.charAt(i + 1))) {
+                    throw new ConfigurateException(node, "Unpaired surrogate character at index " + i + " cannot be written as XML");
+                }
+                codePoint = Character.toCodePoint(c, value.charAt(i + 1));
+                replacement = "&#" + codePoint + ';';
+            } else {
+                replacement = null;
+            }
+
+            if (replacement != null) {
+                writer.write(value, unwritten, i - unwritten);
+                writer.write(replacement);
+                i += Character.charCount(codePoint) - 1;
+                unwritten = i + 1;
+            }
+        }
+        writer.write(value, unwritten, value.length() - unwritten);
+    }
+
+    /**
+     * Get whether a string is a valid XML 1.0 name.
+     */
+    static boolean isName(final String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0, length = name.length(); i < length;) {
+            final int c = name.codePointAt(i);
+            if (!(i == 0 ? isNameStart(c) : isNameStart(c) || isNamePart(c))) {
+                return false;
+            }
+            i += Character.charCount(c);
+        }
+        return true;
+    }
+
+    private static boolean isNameStart(final int c) {
+        return c >= 'a' && c <= 'z'
+            || c >= 'A' && c <= 'Z'
+            || c == ':' || c == '_'
+            || c >= 0xC0 && c <= 0xD6
+            || c >= 0xD8 && c <= 0xF6
+            || c >= 0xF8 && c <= 0x2FF
+            || c >= 0x370 && c <= 0x37D
+            || c >= 0x37F && c <= 0x1FFF
+            || c >= 0x200C && c <= 0x200D
+            || c >= 0x2070 && c <= 0x218F
+            || c >= 0x2C00 && c <= 0x2FEF
+            || c >= 0x3001 && c <= 0xD7FF
+            || c >= 0xF900 && c <= 0xFDCF
+            || c >= 0xFDF0 && c <= 0xFFFD
+            || c >= 0x10000 && c <= 0xEFFFF;
+    }
+
+    private static boolean isNamePart(final int c) {
+        return c >= '0' && c <= '9'
+            || c == '-' || c == '.' || c == 0xB7
+            || c >= 0x300 && c <= 0x36F
+            || c >= 0x203F && c <= 0x2040;
+    }
+
+    /**
+     * An element with child elements being written.
+     */
+    static final class Frame {
+        final String tag;
+        final int depth;
+        final boolean list;
+        boolean open;
+
+        Frame(final String tag, final int depth, final boolean list) {
+            this.tag = tag;
+            this.depth = depth;
+            this.list = list;
+        }
+    }
+
+}
@@ -19,6 +19,7 @@ package org.spongepowered.configuate.xml;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.common.io.Resources;
@@ -32,6 +33,7 @@ import org.spongepowered.configurate.xml.XmlConfigurationLoader;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -162,4 +164,57 @@ public class XmlConfigurationLoaderTest {
         assertEquals(Resources.readLines(original, UTF_8), Files.readAllLines(destination, UTF_8));
     }
 
+    @Test
+    void testMixedListKeepsElementsGrouped() throws ConfigurateException {
+        final AttributedConfigurationNode node = XmlConfigurationLoader.builder()
+                .source(() -> new BufferedReader(new StringReader(
+                    "<items><!-- first --><a>1</a><b x=\"y\">2</b>text<a>3</a><!-- last --><c/></items>")))
+                .build()
+                .load();
+
+        assertTrue(node.isList());
+        final List<AttributedConfigurationNode> children = node.childrenList();
+        assertEquals(4, children.size());
+        assertEquals("a", children.get(0).tagName());
+        assertEquals(1, children.get(0).raw());
+        assertEquals("first", children.get(0).comment());
+        assertEquals(3, children.get(1).raw());
+        assertEquals("b", children.get(2).tagName());
+        assertEquals("y", children.get(2).attribute("x"));
+        assertEquals("c", children.get(3).tagName());
+        assertEquals("last", children.get(3).comment());
+    }
+
+    @Test
+    void testEscapedContentRoundtrip() throws ConfigurateException {
+        final XmlConfigurationLoader.Builder builder = XmlConfigurationLoader.builder()
+                .indent(0)
+                .includesXmlDeclaration(false);
+        final AttributedConfigurationNode node = AttributedConfigurationNode.root();
+        node.node("text").raw("a < b && \"c\" > d\r\n\uD83D\uDE00");
+        node.node("attributed").addAttribute("value", "line\none\ttab").raw("x");
+        node.node("commented").comment("no -- double hyphens").raw(true);
+
+        final String written = builder.buildAndSaveString(node);
+        assertEquals("<root><text>a &lt; b &amp;&amp; \"c\" &gt; d&#13;\n&#128512;</text>"
+            + "<attributed value=\"line&#10;one&#9;tab\">x</attributed>"
+            + "<!-- no - - double hyphens --><commented>true</commented></root>", written);
+
+        final AttributedConfigurationNode read = XmlConfigurationLoader.builder()
+                .source(() -> new BufferedReader(new StringReader(written)))
+                .build()
+                .load();
+        assertEquals(node.node("text").raw(), read.node("text").raw());
+        assertEquals("line\none\ttab", read.node("attributed").attribute("value"));
+        assertEquals(true, read.node("commented").raw());
+    }
+
+    @Test
+    void testInvalidElementName() {
+        final AttributedConfigurationNode node = AttributedConfigurationNode.root();
+        node.node("with space").raw("value");
+
+        assertThrows(ConfigurateException.class, () -> XmlConfigurationLoader.builder().buildAndSaveString(node));
+    }
+
 }
@@ -16,27 +16,73 @@
  */
 package org.spongepowered.configurate.yaml;
 
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.loader.PathFilter;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.composer.Composer;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.emitter.Emitter;
+import org.yaml.snakeyaml.nodes.ScalarNode;
 import org.yaml.snakeyaml.parser.ParserImpl;
 import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.representer.Representer;
 
 import java.io.Reader;
+import java.io.Writer;
 
 final class ConfigurateYaml extends Yaml {
 
+    private final ScalarConstructor scalars;
+    private final YamlVisitor visitor;
+
     ConfigurateYaml(final DumperOptions options) {
-        super(options);
+        this(new ScalarConstructor(), options);
+    }
+
+    private ConfigurateYaml(final ScalarConstructor constructor, final DumperOptions options) {
+        super(constructor, new Representer(options), options);
+        this.scalars = constructor;
+        this.visitor = new YamlVisitor(options, this.representer, this.resolver);
     }
 
-    public Object loadConfigurate(final Reader yaml) {
-        // Match the superclass implementation, except we substitute our own scanner implementation
+    /**
+     * Read a single document directly into {@code node}.
+     *
+     * @param yaml the source
+     * @param filter the subtrees to read
+     * @param node the node to populate
+     * @throws ParsingException if the document could not be read
+     */
+    public void loadConfigurate(final Reader yaml, final PathFilter filter, final ConfigurationNode node) throws ParsingException {
+        // Use our own scanner implementation, and skip the representation graph entirely
         final StreamReader reader = new StreamReader(yaml);
         final ParserImpl parser = new ParserImpl(new ConfigurateScanner(reader));
-        final Composer compose = new Composer(parser, this.resolver, this.loadingConfig);
-        this.constructor.setComposer(compose);
-        return this.constructor.getSingleData(Object.class);
+        new YamlParserComposer(parser, this.resolver, this.scalars, this.loadingConfig, filter, node).singleDocument(node);
+    }
+
+    /**
+     * Write {@code node} as a single document, without first converting it
+     * to Java collections.
+     *
+     * @param node the node to write
+     * @param writer the destination
+     * @throws ConfigurateException if the node could not be written
+     */
+    public void dumpConfigurate(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        node.visit(this.visitor, new Emitter(writer, this.dumperOptions));
+    }
+
+    /**
+     * A constructor that exposes construction of individual scalars.
+     */
+    static final class ScalarConstructor extends SafeConstructor {
+
+        Object constructValue(final ScalarNode node) {
+            return this.getConstructor(node).construct(node);
+        }
+
     }
 
 }
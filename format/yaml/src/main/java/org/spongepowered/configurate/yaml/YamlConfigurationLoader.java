@@ -18,11 +18,14 @@ package org.spongepowered.configurate.yaml;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.ConfigurationOptions;
 import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
 import org.spongepowered.configurate.loader.CommentHandler;
 import org.spongepowered.configurate.loader.CommentHandlers;
+import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.loader.PathFilter;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 import org.yaml.snakeyaml.DumperOptions;
 
@@ -154,13 +157,18 @@ public final class YamlConfigurationLoader extends AbstractConfigurationLoader<C
     }
 
     @Override
-    protected void loadInternal(final CommentedConfigurationNode node, final BufferedReader reader) {
-        node.raw(this.yaml.get().loadConfigurate(reader));
+    protected void loadInternal(final CommentedConfigurationNode node, final BufferedReader reader) throws ParsingException {
+        this.yaml.get().loadConfigurate(reader, this.pathFilter == null ? PathFilter.all() : this.pathFilter, node);
     }
 
     @Override
-    protected void saveInternal(final ConfigurationNode node, final Writer writer) {
-        this.yaml.get().dump(node.raw(), writer);
+    protected boolean filtersPaths() {
+        return true;
+    }
+
+    @Override
+    protected void saveInternal(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        this.yaml.get().dumpConfigurate(node, writer);
     }
 
     @Override
@@ -0,0 +1,383 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.yaml;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.loader.PathFilter;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.error.MarkedYAMLException;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Build a node tree directly from a stream of parser events.
+ *
+ * <p>This replaces SnakeYAML's composer and constructor, which first build a
+ * full representation graph and then a tree of Java collections, both of
+ * which would be copied into the node again.</p>
+ */
+final class YamlParserComposer {
+
+    private final Parser parser;
+    private final Resolver resolver;
+    private final ConfigurateYaml.ScalarConstructor constructor;
+    private final LoaderOptions loaderOptions;
+    private final PathFilter filter;
+    private final Map<String, ConfigurationNode> anchors = new HashMap<>();
+    private int collectionAliases;
+    private ConfigurationNode current;
+
+    YamlParserComposer(
+        final Parser parser,
+        final Resolver resolver,
+        final ConfigurateYaml.ScalarConstructor constructor,
+        final LoaderOptions loaderOptions,
+        final PathFilter filter,
+        final ConfigurationNode root
+    ) {
+        this.parser = parser;
+        this.resolver = resolver;
+        this.constructor = constructor;
+        this.loaderOptions = loaderOptions;
+        this.filter = filter;
+        this.current = root;
+    }
+
+    /**
+     * Read the single document in the stream into {@code node}.
+     *
+     * @param node the target node
+     * @throws ParsingException if the document is not valid YAML
+     */
+    void singleDocument(final ConfigurationNode node) throws ParsingException {
+        try {
+            this.parser.getEvent(); // stream start
+            if (!this.parser.checkEvent(Event.ID.StreamEnd)) {
+                this.parser.getEvent(); // document start
+                if (this.skips(this.filter)) {
+                    this.skipValue();
+                } else {
+                    this.readValue(node, this.filter);
+                }
+                this.parser.getEvent(); // document end
+                this.anchors.clear();
+                if (!this.parser.checkEvent(Event.ID.StreamEnd)) {
+                    throw this.error(this.parser.peekEvent().getStartMark(), "expected a single document in the stream");
+                }
+            }
+            this.parser.getEvent(); // stream end
+        } catch (final MarkedYAMLException ex) {
+            final @Nullable Mark mark = ex.getProblemMark();
+            throw new ParsingException(
+                this.current,
+                mark == null ? ParsingException.UNKNOWN_POS : mark.getLine() + 1,
+                mark == null ? ParsingException.UNKNOWN_POS : mark.getColumn() + 1,
+                null,
+                ex.getProblem(),
+                ex
+            );
+        } catch (final YAMLException ex) {
+            throw new ParsingException(this.current, ParsingException.UNKNOWN_POS, ParsingException.UNKNOWN_POS, null, ex.getMessage(), ex);
+        }
+    }
+
+    private void readValue(final ConfigurationNode node, final PathFilter filter) throws ParsingException {
+        if (!filter.includesAll() && this.isAnchored(this.parser.peekEvent())) {
+            // anchored values are read in full, as they may be aliased from outside the filter
+            final ConfigurationNode anchored = BasicConfigurationNode.root(node.options());
+            this.readValue(anchored, PathFilter.all());
+            node.from(anchored);
+            filter.apply(node);
+            return;
+        }
+
+        this.current = node;
+        final Event event = this.parser.getEvent();
+        if (event.is(Event.ID.Alias)) {
+            node.from(this.alias((AliasEvent) event));
+            if (!filter.includesAll()) {
+                filter.apply(node);
+            }
+            return;
+        }
+
+        if (event.is(Event.ID.Scalar)) {
+            final @Nullable Object value = this.scalar((ScalarEvent) event);
+            if (value != null) {
+                node.raw(value);
+            }
+        } else if (event.is(Event.ID.SequenceStart)) {
+            this.readSequence(node, filter);
+        } else if (event.is(Event.ID.MappingStart)) {
+            this.readMapping(node, filter);
+        } else {
+            throw this.error(event.getStartMark(), "expected a node, but found " + event.getEventId());
+        }
+
+        final @Nullable String anchor = ((NodeEvent) event).getAnchor();
+        if (anchor != null) {
+            this.anchors.put(anchor, node);
+        }
+    }
+
+    private void readSequence(final ConfigurationNode node, final PathFilter filter) throws ParsingException {
+        // Leading scalars are collected and set in one go, so they can be packed
+        @Nullable List<Object> scalars = filter.includesAll() ? new ArrayList<>() : null;
+        final @Nullable PathFilter elementFilter = filter.element();
+        while (!this.parser.checkEvent(Event.ID.SequenceEnd)) {
+            if (elementFilter == null || this.skips(elementFilter)) {
+                this.skipValue();
+            } else if (scalars != null && this.isPlainScalar(this.parser.peekEvent())) {
+                final @Nullable Object value = this.scalar((ScalarEvent) this.parser.getEvent());
+                if (value != null) {
+                    scalars.add(value);
+                }
+            } else {
+                if (scalars != null) {
+                    for (final Object value : scalars) {
+                        node.appendListNode().raw(value);
+                    }
+                    scalars = null;
+                }
+                this.readValue(node.appendListNode(), elementFilter);
+                this.current = node;
+            }
+        }
+        this.parser.getEvent(); // sequence end
+
+        if (scalars != null) {
+            node.raw(scalars);
+        } else if (!node.isList()) {
+            node.raw(Collections.emptyList());
+        }
+    }
+
+    private void readMapping(final ConfigurationNode node, final PathFilter filter) throws ParsingException {
+        @Nullable Set<Object> mergedKeys = null;
+        while (!this.parser.checkEvent(Event.ID.MappingEnd)) {
+            final Event keyEvent = this.parser.peekEvent();
+            if (this.isPlainScalar(keyEvent) && Tag.MERGE.equals(this.tag((ScalarEvent) keyEvent))) {
+                this.parser.getEvent();
+                if (mergedKeys == null) {
+                    mergedKeys = new HashSet<>();
+                }
+                final List<ConfigurationNode> sources = new ArrayList<>();
+                this.readMergeSources(node, sources);
+                // Keys already present take priority, then earlier sources over later ones
+                for (final ConfigurationNode source : sources) {
+                    for (final Map.Entry<Object, ? extends ConfigurationNode> entry : source.childrenMap().entrySet()) {
+                        final @Nullable PathFilter childFilter = filter.child(entry.getKey());
+                        final ConfigurationNode target = node.node(entry.getKey());
+                        if (childFilter != null && target.virtual()) {
+                            target.from(entry.getValue());
+                            if (!childFilter.includesAll()) {
+                                childFilter.apply(target);
+                            }
+                            mergedKeys.add(entry.getKey());
+                        }
+                    }
+                }
+                continue;
+            }
+
+            final Object key = this.readKey(node);
+            final @Nullable PathFilter childFilter = filter.child(key);
+            if (childFilter == null || this.skips(childFilter)) {
+                if (childFilter != null) { // a skipped duplicate still replaces the earlier value
+                    node.removeChild(key);
+                }
+                this.skipValue();
+                continue;
+            }
+
+            ConfigurationNode child = node.node(key);
+            if (!child.virtual()) {
+                if (mergedKeys != null && mergedKeys.remove(key)) {
+                    // an explicit key overrides a merged one in place
+                    final ConfigurationNode value = BasicConfigurationNode.root(node.options());
+                    this.readValue(value, childFilter);
+                    this.current = node;
+                    child.from(value);
+                    continue;
+                }
+                // duplicate key, last one wins
+                child.raw(null);
+                child = node.node(key);
+            }
+            this.readValue(child, childFilter);
+            this.current = node;
+        }
+        this.parser.getEvent(); // mapping end
+
+        if (!node.isMap()) {
+            node.raw(Collections.emptyMap());
+        }
+    }
+
+    private Object readKey(final ConfigurationNode parent) throws ParsingException {
+        final Event event = this.parser.peekEvent();
+        final @Nullable Object key;
+        if (this.isPlainScalar(event)) {
+            key = this.scalar((ScalarEvent) this.parser.getEvent());
+        } else {
+            // Complex or aliased keys go through a temporary node
+            final ConfigurationNode keyNode = BasicConfigurationNode.root(parent.options());
+            this.readValue(keyNode, PathFilter.all());
+            this.current = parent;
+            key = keyNode.raw();
+        }
+
+        if (key == null) {
+            throw this.error(event.getStartMark(), "null mapping keys are not supported");
+        }
+        return key;
+    }
+
+    private void readMergeSources(final ConfigurationNode node, final List<ConfigurationNode> merges) throws ParsingException {
+        final Event event = this.parser.peekEvent();
+        final ConfigurationNode source;
+        if (event.is(Event.ID.Alias)) {
+            // Read aliased mappings in place rather than copying them first
+            source = this.alias((AliasEvent) this.parser.getEvent());
+        } else {
+            source = BasicConfigurationNode.root(node.options());
+            this.readValue(source, PathFilter.all());
+            this.current = node;
+        }
+
+        if (source.isMap()) {
+            merges.add(source);
+        } else if (source.isList()) {
+            for (final ConfigurationNode element : source.childrenList()) {
+                if (!element.isMap()) {
+                    throw this.error(event.getStartMark(), "expected a mapping for merging, but found " + element.raw());
+                }
+                merges.add(element);
+            }
+        } else {
+            throw this.error(event.getStartMark(), "expected a mapping or list of mappings for merging");
+        }
+    }
+
+    private ConfigurationNode alias(final AliasEvent event) throws ParsingException {
+        final @Nullable ConfigurationNode anchored = this.anchors.get(event.getAnchor());
+        if (anchored == null) {
+            throw this.error(event.getStartMark(), "found undefined alias " + event.getAnchor());
+        }
+
+        if (anchored.isMap() || anchored.isList()) {
+            final int max = this.loaderOptions.getMaxAliasesForCollections();
+            if (++this.collectionAliases > max) {
+                throw this.error(event.getStartMark(), "Number of aliases for non-scalar nodes exceeds the specified max=" + max);
+            }
+        }
+        return anchored;
+    }
+
+    /**
+     * Get whether the next value within a filter is left out of the
+     * loaded node.
+     *
+     * <p>Scalars on the way to a filtered path are skipped, as only mappings
+     * and sequences could hold what is being looked for. Aliases are read,
+     * and filtered once copied.</p>
+     */
+    private boolean skips(final PathFilter filter) {
+        return !filter.includesAll() && this.parser.checkEvent(Event.ID.Scalar);
+    }
+
+    /**
+     * Consume the events of the next value without building it.
+     *
+     * <p>Anchored values are still read, as they may be aliased later.</p>
+     */
+    private void skipValue() throws ParsingException {
+        final Event event = this.parser.peekEvent();
+        if (this.isAnchored(event)) {
+            final ConfigurationNode current = this.current;
+            this.readValue(BasicConfigurationNode.root(current.options()), PathFilter.all());
+            this.current = current;
+            return;
+        }
+
+        this.parser.getEvent();
+        if (event.is(Event.ID.SequenceStart) || event.is(Event.ID.MappingStart)) {
+            while (!this.parser.checkEvent(Event.ID.SequenceEnd) && !this.parser.checkEvent(Event.ID.MappingEnd)) {
+                this.skipValue();
+            }
+            this.parser.getEvent();
+        }
+    }
+
+    private boolean isAnchored(final Event event) {
+        return event instanceof NodeEvent && !event.is(Event.ID.Alias) && ((NodeEvent) event).getAnchor() != null;
+    }
+
+    private boolean isPlainScalar(final Event event) {
+        return event.is(Event.ID.Scalar) && ((ScalarEvent) event).getAnchor() == null;
+    }
+
+    private Tag tag(final ScalarEvent event) {
+        final @Nullable String tag = event.getTag();
+        if (tag == null || "!".equals(tag)) {
+            return this.resolver.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar());
+        }
+        return new Tag(tag);
+    }
+
+    private @Nullable Object scalar(final ScalarEvent event) {
+        final Tag tag = this.tag(event);
+        if (Tag.STR.equals(tag)) {
+            return event.getValue();
+        }
+        return this.constructor.constructValue(
+            new ScalarNode(tag, event.getValue(), event.getStartMark(), event.getEndMark(), event.getScalarStyle())
+        );
+    }
+
+    private ParsingException error(final @Nullable Mark mark, final String message) {
+        return new ParsingException(
+            this.current,
+            mark == null ? ParsingException.UNKNOWN_POS : mark.getLine() + 1,
+            mark == null ? ParsingException.UNKNOWN_POS : mark.getColumn() + 1,
+            null,
+            message,
+            null
+        );
+    }
+
+}
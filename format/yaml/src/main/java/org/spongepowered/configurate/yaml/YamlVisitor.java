@@ -0,0 +1,265 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.yaml;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationVisitor;
+import org.spongepowered.configurate.NodePath;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.emitter.Emitable;
+import org.yaml.snakeyaml.events.DocumentEndEvent;
+import org.yaml.snakeyaml.events.DocumentStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ImplicitTuple;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceEndEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.events.StreamEndEvent;
+import org.yaml.snakeyaml.events.StreamStartEvent;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.representer.Representer;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write a node tree as a stream of emitter events.
+ *
+ * <p>When the flow style is {@link DumperOptions.FlowStyle#AUTO}, collections
+ * containing only plain scalars are written in flow style, matching
+ * SnakeYAML's own serializer. To decide this without looking ahead, the
+ * events for a collection's scalar children are held back until either a
+ * child collection or non-plain scalar is seen, or the collection ends.</p>
+ */
+final class YamlVisitor implements ConfigurationVisitor<Emitable, Void, ConfigurateException> {
+
+    private final DumperOptions options;
+    private final Representer representer;
+    private final Resolver resolver;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private @Nullable ConfigurationNode start;
+    private boolean wroteRoot;
+
+    YamlVisitor(final DumperOptions options, final Representer representer, final Resolver resolver) {
+        this.options = options;
+        this.representer = representer;
+        this.resolver = resolver;
+    }
+
+    @Override
+    public Emitable newState() {
+        throw new UnsupportedOperationException("Emitter must be provided");
+    }
+
+    @Override
+    public void beginVisit(final ConfigurationNode node, final Emitable state) throws ConfigurateException {
+        this.start = node;
+        this.wroteRoot = false;
+        this.frames.clear();
+        this.emit(node, state, new StreamStartEvent(null, null));
+        this.emit(node, state, new DocumentStartEvent(
+            null,
+            null,
+            this.options.isExplicitStart(),
+            this.options.getVersion(),
+            this.options.getTags()
+        ));
+    }
+
+    @Override
+    public void enterNode(final ConfigurationNode node, final Emitable state) throws ConfigurateException {
+        if (node == this.start) {
+            this.wroteRoot = true;
+            return;
+        }
+
+        final @Nullable ConfigurationNode parent = node.parent();
+        if (parent != null && parent.isMap()) {
+            this.key(node, state, requireNonNull(node.key(), "Node must have key to be a value in a mapping"));
+        }
+    }
+
+    @Override
+    public void enterMappingNode(final ConfigurationNode node, final Emitable state) throws ConfigurateException {
+        this.startCollection(node, state, true);
+    }
+
+    @Override
+    public void enterListNode(final ConfigurationNode node, final Emitable state) throws ConfigurateException {
+        this.startCollection(node, state, false);
+    }
+
+    @Override
+    public void enterScalarNode(final ConfigurationNode node, final Emitable state) throws ConfigurateException {
+        this.scalar(node, state, node.rawScalar());
+    }
+
+    @Override
+    public void exitMappingNode(final ConfigurationNode node, final Emitable state) throws ConfigurateException {
+        this.endCollection(node, state);
+    }
+
+    @Override
+    public void exitListNode(final ConfigurationNode node, final Emitable state) throws ConfigurateException {
+        this.endCollection(node, state);
+    }
+
+    @Override
+    public Void endVisit(final Emitable state) throws ConfigurateException {
+        final @Nullable ConfigurationNode start = this.start;
+        this.start = null;
+        if (start != null && !this.wroteRoot) {
+            this.scalar(start, state, null);
+        }
+        this.emit(start, state, new DocumentEndEvent(null, null, this.options.isExplicitEnd()));
+        this.emit(start, state, new StreamEndEvent(null, null));
+        return null;
+    }
+
+    private void startCollection(final ConfigurationNode node, final Emitable state, final boolean mapping) throws ConfigurateException {
+        this.flushPending(node, state);
+        final Frame frame = new Frame(mapping);
+        if (this.options.getDefaultFlowStyle() == DumperOptions.FlowStyle.AUTO) {
+            frame.pending = new ArrayList<>();
+        } else {
+            this.emit(node, state, frame.startEvent(this.options.getDefaultFlowStyle()));
+        }
+        this.frames.push(frame);
+    }
+
+    private void endCollection(final ConfigurationNode node, final Emitable state) throws ConfigurateException {
+        final Frame frame = this.frames.pop();
+        final @Nullable List<Event> pending = frame.pending;
+        if (pending != null) {
+            this.emit(node, state, frame.startEvent(DumperOptions.FlowStyle.FLOW));
+            for (final Event event : pending) {
+                this.emit(node, state, event);
+            }
+        }
+        this.emit(node, state, frame.mapping ? new MappingEndEvent(null, null) : new SequenceEndEvent(null, null));
+    }
+
+    /**
+     * Commit the innermost collection to block style, writing any
+     * held-back events.
+     */
+    private void flushPending(final ConfigurationNode node, final Emitable state) throws ConfigurateException {
+        final @Nullable Frame frame = this.frames.peek();
+        if (frame != null && frame.pending != null) {
+            final List<Event> pending = frame.pending;
+            frame.pending = null;
+            this.emit(node, state, frame.startEvent(DumperOptions.FlowStyle.BLOCK));
+            for (final Event event : pending) {
+                this.emit(node, state, event);
+            }
+        }
+    }
+
+    private void key(final ConfigurationNode node, final Emitable state, final Object key) throws ConfigurateException {
+        if (key instanceof Collection<?> || key instanceof Map<?, ?>) {
+            // complex keys are written as a node of their own
+            this.keyNode(node, state, BasicConfigurationNode.root(node.options()).raw(key));
+        } else {
+            this.scalar(node, state, key);
+        }
+    }
+
+    private void keyNode(final ConfigurationNode node, final Emitable state, final ConfigurationNode key) throws ConfigurateException {
+        if (key.isMap()) {
+            this.startCollection(node, state, true);
+            for (final ConfigurationNode child : key.childrenMap().values()) {
+                this.key(node, state, requireNonNull(child.key(), "Node must have key to be a value in a mapping"));
+                this.keyNode(node, state, child);
+            }
+            this.endCollection(node, state);
+        } else if (key.isList()) {
+            this.startCollection(node, state, false);
+            for (final ConfigurationNode child : key.childrenList()) {
+                this.keyNode(node, state, child);
+            }
+            this.endCollection(node, state);
+        } else {
+            this.scalar(node, state, key.rawScalar());
+        }
+    }
+
+    private void scalar(final ConfigurationNode node, final Emitable state, final @Nullable Object value) throws ConfigurateException {
+        final Node represented = this.representer.represent(value);
+        if (!(represented instanceof ScalarNode)) {
+            throw new ConfigurateException(node, "Value " + value + " is not a scalar");
+        }
+        final ScalarNode scalar = (ScalarNode) represented;
+        final Tag tag = scalar.getTag();
+        final ImplicitTuple implicit = new ImplicitTuple(
+            tag.equals(this.resolver.resolve(NodeId.scalar, scalar.getValue(), true)),
+            tag.equals(this.resolver.resolve(NodeId.scalar, scalar.getValue(), false))
+        );
+        final ScalarEvent event = new ScalarEvent(null, tag.getValue(), implicit, scalar.getValue(), null, null, scalar.getScalarStyle());
+
+        final @Nullable Frame frame = this.frames.peek();
+        if (frame != null && frame.pending != null) {
+            if (event.isPlain()) {
+                frame.pending.add(event);
+                return;
+            }
+            this.flushPending(node, state);
+        }
+        this.emit(node, state, event);
+    }
+
+    private void emit(final @Nullable ConfigurationNode node, final Emitable state, final Event event) throws ConfigurateException {
+        try {
+            state.emit(event);
+        } catch (final IOException ex) {
+            throw node == null ? new ConfigurateException(NodePath.path(), null, ex) : new ConfigurateException(node, ex);
+        }
+    }
+
+    static final class Frame {
+        final boolean mapping;
+        @Nullable List<Event> pending;
+
+        Frame(final boolean mapping) {
+            this.mapping = mapping;
+        }
+
+        Event startEvent(final DumperOptions.FlowStyle style) {
+            if (this.mapping) {
+                return new MappingStartEvent(null, Tag.MAP.getValue(), true, null, null, style);
+            } else {
+                return new SequenceStartEvent(null, Tag.SEQ.getValue(), true, null, null, style);
+            }
+        }
+    }
+
+}
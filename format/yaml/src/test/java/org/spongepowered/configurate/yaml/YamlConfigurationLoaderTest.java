@@ -16,7 +16,11 @@
  */
 package org.spongepowered.configurate.yaml;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.leangen.geantyref.TypeToken;
 import org.junit.jupiter.api.Test;
@@ -25,7 +29,10 @@ import org.spongepowered.configurate.BasicConfigurationNode;
 import org.spongepowered.configurate.CommentedConfigurationNode;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.NodePath;
 import org.spongepowered.configurate.loader.ConfigurationLoader;
+import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.loader.PathFilter;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -35,6 +42,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -105,10 +114,128 @@ public class YamlConfigurationLoaderTest {
         assertEquals(readLines(getClass().getResource("write-expected.yml")), Files.readAllLines(target, StandardCharsets.UTF_8));
     }
 
+    @Test
+    void testAnchorsAndMergeKeys() throws ConfigurateException {
+        final ConfigurationNode node = YamlConfigurationLoader.builder().buildAndLoadString(
+            "base: &base\n"
+                + "  host: localhost\n"
+                + "  port: 25565\n"
+                + "extra: &extra\n"
+                + "  port: 1\n"
+                + "  motd: hi\n"
+                + "server:\n"
+                + "  <<: [*base, *extra]\n"
+                + "  host: example.com\n"
+                + "copy: *base\n"
+        );
+
+        assertEquals("example.com", node.node("server", "host").raw());
+        assertEquals(25565, node.node("server", "port").raw());
+        assertEquals("hi", node.node("server", "motd").raw());
+        assertFalse(node.node("server").hasChild("<<"));
+        assertEquals(node.node("base").raw(), node.node("copy").raw());
+        assertEquals("localhost", node.node("base", "host").raw());
+    }
+
+    @Test
+    void testMergeKeysKeepPosition() throws ConfigurateException {
+        final ConfigurationNode node = YamlConfigurationLoader.builder().buildAndLoadString(
+            "b: &b {x: 1, z: 3}\n"
+                + "c: &c {x: 2, w: 4}\n"
+                + "inline: {p: 0, <<: [*b, *c], q: 2}\n"
+                + "override: {<<: *b, y: 1, x: 5}\n"
+        );
+
+        assertEquals(Arrays.asList("p", "x", "z", "w", "q"), new ArrayList<>(node.node("inline").childrenMap().keySet()));
+        assertEquals(1, node.node("inline", "x").raw());
+        assertEquals(Arrays.asList("x", "z", "y"), new ArrayList<>(node.node("override").childrenMap().keySet()));
+        assertEquals(5, node.node("override", "x").raw());
+    }
+
+    @Test
+    void testComplexKeysRoundTrip() throws ConfigurateException {
+        final String input = "d: {[1, 2]: list, {k: v}: map, s: 1}\n";
+        final ConfigurationNode node = YamlConfigurationLoader.builder().buildAndLoadString(input);
+        assertEquals("list", node.node("d", Arrays.asList(1, 2)).raw());
+
+        final String written = YamlConfigurationLoader.builder().nodeStyle(NodeStyle.FLOW).buildAndSaveString(node);
+        assertEquals("{d: {? [1, 2] : list, ? {k: v} : map, s: 1}}\n", written);
+        assertEquals(node, YamlConfigurationLoader.builder().buildAndLoadString(written));
+    }
+
+    @Test
+    void testUndefinedAlias() {
+        final ParsingException ex = assertThrows(ParsingException.class, () -> YamlConfigurationLoader.builder()
+            .buildAndLoadString("a: 1\nb: *missing\n"));
+        assertEquals(2, ex.line());
+    }
+
+    @Test
+    void testScalarSequencesArePacked() throws ConfigurateException {
+        final ConfigurationNode node = YamlConfigurationLoader.builder().buildAndLoadString(
+            "ints: [1, 2, 3]\n"
+                + "mixed: [1, a, {b: c}]\n"
+                + "empty: []\n"
+        );
+
+        assertArrayEquals(new int[] {1, 2, 3}, node.node("ints").packedList(int[].class));
+        assertEquals(Arrays.asList(1, "a"), node.node("mixed").childrenList().subList(0, 2).stream()
+            .map(ConfigurationNode::raw)
+            .collect(Collectors.toList()));
+        assertEquals("c", node.node("mixed", 2, "b").raw());
+        assertTrue(node.node("empty").isList());
+    }
+
+    @Test
+    void testWriteAutoFlowStyle() throws ConfigurateException {
+        final ConfigurationNode node = BasicConfigurationNode.root(n -> {
+            n.node("name").raw("test");
+            n.node("scalars").raw(Arrays.asList(1, "two", 3.0));
+            n.node("nested").appendListNode().node("a").raw("b");
+            n.node("text").raw("line one\nline two");
+            n.node("empty").raw(Collections.emptyMap());
+        });
+
+        final String written = YamlConfigurationLoader.builder().buildAndSaveString(node);
+        assertEquals("name: test\n"
+            + "scalars: [1, two, 3.0]\n"
+            + "nested:\n"
+            + "- {a: b}\n"
+            + "text: |-\n"
+            + "    line one\n"
+            + "    line two\n"
+            + "empty: {}\n", written);
+        assertEquals(node, YamlConfigurationLoader.builder().buildAndLoadString(written));
+    }
+
     private static List<String> readLines(final URL source) throws IOException {
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(source.openStream(), StandardCharsets.UTF_8))) {
             return reader.lines().collect(Collectors.toList());
         }
     }
 
+    @Test
+    void testPathFilter() throws ConfigurateException {
+        final ConfigurationNode node = YamlConfigurationLoader.builder()
+            .pathFilter(PathFilter.of(NodePath.path("servers", PathFilter.ANY, "host"), NodePath.path("db")))
+            .buildAndLoadString(
+                "defaults: &defaults {host: local, port: 1}\n"
+                + "servers:\n"
+                + "  - *defaults\n"
+                + "  - {<<: *defaults, host: remote}\n"
+                + "  - port: 2\n"
+                + "db: {url: jdbc, pool: [1, 2]}\n"
+                + "other: [[{a: 1}]]\n"
+            );
+
+        assertEquals(2, node.childrenMap().size());
+        assertEquals(3, node.node("servers").childrenList().size());
+        assertEquals("local", node.node("servers", 0, "host").raw());
+        assertTrue(node.node("servers", 0, "port").virtual());
+        assertEquals("remote", node.node("servers", 1, "host").raw());
+        assertTrue(node.node("servers", 1, "port").virtual());
+        assertTrue(node.node("servers", 2).isMap());
+        assertEquals(Arrays.asList(1, 2), node.node("db", "pool").raw());
+    }
+
 }
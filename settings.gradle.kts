@@ -26,13 +26,13 @@ private val prefix = "configurate"
 rootProject.name = "$prefix-parent"
 
 // core
-listOf("core", "tool", "bom", "examples").forEach {
+listOf("core", "tool", "bom", "examples", "benchmarks").forEach {
     include(":$it")
     // findProject(":$it")?.name = "$prefix-$it"
 }
 
 // formats
-listOf("gson", "hocon", "jackson", "xml", "yaml").forEach {
+listOf("binary", "gson", "hocon", "jackson", "xml", "yaml").forEach {
     include(":format:$it")
     // findProject(":format:$it")?.name = "$prefix-$it"
 }